@@ -0,0 +1,44 @@
+package benchmark;
+
+import nodes.ProgramNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import visitor.CodeGeneratorVisitor;
+import visitor.exception.SemanticException;
+import visitor.utils.CodeSink;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generazione del codice C in memoria, a partire dall'AST già controllato e semplificato
+ * dal constant folding. La generazione non modifica l'AST, che viene quindi costruito una volta sola.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodeGenerationBenchmark {
+    private ProgramNode programNode;
+
+    @Setup
+    public void prepare(ProgramSource program) throws Exception, SemanticException {
+        programNode = program.fold();
+    }
+
+    @Benchmark
+    public int generate() throws SemanticException {
+        StringBuilder code = new StringBuilder();
+        programNode.accept(new CodeGeneratorVisitor(new CodeSink(code)));
+        return code.length();
+    }
+}
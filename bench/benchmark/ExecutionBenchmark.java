@@ -0,0 +1,109 @@
+package benchmark;
+
+import compiler.Toy2Compiler;
+import jvm.JvmProgram;
+import nodes.ProgramNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import visitor.BytecodeGeneratorVisitor;
+import visitor.InterpreterVisitor;
+import visitor.JvmGeneratorVisitor;
+import visitor.exception.SemanticException;
+import vm.BytecodeProgram;
+import vm.VirtualMachine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Esecuzione di un programma con cicli su interi e reali e chiamate ricorsive, con l'interprete che visita
+ * l'AST ("interprete"), con la macchina virtuale a registri ("vm", traduzione in bytecode esclusa) e come
+ * classe JVM ("jvm", generazione esclusa; ogni esecuzione definisce una nuova classe nascosta).
+ * Lo stesso programma compilato in C con gcc -O0 richiede circa 10 ms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ExecutionBenchmark {
+    private static final String SOURCE = """
+            func somma(n: integer) -> integer:
+                var i, s ^= 0, 0; \\
+                while i < n do
+                    s ^= s * 3 - i;
+                    i ^= i + 1;
+                endwhile;
+                return s;
+            endfunc
+
+            func media(n: integer) -> real:
+                var i ^= 0; x ^= 0.0; \\
+                while i < n do
+                    x ^= x + i / 2.0;
+                    i ^= i + 1;
+                endwhile;
+                return x / n;
+            endfunc
+
+            func fib(n: integer) -> integer:
+                if n < 2 then
+                    return n;
+                else
+                    return fib(n - 1) + fib(n - 2);
+                endif;
+            endfunc
+
+            proc main():
+                var k, t ^= 0, 0; r ^= 0.0; \\
+                while k < 5 do
+                    t ^= t + somma(1000000);
+                    r ^= r + media(100000);
+                    k ^= k + 1;
+                endwhile;
+                -->! $(t) " " $(r) " " $(fib(20));
+            endproc
+            """;
+
+    @Param({"interprete", "vm", "jvm"})
+    public String engine;
+
+    private ProgramNode programNode;
+    private BytecodeProgram bytecode;
+    private JvmProgram jvmProgram;
+
+    @Setup
+    public void prepare() throws Exception, SemanticException {
+        programNode = new Toy2Compiler().parseAndCheck(new StringReader(SOURCE));
+        bytecode = new BytecodeGeneratorVisitor().generate(programNode);
+        jvmProgram = new JvmGeneratorVisitor().generate(programNode, "ExecutionBenchmark");
+    }
+
+    @Benchmark
+    public int execute() throws SemanticException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream output = new PrintStream(bytes);
+        if (engine.equals("jvm")) {
+            jvmProgram.run(InputStream.nullInputStream(), output);
+        } else if (engine.equals("vm")) {
+            new VirtualMachine(bytecode, InputStream.nullInputStream(), output).run();
+        } else {
+            programNode.accept(new InterpreterVisitor(InputStream.nullInputStream(), output));
+        }
+        output.flush();
+        return bytes.size();
+    }
+}
@@ -0,0 +1,36 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import unisa.compilatori.Toy2Lexer;
+import unisa.compilatori.sym;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput del lexer: programmi al secondo e, come metrica secondaria, token al secondo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+    @Benchmark
+    public int lex(ProgramSource program, TokenCounter counter) throws IOException {
+        Toy2Lexer lexer = program.lexer();
+        int tokens = 0;
+        while (lexer.next_token().sym != sym.EOF) {
+            tokens++;
+        }
+        counter.tokens += tokens;
+        return tokens;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmark;
+
+import java_cup.runtime.Scanner;
+import java_cup.runtime.Symbol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import unisa.compilatori.Toy2Lexer;
+import unisa.compilatori.parser;
+import unisa.compilatori.sym;
+import visitor.exception.Diagnostics;
+import visitor.utils.LineMap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput del parser, separato dal lexer: i token vengono letti una volta sola e
+ * ripresentati al parser a ogni invocazione. La metrica secondaria riporta i token al secondo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParserBenchmark {
+    private final List<Symbol> tokens = new ArrayList<>();
+    private LineMap lineMap;
+
+    @Setup
+    public void lex(ProgramSource program) throws IOException {
+        Toy2Lexer lexer = program.lexer();
+        Symbol token;
+        do {
+            token = lexer.next_token();
+            tokens.add(token);
+        } while (token.sym != sym.EOF);
+        lineMap = lexer.getLineMap();
+    }
+
+    @Benchmark
+    public Object parse(TokenCounter counter) throws Exception {
+        parser parser = new parser(new TokenReplay());
+        parser.setDiagnostics(new Diagnostics(lineMap));
+        Object programNode = parser.parse().value;
+        counter.tokens += tokens.size() - 1;
+        return programNode;
+    }
+
+    // Il parser non accetta simboli già usati: ogni token viene ripresentato come una copia,
+    // come farebbe il lexer creandone uno nuovo
+    private class TokenReplay implements Scanner {
+        private int next = 0;
+
+        @Override
+        public Symbol next_token() {
+            Symbol token = tokens.get(Math.min(next++, tokens.size() - 1));
+            return new Symbol(token.sym, token.left, token.right, token.value);
+        }
+    }
+}
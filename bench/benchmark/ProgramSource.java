@@ -0,0 +1,74 @@
+package benchmark;
+
+import generator.ProgramGenerator;
+import nodes.ProgramNode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import unisa.compilatori.Toy2Lexer;
+import unisa.compilatori.parser;
+import visitor.ConstantFoldingVisitor;
+import visitor.ScopeCheckingVisitor;
+import visitor.TypeCheckingVisitor;
+import visitor.exception.Diagnostics;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.SymbolTableManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Programma Toy2 su cui vengono eseguiti i benchmark: uno dei test validi (tests/validN/validN.txt)
+ * oppure un programma "generated-N" di almeno N righe, costruito da ProgramGenerator con i parametri predefiniti.
+ * I benchmark vanno eseguiti dalla directory principale del progetto, come fa mvn -P benchmark exec:exec.
+ */
+@State(Scope.Benchmark)
+public class ProgramSource {
+    @Param({"valid1", "valid2", "valid3", "valid4", "generated-1000", "generated-10000"})
+    public String program;
+
+    String source;
+
+    @Setup
+    public void load() throws IOException {
+        if (program.startsWith("generated-")) {
+            ProgramGenerator generator = new ProgramGenerator();
+            generator.setLines(Integer.parseInt(program.substring("generated-".length())));
+            source = generator.generate();
+        } else {
+            source = Files.readString(Path.of("tests", program, program + ".txt"), Charset.defaultCharset());
+        }
+    }
+
+    Toy2Lexer lexer() {
+        return new Toy2Lexer(new StringReader(source));
+    }
+
+    // AST del programma, già controllato da scope checking e type checking se analyzed è true
+    ProgramNode parse(boolean analyzed) throws Exception, SemanticException {
+        Toy2Lexer lexer = lexer();
+        Diagnostics diagnostics = new Diagnostics(lexer.getLineMap());
+        parser parser = new parser(lexer);
+        parser.setDiagnostics(diagnostics);
+        ProgramNode programNode = (ProgramNode) parser.parse().value;
+        if (analyzed) {
+            programNode.accept(new ScopeCheckingVisitor(new SymbolTableManager(), diagnostics));
+            programNode.accept(new TypeCheckingVisitor(diagnostics));
+        }
+        if (diagnostics.hasErrors()) {
+            throw new IllegalStateException("Il programma " + program + " contiene errori");
+        }
+        return programNode;
+    }
+
+    // AST pronto per la generazione del codice, come in Toy2Compiler
+    ProgramNode fold() throws Exception, SemanticException {
+        ProgramNode programNode = parse(true);
+        programNode.accept(new ConstantFoldingVisitor());
+        return programNode;
+    }
+}
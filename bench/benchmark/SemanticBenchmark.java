@@ -0,0 +1,50 @@
+package benchmark;
+
+import nodes.ProgramNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import visitor.ScopeCheckingVisitor;
+import visitor.TypeCheckingVisitor;
+import visitor.exception.Diagnostics;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.SymbolTableManager;
+import visitor.utils.LineMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scope checking seguito da type checking. Entrambi annotano l'AST (simboli e tipi),
+ * per cui ogni invocazione lavora su un AST appena costruito dal parser.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SemanticBenchmark {
+    private ProgramNode programNode;
+
+    @Setup(Level.Invocation)
+    public void parse(ProgramSource program) throws Exception, SemanticException {
+        programNode = program.parse(false);
+    }
+
+    @Benchmark
+    public Object check() throws SemanticException {
+        Diagnostics diagnostics = new Diagnostics(new LineMap());
+        SymbolTableManager symbolTableManager = new SymbolTableManager();
+        programNode.accept(new ScopeCheckingVisitor(symbolTableManager, diagnostics));
+        programNode.accept(new TypeCheckingVisitor(diagnostics));
+        return symbolTableManager;
+    }
+}
@@ -0,0 +1,22 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Contatore dei token elaborati: JMH lo riporta come metrica secondaria "tokens",
+ * con la stessa unità del benchmark (token al secondo in modalità throughput).
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class TokenCounter {
+    public long tokens;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        tokens = 0;
+    }
+}
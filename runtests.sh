@@ -11,6 +11,7 @@ RESULT=0
 
 OUTPUTDIR="test_files/c_out"
 mkdir -p $OUTPUTDIR
+SINGLEPASSDIR=$(mktemp -d)
 
 for TESTDIR in tests/*
 do
@@ -20,13 +21,44 @@ do
 	echo "" >> $1.report.txt
 	echo Test name: $TESTDIR >> $1.report.txt
 	echo mvn --batch-mode -q exec:java -Dexec.args="$TESTFILE" >> $1.report.txt
-	mvn --batch-mode -q exec:java -Dexec.args="$TESTFILE" >> $1.report.txt 2>&1
+	mvn --batch-mode -q exec:java -Dexec.args="$TESTFILE" > $SINGLEPASSDIR/twopass.txt 2>&1
+	cat $SINGLEPASSDIR/twopass.txt >> $1.report.txt
+
+	# L'analisi semantica in un solo passo deve produrre la stessa diagnostica e lo stesso codice C
+	rm -f $SINGLEPASSDIR/twopass.c
+	if [ -e "$OUTPUTDIR/$TESTNAME.c" ]; then
+		mv "$OUTPUTDIR/$TESTNAME.c" $SINGLEPASSDIR/twopass.c
+	fi
+	mvn --batch-mode -q exec:java -Dexec.args="--single-pass $TESTFILE" > $SINGLEPASSDIR/singlepass.txt 2>&1
+	SAMEOUTPUT=1
+	cmp -s $SINGLEPASSDIR/twopass.txt $SINGLEPASSDIR/singlepass.txt || SAMEOUTPUT=0
+	if [ -e $SINGLEPASSDIR/twopass.c ] || [ -e "$OUTPUTDIR/$TESTNAME.c" ]; then
+		cmp -s $SINGLEPASSDIR/twopass.c "$OUTPUTDIR/$TESTNAME.c" || SAMEOUTPUT=0
+	fi
+	if [ $SAMEOUTPUT -eq 0 ]; then
+		echo "" >> $1.report.txt
+		echo "--single-pass: diagnostica o codice C diversi dall'analisi in due passi" >> $1.report.txt
+		RESULT=1
+	fi
+
+	# Con --source-map il codice C differisce solo per le direttive #line e va prodotta la source map
+	if [ -s "$OUTPUTDIR/$TESTNAME.c" ]; then
+		mv "$OUTPUTDIR/$TESTNAME.c" $SINGLEPASSDIR/plain.c
+		mvn --batch-mode -q exec:java -Dexec.args="--source-map $TESTFILE" > /dev/null 2>&1
+		if ! grep -v '^#line ' "$OUTPUTDIR/$TESTNAME.c" | cmp -s - $SINGLEPASSDIR/plain.c || [ ! -s "$OUTPUTDIR/$TESTNAME.c.map" ]; then
+			echo "" >> $1.report.txt
+			echo "--source-map: codice C diverso o source map mancante" >> $1.report.txt
+			RESULT=1
+		fi
+		mv $SINGLEPASSDIR/plain.c "$OUTPUTDIR/$TESTNAME.c"
+		rm -f "$OUTPUTDIR/$TESTNAME.c.map"
+	fi
 
 	if [ -s "$OUTPUTDIR/$TESTNAME.c" ]; then
 		EXEFILE=$OUTPUTDIR/$TESTNAME.out
 		echo "" >> $1.report.txt
-		echo gcc $OUTPUTDIR/$TESTNAME.c -o $EXEFILE -lm -w >> $1.report.txt
-		gcc $OUTPUTDIR/$TESTNAME.c -o $EXEFILE -lm -w >> $1.report.txt 2>&1
+		echo gcc $OUTPUTDIR/$TESTNAME.c -o $EXEFILE -lm -w -fwrapv >> $1.report.txt
+		gcc $OUTPUTDIR/$TESTNAME.c -o $EXEFILE -lm -w -fwrapv >> $1.report.txt 2>&1
 
 		for TESTIN in "$TESTDIR/$TESTNAME"_in*
 		do
@@ -49,6 +81,23 @@ do
 	fi
 done
 
+# I programmi prodotti dal generatore devono superare l'analisi semantica e produrre codice C valido
+for SEED in 1 2 3
+do
+	GENERATED=$SINGLEPASSDIR/generated_$SEED.txt
+	mvn --batch-mode -q exec:java -Dexec.args="--generate --seed $SEED --depth $((SEED + 1)) --concat 0.$((SEED * 3)) $GENERATED" > /dev/null 2>&1
+	echo "" >> $1.report.txt
+	echo "Programma generato (seme $SEED)" >> $1.report.txt
+	if ! mvn --batch-mode -q exec:java -Dexec.args="$GENERATED" > $SINGLEPASSDIR/generated.txt 2>&1; then
+		cat $SINGLEPASSDIR/generated.txt >> $1.report.txt
+		RESULT=1
+	elif ! gcc -fsyntax-only -w "$OUTPUTDIR/generated_$SEED.c" >> $1.report.txt 2>&1; then
+		RESULT=1
+	fi
+	rm -f "$OUTPUTDIR/generated_$SEED.c"
+done
+
+rm -rf $SINGLEPASSDIR
 mkdir $1.report/$(dirname "$OUTPUTDIR")
 mv "$OUTPUTDIR" $1.report/$(dirname "$OUTPUTDIR")
 mv $1.report.txt $1.report
@@ -4,9 +4,11 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java_cup.runtime.Symbol;
 import nodes.ProgramNode;
+import unisa.compilatori.Toy2Lexer;
 import unisa.compilatori.parser;
 import unisa.compilatori.sym;
 import visitor.CodeGeneratorVisitor;
+import visitor.ConstantFoldingVisitor;
 import visitor.ScopeCheckingVisitor;
 import visitor.TypeCheckingVisitor;
 import visitor.exception.SemanticException;
@@ -31,6 +33,10 @@ public class DebugMain {
             // Esecuzione del parsing
             System.out.println("\n=== Avvio del parsing ===");
             ProgramNode programNode = (ProgramNode) parser.parse().value;
+            if (parser.getDiagnostics().hasErrors()) {
+                System.err.println(parser.getDiagnostics().format());
+                return;
+            }
             System.out.println("=== Parsing completato con successo! ===");
 
             // Creazione del SymbolTableManager condiviso
@@ -43,14 +49,18 @@ public class DebugMain {
 
             // Type Checking
             System.out.println("\n=== Avvio del type checking ===");
-            TypeCheckingVisitor typeCheckingVisitor = new TypeCheckingVisitor(symbolTableManager);
+            TypeCheckingVisitor typeCheckingVisitor = new TypeCheckingVisitor();
             programNode.accept(typeCheckingVisitor);
             System.out.println("=== Type checking completato con successo! ===");
 
+            // Constant Folding
+            programNode.accept(new ConstantFoldingVisitor());
+
             // Code Generation
             System.out.println("\n=== Avvio della generazione del codice ===");
             CodeGeneratorVisitor codeGeneratorVisitor = new CodeGeneratorVisitor();
-            String generatedCode = (String) programNode.accept(codeGeneratorVisitor);
+            programNode.accept(codeGeneratorVisitor);
+            String generatedCode = codeGeneratorVisitor.getCode();
             System.out.println("=== Codice generato ===");
             System.out.println(generatedCode);
 
@@ -1,19 +1,95 @@
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.net.SocketAddress;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+import compiler.BatchCompiler;
+import compiler.CompilationCache;
+import compiler.CompilationResult;
+import compiler.CompileClient;
+import compiler.CompileDaemon;
+import compiler.DaemonProtocol;
+import compiler.Toy2Compiler;
+import generator.ProgramGenerator;
+import ir.opt.Passes;
+import jvm.JvmProgram;
 import nodes.ProgramNode;
-import unisa.compilatori.parser;
-import visitor.CodeGeneratorVisitor;
-import visitor.ScopeCheckingVisitor;
-import visitor.TypeCheckingVisitor;
+import visitor.BytecodeGeneratorVisitor;
+import visitor.InterpreterVisitor;
+import visitor.JvmGeneratorVisitor;
+import visitor.exception.Diagnostics;
 import visitor.exception.SemanticException;
-import visitor.symbolTable.SymbolTableManager;
+import vm.BytecodeProgram;
+import vm.VirtualMachine;
 
 public class Main {
+    private static final String DEFAULT_CACHE_DIR = ".toy2_cache";
+    private static final long DEFAULT_CACHE_SIZE_MB = 64;
+    private static final long INTERPRETER_STACK_SIZE = 512L * 1024 * 1024;
+
+    private static CompilationCache cache;
+    private static boolean singlePass = false;
+    private static int maxErrors = Diagnostics.DEFAULT_MAX_ERRORS;
+    private static boolean sourceMap = false;
+    // Formato delle metriche per fase (--stats, --stats=json); null se non richieste
+    private static String statsFormat = null;
+    // Codice C generato attraverso la rappresentazione intermedia in forma SSA (--ir)
+    private static boolean ir = false;
+    // Passi di ottimizzazione dell'IR (-O0, -O1, -O2, --passes) e passi dopo cui salvare l'IR (--dump-after)
+    private static List<String> passes = List.of();
+    private static Set<String> dumpAfter = Set.of();
 
     public static void main(String[] args) {
+        // Modalità daemon e client: la compilazione avviene in una JVM già avviata
+        if (args.length > 0 && args[0].equals("--daemon")) {
+            runDaemon(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--client")) {
+            runClient(args);
+            return;
+        }
+        // Esecuzione diretta del programma con l'interprete, senza generare codice C
+        if (args.length > 0 && args[0].equals("--run")) {
+            runInterpreter(args);
+            return;
+        }
+        // Generazione di programmi Toy2 casuali per benchmark e stress test
+        if (args.length > 0 && args[0].equals("--generate")) {
+            runGenerator(args);
+            return;
+        }
+
+        // Cache di compilazione (--cache, --cache-dir, --cache-size): opzioni valide in modalità singola e batch
+        args = parseCacheOptions(args);
+        // Analisi semantica in un solo passo (--single-pass) e numero massimo di errori riportati (--max-errors)
+        args = parseAnalysisOptions(args);
+        // Direttive #line e source map JSON nel codice generato (--source-map), metriche per fase (--stats),
+        // generazione attraverso la rappresentazione intermedia (--ir), livelli e passi di ottimizzazione
+        // dell'IR (-O0, -O1, -O2, --passes) e stampa dell'IR dopo i passi (--dump-after)
+        args = parseOutputOptions(args);
+
+        // Modalità batch: più file, directory o pattern glob compilati in parallelo
+        if (args.length > 1 || (args.length == 1 && args[0].equals("--batch"))) {
+            runBatch(args);
+            return;
+        }
+
         // Controlla che ci sia un unico parametro di input
         if (args.length != 1) {
             System.err.println("Errore: il programma richiede un unico parametro di input (<nome>.txt).");
@@ -32,56 +108,544 @@ public class Main {
             System.exit(1);
         }
 
-        // Estrai il nome del file senza estensione
-        String baseName = inputFile.getName().substring(0, inputFile.getName().lastIndexOf('.'));
         // Cartella di output
-        File outputDir = new File("test_files" + File.separator + "c_out");
-        if (!outputDir.exists() && !outputDir.mkdirs()) {
-            System.err.println("Errore: impossibile creare la cartella di output.");
+        File outputDir = createOutputDir();
+
+        CompilationResult result = Toy2Compiler.builder()
+                .cache(cache)
+                .singlePass(singlePass)
+                .maxErrors(maxErrors)
+                .sourceMap(sourceMap)
+                .stats(statsFormat != null)
+                .ir(ir)
+                .passes(passes)
+                .dumpAfter(dumpAfter)
+                .build()
+                .compile(inputFile, outputDir);
+        printStats(List.of(result));
+        if (!result.isSuccess()) {
+            System.err.println(result.getMessage());
             System.exit(1);
         }
 
-        // Nome del file di output .c
-        File outputFile = new File(outputDir, baseName + ".c");
+        System.out.println("Codice generato salvato in: " + result.getOutputFile().getAbsolutePath());
+    }
+
+    // Uso: Main [--batch] [-j <thread>] <file|directory|glob>...
+    private static void runBatch(String[] args) {
+        int jobs = Runtime.getRuntime().availableProcessors();
+        List<String> inputs = new ArrayList<>();
 
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch":
+                    break;
+                case "-j":
+                case "--jobs":
+                    if (i + 1 >= args.length) {
+                        System.err.println("Errore: l'opzione " + args[i] + " richiede il numero di thread.");
+                        System.exit(1);
+                    }
+                    try {
+                        jobs = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException e) {
+                        System.err.println("Errore: numero di thread non valido: " + args[i]);
+                        System.exit(1);
+                    }
+                    break;
+                default:
+                    inputs.add(args[i]);
+            }
+        }
+
+        List<File> inputFiles = null;
         try {
-            // Parsing del file di input
-            FileReader fileReader = new FileReader(inputFile);
-            Toy2Lexer lexer = new Toy2Lexer(fileReader);
-            parser parser = new parser(lexer);
+            inputFiles = BatchCompiler.expandInputs(inputs);
+        } catch (IOException e) {
+            System.err.println("Errore: " + e.getMessage());
+            System.exit(1);
+        }
+        if (inputFiles.isEmpty()) {
+            System.err.println("Errore: nessun file sorgente trovato.");
+            System.exit(1);
+        }
 
-            ProgramNode programNode = (ProgramNode) parser.parse().value;
+        File outputDir = createOutputDir();
+        Toy2Compiler compiler = Toy2Compiler.builder()
+                .cache(cache)
+                .singlePass(singlePass)
+                .maxErrors(maxErrors)
+                .sourceMap(sourceMap)
+                .stats(statsFormat != null)
+                .ir(ir)
+                .passes(passes)
+                .dumpAfter(dumpAfter)
+                .build();
+        BatchCompiler batchCompiler = new BatchCompiler(compiler, outputDir, jobs);
 
-            // Scope Checking
-            SymbolTableManager symbolTableManager = new SymbolTableManager();
-            ScopeCheckingVisitor scopeCheckingVisitor = new ScopeCheckingVisitor(symbolTableManager);
-            programNode.accept(scopeCheckingVisitor);
+        long start = System.nanoTime();
+        List<CompilationResult> results = null;
+        try {
+            results = batchCompiler.compileAll(inputFiles);
+        } catch (InterruptedException e) {
+            System.err.println("Errore: compilazione interrotta.");
+            System.exit(1);
+        }
+        BatchCompiler.printSummary(results, (System.nanoTime() - start) / 1_000_000, System.out);
+        printStats(results);
 
-            // Type Checking
-            TypeCheckingVisitor typeCheckingVisitor = new TypeCheckingVisitor(symbolTableManager);
-            programNode.accept(typeCheckingVisitor);
+        if (results.stream().anyMatch(result -> !result.isSuccess())) {
+            System.exit(1);
+        }
+    }
 
-            // Code Generation
-            CodeGeneratorVisitor codeGeneratorVisitor = new CodeGeneratorVisitor();
-            programNode.accept(codeGeneratorVisitor);
-            String generatedCode = codeGeneratorVisitor.getCode();
+    // Uso: Main --daemon [--socket <percorso> | --port <porta>] [--warmup <n>] [-j <thread>] [--single-pass] [--max-errors <n>]
+    private static void runDaemon(String[] args) {
+        Path socketPath = null;
+        int port = DaemonProtocol.DEFAULT_PORT;
+        int warmup = 20;
+        int jobs = Runtime.getRuntime().availableProcessors();
 
-            // Salva il codice generato nel file di output
-            try (FileWriter writer = new FileWriter(outputFile)) {
-                writer.write(generatedCode);
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--socket":
+                    socketPath = Paths.get(optionValue(args, i++));
+                    break;
+                case "--port":
+                    port = intOption(args, i++);
+                    break;
+                case "--warmup":
+                    warmup = intOption(args, i++);
+                    break;
+                case "--single-pass":
+                    singlePass = true;
+                    break;
+                case "--max-errors":
+                    maxErrors = maxErrorsOption(args, i++);
+                    break;
+                case "-j":
+                case "--jobs":
+                    jobs = intOption(args, i++);
+                    break;
+                default:
+                    System.err.println("Errore: opzione non riconosciuta: " + args[i]);
+                    System.exit(1);
             }
+        }
 
-            System.out.println("Codice generato salvato in: " + outputFile.getAbsolutePath());
+        CompileDaemon daemon = new CompileDaemon(Toy2Compiler.builder().singlePass(singlePass).maxErrors(maxErrors).build(),
+                DaemonProtocol.address(socketPath, port), jobs);
+        daemon.warmUp(warmup);
+        try {
+            daemon.serve();
+        } catch (IOException e) {
+            System.err.println("Errore del daemon di compilazione: " + e.getMessage());
+            System.exit(1);
+        }
+    }
 
-        } catch (SemanticException e) {
-            System.err.println("Errore semantico: " + e.getMessage());
+    // Uso: Main --client [--socket <percorso> | --port <porta>] (<nome>.txt | --ping | --shutdown)
+    private static void runClient(String[] args) {
+        Path socketPath = null;
+        int port = DaemonProtocol.DEFAULT_PORT;
+        String request = null;
+        String inputFileName = null;
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--socket":
+                    socketPath = Paths.get(optionValue(args, i++));
+                    break;
+                case "--port":
+                    port = intOption(args, i++);
+                    break;
+                case "--ping":
+                    request = DaemonProtocol.PING;
+                    break;
+                case "--shutdown":
+                    request = DaemonProtocol.SHUTDOWN;
+                    break;
+                default:
+                    inputFileName = args[i];
+            }
+        }
+
+        SocketAddress address = DaemonProtocol.address(socketPath, port);
+        CompileClient client = new CompileClient(address);
+
+        if (request != null) {
+            try {
+                if (!client.send(request)) {
+                    System.err.println("Errore: il daemon ha rifiutato la richiesta " + request + ".");
+                    System.exit(1);
+                }
+            } catch (IOException e) {
+                System.err.println("Errore: daemon non raggiungibile su " + address + ": " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        if (inputFileName == null || !inputFileName.endsWith(".txt")) {
+            System.err.println("Errore: il file di input deve avere estensione .txt.");
+            System.exit(1);
+        }
+        File inputFile = new File(inputFileName);
+        if (!inputFile.exists() || !inputFile.isFile()) {
+            System.err.println("Errore: il file di input specificato non esiste o non è un file.");
+            System.exit(1);
+        }
+
+        CompilationResult result = client.compile(inputFile, createOutputDir());
+        if (!result.isSuccess()) {
+            System.err.println(result.getMessage());
+            System.exit(1);
+        }
+
+        System.out.println("Codice generato salvato in: " + result.getOutputFile().getAbsolutePath());
+    }
+
+    // Uso: Main --run [--vm [--bytecode] | --jvm [--class-file]] [--single-pass] [--max-errors <n>] <nome>.txt
+    private static void runInterpreter(String[] args) {
+        args = parseAnalysisOptions(Arrays.copyOfRange(args, 1, args.length));
+        // Con --vm il programma viene tradotto in bytecode ed eseguito dalla macchina virtuale;
+        // con --bytecode il bytecode viene solo stampato. Con --jvm il programma diventa una classe JVM,
+        // definita ed eseguita nella JVM corrente; con --class-file la classe viene solo salvata
+        List<String> remaining = new ArrayList<>(Arrays.asList(args));
+        boolean useVm = remaining.remove("--vm");
+        boolean printBytecode = remaining.remove("--bytecode");
+        boolean useJvm = remaining.remove("--jvm");
+        boolean writeClass = remaining.remove("--class-file");
+        args = remaining.toArray(new String[0]);
+        if (args.length != 1 || !args[0].endsWith(".txt")) {
+            System.err.println("Errore: il file di input deve avere estensione .txt.");
+            System.exit(1);
+        }
+        File inputFile = new File(args[0]);
+        if (!inputFile.exists() || !inputFile.isFile()) {
+            System.err.println("Errore: il file di input specificato non esiste o non è un file.");
+            System.exit(1);
+        }
+
+        ProgramNode program = null;
+        // Lettura tollerante come in Toy2Compiler.compile: i caratteri non validi vengono sostituiti
+        try (Reader reader = new InputStreamReader(new FileInputStream(inputFile), Charset.defaultCharset())) {
+            program = Toy2Compiler.builder().singlePass(singlePass).maxErrors(maxErrors).build().parseAndCheck(reader);
+        } catch (Exception | SemanticException e) {
+            System.err.println(Toy2Compiler.describeError(e));
             System.exit(1);
+        }
+
+        JvmProgram jvmProgram = null;
+        if (useJvm || writeClass) {
+            try {
+                jvmProgram = new JvmGeneratorVisitor().generate(program, Toy2Compiler.baseName(inputFile));
+            } catch (SemanticException e) {
+                System.err.println(Toy2Compiler.describeError(e));
+                System.exit(1);
+            }
+            if (writeClass) {
+                File classDir = new File("test_files" + File.separator + "class_out");
+                try {
+                    File classFile = jvmProgram.writeTo(classDir);
+                    System.out.println("Classe generata salvata in: " + classFile.getAbsolutePath());
+                } catch (IOException e) {
+                    System.err.println("Errore: impossibile scrivere il file .class: " + e.getMessage());
+                    System.exit(1);
+                }
+                return;
+            }
+        }
+
+        BytecodeProgram bytecode = null;
+        if (useVm || printBytecode) {
+            try {
+                bytecode = new BytecodeGeneratorVisitor().generate(program);
+            } catch (SemanticException e) {
+                System.err.println(Toy2Compiler.describeError(e));
+                System.exit(1);
+            }
+            if (printBytecode) {
+                System.out.print(bytecode.disassemble());
+                return;
+            }
+        }
+
+        // Thread con uno stack ampio, per la ricorsione dei programmi Toy2 sopra quella della visita
+        PrintStream output = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)),
+                false, Charset.defaultCharset());
+        ProgramNode checkedProgram = program;
+        BytecodeProgram checkedBytecode = bytecode;
+        JvmProgram checkedJvmProgram = jvmProgram;
+        String[] error = new String[1];
+        Thread interpreter = new Thread(null, () -> {
+            try {
+                if (checkedJvmProgram != null) {
+                    checkedJvmProgram.run(System.in, output);
+                } else if (checkedBytecode != null) {
+                    new VirtualMachine(checkedBytecode, System.in, output).run();
+                } else {
+                    checkedProgram.accept(new InterpreterVisitor(System.in, output));
+                }
+            } catch (ArithmeticException e) {
+                error[0] = "Errore di esecuzione: " + e.getMessage();
+            } catch (StackOverflowError e) {
+                error[0] = "Errore di esecuzione: ricorsione troppo profonda";
+            } catch (SemanticException e) {
+                error[0] = "Errore di esecuzione: " + e.getMessage();
+            } finally {
+                output.flush();
+            }
+        }, "toy2-interpreter", INTERPRETER_STACK_SIZE);
+        interpreter.start();
+        try {
+            interpreter.join();
+        } catch (InterruptedException e) {
+            System.exit(1);
+        }
+        if (error[0] != null) {
+            System.err.println(error[0]);
+            System.exit(1);
+        }
+    }
+
+    // Uso: Main --generate [--seed <n>] [--functions <n>] [--procedures <n>] [--statements <n>] [--depth <n>]
+    //        [--expr-depth <n>] [--concat <0..1>] [--multi-return <0..1>] [--lines <n>] <nome>.txt
+    private static void runGenerator(String[] args) {
+        ProgramGenerator generator = new ProgramGenerator();
+        String outputFileName = null;
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed":
+                    generator.setSeed(intOption(args, i++));
+                    break;
+                case "--functions":
+                    generator.setFunctions(intOption(args, i++));
+                    break;
+                case "--procedures":
+                    generator.setProcedures(intOption(args, i++));
+                    break;
+                case "--statements":
+                    generator.setStatements(intOption(args, i++));
+                    break;
+                case "--depth":
+                    generator.setNestingDepth(intOption(args, i++));
+                    break;
+                case "--expr-depth":
+                    generator.setExpressionDepth(intOption(args, i++));
+                    break;
+                case "--concat":
+                    generator.setConcatenationDensity(doubleOption(args, i++));
+                    break;
+                case "--multi-return":
+                    generator.setMultiReturnRatio(doubleOption(args, i++));
+                    break;
+                case "--lines":
+                    generator.setLines(intOption(args, i++));
+                    break;
+                default:
+                    outputFileName = args[i];
+            }
+        }
+        if (outputFileName == null || !outputFileName.endsWith(".txt")) {
+            System.err.println("Errore: il file da generare deve avere estensione .txt.");
+            System.exit(1);
+        }
+
+        try {
+            Files.writeString(Paths.get(outputFileName), generator.generate(), Charset.defaultCharset());
         } catch (IOException e) {
-            System.err.println("Errore durante la lettura/scrittura dei file: " + e.getMessage());
+            System.err.println("Errore: impossibile scrivere " + outputFileName + ": " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.println("Programma generato salvato in: " + Paths.get(outputFileName).toAbsolutePath());
+    }
+
+    // Rimuove le opzioni della cache da args e, se richiesta, attiva la cache
+    private static String[] parseCacheOptions(String[] args) {
+        boolean enabled = false;
+        String cacheDir = DEFAULT_CACHE_DIR;
+        long cacheSizeMb = DEFAULT_CACHE_SIZE_MB;
+        List<String> remaining = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cache":
+                    enabled = true;
+                    break;
+                case "--cache-dir":
+                    enabled = true;
+                    cacheDir = optionValue(args, i++);
+                    break;
+                case "--cache-size":
+                    enabled = true;
+                    cacheSizeMb = intOption(args, i++);
+                    break;
+                default:
+                    remaining.add(args[i]);
+            }
+        }
+
+        if (enabled) {
+            try {
+                cache = new CompilationCache(Paths.get(cacheDir), cacheSizeMb * 1024 * 1024);
+            } catch (IOException e) {
+                System.err.println("Errore: impossibile inizializzare la cache di compilazione: " + e.getMessage());
+                System.exit(1);
+            }
+            // Statistiche stampate all'uscita, anche quando la compilazione fallisce
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(cache.statistics())));
+        }
+        return remaining.toArray(new String[0]);
+    }
+
+    private static String[] parseAnalysisOptions(String[] args) {
+        List<String> remaining = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--single-pass":
+                    singlePass = true;
+                    break;
+                case "--max-errors":
+                    maxErrors = maxErrorsOption(args, i++);
+                    break;
+                default:
+                    remaining.add(args[i]);
+            }
+        }
+        return remaining.toArray(new String[0]);
+    }
+
+    private static String[] parseOutputOptions(String[] args) {
+        List<String> remaining = new ArrayList<>();
+        for (String arg : args) {
+            switch (arg) {
+                case "--source-map":
+                    sourceMap = true;
+                    break;
+                case "--stats":
+                    statsFormat = "table";
+                    break;
+                case "--stats=json":
+                    statsFormat = "json";
+                    break;
+                case "--ir":
+                    ir = true;
+                    break;
+                default:
+                    if (arg.matches("-O\\d+")) {
+                        ir = true;
+                        passes = optimizationLevel(arg);
+                    } else if (arg.startsWith("--passes=")) {
+                        ir = true;
+                        passes = passNames(arg, false);
+                    } else if (arg.startsWith("--dump-after=")) {
+                        ir = true;
+                        dumpAfter = new HashSet<>(passNames(arg, true));
+                    } else {
+                        remaining.add(arg);
+                    }
+            }
+        }
+        return remaining.toArray(new String[0]);
+    }
+
+    private static List<String> optimizationLevel(String option) {
+        int level = Integer.parseInt(option.substring(2));
+        if (level > Passes.MAX_LEVEL) {
+            System.err.println("Errore: livello di ottimizzazione non valido: " + option + " (da -O0 a -O" + Passes.MAX_LEVEL + ").");
+            System.exit(1);
+        }
+        return Passes.level(level);
+    }
+
+    // Nomi separati da virgole dopo '='; con dump sono ammessi anche "build" e "all"
+    private static List<String> passNames(String option, boolean dump) {
+        List<String> names = new ArrayList<>();
+        for (String name : option.substring(option.indexOf('=') + 1).split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!Passes.names().contains(name) && !(dump && (name.equals("build") || name.equals("all")))) {
+                System.err.println("Errore: passo sconosciuto: " + name + " (disponibili: " + String.join(", ", Passes.names()) + ").");
+                System.exit(1);
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    // Metriche per fase di ogni compilazione: una tabella per file, oppure un array JSON
+    private static void printStats(List<CompilationResult> results) {
+        if (statsFormat == null) {
+            return;
+        }
+        // Le compilazioni interrotte da un errore interno non hanno metriche
+        results = results.stream().filter(result -> result.getStats() != null).toList();
+        if (statsFormat.equals("json")) {
+            StringBuilder json = new StringBuilder("[");
+            for (CompilationResult result : results) {
+                json.append(json.length() > 1 ? ",\n " : "")
+                        .append("{\"file\": \"").append(result.getInputFile().getPath().replace("\\", "\\\\").replace("\"", "\\\""))
+                        .append("\", \"success\": ").append(result.isSuccess())
+                        .append(", \"stats\": ").append(result.getStats().toJson()).append('}');
+            }
+            System.out.println(json.append(']'));
+        } else {
+            for (CompilationResult result : results) {
+                System.out.println(result.getInputFile().getPath() + (result.isSuccess() ? "" : " (fallita)") + ":");
+                System.out.println(result.getStats().formatTable());
+            }
+        }
+    }
+
+    private static int maxErrorsOption(String[] args, int i) {
+        int value = intOption(args, i);
+        if (value < 1) {
+            System.err.println("Errore: il numero massimo di errori deve essere almeno 1.");
+            System.exit(1);
+        }
+        return value;
+    }
+
+    private static String optionValue(String[] args, int i) {
+        if (i + 1 >= args.length) {
+            System.err.println("Errore: l'opzione " + args[i] + " richiede un valore.");
+            System.exit(1);
+        }
+        return args[i + 1];
+    }
+
+    private static double doubleOption(String[] args, int i) {
+        String value = optionValue(args, i);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Errore: valore non valido per " + args[i] + ": " + value);
+            System.exit(1);
+            return 0;
+        }
+    }
+
+    private static int intOption(String[] args, int i) {
+        String value = optionValue(args, i);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Errore: valore non valido per " + args[i] + ": " + value);
             System.exit(1);
-        } catch (Exception e) {
-            System.err.println("Errore durante l'elaborazione: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static File createOutputDir() {
+        File outputDir = new File("test_files" + File.separator + "c_out");
+        if (!outputDir.exists() && !outputDir.mkdirs()) {
+            System.err.println("Errore: impossibile creare la cartella di output.");
             System.exit(1);
         }
+        return outputDir;
     }
 }
@@ -0,0 +1,138 @@
+package compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compila più sorgenti Toy2 in parallelo su un pool di thread limitato.
+ * Ogni file viene compilato da un worker indipendente tramite Toy2Compiler,
+ * senza stato condiviso tra i worker; il riepilogo viene stampato alla fine.
+ */
+public class BatchCompiler {
+    private final Toy2Compiler compiler;
+    private final File outputDir;
+    private final int jobs;
+
+    public BatchCompiler(Toy2Compiler compiler, File outputDir, int jobs) {
+        this.compiler = compiler;
+        this.outputDir = outputDir;
+        this.jobs = Math.max(1, jobs);
+    }
+
+    // Compila tutti i file indicati e restituisce i risultati nello stesso ordine
+    public List<CompilationResult> compileAll(List<File> inputFiles) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(jobs, Math.max(1, inputFiles.size())));
+        try {
+            // File con lo stesso nome sovrascriverebbero lo stesso .c: vengono scartati
+            Set<String> outputNames = new HashSet<>();
+            List<Future<CompilationResult>> futures = new ArrayList<>();
+            for (File inputFile : inputFiles) {
+                if (!outputNames.add(Toy2Compiler.baseName(inputFile))) {
+                    futures.add(executor.submit(() -> CompilationResult.failure(inputFile,
+                            "Errore: un altro file in input produce già " + Toy2Compiler.baseName(inputFile) + ".c", 0)));
+                } else {
+                    futures.add(executor.submit(() -> compiler.compile(inputFile, outputDir)));
+                }
+            }
+
+            List<CompilationResult> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(CompilationResult.failure(inputFiles.get(i),
+                            "Errore durante l'elaborazione: " + e.getCause(), 0));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Stampa il riepilogo per file e i totali
+    public static void printSummary(List<CompilationResult> results, long elapsedMillis, PrintStream out) {
+        int failed = 0;
+        out.println();
+        out.println("=== Riepilogo compilazione ===");
+        for (CompilationResult result : results) {
+            if (result.isSuccess()) {
+                out.printf("OK     %s -> %s (%d ms)%n", result.getInputFile().getPath(),
+                        result.getOutputFile().getPath(), result.getElapsedMillis());
+            } else {
+                failed++;
+                out.printf("ERRORE %s (%d ms)%n       %s%n", result.getInputFile().getPath(),
+                        result.getElapsedMillis(), result.getMessage());
+            }
+        }
+        out.printf("File compilati: %d, riusciti: %d, falliti: %d, tempo totale: %d ms%n",
+                results.size(), results.size() - failed, failed, elapsedMillis);
+    }
+
+    // Espande file, directory (ricorsivamente, solo .txt) e pattern glob in una lista di sorgenti
+    public static List<File> expandInputs(List<String> inputs) throws IOException {
+        Set<File> files = new LinkedHashSet<>();
+        for (String input : inputs) {
+            File file = new File(input);
+            if (file.isFile()) {
+                files.add(file);
+            } else if (file.isDirectory()) {
+                files.addAll(walk(file.toPath(), path -> path.toString().endsWith(".txt")));
+            } else if (isGlob(input)) {
+                Path baseDir = globBaseDir(input);
+                PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + input);
+                files.addAll(walk(baseDir, path -> matcher.matches(path)));
+            } else {
+                throw new IOException("il file di input " + input + " non esiste.");
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static List<File> walk(Path dir, PathMatcher filter) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(filter::matches)
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isGlob(String input) {
+        return input.contains("*") || input.contains("?") || input.contains("[") || input.contains("{");
+    }
+
+    // Parte iniziale del pattern senza caratteri glob, da cui parte la visita
+    private static Path globBaseDir(String pattern) {
+        int firstGlob = pattern.length();
+        for (char c : new char[]{'*', '?', '[', '{'}) {
+            int index = pattern.indexOf(c);
+            if (index >= 0) {
+                firstGlob = Math.min(firstGlob, index);
+            }
+        }
+        int separator = Math.max(pattern.lastIndexOf('/', firstGlob), pattern.lastIndexOf(File.separatorChar, firstGlob));
+        return separator < 0 ? Paths.get("") : Paths.get(pattern.substring(0, separator + 1));
+    }
+}
@@ -0,0 +1,175 @@
+package compiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache su disco del codice C generato, indirizzata per contenuto.
+ * La chiave è lo SHA-256 dei byte del sorgente e dell'impronta del compilatore
+ * (le classi compilate del progetto), per cui qualsiasi modifica al compilatore invalida la cache.
+ * Le voci meno usate di recente (data di modifica del file) vengono eliminate
+ * quando la dimensione totale supera il limite.
+ */
+public class CompilationCache {
+    private static final String ENTRY_SUFFIX = ".c";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final byte[] compilerFingerprint;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CompilationCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.compilerFingerprint = computeCompilerFingerprint();
+        Files.createDirectories(directory);
+    }
+
+    public String key(byte[] source) {
+        MessageDigest digest = sha256();
+        digest.update(compilerFingerprint);
+        digest.update(source);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Copia in target il codice C memorizzato per la chiave; restituisce false se la voce è assente
+    public boolean restore(String key, Path target) {
+        Path entry = entryPath(key);
+        try {
+            Files.copy(entry, target, StandardCopyOption.REPLACE_EXISTING);
+            // La data di modifica indica l'ultimo utilizzo, usata per l'eliminazione LRU
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            return true;
+        } catch (IOException e) {
+            misses.incrementAndGet();
+            return false;
+        }
+    }
+
+    // Memorizza una copia del file generato
+    public void store(String key, Path generated) throws IOException {
+        // Scrittura atomica: un lettore concorrente non vede mai una voce incompleta
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            Files.copy(generated, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, entryPath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        evict();
+    }
+
+    // Elimina le voci usate meno di recente finché la cache non rientra nel limite
+    private synchronized void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> paths = Files.list(directory)) {
+            entries = paths.filter(path -> path.toString().endsWith(ENTRY_SUFFIX)).collect(Collectors.toList());
+        }
+
+        List<CacheEntry> cacheEntries = new ArrayList<>();
+        long totalBytes = 0;
+        for (Path path : entries) {
+            try {
+                CacheEntry entry = new CacheEntry(path, Files.size(path), Files.getLastModifiedTime(path));
+                cacheEntries.add(entry);
+                totalBytes += entry.size;
+            } catch (NoSuchFileException e) {
+                // Voce eliminata da un altro processo
+            }
+        }
+
+        cacheEntries.sort(Comparator.comparing(entry -> entry.lastUsed));
+        for (CacheEntry entry : cacheEntries) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(entry.path);
+            totalBytes -= entry.size;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public String statistics() {
+        long total = hits.get() + misses.get();
+        long ratio = total == 0 ? 0 : hits.get() * 100 / total;
+        return String.format("Cache di compilazione (%s): %d hit, %d miss (%d%% hit)",
+                directory, hits.get(), misses.get(), ratio);
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    // Impronta delle classi del compilatore (jar o cartella delle classi)
+    private static byte[] computeCompilerFingerprint() throws IOException {
+        MessageDigest digest = sha256();
+        Path location;
+        try {
+            location = Paths.get(CompilationCache.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("impossibile individuare le classi del compilatore: " + e.getMessage());
+        }
+
+        List<Path> files;
+        if (Files.isDirectory(location)) {
+            try (Stream<Path> paths = Files.walk(location)) {
+                files = paths.filter(path -> path.toString().endsWith(".class")).sorted().collect(Collectors.toList());
+            }
+        } else {
+            files = List.of(location);
+        }
+
+        for (Path file : files) {
+            digest.update(location.relativize(file).toString().getBytes());
+            try (InputStream in = Files.newInputStream(file)) {
+                digest.update(in.readAllBytes());
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CacheEntry {
+        private final Path path;
+        private final long size;
+        private final FileTime lastUsed;
+
+        private CacheEntry(Path path, long size, FileTime lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package compiler;
+
+import visitor.exception.Diagnostics;
+
+// Compilazione interrotta al termine di una fase che ha registrato errori nella diagnostica
+public class CompilationErrorsException extends Exception {
+    private final Diagnostics diagnostics;
+
+    public CompilationErrorsException(Diagnostics diagnostics) {
+        super(diagnostics.format());
+        this.diagnostics = diagnostics;
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+}
@@ -0,0 +1,65 @@
+package compiler;
+
+import java.io.File;
+
+public class CompilationResult {
+    private final File inputFile;
+    private final File outputFile;
+    private final boolean success;
+    private final String message;
+    private final long elapsedNanos;
+    private final CompilationStats stats;  // Metriche per fase, se richieste
+
+    private CompilationResult(File inputFile, File outputFile, boolean success, String message, long elapsedNanos,
+                              CompilationStats stats) {
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+        this.success = success;
+        this.message = message;
+        this.elapsedNanos = elapsedNanos;
+        this.stats = stats;
+    }
+
+    // Compilazione terminata con successo: il codice C è stato scritto in outputFile
+    public static CompilationResult success(File inputFile, File outputFile, long elapsedNanos) {
+        return success(inputFile, outputFile, elapsedNanos, null);
+    }
+
+    public static CompilationResult success(File inputFile, File outputFile, long elapsedNanos, CompilationStats stats) {
+        return new CompilationResult(inputFile, outputFile, true, null, elapsedNanos, stats);
+    }
+
+    // Compilazione fallita: message contiene la diagnostica già formattata
+    public static CompilationResult failure(File inputFile, String message, long elapsedNanos) {
+        return failure(inputFile, message, elapsedNanos, null);
+    }
+
+    // Le metriche comprendono le fasi completate prima dell'errore
+    public static CompilationResult failure(File inputFile, String message, long elapsedNanos, CompilationStats stats) {
+        return new CompilationResult(inputFile, null, false, message, elapsedNanos, stats);
+    }
+
+    public File getInputFile() {
+        return inputFile;
+    }
+
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public CompilationStats getStats() {
+        return stats;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+}
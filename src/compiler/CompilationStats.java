@@ -0,0 +1,182 @@
+package compiler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Metriche di una compilazione (--stats): per ogni fase della pipeline tempo reale, tempo di CPU
+ * e byte allocati dal thread che compila, misurati con i contatori per thread di ThreadMXBean;
+ * inoltre numero di token, nodi dell'AST e simboli e dimensione del file generato.
+ * Le fasi vengono eseguite in sequenza sullo stesso thread: begin apre una fase, end la chiude.
+ * Le misure non disponibili sulla JVM in uso valgono -1.
+ */
+public class CompilationStats {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final List<Phase> phases = new ArrayList<>();
+    private Phase current;
+    private long tokens = -1;
+    private long nodes = -1;
+    private long symbols = -1;
+    private long outputBytes = -1;
+
+    public static class Phase {
+        private final String name;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    public void begin(String name) {
+        current = new Phase(name);
+        phases.add(current);
+        // I valori iniziali sono salvati con segno opposto e sommati alla fine della fase
+        current.allocatedBytes = -allocatedBytes();
+        current.cpuNanos = -cpuTime();
+        current.wallNanos = -System.nanoTime();
+    }
+
+    // Chiude la fase aperta; non fa nulla se non ce n'è una
+    public void end() {
+        if (current == null) {
+            return;
+        }
+        long wall = System.nanoTime();
+        long cpu = cpuTime();
+        long allocated = allocatedBytes();
+        current.wallNanos += wall;
+        current.cpuNanos = cpu < 0 ? -1 : current.cpuNanos + cpu;
+        current.allocatedBytes = allocated < 0 ? -1 : current.allocatedBytes + allocated;
+        current = null;
+    }
+
+    /*
+     * Sposta tempo reale dalla penultima fase all'ultima, già chiusa: la scrittura del file C avviene
+     * durante la generazione del codice, che la precede. Il tempo di CPU e la memoria allocata dalle
+     * scritture restano invece nella fase precedente, perché misurarli a ogni scrittura costerebbe troppo.
+     */
+    public void moveFromPreviousPhase(long wallNanos) {
+        if (phases.size() < 2) {
+            return;
+        }
+        phases.get(phases.size() - 2).wallNanos -= wallNanos;
+        phases.get(phases.size() - 1).wallNanos += wallNanos;
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    public void setTokens(long tokens) {
+        this.tokens = tokens;
+    }
+
+    public void setNodes(long nodes) {
+        this.nodes = nodes;
+    }
+
+    public void setSymbols(long symbols) {
+        this.symbols = symbols;
+    }
+
+    public void setOutputBytes(long outputBytes) {
+        this.outputBytes = outputBytes;
+    }
+
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    public long getTokens() {
+        return tokens;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getSymbols() {
+        return symbols;
+    }
+
+    public long getOutputBytes() {
+        return outputBytes;
+    }
+
+    // Tabella leggibile: una riga per fase, il totale e i contatori
+    public String formatTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-20s %12s %12s %14s%n", "Fase", "Tempo (ms)", "CPU (ms)", "Allocati (KB)"));
+        long wall = 0, cpu = 0, allocated = 0;
+        for (Phase phase : phases) {
+            table.append(String.format("%-20s %12s %12s %14s%n", phase.name, millis(phase.wallNanos),
+                    millis(phase.cpuNanos), kilobytes(phase.allocatedBytes)));
+            wall += phase.wallNanos;
+            cpu = phase.cpuNanos < 0 || cpu < 0 ? -1 : cpu + phase.cpuNanos;
+            allocated = phase.allocatedBytes < 0 || allocated < 0 ? -1 : allocated + phase.allocatedBytes;
+        }
+        table.append(String.format("%-20s %12s %12s %14s%n", "Totale", millis(wall), millis(cpu), kilobytes(allocated)));
+        table.append(String.format("%nToken: %s, nodi dell'AST: %s, simboli: %s, codice generato: %s byte%n",
+                count(tokens), count(nodes), count(symbols), count(outputBytes)));
+        return table.toString();
+    }
+
+    // Oggetto JSON con i tempi in nanosecondi e le allocazioni in byte, per il confronto automatico tra esecuzioni
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"phases\": [");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            json.append(i == 0 ? "" : ", ")
+                    .append("{\"name\": \"").append(phase.name).append('"')
+                    .append(", \"wallNanos\": ").append(phase.wallNanos)
+                    .append(", \"cpuNanos\": ").append(phase.cpuNanos)
+                    .append(", \"allocatedBytes\": ").append(phase.allocatedBytes).append('}');
+        }
+        json.append("], \"tokens\": ").append(tokens)
+                .append(", \"nodes\": ").append(nodes)
+                .append(", \"symbols\": ").append(symbols)
+                .append(", \"outputBytes\": ").append(outputBytes).append('}');
+        return json.toString();
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "n/d" : String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String kilobytes(long bytes) {
+        return bytes < 0 ? "n/d" : String.format("%.1f", bytes / 1024.0);
+    }
+
+    private static String count(long value) {
+        return value < 0 ? "n/d" : Long.toString(value);
+    }
+}
@@ -0,0 +1,64 @@
+package compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+/**
+ * Client del CompileDaemon: invia un sorgente al daemon e salva il codice C ricevuto,
+ * con gli stessi messaggi ed esiti della compilazione locale.
+ */
+public class CompileClient {
+    private final SocketAddress address;
+
+    public CompileClient(SocketAddress address) {
+        this.address = address;
+    }
+
+    public CompilationResult compile(File inputFile, File outputDir) {
+        long start = System.nanoTime();
+        File outputFile = new File(outputDir, Toy2Compiler.baseName(inputFile) + ".c");
+
+        try {
+            byte[] source = Files.readAllBytes(inputFile.toPath());
+            String[] response;
+            byte[] payload;
+            try (SocketChannel channel = SocketChannel.open(address)) {
+                OutputStream out = Channels.newOutputStream(channel);
+                InputStream in = Channels.newInputStream(channel);
+                DaemonProtocol.writeCompileRequest(out, inputFile.getName(), source);
+                response = DaemonProtocol.readHeader(in).split(" ");
+                payload = DaemonProtocol.readPayload(in, DaemonProtocol.parseLength(response, 1, Integer.MAX_VALUE));
+            }
+
+            if (!response[0].equals(DaemonProtocol.OK)) {
+                return CompilationResult.failure(inputFile, new String(payload, Charset.defaultCharset()),
+                        System.nanoTime() - start);
+            }
+
+            // Salva il codice generato nel file di output
+            Files.write(outputFile.toPath(), payload);
+            return CompilationResult.success(inputFile, outputFile, System.nanoTime() - start);
+
+        } catch (IOException e) {
+            return CompilationResult.failure(inputFile, Toy2Compiler.describeError(e), System.nanoTime() - start);
+        }
+    }
+
+    // Invia una richiesta senza contenuto (PING o SHUTDOWN); restituisce true se il daemon risponde OK
+    public boolean send(String request) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            out.write((request + "\n").getBytes(Charset.defaultCharset()));
+            out.flush();
+            String[] response = DaemonProtocol.readHeader(Channels.newInputStream(channel)).split(" ");
+            return response[0].equals(DaemonProtocol.OK);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package compiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.ProtocolException;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import visitor.exception.SemanticException;
+
+/**
+ * Daemon di compilazione: mantiene caricati e "caldi" (JIT) lexer, parser e visitor
+ * e serve richieste di compilazione su un socket Unix o TCP di loopback.
+ * Ogni richiesta viene compilata da un worker del pool con una pipeline indipendente.
+ */
+public class CompileDaemon {
+    // Programma usato per scaldare il JIT prima di accettare richieste
+    private static final String WARMUP_PROGRAM = """
+            var g ^= 1;\\
+            func somma(a: integer, b: real) -> real, string:
+                var r ^= 0.0;\\
+                r ^= a + b;
+                if r > 10 then
+                    return r, "grande";
+                elseif r > 5 then
+                    return r, "media";
+                else
+                    return r, "piccola";
+                endif;
+            endfunc
+            proc main():
+                var x ^= 3; y ^= 2.5; s, t: string; r: real; ok: boolean;\\
+                r, s ^= somma(x, y);
+                ok ^= r > 2 && !(s = "piccola");
+                while x > 0 && ok do
+                    t ^= "valore " + x + " taglia " + s;
+                    --> $(t);
+                    x ^= x - g;
+                endwhile;
+                <-- "numero:" $(x);
+                -->! "fine " $(r);
+            endproc
+            """;
+
+    private final Toy2Compiler compiler;
+    private final SocketAddress address;
+    private final ExecutorService workers;
+    private ServerSocketChannel serverChannel;
+
+    public CompileDaemon(Toy2Compiler compiler, SocketAddress address, int jobs) {
+        this.compiler = compiler;
+        this.address = address;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, jobs));
+    }
+
+    // Compila ripetutamente un programma di esempio per far compilare al JIT i percorsi più usati
+    public void warmUp(int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            try {
+                compiler.generate(new StringReader(WARMUP_PROGRAM));
+            } catch (Exception | SemanticException e) {
+                throw new IllegalStateException("Il programma di warm-up non compila: " + Toy2Compiler.describeError(e));
+            }
+        }
+    }
+
+    // Accetta connessioni finché non arriva una richiesta SHUTDOWN
+    public void serve() throws IOException {
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            Files.deleteIfExists(unixAddress.getPath());
+        }
+        serverChannel = ServerSocketChannel.open(DaemonProtocol.family(address));
+        serverChannel.bind(address);
+        System.out.println("Daemon di compilazione in ascolto su " + address);
+
+        try {
+            while (serverChannel.isOpen()) {
+                SocketChannel client;
+                try {
+                    client = serverChannel.accept();
+                } catch (ClosedChannelException e) {
+                    break;
+                }
+                workers.submit(() -> handle(client));
+            }
+        } finally {
+            workers.shutdown();
+            if (address instanceof UnixDomainSocketAddress unixAddress) {
+                Files.deleteIfExists(unixAddress.getPath());
+            }
+        }
+    }
+
+    public void shutdown() throws IOException {
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try (client) {
+            InputStream in = Channels.newInputStream(client);
+            OutputStream out = Channels.newOutputStream(client);
+            try {
+                serve(in, out);
+            } catch (ProtocolException e) {
+                // Il client riceve la causa invece di trovare la connessione chiusa
+                DaemonProtocol.writeMessage(out, DaemonProtocol.ERROR,
+                        ("Richiesta non valida: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Errore nella gestione della richiesta: " + e.getMessage());
+        }
+    }
+
+    private void serve(InputStream in, OutputStream out) throws IOException {
+        String header = DaemonProtocol.readHeader(in);
+        String[] parts = header.split(" ", 3);
+
+        switch (parts[0]) {
+            case DaemonProtocol.COMPILE -> {
+                int length = DaemonProtocol.parseLength(parts, 1, DaemonProtocol.MAX_SOURCE_BYTES);
+                respond(out, DaemonProtocol.readPayload(in, length));
+            }
+            case DaemonProtocol.PING -> DaemonProtocol.writeMessage(out, DaemonProtocol.OK, new byte[0]);
+            case DaemonProtocol.SHUTDOWN -> {
+                DaemonProtocol.writeMessage(out, DaemonProtocol.OK, new byte[0]);
+                shutdown();
+            }
+            default -> DaemonProtocol.writeMessage(out, DaemonProtocol.ERROR,
+                    ("Richiesta non riconosciuta: " + header).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void respond(OutputStream out, byte[] source) throws IOException {
+        Charset charset = Charset.defaultCharset();
+        try {
+            String code = compiler.generate(new StringReader(new String(source, charset)));
+            DaemonProtocol.writeMessage(out, DaemonProtocol.OK, code.getBytes(charset));
+        } catch (Exception | SemanticException e) {
+            DaemonProtocol.writeMessage(out, DaemonProtocol.ERROR, Toy2Compiler.describeError(e).getBytes(charset));
+        }
+    }
+}
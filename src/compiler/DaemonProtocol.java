@@ -0,0 +1,110 @@
+package compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Protocollo testuale usato tra CompileDaemon e i suoi client.
+ * Ogni connessione trasporta una sola richiesta e una sola risposta:
+ *
+ *   richiesta: "COMPILE <byte> <nome>\n" seguito dal sorgente, oppure "PING\n" / "SHUTDOWN\n"
+ *   risposta:  "OK <byte>\n" seguito dal codice C, oppure "ERROR <byte>\n" seguito dalla diagnostica
+ *
+ * Sorgente e codice C viaggiano nel charset di default della piattaforma,
+ * lo stesso usato da Main per leggere e scrivere i file.
+ * Intestazioni troppo lunghe e lunghezze mancanti, non numeriche o oltre il limite vengono rifiutate
+ * con una ProtocolException prima di allocare qualunque buffer.
+ */
+public final class DaemonProtocol {
+    public static final int DEFAULT_PORT = 7172;
+
+    public static final String COMPILE = "COMPILE";
+    public static final String PING = "PING";
+    public static final String SHUTDOWN = "SHUTDOWN";
+    public static final String OK = "OK";
+    public static final String ERROR = "ERROR";
+
+    // Limiti di una richiesta, perché un client non possa far allocare al daemon memoria arbitraria
+    public static final int MAX_HEADER_BYTES = 4096;
+    public static final int MAX_SOURCE_BYTES = 64 * 1024 * 1024;
+
+    private DaemonProtocol() {
+    }
+
+    // Indirizzo del daemon: socket Unix se è indicato un percorso, altrimenti TCP su loopback
+    public static SocketAddress address(Path socketPath, int port) {
+        if (socketPath != null) {
+            return UnixDomainSocketAddress.of(socketPath);
+        }
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    public static StandardProtocolFamily family(SocketAddress address) {
+        return address instanceof UnixDomainSocketAddress ? StandardProtocolFamily.UNIX : StandardProtocolFamily.INET;
+    }
+
+    public static void writeCompileRequest(OutputStream out, String name, byte[] source) throws IOException {
+        out.write((COMPILE + " " + source.length + " " + name + "\n").getBytes(StandardCharsets.UTF_8));
+        out.write(source);
+        out.flush();
+    }
+
+    // Scrive una risposta (OK o ERROR) con il relativo contenuto
+    public static void writeMessage(OutputStream out, String header, byte[] payload) throws IOException {
+        out.write((header + " " + payload.length + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(payload);
+        out.flush();
+    }
+
+    // Legge una riga di intestazione terminata da '\n'
+    public static String readHeader(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException("connessione chiusa durante la lettura dell'intestazione");
+            }
+            if (line.size() == MAX_HEADER_BYTES) {
+                throw new ProtocolException("intestazione più lunga di " + MAX_HEADER_BYTES + " byte");
+            }
+            line.write(b);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    // Lunghezza del contenuto nel campo index dell'intestazione, compresa tra 0 e max
+    public static int parseLength(String[] header, int index, int max) throws ProtocolException {
+        if (header.length <= index) {
+            throw new ProtocolException("lunghezza mancante nell'intestazione '" + String.join(" ", header) + "'");
+        }
+        int length;
+        try {
+            length = Integer.parseInt(header[index]);
+        } catch (NumberFormatException e) {
+            throw new ProtocolException("lunghezza non valida: '" + header[index] + "'");
+        }
+        if (length < 0 || length > max) {
+            throw new ProtocolException("lunghezza fuori dall'intervallo 0.." + max + ": " + length);
+        }
+        return length;
+    }
+
+    public static byte[] readPayload(InputStream in, int length) throws IOException {
+        byte[] payload = in.readNBytes(length);
+        if (payload.length != length) {
+            throw new EOFException("attesi " + length + " byte, ricevuti " + payload.length);
+        }
+        return payload;
+    }
+}
@@ -0,0 +1,124 @@
+package compiler;
+
+import compiler.events.CompileFileEvent;
+import compiler.events.LexingEvent;
+import compiler.events.OutputWriteEvent;
+import compiler.events.PhaseEvent;
+import jdk.jfr.EventType;
+
+/**
+ * Misura le fasi della compilazione di un file: le metriche vanno in CompilationStats (--stats)
+ * e ogni fase diventa un evento JFR di compiler.events. Un evento viene registrato solo se il suo tipo
+ * è abilitato in una registrazione in corso, per cui senza JFR e senza --stats il costo è trascurabile.
+ * I contatori (token, nodi, simboli) vengono impostati man mano che le fasi li calcolano.
+ */
+class PhaseRecorder {
+    private static final EventType LEXING = EventType.getEventType(LexingEvent.class);
+    private static final EventType OUTPUT_WRITE = EventType.getEventType(OutputWriteEvent.class);
+
+    private final String file;
+    private final CompilationStats stats;
+    private final CompileFileEvent fileEvent = new CompileFileEvent();
+    private PhaseEvent event;  // Evento della fase aperta, se abilitato
+    private boolean writing;   // La fase aperta è la scrittura del file C
+
+    private long tokens = -1;
+    private long nodes = -1;
+    private long symbols = -1;
+    private long outputBytes = -1;
+    private long interleavedWriteNanos = -1;
+
+    PhaseRecorder(String file, CompilationStats stats) {
+        this.file = file;
+        this.stats = stats;
+        fileEvent.begin();
+    }
+
+    // Lexing e parsing sono separati solo se qualcuno ne legge le misure: altrimenti il parser legge i token
+    // direttamente dal lexer. Le scritture del codice vengono misurate solo se richiesto
+    boolean measuresLexing() {
+        return stats != null || LEXING.isEnabled();
+    }
+
+    boolean measuresOutputWrite() {
+        return stats != null || OUTPUT_WRITE.isEnabled();
+    }
+
+    void begin(String phase, PhaseEvent phaseEvent) {
+        writing = phaseEvent instanceof OutputWriteEvent;
+        if (stats != null) {
+            stats.begin(phase);
+        }
+        if (phaseEvent.isEnabled()) {
+            event = phaseEvent;
+            event.begin();
+        }
+    }
+
+    // Chiude la fase aperta; non fa nulla se non ce n'è una
+    void end(boolean success) {
+        if (stats != null) {
+            stats.end();
+            if (writing && interleavedWriteNanos > 0) {
+                stats.moveFromPreviousPhase(interleavedWriteNanos);
+            }
+        }
+        writing = false;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.record(file, tokens, nodes, symbols, success);
+                if (event instanceof OutputWriteEvent outputWrite) {
+                    outputWrite.setBytes(outputBytes);
+                    outputWrite.setInterleavedWriteTime(interleavedWriteNanos);
+                }
+                event.commit();
+            }
+            event = null;
+        }
+    }
+
+    // Fine della compilazione: la fase interrotta da un errore viene chiusa come fallita
+    void finish(boolean success, String outcome) {
+        end(success);
+        fileEvent.end();
+        if (fileEvent.shouldCommit()) {
+            fileEvent.record(file, success, outcome, tokens, nodes, symbols, outputBytes);
+            fileEvent.commit();
+        }
+    }
+
+    void setTokens(long tokens) {
+        this.tokens = tokens;
+        if (stats != null) {
+            stats.setTokens(tokens);
+        }
+    }
+
+    void setNodes(long nodes) {
+        this.nodes = nodes;
+        if (stats != null) {
+            stats.setNodes(nodes);
+        }
+    }
+
+    void setSymbols(long symbols) {
+        this.symbols = symbols;
+        if (stats != null) {
+            stats.setSymbols(symbols);
+        }
+    }
+
+    // Tempo delle scritture sul file C avvenute durante la generazione del codice, da impostare prima
+    // della fase di scrittura: in CompilationStats passa dalla generazione alla scrittura
+    void setInterleavedWriteNanos(long interleavedWriteNanos) {
+        this.interleavedWriteNanos = interleavedWriteNanos;
+    }
+
+    void setOutputBytes(long outputBytes) {
+        this.outputBytes = outputBytes;
+        if (stats != null) {
+            stats.setOutputBytes(outputBytes);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package compiler;
+
+import java.io.IOException;
+
+/**
+ * Appendable che inoltra il codice C al Writer del file e somma il tempo trascorso nelle scritture.
+ * Il codice generato va direttamente sul file anche quando le fasi vengono misurate, senza tenere
+ * in memoria l'intero programma: le scritture sono intercalate alla generazione e il loro tempo
+ * viene attribuito alla fase di scrittura dal PhaseRecorder.
+ */
+class TimedAppendable implements Appendable {
+    private final Appendable target;
+    private long nanos = 0;
+
+    TimedAppendable(Appendable target) {
+        this.target = target;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        long start = System.nanoTime();
+        target.append(csq);
+        nanos += System.nanoTime() - start;
+        return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        long begin = System.nanoTime();
+        target.append(csq, start, end);
+        nanos += System.nanoTime() - begin;
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        long start = System.nanoTime();
+        target.append(c);
+        nanos += System.nanoTime() - start;
+        return this;
+    }
+
+    // Tempo reale trascorso nelle scritture finora
+    long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,461 @@
+package compiler;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import compiler.events.CodeGenerationEvent;
+import compiler.events.ConstantFoldingEvent;
+import compiler.events.IrConstructionEvent;
+import compiler.events.OptimizationPassEvent;
+import compiler.events.OutputWriteEvent;
+import compiler.events.ParsingEvent;
+import compiler.events.ScopeCheckEvent;
+import compiler.events.SemanticAnalysisEvent;
+import compiler.events.TypeCheckEvent;
+import compiler.events.LexingEvent;
+import java_cup.runtime.Scanner;
+import java_cup.runtime.Symbol;
+
+import ir.CEmitter;
+import ir.IrProgram;
+import ir.opt.AnalysisPass;
+import ir.opt.Pass;
+import ir.opt.PassManager;
+import ir.opt.Passes;
+import nodes.ProgramNode;
+import unisa.compilatori.Toy2Lexer;
+import unisa.compilatori.parser;
+import unisa.compilatori.sym;
+import visitor.CodeGeneratorVisitor;
+import visitor.ConstantFoldingVisitor;
+import visitor.IrBuilderVisitor;
+import visitor.ScopeCheckingVisitor;
+import visitor.SemanticAnalysisVisitor;
+import visitor.TypeCheckingVisitor;
+import visitor.exception.Diagnostics;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.SymbolTableManager;
+import visitor.utils.CodeSink;
+import visitor.utils.SourceMapSink;
+
+/**
+ * Pipeline completa del compilatore Toy2: lexing, parsing, scope checking,
+ * type checking, valutazione delle espressioni costanti e generazione del codice C.
+ * Ogni invocazione crea il proprio lexer, parser, SymbolTableManager e visitor,
+ * per cui la stessa istanza può essere usata contemporaneamente da più thread.
+ * Se è presente una CompilationCache, un sorgente già compilato non attraversa la pipeline.
+ * Parser, scope checking e type checking registrano gli errori in una Diagnostics e proseguono:
+ * la compilazione si ferma al termine della prima fase che ne ha trovati, segnalandoli tutti.
+ * Con la source map il codice C contiene le direttive #line verso il sorgente e accanto al file .c
+ * viene scritto <nome>.c.map; la cache non viene usata, perché le direttive contengono il percorso del sorgente.
+ * Ogni fase viene misurata da un PhaseRecorder, per le statistiche (CompilationStats) e per gli eventi JFR:
+ * quando le misure sono richieste i token vengono letti tutti prima del parsing, mentre il codice C va
+ * comunque direttamente sul file, attraverso un TimedAppendable che misura il tempo delle scritture.
+ * Con la rappresentazione intermedia il codice C non viene generato dall'AST ma dall'IR in forma SSA
+ * (IrBuilderVisitor e CEmitter); il codice non contiene direttive #line. Tra la costruzione dell'IR e la
+ * generazione un PassManager esegue i passi di ottimizzazione richiesti (package ir.opt), ciascuno misurato
+ * come una fase; l'IR può essere salvato accanto al file C dopo i passi indicati in dumpAfter.
+ */
+public class Toy2Compiler {
+    private final CompilationCache cache;
+    // Scope checking e type checking fusi in un'unica visita (SemanticAnalysisVisitor)
+    private final boolean singlePass;
+    // Numero massimo di errori riportati da una compilazione
+    private final int maxErrors;
+    // Direttive #line e source map JSON accanto al file C generato
+    private final boolean sourceMap;
+    // Metriche per fase allegate a ogni CompilationResult
+    private final boolean stats;
+    // Codice C generato attraverso la rappresentazione intermedia (package ir)
+    private final boolean ir;
+    // Nomi dei passi di ottimizzazione eseguiti sull'IR, in ordine (vedi Passes)
+    private final List<String> passes;
+    // Passi dopo i quali l'IR viene salvato in <nome>.<n>.<passo>.ir: "build" per l'IR appena costruito, "all" per tutti
+    private final Set<String> dumpAfter;
+
+    // Compilatore con le opzioni predefinite: nessuna cache, analisi in due passi, codice C generato dall'AST
+    public Toy2Compiler() {
+        this(builder());
+    }
+
+    private Toy2Compiler(Builder builder) {
+        // I nomi non registrati vengono rifiutati subito, non alla prima compilazione
+        Passes.create(builder.passes);
+        this.cache = builder.cache;
+        this.singlePass = builder.singlePass;
+        this.maxErrors = builder.maxErrors;
+        this.sourceMap = builder.sourceMap;
+        this.stats = builder.stats;
+        this.ir = builder.ir;
+        this.passes = List.copyOf(builder.passes);
+        this.dumpAfter = Set.copyOf(builder.dumpAfter);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Opzioni di un Toy2Compiler; quelle non impostate mantengono il valore predefinito.
+     * Lo stesso Builder può costruire più compilatori: ognuno copia le opzioni al momento di build().
+     */
+    public static class Builder {
+        private CompilationCache cache;
+        private boolean singlePass;
+        private int maxErrors = Diagnostics.DEFAULT_MAX_ERRORS;
+        private boolean sourceMap;
+        private boolean stats;
+        private boolean ir;
+        private List<String> passes = List.of();
+        private Set<String> dumpAfter = Set.of();
+
+        private Builder() {
+        }
+
+        public Builder cache(CompilationCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public Builder singlePass(boolean singlePass) {
+            this.singlePass = singlePass;
+            return this;
+        }
+
+        public Builder maxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+            return this;
+        }
+
+        public Builder sourceMap(boolean sourceMap) {
+            this.sourceMap = sourceMap;
+            return this;
+        }
+
+        public Builder stats(boolean stats) {
+            this.stats = stats;
+            return this;
+        }
+
+        public Builder ir(boolean ir) {
+            this.ir = ir;
+            return this;
+        }
+
+        public Builder passes(List<String> passes) {
+            this.passes = passes;
+            return this;
+        }
+
+        public Builder dumpAfter(Set<String> dumpAfter) {
+            this.dumpAfter = dumpAfter;
+            return this;
+        }
+
+        public Toy2Compiler build() {
+            return new Toy2Compiler(this);
+        }
+    }
+
+    // Compila il file sorgente e salva il codice C in outputDir/<nome>.c
+    public CompilationResult compile(File inputFile, File outputDir) {
+        long start = System.nanoTime();
+        File outputFile = new File(outputDir, baseName(inputFile) + ".c");
+        // Le statistiche misurano la pipeline completa, che la cache salterebbe; la cache non distingue
+        // il codice generato attraverso l'IR da quello generato dall'AST
+        CompilationCache cache = sourceMap || stats || ir ? null : this.cache;
+        CompilationStats compilationStats = stats ? new CompilationStats() : null;
+        PhaseRecorder phases = new PhaseRecorder(inputFile.getPath(), compilationStats);
+        // Il codice viene scritto in un file temporaneo e rinominato solo a compilazione riuscita,
+        // così un errore non lascia un .c parziale né cancella quello precedente
+        Path partialFile = new File(outputDir, baseName(inputFile) + ".c.part").toPath();
+        File dumpBase = new File(outputDir, baseName(inputFile));
+
+        try {
+            byte[] source = Files.readAllBytes(inputFile.toPath());
+            String key = cache != null ? cache.key(source) : null;
+
+            boolean restored = cache != null && cache.restore(key, outputFile.toPath());
+            if (!restored) {
+                Reader reader = new InputStreamReader(new ByteArrayInputStream(source), Charset.defaultCharset());
+                SourceMapSink sourceMapSink = null;
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(partialFile),
+                        Charset.defaultCharset()))) {
+                    TimedAppendable timed = phases.measuresOutputWrite() ? new TimedAppendable(writer) : null;
+                    Appendable target = timed != null ? timed : writer;
+                    if (sourceMap) {
+                        sourceMapSink = new SourceMapSink(target, inputFile.getAbsolutePath(), outputFile.getAbsolutePath());
+                        generate(reader, sourceMapSink, phases, dumpBase);
+                    } else {
+                        generate(reader, new CodeSink(target), phases, dumpBase);
+                    }
+                    if (timed != null) {
+                        phases.setInterleavedWriteNanos(timed.getNanos());
+                    }
+                    // Alla chiusura del Writer viene scritta la parte del codice ancora nei buffer
+                    phases.begin("Scrittura", new OutputWriteEvent());
+                }
+                Files.move(partialFile, outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                phases.setOutputBytes(Files.size(outputFile.toPath()));
+                phases.end(true);
+                if (sourceMapSink != null) {
+                    Files.writeString(new File(outputDir, outputFile.getName() + ".map").toPath(), sourceMapSink.toJson(),
+                            Charset.defaultCharset());
+                }
+                if (cache != null) {
+                    cache.store(key, outputFile.toPath());
+                }
+            }
+
+            phases.finish(true, restored ? "cache" : "ok");
+            return CompilationResult.success(inputFile, outputFile, System.nanoTime() - start, compilationStats);
+
+        } catch (Exception | SemanticException e) {
+            try {
+                Files.deleteIfExists(partialFile);
+            } catch (IOException ignored) {
+                // Il messaggio mostrato resta quello dell'errore di compilazione
+            }
+            Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+            String message = describeError(cause);
+            // La fase interrotta dall'errore viene chiusa nel momento in cui si è verificato
+            phases.finish(false, message);
+            return CompilationResult.failure(inputFile, message, System.nanoTime() - start, compilationStats);
+        }
+    }
+
+    // Esegue la pipeline sul sorgente e restituisce il codice C generato
+    public String generate(Reader source) throws Exception, SemanticException {
+        StringBuilder code = new StringBuilder();
+        generate(source, new CodeSink(code));
+        return code.toString();
+    }
+
+    // Esegue la pipeline sul sorgente scrivendo il codice C sul sink man mano che viene generato
+    public void generate(Reader source, CodeSink sink) throws Exception, SemanticException {
+        PhaseRecorder phases = new PhaseRecorder("", null);
+        try {
+            generate(source, sink, phases, null);
+        } finally {
+            // Chiude l'eventuale fase interrotta da un errore
+            phases.end(false);
+        }
+    }
+
+    // Lexing, parsing, analisi semantica e constant folding: l'AST restituito è pronto per un backend
+    // (generazione del codice C o interprete)
+    public ProgramNode parseAndCheck(Reader source) throws Exception, SemanticException {
+        PhaseRecorder phases = new PhaseRecorder("", null);
+        try {
+            return frontEnd(new Toy2Lexer(source), phases);
+        } finally {
+            phases.end(false);
+        }
+    }
+
+    // Come generate(Reader, CodeSink), registrando le misure di ciascuna fase in phases;
+    // le stampe dell'IR richieste da dumpAfter vengono scritte in <dumpBase>.<n>.<passo>.ir (nessuna se null)
+    private void generate(Reader source, CodeSink sink, PhaseRecorder phases, File dumpBase)
+            throws Exception, SemanticException {
+        Toy2Lexer lexer = new Toy2Lexer(source);
+        ProgramNode programNode = frontEnd(lexer, phases);
+
+        if (ir) {
+            phases.begin("Costruzione IR", new IrConstructionEvent());
+            IrProgram program = new IrBuilderVisitor().build(programNode);
+            phases.end(true);
+            IrDumper dumper = new IrDumper(dumpBase);
+            dumper.afterPass("build", program);
+            new PassManager(Passes.create(passes), new PassManager.Listener() {
+                @Override
+                public void beforePass(Pass pass) {
+                    phases.begin((pass instanceof AnalysisPass<?> ? "Analisi " : "Passo ") + pass.getName(),
+                            new OptimizationPassEvent(pass.getName()));
+                }
+
+                @Override
+                public void afterPass(Pass pass, IrProgram program, boolean changed) {
+                    phases.end(true);
+                    if (!(pass instanceof AnalysisPass<?>)) {
+                        dumper.afterPass(pass.getName(), program);
+                    }
+                }
+            }).run(program);
+            phases.begin("Generazione codice", new CodeGenerationEvent());
+            new CEmitter(sink).emit(program);
+            phases.end(true);
+            return;
+        }
+
+        // Code Generation
+        CodeGeneratorVisitor codeGeneratorVisitor = sink instanceof SourceMapSink sourceMapSink
+                ? new CodeGeneratorVisitor(sourceMapSink, lexer.getLineMap())
+                : new CodeGeneratorVisitor(sink);
+        phases.begin("Generazione codice", new CodeGenerationEvent());
+        programNode.accept(codeGeneratorVisitor);
+        phases.end(true);
+    }
+
+    // Stampe dell'IR numerate nell'ordine dei passi, per confrontare l'effetto di ciascuno
+    private class IrDumper {
+        private final File base;
+        private int step = 0;
+
+        private IrDumper(File base) {
+            this.base = base;
+        }
+
+        private void afterPass(String pass, IrProgram program) {
+            int index = step++;
+            if (base == null || !(dumpAfter.contains(pass) || dumpAfter.contains("all"))) {
+                return;
+            }
+            File file = new File(base.getParentFile(), String.format("%s.%02d.%s.ir", base.getName(), index, pass));
+            // Come per il codice C, i caratteri non rappresentabili vengono sostituiti
+            try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), Charset.defaultCharset())) {
+                writer.write(program.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Tutte le fasi che precedono la generazione del codice
+    private ProgramNode frontEnd(Toy2Lexer lexer, PhaseRecorder phases) throws Exception, SemanticException {
+        Scanner scanner = lexer;
+        if (phases.measuresLexing()) {
+            // Lexing misurato a parte: il parser legge poi i token già prodotti
+            phases.begin("Lexing", new LexingEvent());
+            TokenList tokens = new TokenList(lexer);
+            phases.setTokens(tokens.size());
+            phases.end(true);
+            scanner = tokens;
+        }
+
+        // Parsing del sorgente
+        Diagnostics diagnostics = new Diagnostics(maxErrors, lexer.getLineMap());
+        parser parser = new parser(scanner);
+        parser.setDiagnostics(diagnostics);
+        ProgramNode programNode;
+        phases.begin("Parsing", new ParsingEvent());
+        try {
+            programNode = (ProgramNode) parser.parse().value;
+        } catch (Exception e) {
+            // Errore di sintassi da cui il parser non ha potuto riprendersi
+            if (diagnostics.hasErrors()) {
+                throw new CompilationErrorsException(diagnostics);
+            }
+            throw e;
+        }
+        phases.setNodes(parser.getNodeCount());
+        phases.end(!diagnostics.hasErrors());
+        checkErrors(diagnostics);
+
+        if (singlePass) {
+            // Scope checking e type checking in un solo passo
+            SymbolTableManager symbolTableManager = new SymbolTableManager();
+            phases.begin("Analisi semantica", new SemanticAnalysisEvent());
+            programNode.accept(new SemanticAnalysisVisitor(symbolTableManager, diagnostics));
+            phases.setSymbols(symbolTableManager.getSymbolCount());
+            phases.end(!diagnostics.hasErrors());
+            checkErrors(diagnostics);
+        } else {
+            analyze(programNode, diagnostics, phases);
+        }
+
+        // Constant Folding
+        phases.begin("Constant folding", new ConstantFoldingEvent());
+        programNode.accept(new ConstantFoldingVisitor());
+        phases.end(true);
+
+        return programNode;
+    }
+
+    // Scope checking e type checking, ciascuno seguito dal controllo degli errori registrati
+    private static void analyze(ProgramNode programNode, Diagnostics diagnostics, PhaseRecorder phases)
+            throws Exception, SemanticException {
+        // Scope Checking
+        SymbolTableManager symbolTableManager = new SymbolTableManager();
+        ScopeCheckingVisitor scopeCheckingVisitor = new ScopeCheckingVisitor(symbolTableManager, diagnostics);
+        phases.begin("Scope checking", new ScopeCheckEvent());
+        programNode.accept(scopeCheckingVisitor);
+        phases.setSymbols(symbolTableManager.getSymbolCount());
+        phases.end(!diagnostics.hasErrors());
+        checkErrors(diagnostics);
+
+        // Type Checking
+        TypeCheckingVisitor typeCheckingVisitor = new TypeCheckingVisitor(diagnostics);
+        phases.begin("Type checking", new TypeCheckEvent());
+        programNode.accept(typeCheckingVisitor);
+        phases.end(!diagnostics.hasErrors());
+        checkErrors(diagnostics);
+    }
+
+    private static void checkErrors(Diagnostics diagnostics) throws CompilationErrorsException {
+        if (diagnostics.hasErrors()) {
+            throw new CompilationErrorsException(diagnostics);
+        }
+    }
+
+    // Messaggio di errore mostrato all'utente, uguale per tutte le modalità di compilazione
+    public static String describeError(Throwable e) {
+        if (e instanceof CompilationErrorsException) {
+            return e.getMessage();
+        } else if (e instanceof SemanticException) {
+            return "Errore semantico: " + e.getMessage();
+        } else if (e instanceof IOException) {
+            return "Errore durante la lettura/scrittura dei file: " + e.getMessage();
+        }
+        return "Errore durante l'elaborazione: " + e.getMessage();
+    }
+
+    // Token letti in anticipo dal lexer e restituiti al parser nello stesso ordine
+    private static class TokenList implements Scanner {
+        private final List<Symbol> tokens = new ArrayList<>();
+        private int next = 0;
+
+        private TokenList(Toy2Lexer lexer) throws IOException {
+            Symbol token;
+            do {
+                token = lexer.next_token();
+                tokens.add(token);
+            } while (token.sym != sym.EOF);
+        }
+
+        // Token letti, escluso quello di fine file
+        private int size() {
+            return tokens.size() - 1;
+        }
+
+        @Override
+        public Symbol next_token() {
+            if (next < tokens.size()) {
+                return tokens.get(next++);
+            }
+            // Dopo la fine del file il parser riceve nuovi EOF, come dal lexer: non accetta simboli riusati
+            Symbol eof = tokens.get(tokens.size() - 1);
+            return new Symbol(eof.sym, eof.left, eof.right, eof.value);
+        }
+    }
+
+    // Nome del file senza estensione
+    public static String baseName(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
@@ -0,0 +1,9 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.CodeGeneration")
+@Label("Generazione del codice C")
+public class CodeGenerationEvent extends PhaseEvent {
+}
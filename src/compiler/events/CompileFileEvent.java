@@ -0,0 +1,50 @@
+package compiler.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR della compilazione completa di un file, in modalità singola o batch;
+ * le fasi che la compongono sono gli eventi PhaseEvent dello stesso thread nello stesso intervallo.
+ */
+@Name("toy2.CompileFile")
+@Label("Compilazione di un file")
+@Category("Toy2")
+@StackTrace(false)
+public class CompileFileEvent extends Event {
+    @Label("File")
+    private String file;
+
+    @Label("Riuscita")
+    private boolean success;
+
+    @Label("Esito")
+    private String outcome;
+
+    @Label("Token")
+    private long tokens;
+
+    @Label("Nodi dell'AST")
+    private long nodes;
+
+    @Label("Simboli")
+    private long symbols;
+
+    @Label("Codice generato")
+    @DataAmount
+    private long outputBytes;
+
+    public void record(String file, boolean success, String outcome, long tokens, long nodes, long symbols, long outputBytes) {
+        this.file = file;
+        this.success = success;
+        this.outcome = outcome;
+        this.tokens = tokens;
+        this.nodes = nodes;
+        this.symbols = symbols;
+        this.outputBytes = outputBytes;
+    }
+}
@@ -0,0 +1,9 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.ConstantFolding")
+@Label("Valutazione delle espressioni costanti")
+public class ConstantFoldingEvent extends PhaseEvent {
+}
@@ -0,0 +1,9 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.IrConstruction")
+@Label("Costruzione della rappresentazione intermedia")
+public class IrConstructionEvent extends PhaseEvent {
+}
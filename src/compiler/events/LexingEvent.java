@@ -0,0 +1,9 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.Lexing")
+@Label("Lettura dei token del sorgente")
+public class LexingEvent extends PhaseEvent {
+}
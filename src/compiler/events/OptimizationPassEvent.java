@@ -0,0 +1,15 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.OptimizationPass")
+@Label("Passo di ottimizzazione dell'IR")
+public class OptimizationPassEvent extends PhaseEvent {
+    @Label("Passo")
+    protected String pass;
+
+    public OptimizationPassEvent(String pass) {
+        this.pass = pass;
+    }
+}
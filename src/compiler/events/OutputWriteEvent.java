@@ -0,0 +1,28 @@
+package compiler.events;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("toy2.OutputWrite")
+@Label("Scrittura del file C")
+public class OutputWriteEvent extends PhaseEvent {
+    @Label("Byte scritti")
+    @DataAmount
+    private long bytes = -1;
+
+    // La durata dell'evento comprende solo lo svuotamento dei buffer: il resto del codice viene scritto
+    // durante la generazione, e il tempo di quelle scritture è in questo campo
+    @Label("Scritture durante la generazione")
+    @Timespan
+    private long interleavedWriteTime = -1;
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setInterleavedWriteTime(long interleavedWriteTime) {
+        this.interleavedWriteTime = interleavedWriteTime;
+    }
+}
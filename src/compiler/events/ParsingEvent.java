@@ -0,0 +1,9 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.Parsing")
+@Label("Costruzione dell'AST")
+public class ParsingEvent extends PhaseEvent {
+}
@@ -0,0 +1,39 @@
+package compiler.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR di una fase della compilazione di un file. La durata è quella della fase;
+ * i contatori sono quelli noti al termine della fase (-1 se non ancora calcolati).
+ * Gli eventi vengono creati e registrati solo se il loro tipo è abilitato nella registrazione.
+ * I campi sono protected perché JFR non registra i campi privati ereditati dalle sottoclassi.
+ */
+@Category({"Toy2", "Fasi della compilazione"})
+@StackTrace(false)
+public abstract class PhaseEvent extends Event {
+    @Label("File")
+    protected String file;
+
+    @Label("Token")
+    protected long tokens;
+
+    @Label("Nodi dell'AST")
+    protected long nodes;
+
+    @Label("Simboli")
+    protected long symbols;
+
+    @Label("Esito")
+    protected String outcome;
+
+    public void record(String file, long tokens, long nodes, long symbols, boolean success) {
+        this.file = file;
+        this.tokens = tokens;
+        this.nodes = nodes;
+        this.symbols = symbols;
+        this.outcome = success ? "ok" : "errore";
+    }
+}
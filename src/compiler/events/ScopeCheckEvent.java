@@ -0,0 +1,9 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.ScopeCheck")
+@Label("Scope checking")
+public class ScopeCheckEvent extends PhaseEvent {
+}
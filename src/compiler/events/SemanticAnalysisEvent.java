@@ -0,0 +1,9 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.SemanticAnalysis")
+@Label("Analisi semantica in un solo passo")
+public class SemanticAnalysisEvent extends PhaseEvent {
+}
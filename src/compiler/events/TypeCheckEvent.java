@@ -0,0 +1,9 @@
+package compiler.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("toy2.TypeCheck")
+@Label("Type checking")
+public class TypeCheckEvent extends PhaseEvent {
+}
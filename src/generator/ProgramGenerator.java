@@ -0,0 +1,635 @@
+package generator;
+
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generatore di programmi Toy2 casuali e ben tipati, per benchmark e stress test del compilatore.
+ * Ogni programma generato supera scope checking e type checking; a parità di seme e di parametri
+ * il programma è sempre lo stesso. I parametri regolano il numero di funzioni e procedure,
+ * il numero di istruzioni di ogni corpo, la profondità di annidamento di if e while, la profondità
+ * delle espressioni, la frequenza delle concatenazioni di stringhe e delle funzioni con più valori di ritorno.
+ * Con setLines vengono aggiunte funzioni e procedure, nella stessa proporzione, fino al numero di righe richiesto.
+ *
+ * Anche l'esecuzione del programma generato termina: i cicli while hanno un contatore con poche iterazioni,
+ * non ci sono chiamate ricorsive (le funzioni chiamano solo funzioni "foglia", che non chiamano altre funzioni,
+ * e le procedure non chiamano altre procedure) e le variabili stringa modificabili non vengono lette nelle
+ * espressioni il cui valore può finire in una variabile stringa, così la loro lunghezza non cresce a ogni iterazione.
+ * Il costo di esecuzione è limitato dal generatore: ogni funzione e procedura ha una stima delle istruzioni
+ * eseguite a ogni chiamata, che conta le iterazioni dei cicli in cui si trovano le istruzioni e le chiamate,
+ * e una funzione viene chiamata solo se il costo stimato del corpo resta entro MAX_ROUTINE_COST. Così il tempo
+ * di esecuzione non si moltiplica attraverso le chiamate annidate nei cicli e resta proporzionale alla dimensione
+ * del programma: ogni istruzione generata viene eseguita al più LOOP_ITERATIONS^nestingDepth volte per chiamata.
+ *
+ * L'output non dipende dall'ordine di valutazione, che in C non è specificato per gli operandi e gli
+ * argomenti: le funzioni, chiamate solo all'interno delle espressioni, non stampano e non assegnano
+ * le variabili globali. Il programma C e gli altri backend, che valutano da sinistra a destra,
+ * producono quindi lo stesso output.
+ */
+public class ProgramGenerator {
+    private static final Type[] TYPES = {Type.INTEGER, Type.REAL, Type.STRING, Type.BOOLEAN};
+    private static final int LOOP_ITERATIONS = 3;
+    // Istruzioni eseguite stimate per una chiamata, oltre le quali il corpo non chiama altre funzioni
+    private static final long MAX_ROUTINE_COST = 20000;
+
+    private long seed = 1;
+    private int functions = 10;
+    private int procedures = 5;
+    private int statements = 8;
+    private int nestingDepth = 2;
+    private int expressionDepth = 3;
+    private double concatenationDensity = 0.3;
+    private double multiReturnRatio = 0.25;
+    private int lines = 0;
+
+    private Random random;
+    private final StringBuilder code = new StringBuilder();
+    private int lineCount;
+    // Funzioni già generate, per tipo dell'unico valore restituito (NOTYPE: tutte le funzioni)
+    private final Map<Type, List<Routine>> allFunctions = new HashMap<>();
+    private final Map<Type, List<Routine>> leafFunctions = new HashMap<>();
+    private final List<Variable> globals = new ArrayList<>();
+    // Variabili visibili nel corpo in generazione: uno scope per blocco annidato
+    private final List<List<Variable>> scopes = new ArrayList<>();
+    private Routine current;
+    // Iterazioni dei cicli che contengono l'istruzione in generazione
+    private long loopMultiplier;
+    private int nextLocal;
+    private int indent;
+
+    private static class Variable {
+        private final String name;
+        private final Type type;
+        private final boolean assignable;
+        private final boolean out;
+
+        private Variable(String name, Type type, boolean assignable) {
+            this(name, type, assignable, false);
+        }
+
+        private Variable(String name, Type type, boolean assignable, boolean out) {
+            this.name = name;
+            this.type = type;
+            this.assignable = assignable;
+            this.out = out;
+        }
+    }
+
+    private static class Routine {
+        private final String name;
+        private final List<Type> paramTypes = new ArrayList<>();
+        private final List<Boolean> outParams = new ArrayList<>();
+        private final List<Type> returnTypes = new ArrayList<>();
+        private final boolean leaf;
+        // Istruzioni eseguite stimate per ogni chiamata, comprese quelle delle funzioni chiamate
+        private long cost;
+
+        private Routine(String name, boolean leaf) {
+            this.name = name;
+            this.leaf = leaf;
+        }
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setFunctions(int functions) {
+        this.functions = functions;
+    }
+
+    public void setProcedures(int procedures) {
+        this.procedures = procedures;
+    }
+
+    // Istruzioni del corpo di ogni funzione e procedura (i blocchi annidati ne hanno meno)
+    public void setStatements(int statements) {
+        this.statements = statements;
+    }
+
+    // Livelli di if e while annidati
+    public void setNestingDepth(int nestingDepth) {
+        this.nestingDepth = nestingDepth;
+    }
+
+    public void setExpressionDepth(int expressionDepth) {
+        this.expressionDepth = expressionDepth;
+    }
+
+    // Probabilità che un'espressione stringa sia una concatenazione, tra 0 e 1
+    public void setConcatenationDensity(double concatenationDensity) {
+        this.concatenationDensity = concatenationDensity;
+    }
+
+    // Frazione delle funzioni che restituiscono più valori, tra 0 e 1
+    public void setMultiReturnRatio(double multiReturnRatio) {
+        this.multiReturnRatio = multiReturnRatio;
+    }
+
+    // Numero minimo di righe del programma; se maggiore di 0 sostituisce il numero di funzioni e procedure
+    public void setLines(int lines) {
+        this.lines = lines;
+    }
+
+    public String generate() {
+        random = new Random(seed);
+        code.setLength(0);
+        lineCount = 0;
+        allFunctions.clear();
+        leafFunctions.clear();
+        globals.clear();
+        indent = 0;
+
+        line("% Programma generato da ProgramGenerator %");
+        StringBuilder declaration = new StringBuilder("var ");
+        for (int i = 0; i < 4; i++) {
+            Type type = i % 2 == 0 ? Type.INTEGER : Type.REAL;
+            Variable global = new Variable("g" + i, type, true);
+            globals.add(global);
+            declaration.append(global.name).append(" ^= ").append(literal(type)).append("; ");
+        }
+        line(declaration.append("\\").toString());
+        line("");
+
+        List<Routine> procs = new ArrayList<>();
+        if (lines > 0) {
+            // Una procedura ogni "ratio" funzioni, fino al numero di righe richiesto
+            int ratio = procedures > 0 ? Math.max(1, functions / procedures) : 0;
+            for (int f = 0; lineCount < lines; f++) {
+                function(f);
+                if (ratio > 0 && f % ratio == ratio - 1) {
+                    procs.add(procedure(procs.size()));
+                }
+            }
+        } else {
+            for (int f = 0; f < functions; f++) {
+                function(f);
+            }
+            for (int p = 0; p < procedures; p++) {
+                procs.add(procedure(p));
+            }
+        }
+        main(procs);
+        return code.toString();
+    }
+
+    private void function(int index) {
+        // Le funzioni foglia non chiamano altre funzioni: le catene di chiamate restano corte
+        Routine function = new Routine("f" + index, index % 3 == 0);
+        int params = 1 + random.nextInt(3);
+        for (int i = 0; i < params; i++) {
+            function.paramTypes.add(randomType());
+            function.outParams.add(false);
+        }
+        int returns = random.nextDouble() < multiReturnRatio ? 2 + random.nextInt(2) : 1;
+        for (int i = 0; i < returns; i++) {
+            function.returnTypes.add(randomType());
+        }
+
+        StringBuilder header = new StringBuilder("func ").append(function.name).append("(");
+        for (int i = 0; i < params; i++) {
+            header.append(i > 0 ? ", " : "").append("a").append(i).append(": ").append(typeName(function.paramTypes.get(i)));
+        }
+        header.append(") -> ");
+        for (int i = 0; i < returns; i++) {
+            header.append(i > 0 ? ", " : "").append(typeName(function.returnTypes.get(i)));
+        }
+        line(header.append(":").toString());
+
+        beginRoutine(function);
+        body(statements, 0);
+        StringBuilder returnStat = new StringBuilder("return ");
+        for (int i = 0; i < returns; i++) {
+            returnStat.append(i > 0 ? ", " : "").append(expression(function.returnTypes.get(i), expressionDepth, false));
+        }
+        line(returnStat.append(";").toString());
+        endRoutine();
+        line("endfunc");
+        line("");
+        declare(allFunctions, function);
+        if (function.leaf) {
+            declare(leafFunctions, function);
+        }
+    }
+
+    private Routine procedure(int index) {
+        Routine procedure = new Routine("p" + index, false);
+        int params = 1 + random.nextInt(3);
+        StringBuilder header = new StringBuilder("proc ").append(procedure.name).append("(");
+        for (int i = 0; i < params; i++) {
+            Type type = randomType();
+            boolean out = random.nextBoolean();
+            procedure.paramTypes.add(type);
+            procedure.outParams.add(out);
+            header.append(i > 0 ? ", " : "").append(out ? "out " : "").append("a").append(i).append(": ").append(typeName(type));
+        }
+        line(header.append("):").toString());
+
+        beginRoutine(procedure);
+        body(statements, 0);
+        endRoutine();
+        line("endproc");
+        line("");
+        return procedure;
+    }
+
+    // La procedura main chiama tutte le procedure e stampa le variabili globali
+    private void main(List<Routine> procs) {
+        line("proc main():");
+        beginRoutine(new Routine("main", false));
+        for (Routine procedure : procs) {
+            procedureCall(procedure);
+        }
+        line("-->! $(g0) \" \" $(g1) \" \" $(g2) \" \" $(g3);");
+        endRoutine();
+        line("endproc");
+    }
+
+    // Apre il corpo di una funzione o procedura: parametri e due variabili locali per tipo
+    private void beginRoutine(Routine routine) {
+        current = routine;
+        loopMultiplier = 1;
+        nextLocal = 0;
+        scopes.clear();
+        if (isFunction(routine)) {
+            // Le funzioni leggono le variabili globali ma non le assegnano
+            List<Variable> readOnly = new ArrayList<>();
+            for (Variable global : globals) {
+                readOnly.add(new Variable(global.name, global.type, false));
+            }
+            scopes.add(readOnly);
+        } else {
+            scopes.add(new ArrayList<>(globals));
+        }
+        List<Variable> params = new ArrayList<>();
+        for (int i = 0; i < routine.paramTypes.size(); i++) {
+            // I parametri di funzione sono immutabili; i parametri out delle procedure si possono assegnare
+            boolean out = routine.outParams.get(i);
+            params.add(new Variable("a" + i, routine.paramTypes.get(i), out, out));
+        }
+        scopes.add(params);
+        indent++;
+
+        List<Variable> locals = new ArrayList<>();
+        StringBuilder declaration = new StringBuilder("var ");
+        for (Type type : TYPES) {
+            for (int i = 0; i < 2; i++) {
+                Variable local = new Variable("v" + nextLocal++, type, true);
+                locals.add(local);
+                declaration.append(local.name).append(" ^= ").append(literal(type)).append("; ");
+            }
+        }
+        line(declaration.append("\\").toString());
+        scopes.add(locals);
+    }
+
+    private static boolean isFunction(Routine routine) {
+        return !routine.returnTypes.isEmpty();
+    }
+
+    private void endRoutine() {
+        indent--;
+        current = null;
+    }
+
+    private void body(int count, int depth) {
+        for (int i = 0; i < count; i++) {
+            statement(depth);
+        }
+    }
+
+    private void statement(int depth) {
+        current.cost += loopMultiplier;
+        int choice = random.nextInt(depth < nestingDepth ? 10 : 7);
+        switch (choice) {
+            case 0, 1, 2 -> assignment();
+            case 3 -> multipleAssignment();
+            case 4 -> {
+                if (!functionCallAssignment()) {
+                    assignment();
+                }
+            }
+            case 5 -> {
+                // Le funzioni non stampano: l'output non dipende dall'ordine delle chiamate
+                if (isFunction(current)) {
+                    assignment();
+                } else {
+                    write();
+                }
+            }
+            case 6 -> assignment();
+            case 7, 8 -> ifStatement(depth);
+            default -> whileStatement(depth);
+        }
+    }
+
+    private void assignment() {
+        Variable target = pick(assignableVariables(null, true));
+        line(target.name + " ^= " + expression(target.type, expressionDepth, target.type != Type.STRING) + ";");
+    }
+
+    // Più variabili assegnate con più espressioni nella stessa istruzione
+    private void multipleAssignment() {
+        List<Variable> targets = distinctTargets(2);
+        StringBuilder names = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (Variable target : targets) {
+            names.append(names.length() > 0 ? ", " : "").append(target.name);
+            values.append(values.length() > 0 ? ", " : "")
+                    .append(expression(target.type, expressionDepth, target.type != Type.STRING));
+        }
+        line(names + " ^= " + values + ";");
+    }
+
+    // Assegnazione dei valori restituiti da una funzione, anche più di uno
+    private boolean functionCallAssignment() {
+        List<Routine> callable = callableFunctions(null);
+        if (callable.isEmpty()) {
+            return false;
+        }
+        Routine function = pick(callable);
+        List<Variable> targets = new ArrayList<>();
+        for (Type type : function.returnTypes) {
+            List<Variable> candidates = assignableVariables(type, true);
+            candidates.removeAll(targets);
+            if (candidates.isEmpty()) {
+                return false;
+            }
+            targets.add(pick(candidates));
+        }
+        StringBuilder names = new StringBuilder();
+        for (Variable target : targets) {
+            names.append(names.length() > 0 ? ", " : "").append(target.name);
+        }
+        line(names + " ^= " + call(function, expressionDepth, false) + ";");
+        return true;
+    }
+
+    private void write() {
+        Type type = random.nextInt(3) == 0 ? Type.STRING : random.nextBoolean() ? Type.INTEGER : Type.REAL;
+        line("-->! \"" + current.name + "\" $(" + expression(type, expressionDepth, true) + ");");
+    }
+
+    private void ifStatement(int depth) {
+        line("if " + expression(Type.BOOLEAN, expressionDepth, true) + " then");
+        nestedBody(depth);
+        int elifs = random.nextInt(3);
+        for (int i = 0; i < elifs; i++) {
+            line("elseif " + expression(Type.BOOLEAN, expressionDepth, true) + " then");
+            nestedBody(depth);
+        }
+        if (random.nextBoolean()) {
+            line("else");
+            nestedBody(depth);
+        }
+        line("endif;");
+    }
+
+    // Ciclo con un contatore che nessun'altra istruzione assegna; la condizione è il solo contatore
+    private void whileStatement(int depth) {
+        String counter = "w" + nextLocal++;
+        line("var " + counter + " ^= 0;\\");
+        line(counter + " ^= 0;");
+        line("while " + counter + " < " + LOOP_ITERATIONS + " do");
+        scopes.get(scopes.size() - 1).add(new Variable(counter, Type.INTEGER, false));
+        indent++;
+        scopes.add(new ArrayList<>());
+        loopMultiplier *= LOOP_ITERATIONS;
+        body(nestedStatements(), depth + 1);
+        loopMultiplier /= LOOP_ITERATIONS;
+        scopes.remove(scopes.size() - 1);
+        line(counter + " ^= " + counter + " + 1;");
+        indent--;
+        line("endwhile;");
+    }
+
+    private void nestedBody(int depth) {
+        indent++;
+        scopes.add(new ArrayList<>());
+        body(nestedStatements(), depth + 1);
+        scopes.remove(scopes.size() - 1);
+        indent--;
+    }
+
+    private int nestedStatements() {
+        return 1 + random.nextInt(Math.max(1, statements / 2));
+    }
+
+    private void procedureCall(Routine procedure) {
+        StringBuilder call = new StringBuilder(procedure.name).append("(");
+        for (int i = 0; i < procedure.paramTypes.size(); i++) {
+            call.append(i > 0 ? ", " : "");
+            Type type = procedure.paramTypes.get(i);
+            if (procedure.outParams.get(i)) {
+                call.append("@").append(pick(localVariables(type)).name);
+            } else {
+                call.append(argument(type, expressionDepth, false));
+            }
+        }
+        line(call.append(");").toString());
+    }
+
+    /*
+     * Espressione del tipo richiesto, profonda al più depth livelli. Con mutableStrings le variabili
+     * stringa modificabili possono essere lette: solo dove il valore non finisce in una variabile stringa.
+     */
+    private String expression(Type type, int depth, boolean mutableStrings) {
+        if (depth <= 0 || random.nextInt(4) == 0) {
+            return leaf(type, mutableStrings);
+        }
+        List<Routine> callable = callableFunctions(type);
+        if (!callable.isEmpty() && random.nextInt(5) == 0) {
+            return call(pick(callable), depth - 1, mutableStrings);
+        }
+        switch (type) {
+            case INTEGER:
+                return binary(expression(Type.INTEGER, depth - 1, mutableStrings), pickOf("+", "-", "*"),
+                        expression(Type.INTEGER, depth - 1, mutableStrings));
+            case REAL:
+                if (random.nextInt(3) == 0) {
+                    // Divisione per una costante diversa da zero
+                    return binary(expression(numericType(), depth - 1, mutableStrings), "/", (1 + random.nextInt(9)) + "");
+                }
+                return binary(expression(Type.REAL, depth - 1, mutableStrings), pickOf("+", "-", "*"),
+                        expression(numericType(), depth - 1, mutableStrings));
+            case STRING:
+                if (random.nextDouble() >= concatenationDensity) {
+                    return leaf(Type.STRING, mutableStrings);
+                }
+                if (random.nextInt(4) == 0) {
+                    return binary(expression(numericType(), depth - 1, mutableStrings), "+",
+                            expression(Type.STRING, depth - 1, mutableStrings));
+                }
+                Type right = random.nextBoolean() ? Type.STRING : numericType();
+                return binary(expression(Type.STRING, depth - 1, mutableStrings), "+",
+                        expression(right, depth - 1, mutableStrings));
+            default:
+                switch (random.nextInt(4)) {
+                    case 0:
+                        return binary(expression(numericType(), depth - 1, mutableStrings), pickOf("<", "<=", ">", ">=", "=", "<>"),
+                                expression(numericType(), depth - 1, mutableStrings));
+                    case 1:
+                        return binary(expression(Type.STRING, depth - 1, mutableStrings), pickOf("=", "<>"),
+                                expression(Type.STRING, depth - 1, mutableStrings));
+                    case 2:
+                        return "!" + parenthesized(expression(Type.BOOLEAN, depth - 1, mutableStrings));
+                    default:
+                        return binary(expression(Type.BOOLEAN, depth - 1, mutableStrings), pickOf("&&", "||"),
+                                expression(Type.BOOLEAN, depth - 1, mutableStrings));
+                }
+        }
+    }
+
+    private String leaf(Type type, boolean mutableStrings) {
+        List<Variable> candidates = new ArrayList<>();
+        for (List<Variable> scope : scopes) {
+            for (Variable variable : scope) {
+                if (variable.type == type && (type != Type.STRING || mutableStrings || !variable.assignable)) {
+                    candidates.add(variable);
+                }
+            }
+        }
+        if (!candidates.isEmpty() && random.nextInt(3) != 0) {
+            return pick(candidates).name;
+        }
+        return literal(type);
+    }
+
+    private String call(Routine function, int depth, boolean mutableStrings) {
+        current.cost += loopMultiplier * function.cost;
+        StringBuilder call = new StringBuilder(function.name).append("(");
+        for (int i = 0; i < function.paramTypes.size(); i++) {
+            call.append(i > 0 ? ", " : "").append(argument(function.paramTypes.get(i), depth, mutableStrings));
+        }
+        return call.append(")").toString();
+    }
+
+    // Il type checking non accetta una chiamata di funzione come argomento diretto di un'altra chiamata
+    private String argument(Type type, int depth, boolean mutableStrings) {
+        String argument = expression(type, depth, mutableStrings);
+        return isCall(argument) ? leaf(type, mutableStrings) : argument;
+    }
+
+    private static boolean isCall(String expression) {
+        return expression.startsWith("f") && expression.endsWith(")");
+    }
+
+    /*
+     * Funzioni che il corpo corrente può chiamare; con type non null solo quelle con un unico valore di quel tipo.
+     * Sono escluse quelle la cui chiamata, ripetuta dai cicli che la contengono, supererebbe MAX_ROUTINE_COST.
+     */
+    private List<Routine> callableFunctions(Type type) {
+        if (current == null || current.leaf) {
+            return List.of();
+        }
+        // Le funzioni chiamano solo funzioni foglia, le procedure qualsiasi funzione
+        Map<Type, List<Routine>> functions = current.returnTypes.isEmpty() ? allFunctions : leafFunctions;
+        List<Routine> callable = new ArrayList<>();
+        for (Routine function : functions.getOrDefault(type != null ? type : Type.NOTYPE, List.of())) {
+            if (current.cost + loopMultiplier * function.cost <= MAX_ROUTINE_COST) {
+                callable.add(function);
+            }
+        }
+        return callable;
+    }
+
+    private static void declare(Map<Type, List<Routine>> functions, Routine function) {
+        functions.computeIfAbsent(Type.NOTYPE, type -> new ArrayList<>()).add(function);
+        if (function.returnTypes.size() == 1) {
+            functions.computeIfAbsent(function.returnTypes.get(0), type -> new ArrayList<>()).add(function);
+        }
+    }
+
+    // Variabili assegnabili, del tipo indicato se type non è null; i parametri out solo se withOut
+    private List<Variable> assignableVariables(Type type, boolean withOut) {
+        List<Variable> assignable = new ArrayList<>();
+        for (List<Variable> scope : scopes) {
+            for (Variable variable : scope) {
+                if (variable.assignable && (withOut || !variable.out) && (type == null || variable.type == type)) {
+                    assignable.add(variable);
+                }
+            }
+        }
+        return assignable;
+    }
+
+    // Variabili locali del corpo, passate per riferimento ai parametri out
+    private List<Variable> localVariables(Type type) {
+        List<Variable> locals = new ArrayList<>();
+        for (Variable variable : scopes.get(2)) {
+            if (variable.type == type && variable.assignable) {
+                locals.add(variable);
+            }
+        }
+        return locals;
+    }
+
+    private List<Variable> distinctTargets(int count) {
+        List<Variable> candidates = assignableVariables(null, false);
+        List<Variable> targets = new ArrayList<>();
+        for (int i = 0; i < count && !candidates.isEmpty(); i++) {
+            targets.add(candidates.remove(random.nextInt(candidates.size())));
+        }
+        return targets;
+    }
+
+    private String binary(String left, String operator, String right) {
+        return "(" + left + " " + operator + " " + right + ")";
+    }
+
+    private static String parenthesized(String expression) {
+        return expression.startsWith("(") ? expression : "(" + expression + ")";
+    }
+
+    private String literal(Type type) {
+        switch (type) {
+            case INTEGER:
+                return String.valueOf(random.nextInt(100));
+            case REAL:
+                return random.nextInt(100) + "." + random.nextInt(10);
+            case STRING:
+                return "\"s" + random.nextInt(100) + "\"";
+            default:
+                return random.nextBoolean() ? "true" : "false";
+        }
+    }
+
+    private static String typeName(Type type) {
+        switch (type) {
+            case INTEGER:
+                return "integer";
+            case REAL:
+                return "real";
+            case STRING:
+                return "string";
+            default:
+                return "boolean";
+        }
+    }
+
+    private Type randomType() {
+        return TYPES[random.nextInt(TYPES.length)];
+    }
+
+    private Type numericType() {
+        return random.nextBoolean() ? Type.INTEGER : Type.REAL;
+    }
+
+    private String pickOf(String... options) {
+        return options[random.nextInt(options.length)];
+    }
+
+    private <T> T pick(List<T> options) {
+        return options.get(random.nextInt(options.size()));
+    }
+
+    private void line(String text) {
+        code.append("    ".repeat(indent)).append(text).append('\n');
+        lineCount++;
+    }
+}
@@ -0,0 +1,46 @@
+package ir;
+
+/**
+ * Argomento di una chiamata, nella posizione del parametro corrispondente: un valore (l'operando operand
+ * della chiamata), l'indirizzo di una variabile in memoria, o una cella per un valore SSA (CallResult)
+ * inizializzata con l'operando operand.
+ */
+public class Argument {
+    public enum Kind {
+        VALUE,
+        ADDRESS,
+        RESULT,
+    }
+
+    private final Kind kind;
+    private final int operand;
+    private final Variable variable;
+    private final CallResult result;
+
+    private Argument(Kind kind, int operand, Variable variable, CallResult result) {
+        this.kind = kind;
+        this.operand = operand;
+        this.variable = variable;
+        this.result = result;
+    }
+
+    public static Argument value(int operand) {
+        return new Argument(Kind.VALUE, operand, null, null);
+    }
+
+    public static Argument address(Variable variable) {
+        return new Argument(Kind.ADDRESS, -1, variable, null);
+    }
+
+    public static Argument result(CallResult result, int operand) {
+        return new Argument(Kind.RESULT, operand, null, result);
+    }
+
+    public Kind getKind() { return kind; }
+
+    public int getOperand() { return operand; }
+
+    public Variable getVariable() { return variable; }
+
+    public CallResult getResult() { return result; }
+}
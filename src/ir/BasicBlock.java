@@ -0,0 +1,215 @@
+package ir;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Blocco di base: le PHI in testa, poi le istruzioni, e un terminatore (JUMP, BRANCH o RETURN) in fondo.
+ * I predecessori sono nell'ordine in cui i salti sono stati aggiunti, lo stesso degli operandi delle PHI;
+ * un predecessore compare due volte se entrambi i rami di un BRANCH portano al blocco.
+ */
+public class BasicBlock {
+    private final IrFunction function;
+    private final List<Instruction> instructions = new ArrayList<>();
+    private final List<BasicBlock> predecessors = new ArrayList<>();
+    // Posizione nella funzione, assegnata da IrFunction.renumber()
+    private int index;
+
+    BasicBlock(IrFunction function, int index) {
+        this.function = function;
+        this.index = index;
+    }
+
+    public IrFunction getFunction() { return function; }
+
+    public int getIndex() { return index; }
+
+    void setIndex(int index) { this.index = index; }
+
+    public String getName() {
+        return "b" + index;
+    }
+
+    public List<Instruction> getInstructions() { return Collections.unmodifiableList(instructions); }
+
+    public List<Instruction> getPhis() {
+        List<Instruction> phis = new ArrayList<>();
+        for (Instruction instruction : instructions) {
+            if (instruction.getOpcode() != Opcode.PHI) {
+                break;
+            }
+            phis.add(instruction);
+        }
+        return phis;
+    }
+
+    public List<BasicBlock> getPredecessors() { return Collections.unmodifiableList(predecessors); }
+
+    public List<BasicBlock> getSuccessors() {
+        Instruction terminator = getTerminator();
+        return terminator != null ? terminator.getTargets() : List.of();
+    }
+
+    // Terminatore del blocco, null se il blocco è ancora in costruzione
+    public Instruction getTerminator() {
+        if (instructions.isEmpty()) {
+            return null;
+        }
+        Instruction last = instructions.get(instructions.size() - 1);
+        return last.isTerminator() ? last : null;
+    }
+
+    // Aggiunge l'istruzione in fondo; un terminatore rende il blocco predecessore delle destinazioni
+    public void append(Instruction instruction) {
+        if (getTerminator() != null) {
+            throw new IllegalStateException("Blocco " + getName() + " già terminato");
+        }
+        instruction.setBlock(this);
+        instructions.add(instruction);
+        for (BasicBlock target : instruction.getTargets()) {
+            target.predecessors.add(this);
+        }
+    }
+
+    public void addPhi(Instruction phi) {
+        phi.setBlock(this);
+        instructions.add(getPhis().size(), phi);
+    }
+
+    public void insertBefore(Instruction instruction, Instruction position) {
+        instruction.setBlock(this);
+        instructions.add(instructions.indexOf(position), instruction);
+    }
+
+    void removeInstruction(Instruction instruction) {
+        instructions.remove(instruction);
+        if (instruction.isTerminator()) {
+            for (BasicBlock target : instruction.getTargets()) {
+                target.removePredecessor(this);
+            }
+        }
+        instruction.setBlock(null);
+    }
+
+    // Toglie un arco entrante da predecessor, con l'operando corrispondente di ogni PHI
+    public void removePredecessor(BasicBlock predecessor) {
+        removeEdge(predecessors.indexOf(predecessor));
+    }
+
+    private void removeEdge(int position) {
+        predecessors.remove(position);
+        for (Instruction phi : getPhis()) {
+            phi.removeOperand(position);
+        }
+    }
+
+    // Sostituisce il predecessore old con replacement nella stessa posizione, per cui le PHI restano allineate
+    public void replacePredecessor(BasicBlock old, BasicBlock replacement) {
+        for (int i = 0; i < predecessors.size(); i++) {
+            if (predecessors.get(i) == old) {
+                predecessors.set(i, replacement);
+            }
+        }
+    }
+
+    // Sostituisce il BRANCH finale con un salto alla destinazione di indice kept, togliendo l'altro arco
+    public void foldBranch(int kept) {
+        Instruction branch = getTerminator();
+        BasicBlock target = branch.getTargets().get(kept);
+        BasicBlock removed = branch.getTargets().get(1 - kept);
+        // Se i due rami portano allo stesso blocco, l'arco del ramo else è la seconda occorrenza
+        int position = -1;
+        for (int i = 0, seen = 0; i < removed.predecessors.size(); i++) {
+            if (removed.predecessors.get(i) == this && seen++ == (target == removed ? 1 - kept : 0)) {
+                position = i;
+                break;
+            }
+        }
+        removed.removeEdge(position);
+        replaceTerminator(Instruction.jump(target));
+    }
+
+    // Sostituisce il terminatore con uno che ha le stesse destinazioni, senza modificare gli archi
+    private void replaceTerminator(Instruction terminator) {
+        Instruction old = instructions.remove(instructions.size() - 1);
+        for (Value operand : old.getOperands()) {
+            operand.removeUser(old);
+        }
+        old.setBlock(null);
+        terminator.setBlock(this);
+        instructions.add(terminator);
+    }
+
+    // Nuovo blocco con le istruzioni che seguono position; i successori lo vedono come predecessore al posto di questo
+    public BasicBlock splitAfter(Instruction position) {
+        BasicBlock tail = function.newBlock();
+        int index = instructions.indexOf(position) + 1;
+        List<Instruction> moved = new ArrayList<>(instructions.subList(index, instructions.size()));
+        instructions.subList(index, instructions.size()).clear();
+        for (Instruction instruction : moved) {
+            instruction.setBlock(tail);
+            tail.instructions.add(instruction);
+        }
+        for (BasicBlock successor : tail.getSuccessors()) {
+            successor.replacePredecessor(this, tail);
+        }
+        return tail;
+    }
+
+    /*
+     * Accoda a questo blocco il successore, che deve essere raggiunto solo da qui con un JUMP:
+     * le sue PHI hanno un solo operando e vengono sostituite da questo, poi il successore viene eliminato.
+     */
+    public void mergeSuccessor() {
+        BasicBlock successor = getTerminator().getTargets().get(0);
+        for (Instruction phi : successor.getPhis()) {
+            phi.replaceAllUsesWith(phi.getOperand(0));
+            phi.remove();
+        }
+        Instruction jump = instructions.remove(instructions.size() - 1);
+        jump.setBlock(null);
+        for (Instruction instruction : successor.instructions) {
+            instruction.setBlock(this);
+            instructions.add(instruction);
+        }
+        successor.instructions.clear();
+        successor.predecessors.clear();
+        for (BasicBlock next : getSuccessors()) {
+            next.replacePredecessor(successor, this);
+        }
+        function.removeBlock(successor);
+    }
+
+    /*
+     * Elimina il blocco, che contiene solo un JUMP, collegando i predecessori direttamente alla destinazione.
+     * Gli archi verso la destinazione prendono il posto di quello che partiva da qui, per cui se la destinazione
+     * ha delle PHI il blocco deve avere un solo predecessore.
+     */
+    public void bypass() {
+        BasicBlock target = getTerminator().getTargets().get(0);
+        int position = target.predecessors.indexOf(this);
+        target.predecessors.remove(position);
+        target.predecessors.addAll(position, predecessors);
+        for (BasicBlock predecessor : new HashSet<>(predecessors)) {
+            List<BasicBlock> targets = predecessor.getTerminator().getTargets();
+            targets.replaceAll(block -> block == this ? target : block);
+        }
+        predecessors.clear();
+        Instruction jump = instructions.remove(0);
+        jump.setBlock(null);
+        function.removeBlock(this);
+    }
+
+    // Sposta l'istruzione, che non deve essere un terminatore né una PHI, prima di position
+    public static void move(Instruction instruction, Instruction position) {
+        instruction.getBlock().instructions.remove(instruction);
+        position.getBlock().insertBefore(instruction, position);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,627 @@
+package ir;
+
+import visitor.utils.CRuntime;
+import visitor.utils.CodeSink;
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Genera il programma C dall'IR, con lo stesso runtime e lo stesso comportamento del codice di
+ * CodeGeneratorVisitor. Ogni valore SSA diventa una variabile _vN dichiarata all'inizio della funzione,
+ * ogni blocco un'etichetta; le PHI diventano copie sugli archi entranti. Le stringhe prodotte da CONCAT
+ * e dalle chiamate sono possedute dal valore: vengono liberate dopo l'ultimo uso, o cedute alla variabile
+ * quando l'ultimo uso è una STORE. Le stringhe locali vengono create all'ingresso e liberate a ogni return.
+ */
+public class CEmitter {
+    private final CodeSink code;
+
+    // Stato della funzione in generazione
+    private IrFunction function;
+    private final Map<Variable, String> names = new IdentityHashMap<>();
+    private final Map<String, String> literals = new LinkedHashMap<>();
+    private final Set<BasicBlock> labels = new HashSet<>();
+    private final Map<BasicBlock, Set<Instruction>> liveIn = new HashMap<>();
+    private final Map<BasicBlock, Set<Instruction>> liveOut = new HashMap<>();
+    private boolean freeGlobals;
+
+    public CEmitter(CodeSink code) {
+        this.code = code;
+    }
+
+    public void emit(IrProgram program) {
+        code.append("#include <stdio.h>\n");
+        code.append("#include <stdlib.h>\n");
+        code.append("#include <stdbool.h>\n");
+        code.append("#include <string.h>\n");
+        code.append("#include <stdarg.h>\n");
+        code.append("#include <ctype.h>\n");
+        code.append("\n");
+        code.append(CRuntime.STRINGS);
+
+        Set<String> reserved = new HashSet<>();
+        List<Variable> strings = new ArrayList<>();
+        for (Variable global : program.getGlobals()) {
+            reserved.add(global.getName());
+            Object value = global.getInitialValue();
+            if (global.getType() == Type.STRING) {
+                code.append("char* ").append(global.getName()).append(" = NULL;\n");
+                strings.add(global);
+            } else if (value != null) {
+                code.append(cType(global.getType())).append(' ').append(global.getName()).append(" = ")
+                        .append(value instanceof Boolean bool ? (bool ? "1" : "0") : value.toString()).append(";\n");
+            } else {
+                code.append(cType(global.getType())).append(' ').append(global.getName()).append(";\n");
+            }
+        }
+        code.append("\n");
+        freeGlobals = !strings.isEmpty();
+        if (freeGlobals) {
+            code.append("\nvoid initialize_globals() {\n");
+            for (Variable global : strings) {
+                code.append("    ").append(global.getName()).append(" = ");
+                if (global.getInitialValue() instanceof String text) {
+                    code.append("toy_str_from_literal(\"").append(text.replace("\"", "\\\"")).append("\");\n");
+                } else {
+                    code.append("toy_str_new(\"\", 0);\n");
+                }
+            }
+            code.append("}\n");
+            code.append("\nvoid free_globals() {\n");
+            for (Variable global : strings) {
+                code.append("    toy_str_free(").append(global.getName()).append(");\n    ")
+                        .append(global.getName()).append(" = NULL;\n");
+            }
+            code.append("}\n");
+        }
+
+        for (IrFunction declared : program.getFunctions()) {
+            reserved.add(declared.getName());
+            if (!declared.isMain()) {
+                code.append(signature(declared)).append(";\n");
+            }
+        }
+        code.append("\n");
+        for (IrFunction declared : program.getFunctions()) {
+            emit(declared, reserved);
+        }
+        code.flush();
+    }
+
+    private String signature(IrFunction declared) {
+        if (declared.isMain()) {
+            return "int main()";
+        }
+        List<Type> returnTypes = declared.getReturnTypes();
+        StringJoiner params = new StringJoiner(", ", declared.getName() + "(", ")");
+        for (Parameter param : declared.getParameters()) {
+            params.add(cType(param.getType()) + (param.isOut() ? "* " : " ") + param.getParameterName());
+        }
+        for (Variable result : declared.getResults()) {
+            params.add(cType(result.getType()) + "* " + result.getName());
+        }
+        return (returnTypes.size() == 1 ? cType(returnTypes.get(0)) : "void") + " " + params;
+    }
+
+    private void emit(IrFunction declared, Set<String> reserved) {
+        function = declared;
+        function.renumber();
+        names.clear();
+        literals.clear();
+        labels.clear();
+        computeLiveness();
+
+        // Nomi C delle variabili locali, distinti tra loro e da globali, funzioni e parametri
+        Set<String> used = new HashSet<>(reserved);
+        for (Parameter param : function.getParameters()) {
+            used.add(param.getParameterName());
+            if (param.isOut()) {
+                names.put(param.getReference(), param.getParameterName());
+            }
+        }
+        for (Variable result : function.getResults()) {
+            used.add(result.getName());
+            names.put(result, result.getName());
+        }
+        for (Variable local : function.getLocals()) {
+            String name = local.getName();
+            for (int i = 1; used.contains(name); i++) {
+                name = local.getName() + "_" + i;
+            }
+            used.add(name);
+            names.put(local, name);
+        }
+
+        // Il corpo viene generato prima delle dichiarazioni, che dipendono dalle costanti stringa usate
+        List<BasicBlock> blocks = function.getBlocks();
+        List<StringBuilder> bodies = new ArrayList<>();
+        for (int i = 0; i < blocks.size(); i++) {
+            StringBuilder body = new StringBuilder();
+            emitBlock(blocks.get(i), i + 1 < blocks.size() ? blocks.get(i + 1) : null, body);
+            bodies.add(body);
+        }
+
+        StringBuilder text = new StringBuilder();
+        text.append(signature(function)).append(" {\n");
+        for (Map.Entry<String, String> literal : literals.entrySet()) {
+            text.append("    TOY_STR_LITERAL(").append(literal.getValue()).append(", \"")
+                    .append(literal.getKey().replace("\"", "\\\"")).append("\");\n");
+        }
+        for (BasicBlock block : blocks) {
+            for (Instruction instruction : block.getInstructions()) {
+                if (instruction.getType() != null) {
+                    text.append("    ").append(cType(instruction.getType())).append(' ').append(ref(instruction)).append(";\n");
+                }
+                for (CallResult result : instruction.getResults()) {
+                    text.append("    ").append(cType(result.getType())).append(' ').append(ref(result)).append(";\n");
+                }
+            }
+        }
+        if (function.getReturnTypes().size() == 1 && function.getReturnTypes().get(0) == Type.STRING) {
+            text.append("    char* _result;\n");
+        }
+        for (Variable local : function.getLocals()) {
+            text.append("    char* ").append(names.get(local)).append(" = toy_str_new(\"\", 0);\n");
+        }
+        if (function.isMain() && freeGlobals) {
+            text.append("    initialize_globals();\n");
+        }
+        for (int i = 0; i < blocks.size(); i++) {
+            if (labels.contains(blocks.get(i))) {
+                text.append(label(blocks.get(i))).append(":\n");
+            }
+            text.append(bodies.get(i));
+        }
+        text.append("}\n\n");
+        code.append(text);
+    }
+
+    private void emitBlock(BasicBlock block, BasicBlock next, StringBuilder out) {
+        List<Instruction> instructions = block.getInstructions();
+        Set<Instruction> live = liveOut.get(block);
+        // Ultimo uso nel blocco di ogni stringa posseduta
+        Map<Instruction, Instruction> lastUse = new IdentityHashMap<>();
+        for (Instruction instruction : instructions) {
+            if (instruction.getOpcode() == Opcode.PHI) {
+                continue;
+            }
+            for (Value operand : instruction.getOperands()) {
+                if (isOwned(operand)) {
+                    lastUse.put((Instruction) operand, instruction);
+                }
+            }
+        }
+
+        for (int i = 0; i < instructions.size(); i++) {
+            Instruction instruction = instructions.get(i);
+            if (instruction.getOpcode() == Opcode.PHI) {
+                continue;
+            }
+            if (isAppend(instruction, i + 1 < instructions.size() ? instructions.get(i + 1) : null)) {
+                Instruction store = instructions.get(++i);
+                String target = variable(store.getVariable());
+                line(out, target + " = toy_str_catfmt(" + target + ", "
+                        + formatArguments(instruction.getTexts(), instruction.getOperands(), 1, true) + ");");
+                releaseAfter(instruction, lastUse, live, out);
+                continue;
+            }
+
+            // Stringhe possedute il cui ultimo uso è questa istruzione
+            List<Instruction> dying = new ArrayList<>();
+            for (Value operand : instruction.getOperands()) {
+                if (isOwned(operand) && lastUse.get(operand) == instruction && !live.contains(operand)
+                        && !dying.contains(operand)) {
+                    dying.add((Instruction) operand);
+                }
+            }
+            if (instruction.isTerminator()) {
+                emitTerminator(instruction, dying, next, out);
+                return;
+            }
+            if (instruction.getOpcode() == Opcode.STORE && instruction.getVariable().getType() == Type.STRING
+                    && dying.contains(instruction.getOperand(0))) {
+                // La variabile prende possesso della stringa
+                String target = variable(instruction.getVariable());
+                line(out, "toy_str_free(" + target + ");");
+                line(out, target + " = " + ref(instruction.getOperand(0)) + ";");
+                dying.remove(instruction.getOperand(0));
+            } else {
+                emitInstruction(instruction, out);
+            }
+            for (Instruction owned : dying) {
+                line(out, "toy_str_free(" + ref(owned) + ");");
+            }
+            if (isOwned(instruction) && !lastUse.containsKey(instruction) && !live.contains(instruction)) {
+                // Risultato mai usato
+                line(out, "toy_str_free(" + ref(instruction) + ");");
+            }
+        }
+    }
+
+    private void releaseAfter(Instruction instruction, Map<Instruction, Instruction> lastUse, Set<Instruction> live,
+                              StringBuilder out) {
+        for (Value operand : instruction.getOperands()) {
+            if (isOwned(operand) && lastUse.get(operand) == instruction && !live.contains(operand)) {
+                line(out, "toy_str_free(" + ref(operand) + ");");
+            }
+        }
+    }
+
+    // x = x + ...: CONCAT che inizia con la variabile seguita dalla STORE nella stessa variabile,
+    // generata come accodamento nel buffer di x; x non deve comparire tra gli altri operandi
+    private boolean isAppend(Instruction concat, Instruction next) {
+        if (concat.getOpcode() != Opcode.CONCAT || next == null || next.getOpcode() != Opcode.STORE
+                || next.getOperand(0) != concat || concat.getUsers().size() != 1
+                || concat.getOperands().isEmpty() || !concat.getTexts().get(0).isEmpty()) {
+            return false;
+        }
+        Variable target = next.getVariable();
+        if (!(concat.getOperand(0) instanceof Instruction first && first.getOpcode() == Opcode.LOAD
+                && first.getVariable() == target && first.getUsers().size() == 1)) {
+            return false;
+        }
+        for (Value operand : concat.getOperands().subList(1, concat.getOperands().size())) {
+            if (operand instanceof Instruction other && other.getOpcode() == Opcode.LOAD && other.getVariable() == target) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void emitInstruction(Instruction instruction, StringBuilder out) {
+        List<Value> operands = instruction.getOperands();
+        String result = instruction.getType() != null ? ref(instruction) + " = " : "";
+        switch (instruction.getOpcode()) {
+            case ADD, SUB, MUL, DIV -> line(out, result + ref(operands.get(0)) + " "
+                    + operator(instruction.getOpcode()) + " " + ref(operands.get(1)) + ";");
+            case EQ, NE, LT, LE, GT, GE -> line(out, result + comparison(instruction) + ";");
+            case NEG -> line(out, result + "-" + ref(operands.get(0)) + ";");
+            case NOT -> line(out, result + "!" + ref(operands.get(0)) + ";");
+            case I2R -> line(out, result + "(double) " + ref(operands.get(0)) + ";");
+            case R2I -> line(out, result + "(int) " + ref(operands.get(0)) + ";");
+            case CONCAT -> line(out, result + "toy_str_format("
+                    + formatArguments(instruction.getTexts(), operands, 0, true) + ");");
+            case LOAD -> line(out, result + variable(instruction.getVariable()) + ";");
+            case STORE -> {
+                String target = variable(instruction.getVariable());
+                if (instruction.getVariable().getType() == Type.STRING) {
+                    line(out, target + " = toy_str_set(" + target + ", " + ref(operands.get(0)) + ");");
+                } else {
+                    line(out, target + " = " + ref(operands.get(0)) + ";");
+                }
+            }
+            case READ -> {
+                if (instruction.getVariable() != null) {
+                    read(variable(instruction.getVariable()), instruction.getVariable().getType(), out);
+                } else {
+                    line(out, result + ref(operands.get(0)) + ";");
+                    read(ref(instruction), instruction.getType(), out);
+                }
+            }
+            case PRINT -> line(out, "printf(" + formatArguments(instruction.getTexts(), operands, 0, false) + ");");
+            case CALL -> {
+                for (Argument argument : instruction.getArguments()) {
+                    if (argument.getKind() == Argument.Kind.RESULT) {
+                        line(out, ref(argument.getResult()) + " = " + ref(operands.get(argument.getOperand())) + ";");
+                    }
+                }
+                StringJoiner arguments = new StringJoiner(", ", instruction.getCallee().getName() + "(", ")");
+                for (Argument argument : instruction.getArguments()) {
+                    arguments.add(switch (argument.getKind()) {
+                        case VALUE -> ref(operands.get(argument.getOperand()));
+                        case ADDRESS -> argument.getVariable().getKind() == Variable.Kind.OUT
+                                ? names.get(argument.getVariable()) : "&" + variable(argument.getVariable());
+                        case RESULT -> "&" + ref(argument.getResult());
+                    });
+                }
+                line(out, result + arguments + ";");
+            }
+            default -> throw new IllegalStateException("Istruzione non prevista: " + IrPrinter.print(instruction));
+        }
+    }
+
+    private void read(String target, Type type, StringBuilder out) {
+        switch (type) {
+            case STRING -> line(out, target + " = toy_str_read(" + target + ");");
+            case REAL -> line(out, "scanf(\"%lf\", &" + target + ");");
+            case BOOLEAN -> line(out, "{ int _read = " + target + "; scanf(\"%d\", &_read); " + target + " = _read; }");
+            default -> line(out, "scanf(\"%d\", &" + target + ");");
+        }
+    }
+
+    private void emitTerminator(Instruction terminator, List<Instruction> dying, BasicBlock next, StringBuilder out) {
+        BasicBlock block = terminator.getBlock();
+        switch (terminator.getOpcode()) {
+            case JUMP -> edge(block, terminator.getTargets().get(0), 0, next, out);
+            case BRANCH -> {
+                BasicBlock then = terminator.getTargets().get(0);
+                BasicBlock otherwise = terminator.getTargets().get(1);
+                String condition = ref(terminator.getOperand(0));
+                int otherwiseIndex = then == otherwise ? 1 : 0;
+                StringBuilder thenEdge = new StringBuilder();
+                StringBuilder otherwiseEdge = new StringBuilder();
+                boolean thenCopies = edgeCode(block, then, 0, thenEdge);
+                boolean otherwiseCopies = edgeCode(block, otherwise, otherwiseIndex, otherwiseEdge);
+                if (!thenCopies && !otherwiseCopies && then == next) {
+                    line(out, "if (!" + condition + ") goto " + label(otherwise) + ";");
+                    labels.add(otherwise);
+                } else if (!thenCopies) {
+                    line(out, "if (" + condition + ") goto " + label(then) + ";");
+                    labels.add(then);
+                    edge(block, otherwise, otherwiseIndex, next, out);
+                } else {
+                    line(out, "if (" + condition + ") {");
+                    indented(thenEdge, out);
+                    line(out, "    goto " + label(then) + ";");
+                    labels.add(then);
+                    line(out, "}");
+                    edge(block, otherwise, otherwiseIndex, next, out);
+                }
+            }
+            case RETURN -> {
+                String value = null;
+                if (!terminator.getOperands().isEmpty()) {
+                    Value operand = terminator.getOperand(0);
+                    value = ref(operand);
+                    if (operand.getType() == Type.STRING) {
+                        // La funzione restituisce sempre una stringa nuova
+                        line(out, "_result = " + (dying.contains(operand) ? value : "toy_str_dup(" + value + ")") + ";");
+                        dying.remove(operand);
+                        value = "_result";
+                    }
+                }
+                for (Instruction owned : dying) {
+                    line(out, "toy_str_free(" + ref(owned) + ");");
+                }
+                for (Variable local : function.getLocals()) {
+                    line(out, "toy_str_free(" + names.get(local) + ");");
+                }
+                if (function.isMain()) {
+                    if (freeGlobals) {
+                        line(out, "free_globals();");
+                    }
+                    line(out, "return 0;");
+                } else {
+                    line(out, value != null ? "return " + value + ";" : "return;");
+                }
+            }
+            default -> throw new IllegalStateException("Terminatore non previsto: " + IrPrinter.print(terminator));
+        }
+    }
+
+    // Arco verso target: copie delle PHI, stringhe che muoiono sull'arco e salto, omesso se target segue
+    private void edge(BasicBlock from, BasicBlock target, int index, BasicBlock next, StringBuilder out) {
+        edgeCode(from, target, index, out);
+        if (target != next) {
+            line(out, "goto " + label(target) + ";");
+            labels.add(target);
+        }
+    }
+
+    // Restituisce true se l'arco richiede del codice prima del salto
+    private boolean edgeCode(BasicBlock from, BasicBlock target, int index, StringBuilder out) {
+        int length = out.length();
+        for (Instruction owned : liveOut.get(from)) {
+            if (!liveIn.get(target).contains(owned)) {
+                line(out, "toy_str_free(" + ref(owned) + ");");
+            }
+        }
+        // Posizione dell'arco tra i predecessori: index-esima occorrenza di from
+        int position = -1;
+        List<BasicBlock> predecessors = target.getPredecessors();
+        for (int i = 0, seen = 0; i < predecessors.size(); i++) {
+            if (predecessors.get(i) == from && seen++ == index) {
+                position = i;
+                break;
+            }
+        }
+        List<Instruction> phis = new ArrayList<>();
+        List<Value> sources = new ArrayList<>();
+        for (Instruction phi : target.getPhis()) {
+            Value source = phi.getOperand(position);
+            if (source != phi) {
+                phis.add(phi);
+                sources.add(source);
+            }
+        }
+        // Copia parallela: se una PHI è anche sorgente di un'altra copia, si passa per dei temporanei
+        boolean conflict = false;
+        for (Instruction phi : phis) {
+            conflict |= sources.contains(phi);
+        }
+        if (conflict) {
+            line(out, "{");
+            for (int i = 0; i < phis.size(); i++) {
+                line(out, "    " + cType(phis.get(i).getType()) + " _phi" + i + " = " + ref(sources.get(i)) + ";");
+            }
+            for (int i = 0; i < phis.size(); i++) {
+                line(out, "    " + ref(phis.get(i)) + " = _phi" + i + ";");
+            }
+            line(out, "}");
+        } else {
+            for (int i = 0; i < phis.size(); i++) {
+                line(out, ref(phis.get(i)) + " = " + ref(sources.get(i)) + ";");
+            }
+        }
+        return out.length() > length;
+    }
+
+    private static void indented(StringBuilder text, StringBuilder out) {
+        for (String line : text.toString().split("\n")) {
+            out.append("    ").append(line).append('\n');
+        }
+    }
+
+    /*
+     * Liveness delle stringhe possedute (risultati stringa di CONCAT e CALL), per liberarle all'ultimo uso.
+     * Le PHI non hanno mai tipo stringa: le stringhe possedute non attraversano le PHI.
+     */
+    private void computeLiveness() {
+        liveIn.clear();
+        liveOut.clear();
+        Map<BasicBlock, Set<Instruction>> uses = new HashMap<>();
+        for (BasicBlock block : function.getBlocks()) {
+            Set<Instruction> blockUses = new HashSet<>();
+            for (Instruction instruction : block.getInstructions()) {
+                if (instruction.getOpcode() == Opcode.PHI) {
+                    continue;
+                }
+                for (Value operand : instruction.getOperands()) {
+                    if (isOwned(operand) && ((Instruction) operand).getBlock() != block) {
+                        blockUses.add((Instruction) operand);
+                    }
+                }
+            }
+            uses.put(block, blockUses);
+            liveIn.put(block, new HashSet<>(blockUses));
+            liveOut.put(block, new HashSet<>());
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            List<BasicBlock> blocks = function.getBlocks();
+            for (int i = blocks.size() - 1; i >= 0; i--) {
+                BasicBlock block = blocks.get(i);
+                Set<Instruction> out = liveOut.get(block);
+                for (BasicBlock successor : block.getSuccessors()) {
+                    out.addAll(liveIn.get(successor));
+                }
+                Set<Instruction> in = new HashSet<>(uses.get(block));
+                for (Instruction owned : out) {
+                    if (owned.getBlock() != block) {
+                        in.add(owned);
+                    }
+                }
+                if (!in.equals(liveIn.get(block))) {
+                    liveIn.put(block, in);
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private static boolean isOwned(Value value) {
+        return value instanceof Instruction instruction && instruction.getType() == Type.STRING
+                && (instruction.getOpcode() == Opcode.CONCAT || instruction.getOpcode() == Opcode.CALL);
+    }
+
+    private String comparison(Instruction instruction) {
+        String left = ref(instruction.getOperand(0));
+        String right = ref(instruction.getOperand(1));
+        if (instruction.getOperand(0).getType() == Type.STRING) {
+            return switch (instruction.getOpcode()) {
+                case EQ -> "toy_str_eq(" + left + ", " + right + ")";
+                case NE -> "!toy_str_eq(" + left + ", " + right + ")";
+                default -> "toy_str_cmp(" + left + ", " + right + ") " + operator(instruction.getOpcode()) + " 0";
+            };
+        }
+        return left + " " + operator(instruction.getOpcode()) + " " + right;
+    }
+
+    private static String operator(Opcode opcode) {
+        return switch (opcode) {
+            case ADD -> "+";
+            case SUB -> "-";
+            case MUL -> "*";
+            case DIV -> "/";
+            case EQ -> "==";
+            case NE -> "!=";
+            case LT -> "<";
+            case LE -> "<=";
+            case GT -> ">";
+            case GE -> ">=";
+            default -> throw new IllegalStateException("Operatore non previsto: " + opcode);
+        };
+    }
+
+    // Formato e argomenti di printf o toy_str_format a partire dal letterale from; nei formati di
+    // toy_str_format i letterali non contengono specificatori, per cui % viene raddoppiato
+    private String formatArguments(List<String> texts, List<Value> operands, int from, boolean escapePercent) {
+        StringBuilder format = new StringBuilder("\"");
+        StringBuilder arguments = new StringBuilder();
+        for (int i = from; i < texts.size(); i++) {
+            String text = texts.get(i).replace("\"", "\\\"");
+            format.append(escapePercent ? text.replace("%", "%%") : text);
+            if (i < operands.size()) {
+                Value operand = operands.get(i);
+                format.append(switch (operand.getType()) {
+                    case REAL -> "%f";
+                    case STRING -> "%s";
+                    default -> "%d";
+                });
+                arguments.append(", ").append(ref(operand));
+            }
+        }
+        return format.append('"').append(arguments).toString();
+    }
+
+    private String variable(Variable variable) {
+        return switch (variable.getKind()) {
+            case GLOBAL -> variable.getName();
+            case LOCAL -> names.get(variable);
+            case OUT -> "*" + names.get(variable);
+        };
+    }
+
+    private String ref(Value value) {
+        if (value instanceof Constant constant) {
+            return constant(constant);
+        }
+        if (value instanceof Parameter param) {
+            return param.getParameterName();
+        }
+        return "_v" + value.getId();
+    }
+
+    private String constant(Constant constant) {
+        switch (constant.getType()) {
+            case STRING -> {
+                String name = literals.computeIfAbsent(constant.stringValue(), text -> "_s" + literals.size());
+                return name + ".data";
+            }
+            case REAL -> {
+                double value = constant.realValue();
+                if (Double.isNaN(value)) {
+                    return "(0.0 / 0.0)";
+                }
+                if (Double.isInfinite(value)) {
+                    return value > 0 ? "(1.0 / 0.0)" : "(-1.0 / 0.0)";
+                }
+                String text = Double.toString(value);
+                return text.startsWith("-") ? "(" + text + ")" : text;
+            }
+            default -> {
+                int value = constant.intValue();
+                if (value == Integer.MIN_VALUE) {
+                    return "(-2147483647 - 1)";
+                }
+                return value < 0 ? "(" + value + ")" : Integer.toString(value);
+            }
+        }
+    }
+
+    private static String label(BasicBlock block) {
+        return "L" + block.getIndex();
+    }
+
+    private static String cType(Type type) {
+        return switch (type) {
+            case REAL -> "double";
+            case STRING -> "char*";
+            case BOOLEAN -> "bool";
+            default -> "int";
+        };
+    }
+
+    private static void line(StringBuilder out, String text) {
+        out.append("    ").append(text).append('\n');
+    }
+}
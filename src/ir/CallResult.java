@@ -0,0 +1,25 @@
+package ir;
+
+import visitor.utils.Type;
+
+/**
+ * Valore prodotto da una chiamata attraverso un parametro out o un valore di ritorno multiplo, quando la
+ * variabile del chiamante è un valore SSA: la chiamata riceve l'indirizzo di una cella inizializzata con
+ * il valore corrente (un operando della chiamata) e dopo la chiamata la variabile vale il contenuto della cella.
+ */
+public class CallResult extends Value {
+    private Instruction call;
+
+    public CallResult(Type type) {
+        super(type);
+    }
+
+    public Instruction getCall() { return call; }
+
+    void setCall(Instruction call) { this.call = call; }
+
+    @Override
+    public String getName() {
+        return "%" + getId();
+    }
+}
@@ -0,0 +1,66 @@
+package ir;
+
+import visitor.utils.Type;
+
+/**
+ * Costante: Integer per interi e booleani (0 o 1), Double per i reali, String per le stringhe. Il testo delle
+ * stringhe è quello del sorgente, con le sequenze di escape non interpretate, come nel codice C generato.
+ */
+public class Constant extends Value {
+    private final Object value;
+
+    private Constant(Type type, Object value) {
+        super(type);
+        this.value = value;
+    }
+
+    public static Constant ofInt(int value) {
+        return new Constant(Type.INTEGER, value);
+    }
+
+    public static Constant ofReal(double value) {
+        return new Constant(Type.REAL, value);
+    }
+
+    public static Constant ofBoolean(boolean value) {
+        return new Constant(Type.BOOLEAN, value ? 1 : 0);
+    }
+
+    public static Constant ofString(String text) {
+        return new Constant(Type.STRING, text);
+    }
+
+    // Valore di una variabile non inizializzata: zero, falso o la stringa vuota
+    public static Constant zero(Type type) {
+        return switch (type) {
+            case REAL -> ofReal(0);
+            case STRING -> ofString("");
+            case BOOLEAN -> ofBoolean(false);
+            default -> ofInt(0);
+        };
+    }
+
+    public Object getValue() { return value; }
+
+    public int intValue() { return (Integer) value; }
+
+    public double realValue() { return (Double) value; }
+
+    public String stringValue() { return (String) value; }
+
+    // Stessa costante, anche se creata da un'altra parte del programma
+    public boolean sameAs(Constant other) {
+        return getType() == other.getType() && (getType() == Type.REAL
+                ? Double.doubleToRawLongBits(realValue()) == Double.doubleToRawLongBits(other.realValue())
+                : value.equals(other.value));
+    }
+
+    @Override
+    public String getName() {
+        return switch (getType()) {
+            case STRING -> "\"" + value + "\"";
+            case BOOLEAN -> intValue() != 0 ? "true" : "false";
+            default -> value.toString();
+        };
+    }
+}
@@ -0,0 +1,206 @@
+package ir;
+
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Istruzione di un blocco. Il tipo è quello del risultato, null per le istruzioni che non ne producono
+ * (STORE, PRINT, READ in memoria, le chiamate a procedure e i terminatori). Oltre agli operandi, alcune
+ * istruzioni hanno dati propri: la variabile di LOAD, STORE e READ; la funzione chiamata e gli argomenti
+ * di CALL; i letterali di CONCAT e PRINT, uno in più degli operandi, che li precedono e li seguono;
+ * i blocchi di destinazione di JUMP e BRANCH. Gli operandi di PHI corrispondono ai predecessori del blocco.
+ */
+public class Instruction extends Value {
+    private final Opcode opcode;
+    private final List<Value> operands = new ArrayList<>();
+    private BasicBlock block;
+
+    private Variable variable;
+    private IrFunction callee;
+    private List<Argument> arguments = List.of();
+    private List<String> texts = List.of();
+    private final List<BasicBlock> targets = new ArrayList<>();
+
+    public Instruction(Opcode opcode, Type type, Value... operands) {
+        super(type);
+        this.opcode = opcode;
+        for (Value operand : operands) {
+            addOperand(operand);
+        }
+    }
+
+    public static Instruction load(Variable variable) {
+        Instruction load = new Instruction(Opcode.LOAD, variable.getType());
+        load.variable = variable;
+        return load;
+    }
+
+    public static Instruction store(Variable variable, Value value) {
+        Instruction store = new Instruction(Opcode.STORE, null, value);
+        store.variable = variable;
+        return store;
+    }
+
+    // Lettura nella variabile in memoria
+    public static Instruction read(Variable variable) {
+        Instruction read = new Instruction(Opcode.READ, null);
+        read.variable = variable;
+        return read;
+    }
+
+    // Lettura di un nuovo valore, che resta current se l'input non ne contiene uno valido
+    public static Instruction read(Value current) {
+        return new Instruction(Opcode.READ, current.getType(), current);
+    }
+
+    // CONCAT e PRINT: texts ha un elemento in più degli operandi
+    public static Instruction format(Opcode opcode, List<String> texts, List<Value> operands) {
+        Instruction format = new Instruction(opcode, opcode == Opcode.CONCAT ? Type.STRING : null);
+        for (Value operand : operands) {
+            format.addOperand(operand);
+        }
+        format.texts = new ArrayList<>(texts);
+        return format;
+    }
+
+    // Chiamata con gli argomenti nella posizione dei parametri; i valori passati sono gli operandi
+    public static Instruction call(IrFunction callee, Type type, List<Argument> arguments, List<Value> operands) {
+        Instruction call = new Instruction(Opcode.CALL, type);
+        for (Value operand : operands) {
+            call.addOperand(operand);
+        }
+        call.callee = callee;
+        call.arguments = new ArrayList<>(arguments);
+        for (Argument argument : arguments) {
+            if (argument.getKind() == Argument.Kind.RESULT) {
+                argument.getResult().setCall(call);
+            }
+        }
+        return call;
+    }
+
+    public static Instruction jump(BasicBlock target) {
+        Instruction jump = new Instruction(Opcode.JUMP, null);
+        jump.targets.add(target);
+        return jump;
+    }
+
+    public static Instruction branch(Value condition, BasicBlock then, BasicBlock otherwise) {
+        Instruction branch = new Instruction(Opcode.BRANCH, null, condition);
+        branch.targets.add(then);
+        branch.targets.add(otherwise);
+        return branch;
+    }
+
+    /*
+     * Copia dell'istruzione per un altro blocco (per esempio nell'inlining): gli operandi e le destinazioni
+     * presenti in values e blocks vengono sostituiti, gli altri restano gli stessi. Le PHI vengono copiate
+     * senza operandi, perché il loro ordine dipende dai predecessori del nuovo blocco. I risultati di una
+     * CALL vengono duplicati e aggiunti a values.
+     */
+    public Instruction copy(Map<Value, Value> values, Map<BasicBlock, BasicBlock> blocks) {
+        Instruction copy = new Instruction(opcode, getType());
+        if (opcode != Opcode.PHI) {
+            for (Value operand : operands) {
+                copy.addOperand(values.getOrDefault(operand, operand));
+            }
+        }
+        copy.variable = variable;
+        copy.callee = callee;
+        copy.texts = texts;
+        List<Argument> copiedArguments = new ArrayList<>();
+        for (Argument argument : arguments) {
+            if (argument.getKind() == Argument.Kind.RESULT) {
+                CallResult result = (CallResult) values.computeIfAbsent(argument.getResult(),
+                        key -> new CallResult(key.getType()));
+                result.setCall(copy);
+                copiedArguments.add(Argument.result(result, argument.getOperand()));
+            } else {
+                copiedArguments.add(argument);
+            }
+        }
+        copy.arguments = copiedArguments;
+        for (BasicBlock target : targets) {
+            copy.targets.add(blocks.getOrDefault(target, target));
+        }
+        return copy;
+    }
+
+    public Opcode getOpcode() { return opcode; }
+
+    public BasicBlock getBlock() { return block; }
+
+    void setBlock(BasicBlock block) { this.block = block; }
+
+    public List<Value> getOperands() { return Collections.unmodifiableList(operands); }
+
+    public Value getOperand(int index) { return operands.get(index); }
+
+    public void addOperand(Value operand) {
+        operands.add(operand);
+        operand.addUser(this);
+    }
+
+    public void setOperand(int index, Value operand) {
+        operands.get(index).removeUser(this);
+        operands.set(index, operand);
+        operand.addUser(this);
+    }
+
+    public void removeOperand(int index) {
+        operands.remove(index).removeUser(this);
+    }
+
+    void replaceOperand(Value old, Value replacement) {
+        for (int i = 0; i < operands.size(); i++) {
+            if (operands.get(i) == old) {
+                setOperand(i, replacement);
+            }
+        }
+    }
+
+    // Rimuove l'istruzione dal blocco e ne cancella gli usi degli operandi
+    public void remove() {
+        for (Value operand : operands) {
+            operand.removeUser(this);
+        }
+        operands.clear();
+        if (block != null) {
+            block.removeInstruction(this);
+        }
+    }
+
+    public Variable getVariable() { return variable; }
+
+    public IrFunction getCallee() { return callee; }
+
+    public List<Argument> getArguments() { return arguments; }
+
+    // Valori prodotti dalla chiamata attraverso i parametri out
+    public List<CallResult> getResults() {
+        List<CallResult> results = new ArrayList<>();
+        for (Argument argument : arguments) {
+            if (argument.getKind() == Argument.Kind.RESULT && !results.contains(argument.getResult())) {
+                results.add(argument.getResult());
+            }
+        }
+        return results;
+    }
+
+    public List<String> getTexts() { return texts; }
+
+    public List<BasicBlock> getTargets() { return targets; }
+
+    public boolean isTerminator() {
+        return opcode.isTerminator();
+    }
+
+    @Override
+    public String getName() {
+        return "%" + getId();
+    }
+}
@@ -0,0 +1,164 @@
+package ir;
+
+import visitor.utils.Type;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Funzione o procedura in forma SSA: parametri, valori di ritorno, variabili stringa locali (in memoria)
+ * e il grafo di controllo, il cui primo blocco è l'ingresso. Una funzione con più valori di ritorno li scrive
+ * nelle variabili out results prima di RETURN; con un solo valore RETURN ha un operando.
+ */
+public class IrFunction {
+    private final String name;
+    private final List<Parameter> parameters = new ArrayList<>();
+    private final List<Type> returnTypes;
+    private final List<Variable> results = new ArrayList<>();
+    private final List<Variable> locals = new ArrayList<>();
+    private final List<BasicBlock> blocks = new ArrayList<>();
+
+    public IrFunction(String name, List<Type> returnTypes) {
+        this.name = name;
+        this.returnTypes = returnTypes;
+        if (returnTypes.size() > 1) {
+            for (int i = 0; i < returnTypes.size(); i++) {
+                results.add(new Variable(Variable.Kind.OUT, "out_param" + i, returnTypes.get(i)));
+            }
+        }
+    }
+
+    public String getName() { return name; }
+
+    public List<Parameter> getParameters() { return parameters; }
+
+    public List<Type> getReturnTypes() { return returnTypes; }
+
+    public List<Variable> getResults() { return results; }
+
+    public List<Variable> getLocals() { return locals; }
+
+    public List<BasicBlock> getBlocks() { return Collections.unmodifiableList(blocks); }
+
+    public BasicBlock getEntry() { return blocks.get(0); }
+
+    // La procedura main diventa la funzione main del programma C
+    public boolean isMain() {
+        return name.equals("main") && returnTypes.isEmpty();
+    }
+
+    public BasicBlock newBlock() {
+        BasicBlock block = new BasicBlock(this, blocks.size());
+        blocks.add(block);
+        return block;
+    }
+
+    // Rimuove il blocco, che non deve avere predecessori, insieme alle sue istruzioni
+    public void removeBlock(BasicBlock block) {
+        for (Instruction instruction : new ArrayList<>(block.getInstructions())) {
+            instruction.remove();
+        }
+        blocks.remove(block);
+    }
+
+    // Blocchi raggiungibili dall'ingresso, in ordine di visita in profondità
+    public List<BasicBlock> reachableBlocks() {
+        List<BasicBlock> reachable = new ArrayList<>();
+        Set<BasicBlock> visited = new HashSet<>();
+        Deque<BasicBlock> stack = new ArrayDeque<>();
+        stack.push(getEntry());
+        while (!stack.isEmpty()) {
+            BasicBlock block = stack.pop();
+            if (!visited.add(block)) {
+                continue;
+            }
+            reachable.add(block);
+            List<BasicBlock> successors = block.getSuccessors();
+            for (int i = successors.size() - 1; i >= 0; i--) {
+                stack.push(successors.get(i));
+            }
+        }
+        return reachable;
+    }
+
+    // Elimina i blocchi non raggiungibili, per esempio le istruzioni che seguono un return;
+    // restituisce true se ne ha eliminato almeno uno
+    public boolean removeUnreachableBlocks() {
+        Set<BasicBlock> reachable = new HashSet<>(reachableBlocks());
+        List<BasicBlock> unreachable = blocks.stream().filter(block -> !reachable.contains(block)).toList();
+        // Prima i salti, così nessun blocco raggiungibile ha ancora predecessori eliminati
+        for (BasicBlock block : unreachable) {
+            Instruction terminator = block.getTerminator();
+            if (terminator != null) {
+                terminator.remove();
+            }
+        }
+        for (BasicBlock block : unreachable) {
+            removeBlock(block);
+        }
+        return !unreachable.isEmpty();
+    }
+
+    /*
+     * Blocchi raggiungibili in ordine inverso di completamento della visita in profondità (reverse postorder):
+     * ogni blocco precede i suoi successori, tranne lungo gli archi all'indietro dei cicli. I successori vengono
+     * visitati dall'ultimo, così il ramo then di un BRANCH segue il blocco che lo contiene.
+     */
+    public List<BasicBlock> reversePostorder() {
+        List<BasicBlock> postorder = new ArrayList<>();
+        Set<BasicBlock> visited = new HashSet<>();
+        Deque<BasicBlock> stack = new ArrayDeque<>();
+        Deque<Integer> next = new ArrayDeque<>();
+        visited.add(getEntry());
+        stack.push(getEntry());
+        next.push(getEntry().getSuccessors().size() - 1);
+        while (!stack.isEmpty()) {
+            BasicBlock block = stack.peek();
+            int index = next.pop();
+            if (index < 0) {
+                stack.pop();
+                postorder.add(block);
+                continue;
+            }
+            next.push(index - 1);
+            BasicBlock successor = block.getSuccessors().get(index);
+            if (visited.add(successor)) {
+                stack.push(successor);
+                next.push(successor.getSuccessors().size() - 1);
+            }
+        }
+        Collections.reverse(postorder);
+        return postorder;
+    }
+
+    // Dispone i blocchi raggiungibili in reverse postorder, l'ordine della stampa e del codice C
+    public void sortBlocks() {
+        List<BasicBlock> order = reversePostorder();
+        if (order.size() == blocks.size()) {
+            blocks.clear();
+            blocks.addAll(order);
+        }
+    }
+
+    // Numera blocchi e valori nell'ordine dei blocchi, per la stampa e la generazione del codice
+    public void renumber() {
+        int id = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            BasicBlock block = blocks.get(i);
+            block.setIndex(i);
+            for (Instruction instruction : block.getInstructions()) {
+                instruction.setId(id++);
+                if (instruction.getOpcode() == Opcode.CALL) {
+                    for (CallResult result : instruction.getResults()) {
+                        result.setId(id++);
+                    }
+                }
+            }
+        }
+    }
+}
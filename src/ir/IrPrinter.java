@@ -0,0 +1,134 @@
+package ir;
+
+import visitor.utils.Type;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Stampa dell'IR in forma testuale: una riga per istruzione, i valori SSA come %n, le variabili in memoria
+ * come @globale, $locale e *out, i blocchi come bn seguiti dai loro predecessori.
+ */
+public final class IrPrinter {
+
+    private IrPrinter() {
+    }
+
+    public static String print(IrProgram program) {
+        StringBuilder text = new StringBuilder();
+        for (Variable global : program.getGlobals()) {
+            text.append("global ").append(typeName(global.getType())).append(' ').append(global);
+            if (global.getInitialValue() != null) {
+                Object value = global.getInitialValue();
+                text.append(" = ").append(value instanceof String string ? "\"" + string + "\"" : value);
+            }
+            text.append('\n');
+        }
+        for (IrFunction function : program.getFunctions()) {
+            text.append('\n').append(print(function));
+        }
+        return text.toString();
+    }
+
+    public static String print(IrFunction function) {
+        function.renumber();
+        StringBuilder text = new StringBuilder();
+        List<Type> returnTypes = function.getReturnTypes();
+        text.append(returnTypes.isEmpty() ? "procedure " : "function ");
+        if (returnTypes.size() == 1) {
+            text.append(typeName(returnTypes.get(0))).append(' ');
+        } else if (returnTypes.size() > 1) {
+            StringJoiner types = new StringJoiner(", ", "(", ") ");
+            returnTypes.forEach(type -> types.add(typeName(type)));
+            text.append(types);
+        }
+        StringJoiner params = new StringJoiner(", ", function.getName() + "(", ")");
+        for (Parameter param : function.getParameters()) {
+            params.add((param.isOut() ? "out " : "") + typeName(param.getType()) + " " + param.getParameterName());
+        }
+        text.append(params).append('\n');
+        for (Variable local : function.getLocals()) {
+            text.append("  local ").append(typeName(local.getType())).append(' ').append(local).append('\n');
+        }
+        for (BasicBlock block : function.getBlocks()) {
+            text.append(block.getName()).append(':');
+            if (!block.getPredecessors().isEmpty()) {
+                StringJoiner predecessors = new StringJoiner(", ", "  ; da ", "");
+                block.getPredecessors().forEach(predecessor -> predecessors.add(predecessor.getName()));
+                text.append(predecessors);
+            }
+            text.append('\n');
+            for (Instruction instruction : block.getInstructions()) {
+                text.append("  ").append(print(instruction)).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    public static String print(Instruction instruction) {
+        StringBuilder text = new StringBuilder();
+        if (instruction.getType() != null) {
+            text.append(instruction.getName()).append(" = ");
+        }
+        text.append(instruction.getOpcode().getMnemonic());
+        if (instruction.getType() != null) {
+            text.append(' ').append(typeName(instruction.getType()));
+        }
+        StringJoiner operands = new StringJoiner(", ", " ", "");
+        operands.setEmptyValue("");
+        List<Value> values = instruction.getOperands();
+        switch (instruction.getOpcode()) {
+            case LOAD, READ, STORE -> {
+                if (instruction.getVariable() != null) {
+                    operands.add(instruction.getVariable().toString());
+                }
+                values.forEach(value -> operands.add(value.getName()));
+            }
+            case CONCAT, PRINT -> {
+                List<String> texts = instruction.getTexts();
+                for (int i = 0; i < texts.size(); i++) {
+                    if (!texts.get(i).isEmpty()) {
+                        operands.add("\"" + texts.get(i) + "\"");
+                    }
+                    if (i < values.size()) {
+                        operands.add(values.get(i).getName());
+                    }
+                }
+            }
+            case CALL -> {
+                StringJoiner arguments = new StringJoiner(", ", instruction.getCallee().getName() + "(", ")");
+                for (Argument argument : instruction.getArguments()) {
+                    arguments.add(switch (argument.getKind()) {
+                        case VALUE -> values.get(argument.getOperand()).getName();
+                        case ADDRESS -> "&" + argument.getVariable();
+                        case RESULT -> "&" + argument.getResult().getName()
+                                + "(" + values.get(argument.getOperand()).getName() + ")";
+                    });
+                }
+                operands.add(arguments.toString());
+            }
+            case PHI -> {
+                List<BasicBlock> predecessors = instruction.getBlock().getPredecessors();
+                for (int i = 0; i < values.size(); i++) {
+                    operands.add("[" + values.get(i).getName() + ", "
+                            + (i < predecessors.size() ? predecessors.get(i).getName() : "?") + "]");
+                }
+            }
+            default -> {
+                values.forEach(value -> operands.add(value.getName()));
+                instruction.getTargets().forEach(target -> operands.add(target.getName()));
+            }
+        }
+        return text.append(operands).toString();
+    }
+
+    public static String typeName(Type type) {
+        return switch (type) {
+            case INTEGER -> "int";
+            case REAL -> "real";
+            case STRING -> "string";
+            case BOOLEAN -> "bool";
+            default -> type.name().toLowerCase();
+        };
+    }
+}
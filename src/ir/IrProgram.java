@@ -0,0 +1,26 @@
+package ir;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Programma in forma intermedia: le variabili globali e le funzioni, nell'ordine del sorgente.
+ */
+public class IrProgram {
+    private final List<Variable> globals = new ArrayList<>();
+    private final List<IrFunction> functions = new ArrayList<>();
+
+    public List<Variable> getGlobals() { return globals; }
+
+    public List<IrFunction> getFunctions() { return functions; }
+
+    public IrFunction getMain() {
+        return functions.stream().filter(IrFunction::isMain).findFirst().orElse(null);
+    }
+
+    // Testo leggibile del programma (vedi IrPrinter)
+    @Override
+    public String toString() {
+        return IrPrinter.print(this);
+    }
+}
@@ -0,0 +1,72 @@
+package ir;
+
+/**
+ * Operazioni dell'IR. Aritmetica e confronti lavorano su operandi dello stesso tipo (le conversioni sono
+ * istruzioni esplicite I2R e R2I); i confronti tra stringhe confrontano il contenuto. Le istruzioni con
+ * effetti (scritture in memoria, input/output, chiamate, salti) non possono essere eliminate né spostate
+ * dai passi di ottimizzazione; LOAD può essere eliminata se inutilizzata, ma dipende dalle scritture precedenti.
+ */
+public enum Opcode {
+    // Aritmetica: ADD a, b | ... | NEG a
+    ADD("add"),
+    SUB("sub"),
+    MUL("mul"),
+    DIV("div"),
+    NEG("neg"),
+    // Logica e confronti, con risultato booleano
+    NOT("not"),
+    EQ("eq"),
+    NE("ne"),
+    LT("lt"),
+    LE("le"),
+    GT("gt"),
+    GE("ge"),
+    // Conversioni come nell'assegnamento C
+    I2R("i2r"),
+    R2I("r2i"),
+    // Concatenazione formattata come toy_str_format: letterali e operandi alternati
+    CONCAT("concat"),
+    // Memoria: LOAD var | STORE var, a
+    LOAD("load"),
+    STORE("store", true),
+    // Lettura da input: READ var (in memoria) oppure READ a (nuovo valore, a se l'input non è valido)
+    READ("read", true),
+    // Stampa con printf: letterali (il formato) e operandi alternati
+    PRINT("print", true),
+    CALL("call", true),
+    // Valore scelto in base al predecessore da cui si arriva nel blocco, un operando per predecessore
+    PHI("phi"),
+    // Terminatori: JUMP b | BRANCH a, then, else | RETURN [a]
+    JUMP("jump", true),
+    BRANCH("branch", true),
+    RETURN("return", true);
+
+    private final String mnemonic;
+    private final boolean sideEffects;
+
+    Opcode(String mnemonic) {
+        this(mnemonic, false);
+    }
+
+    Opcode(String mnemonic, boolean sideEffects) {
+        this.mnemonic = mnemonic;
+        this.sideEffects = sideEffects;
+    }
+
+    public String getMnemonic() { return mnemonic; }
+
+    public boolean hasSideEffects() { return sideEffects; }
+
+    // Il risultato dipende solo dagli operandi
+    public boolean isPure() {
+        return !sideEffects && this != LOAD;
+    }
+
+    public boolean isTerminator() {
+        return this == JUMP || this == BRANCH || this == RETURN;
+    }
+
+    public boolean isComparison() {
+        return this == EQ || this == NE || this == LT || this == LE || this == GT || this == GE;
+    }
+}
@@ -0,0 +1,33 @@
+package ir;
+
+import visitor.utils.Type;
+
+/**
+ * Parametro di una funzione o procedura. Un parametro per valore è un valore SSA; un parametro out è
+ * l'indirizzo della variabile del chiamante, accessibile solo tramite la Variable di tipo OUT associata.
+ */
+public class Parameter extends Value {
+    private final String name;
+    private final Variable reference;
+
+    public Parameter(String name, Type type) {
+        this(name, type, null);
+    }
+
+    public Parameter(String name, Type type, Variable reference) {
+        super(type);
+        this.name = name;
+        this.reference = reference;
+    }
+
+    public String getParameterName() { return name; }
+
+    public boolean isOut() { return reference != null; }
+
+    public Variable getReference() { return reference; }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
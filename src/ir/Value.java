@@ -0,0 +1,55 @@
+package ir;
+
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Valore SSA: costante, parametro, risultato di un'istruzione o di una chiamata. Ogni valore conosce
+ * le istruzioni che lo usano (una voce per ogni operando), per cui può essere sostituito ovunque in un passo.
+ */
+public abstract class Value {
+    private final Type type;
+    private final List<Instruction> users = new ArrayList<>();
+    // Numero assegnato da IrFunction.renumber(), usato nei nomi %n della stampa e nel codice C
+    private int id = -1;
+
+    protected Value(Type type) {
+        this.type = type;
+    }
+
+    public Type getType() { return type; }
+
+    public List<Instruction> getUsers() { return users; }
+
+    public int getId() { return id; }
+
+    void setId(int id) { this.id = id; }
+
+    void addUser(Instruction user) {
+        users.add(user);
+    }
+
+    void removeUser(Instruction user) {
+        users.remove(user);
+    }
+
+    // Sostituisce il valore con replacement in tutte le istruzioni che lo usano
+    public void replaceAllUsesWith(Value replacement) {
+        if (replacement == this) {
+            return;
+        }
+        for (Instruction user : new ArrayList<>(users)) {
+            user.replaceOperand(this, replacement);
+        }
+    }
+
+    // Nome del valore nella stampa dell'IR
+    public abstract String getName();
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
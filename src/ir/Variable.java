@@ -0,0 +1,47 @@
+package ir;
+
+import visitor.utils.Type;
+
+/**
+ * Locazione di memoria, letta e scritta con LOAD, STORE e READ e passata per indirizzo alle chiamate.
+ * Restano in memoria le variabili globali, le variabili stringa (di cui il codice C gestisce la proprietà
+ * del buffer) e i parametri out che potrebbero essere modificati da altre funzioni durante l'esecuzione;
+ * le altre variabili sono valori SSA. I valori di ritorno multipli sono parametri out di nome out_param<i>.
+ */
+public class Variable {
+    public enum Kind {
+        GLOBAL,
+        LOCAL,
+        OUT,
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final Type type;
+    // Valore iniziale delle variabili globali dichiarate con una costante (Integer, Double, String, Boolean)
+    private final Object initialValue;
+
+    public Variable(Kind kind, String name, Type type) {
+        this(kind, name, type, null);
+    }
+
+    public Variable(Kind kind, String name, Type type, Object initialValue) {
+        this.kind = kind;
+        this.name = name;
+        this.type = type;
+        this.initialValue = initialValue;
+    }
+
+    public Kind getKind() { return kind; }
+
+    public String getName() { return name; }
+
+    public Type getType() { return type; }
+
+    public Object getInitialValue() { return initialValue; }
+
+    @Override
+    public String toString() {
+        return (kind == Kind.GLOBAL ? "@" : kind == Kind.OUT ? "*" : "$") + name;
+    }
+}
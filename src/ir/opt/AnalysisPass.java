@@ -0,0 +1,22 @@
+package ir.opt;
+
+import ir.IrFunction;
+
+/**
+ * Analisi di una funzione. Il risultato viene conservato dal PassManager finché una trasformazione
+ * non modifica la funzione; le analisi del grafo di controllo restano valide se la trasformazione
+ * dichiara di non modificarlo.
+ */
+public abstract class AnalysisPass<T> extends Pass {
+
+    protected AnalysisPass(String name, String description) {
+        super(name, description);
+    }
+
+    public abstract T analyze(IrFunction function, PassManager manager);
+
+    // Il risultato dipende solo dal grafo di controllo (blocchi e archi), non dalle istruzioni
+    public boolean dependsOnlyOnCfg() {
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.Constant;
+import ir.Instruction;
+import ir.IrFunction;
+import ir.Opcode;
+import ir.Value;
+import ir.Variable;
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Eliminazione delle espressioni ripetute: un'istruzione pura uguale a una che la domina (stessa operazione,
+ * stesso tipo, stessi operandi) viene sostituita da questa, visitando l'albero dei dominatori. Dentro ogni
+ * blocco anche le LOAD vengono riutilizzate, e una LOAD che segue una STORE nella stessa variabile prende
+ * il valore scritto, finché una chiamata o una lettura non possono aver modificato la memoria.
+ */
+public class CommonSubexpressionPass extends FunctionPass {
+    public static final String NAME = "cse";
+
+    public CommonSubexpressionPass() {
+        super(NAME, "Eliminazione delle espressioni ripetute");
+    }
+
+    @Override
+    public List<String> getRequiredAnalyses() {
+        return List.of(DominatorAnalysis.NAME);
+    }
+
+    @Override
+    public boolean preservesCfg() {
+        return true;
+    }
+
+    @Override
+    public boolean run(IrFunction function, PassManager manager) {
+        DominatorTree dominators = manager.getAnalysis(DominatorAnalysis.NAME, function);
+        return visit(dominators.getRoot(), dominators, new HashMap<>());
+    }
+
+    // Le espressioni dei blocchi che dominano block sono in available; quelle di block valgono per i figli
+    private boolean visit(BasicBlock block, DominatorTree dominators, Map<Key, Instruction> available) {
+        boolean changed = false;
+        List<Key> added = new ArrayList<>();
+        Map<Variable, Value> memory = new HashMap<>();
+        for (Instruction instruction : new ArrayList<>(block.getInstructions())) {
+            Opcode opcode = instruction.getOpcode();
+            if (opcode == Opcode.LOAD) {
+                Value known = memory.get(instruction.getVariable());
+                if (known != null) {
+                    instruction.replaceAllUsesWith(known);
+                    instruction.remove();
+                    changed = true;
+                } else {
+                    memory.put(instruction.getVariable(), instruction);
+                }
+            } else if (opcode == Opcode.STORE || opcode == Opcode.READ && instruction.getVariable() != null) {
+                Variable variable = instruction.getVariable();
+                if (variable.getKind() != Variable.Kind.LOCAL) {
+                    // Globali e parametri out possono indicare la stessa variabile
+                    memory.keySet().removeIf(other -> other.getKind() != Variable.Kind.LOCAL);
+                }
+                // Dopo la scrittura di una stringa la variabile contiene una copia del valore
+                if (opcode == Opcode.STORE && variable.getType() != Type.STRING) {
+                    memory.put(variable, instruction.getOperand(0));
+                } else {
+                    memory.remove(variable);
+                }
+            } else if (opcode == Opcode.CALL) {
+                memory.clear();
+            } else if (opcode.isPure() && opcode != Opcode.PHI && instruction.getType() != null) {
+                Key key = new Key(instruction);
+                Instruction existing = available.get(key);
+                if (existing != null) {
+                    instruction.replaceAllUsesWith(existing);
+                    instruction.remove();
+                    changed = true;
+                } else {
+                    available.put(key, instruction);
+                    added.add(key);
+                }
+            }
+        }
+        for (BasicBlock child : dominators.getChildren(block)) {
+            changed |= visit(child, dominators, available);
+        }
+        added.forEach(available::remove);
+        return changed;
+    }
+
+    // Operazione, tipo, letterali e operandi; le costanti sono confrontate per valore, gli altri valori per identità
+    private static final class Key {
+        private final Opcode opcode;
+        private final Type type;
+        private final List<String> texts;
+        private final List<Object> operands = new ArrayList<>();
+
+        Key(Instruction instruction) {
+            opcode = instruction.getOpcode();
+            type = instruction.getType();
+            texts = instruction.getTexts();
+            for (Value operand : instruction.getOperands()) {
+                operands.add(operand instanceof Constant constant
+                        ? constant.getType() + ":" + (constant.getType() == Type.REAL
+                                ? Double.doubleToRawLongBits(constant.realValue()) : constant.getValue())
+                        : operand);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && opcode == key.opcode && type == key.type
+                    && texts.equals(key.texts) && operands.equals(key.operands);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(opcode, type, texts, operands);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.Constant;
+import ir.Instruction;
+import ir.IrFunction;
+import ir.Opcode;
+import ir.Value;
+import visitor.utils.CFormat;
+import visitor.utils.Type;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Valuta le istruzioni con operandi costanti e propaga i risultati agli usi, con la semantica del codice C:
+ * gli interi sono a 32 bit in complemento a due, le divisioni per zero e le conversioni fuori intervallo
+ * restano a tempo di esecuzione. Le costanti tra gli operandi di CONCAT e PRINT entrano nei letterali,
+ * i BRANCH su una costante diventano salti, le PHI con un solo valore vengono sostituite da questo.
+ */
+public class ConstantFoldingPass extends FunctionPass {
+    public static final String NAME = "fold";
+
+    public ConstantFoldingPass() {
+        super(NAME, "Valutazione e propagazione delle costanti");
+    }
+
+    @Override
+    public boolean run(IrFunction function, PassManager manager) {
+        boolean changed = false;
+        boolean branchFolded = false;
+        Deque<Instruction> worklist = new ArrayDeque<>();
+        for (BasicBlock block : function.getBlocks()) {
+            worklist.addAll(block.getInstructions());
+        }
+        while (!worklist.isEmpty()) {
+            while (!worklist.isEmpty()) {
+                Instruction instruction = worklist.poll();
+                if (instruction.getBlock() == null) {
+                    continue;
+                }
+                if (instruction.getOpcode() == Opcode.BRANCH && instruction.getOperand(0) instanceof Constant condition) {
+                    List<BasicBlock> targets = List.copyOf(instruction.getTargets());
+                    instruction.getBlock().foldBranch(condition.intValue() != 0 ? 0 : 1);
+                    targets.forEach(target -> worklist.addAll(target.getPhis()));
+                    changed = branchFolded = true;
+                    continue;
+                }
+                Value folded = fold(instruction);
+                if (folded == null) {
+                    continue;
+                }
+                if (folded instanceof Instruction replacement && replacement.getBlock() == null) {
+                    instruction.getBlock().insertBefore(replacement, instruction);
+                }
+                worklist.addAll(instruction.getUsers());
+                instruction.replaceAllUsesWith(folded);
+                instruction.remove();
+                changed = true;
+            }
+            // I blocchi non più raggiungibili tolgono operandi alle PHI dei blocchi rimasti
+            if (function.removeUnreachableBlocks()) {
+                function.getBlocks().forEach(block -> worklist.addAll(block.getPhis()));
+            }
+        }
+        if (branchFolded) {
+            function.sortBlocks();
+        }
+        return changed;
+    }
+
+    // Valore che sostituisce l'istruzione, null se resta com'è
+    static Value fold(Instruction instruction) {
+        Opcode opcode = instruction.getOpcode();
+        if (opcode == Opcode.PHI) {
+            return trivialPhi(instruction);
+        }
+        if (opcode == Opcode.CONCAT || opcode == Opcode.PRINT) {
+            return mergeConstants(instruction);
+        }
+        if (!opcode.isPure()) {
+            return null;
+        }
+        List<Value> operands = instruction.getOperands();
+        if (operands.stream().allMatch(operand -> operand instanceof Constant)) {
+            Constant left = (Constant) operands.get(0);
+            return operands.size() == 1 ? evaluate(opcode, left) : evaluate(opcode, left, (Constant) operands.get(1));
+        }
+        return simplify(instruction);
+    }
+
+    // PHI i cui operandi, a parte la PHI stessa, sono tutti lo stesso valore o la stessa costante
+    private static Value trivialPhi(Instruction phi) {
+        Value same = null;
+        for (Value operand : phi.getOperands()) {
+            if (operand == phi || operand == same) {
+                continue;
+            }
+            if (same != null && !(same instanceof Constant constant && operand instanceof Constant other
+                    && constant.sameAs(other))) {
+                return null;
+            }
+            same = operand;
+        }
+        return same;
+    }
+
+    private static Value evaluate(Opcode opcode, Constant operand) {
+        return switch (opcode) {
+            case NOT -> Constant.ofBoolean(operand.intValue() == 0);
+            case NEG -> operand.getType() == Type.REAL
+                    ? Constant.ofReal(-operand.realValue()) : Constant.ofInt(-operand.intValue());
+            case I2R -> Constant.ofReal(operand.intValue());
+            case R2I -> {
+                // In C la conversione di un valore non rappresentabile non è definita
+                double value = operand.realValue();
+                yield value > Integer.MIN_VALUE - 1.0 && value < Integer.MAX_VALUE + 1.0
+                        ? Constant.ofInt((int) value) : null;
+            }
+            default -> null;
+        };
+    }
+
+    private static Value evaluate(Opcode opcode, Constant left, Constant right) {
+        if (opcode.isComparison()) {
+            return compare(opcode, left, right);
+        }
+        if (left.getType() == Type.REAL) {
+            double a = left.realValue();
+            double b = right.realValue();
+            return Constant.ofReal(switch (opcode) {
+                case ADD -> a + b;
+                case SUB -> a - b;
+                case MUL -> a * b;
+                case DIV -> a / b;
+                default -> throw new IllegalStateException("Operatore non previsto: " + opcode);
+            });
+        }
+        int a = left.intValue();
+        int b = right.intValue();
+        return switch (opcode) {
+            case ADD -> Constant.ofInt(a + b);
+            case SUB -> Constant.ofInt(a - b);
+            case MUL -> Constant.ofInt(a * b);
+            // La divisione per zero e quella di MIN_VALUE per -1 terminano il programma C
+            case DIV -> b == 0 || (a == Integer.MIN_VALUE && b == -1) ? null : Constant.ofInt(a / b);
+            default -> null;
+        };
+    }
+
+    private static Value compare(Opcode opcode, Constant left, Constant right) {
+        if (left.getType() == Type.REAL) {
+            double a = left.realValue();
+            double b = right.realValue();
+            return Constant.ofBoolean(switch (opcode) {
+                case EQ -> a == b;
+                case NE -> a != b;
+                case LT -> a < b;
+                case LE -> a <= b;
+                case GT -> a > b;
+                default -> a >= b;
+            });
+        }
+        int order;
+        if (left.getType() == Type.STRING) {
+            String a = CFormat.unescape(left.stringValue());
+            String b = CFormat.unescape(right.stringValue());
+            // Il runtime confronta i byte, che coincidono con i caratteri solo per il testo ASCII
+            if (!isAscii(a) || !isAscii(b)) {
+                return null;
+            }
+            order = Integer.signum(a.compareTo(b));
+        } else {
+            order = Integer.compare(left.intValue(), right.intValue());
+        }
+        return Constant.ofBoolean(switch (opcode) {
+            case EQ -> order == 0;
+            case NE -> order != 0;
+            case LT -> order < 0;
+            case LE -> order <= 0;
+            case GT -> order > 0;
+            default -> order >= 0;
+        });
+    }
+
+    private static boolean isAscii(String text) {
+        return text.chars().allMatch(c -> c > 0 && c < 128);
+    }
+
+    // Identità sugli interi: x + 0, 0 + x, x - 0, x * 1, 1 * x
+    private static Value simplify(Instruction instruction) {
+        if (instruction.getType() != Type.INTEGER || instruction.getOperands().size() != 2) {
+            return null;
+        }
+        Value left = instruction.getOperand(0);
+        Value right = instruction.getOperand(1);
+        return switch (instruction.getOpcode()) {
+            case ADD -> isInt(right, 0) ? left : isInt(left, 0) ? right : null;
+            case SUB -> isInt(right, 0) ? left : null;
+            case MUL, DIV -> isInt(right, 1) ? left
+                    : instruction.getOpcode() == Opcode.MUL && isInt(left, 1) ? right : null;
+            default -> null;
+        };
+    }
+
+    private static boolean isInt(Value value, int expected) {
+        return value instanceof Constant constant && constant.intValue() == expected;
+    }
+
+    /*
+     * CONCAT o PRINT con le costanti tra gli operandi scritte nei letterali, nel formato di printf;
+     * una CONCAT senza più operandi diventa la costante stringa. I NaN restano operandi perché il segno
+     * stampato dipende dalla libreria C.
+     */
+    private static Value mergeConstants(Instruction instruction) {
+        boolean print = instruction.getOpcode() == Opcode.PRINT;
+        List<String> texts = new ArrayList<>(List.of(instruction.getTexts().get(0)));
+        List<Value> operands = new ArrayList<>();
+        boolean merged = false;
+        for (int i = 0; i < instruction.getOperands().size(); i++) {
+            Value operand = instruction.getOperand(i);
+            String text = operand instanceof Constant constant ? format(constant) : null;
+            if (text != null) {
+                int last = texts.size() - 1;
+                texts.set(last, texts.get(last) + (print ? text.replace("%", "%%") : text));
+                texts.set(last, texts.get(last) + instruction.getTexts().get(i + 1));
+                merged = true;
+            } else {
+                operands.add(operand);
+                texts.add(instruction.getTexts().get(i + 1));
+            }
+        }
+        if (!merged) {
+            return null;
+        }
+        if (!print && operands.isEmpty()) {
+            return Constant.ofString(texts.get(0));
+        }
+        return Instruction.format(instruction.getOpcode(), texts, operands);
+    }
+
+    // Testo del letterale (con le sequenze di escape del sorgente) che stampa la costante
+    private static String format(Constant constant) {
+        return switch (constant.getType()) {
+            case STRING -> constant.stringValue();
+            case REAL -> Double.isNaN(constant.realValue()) ? null : CFormat.formatReal(constant.realValue());
+            default -> Integer.toString(constant.intValue());
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.Instruction;
+import ir.IrFunction;
+import ir.Value;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Elimina le istruzioni il cui risultato non serve: a partire da quelle con effetti (scritture, input/output,
+ * chiamate, salti) marca gli operandi da cui dipendono, poi rimuove le altre. A differenza del conteggio
+ * degli usi elimina anche i cicli di PHI che si usano solo tra loro.
+ */
+public class DeadCodeEliminationPass extends FunctionPass {
+    public static final String NAME = "dce";
+
+    public DeadCodeEliminationPass() {
+        super(NAME, "Eliminazione del codice morto");
+    }
+
+    @Override
+    public boolean preservesCfg() {
+        return true;
+    }
+
+    @Override
+    public boolean run(IrFunction function, PassManager manager) {
+        Set<Instruction> live = new HashSet<>();
+        Deque<Instruction> worklist = new ArrayDeque<>();
+        for (BasicBlock block : function.getBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                if (instruction.getOpcode().hasSideEffects() && live.add(instruction)) {
+                    worklist.push(instruction);
+                }
+            }
+        }
+        while (!worklist.isEmpty()) {
+            for (Value operand : worklist.pop().getOperands()) {
+                if (operand instanceof Instruction instruction && live.add(instruction)) {
+                    worklist.push(instruction);
+                }
+            }
+        }
+        List<Instruction> dead = new ArrayList<>();
+        for (BasicBlock block : function.getBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                if (!live.contains(instruction)) {
+                    dead.add(instruction);
+                }
+            }
+        }
+        for (Instruction instruction : dead) {
+            instruction.remove();
+        }
+        return !dead.isEmpty();
+    }
+}
@@ -0,0 +1,16 @@
+package ir.opt;
+
+import ir.IrFunction;
+
+public class DominatorAnalysis extends AnalysisPass<DominatorTree> {
+    public static final String NAME = "dominators";
+
+    public DominatorAnalysis() {
+        super(NAME, "Albero dei dominatori");
+    }
+
+    @Override
+    public DominatorTree analyze(IrFunction function, PassManager manager) {
+        return new DominatorTree(function);
+    }
+}
@@ -0,0 +1,90 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.IrFunction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Albero dei dominatori dei blocchi raggiungibili: un blocco domina un altro se ogni cammino dall'ingresso
+ * all'altro passa per il primo. Calcolato con l'algoritmo iterativo di Cooper, Harvey e Kennedy
+ * sul reverse postorder.
+ */
+public class DominatorTree {
+    private final List<BasicBlock> order;
+    private final Map<BasicBlock, Integer> positions = new HashMap<>();
+    private final Map<BasicBlock, BasicBlock> idoms = new HashMap<>();
+    private final Map<BasicBlock, List<BasicBlock>> children = new HashMap<>();
+
+    public DominatorTree(IrFunction function) {
+        order = function.reversePostorder();
+        for (int i = 0; i < order.size(); i++) {
+            positions.put(order.get(i), i);
+            children.put(order.get(i), new ArrayList<>());
+        }
+        BasicBlock entry = function.getEntry();
+        idoms.put(entry, entry);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (BasicBlock block : order.subList(1, order.size())) {
+                BasicBlock idom = null;
+                for (BasicBlock predecessor : block.getPredecessors()) {
+                    if (idoms.containsKey(predecessor)) {
+                        idom = idom == null ? predecessor : intersect(predecessor, idom);
+                    }
+                }
+                if (idoms.put(block, idom) != idom) {
+                    changed = true;
+                }
+            }
+        }
+        for (BasicBlock block : order.subList(1, order.size())) {
+            children.get(idoms.get(block)).add(block);
+        }
+        idoms.put(entry, null);
+    }
+
+    // Antenato comune più vicino, risalendo dal blocco che viene dopo nel reverse postorder
+    private BasicBlock intersect(BasicBlock first, BasicBlock second) {
+        while (first != second) {
+            while (positions.get(first) > positions.get(second)) {
+                first = idoms.get(first);
+            }
+            while (positions.get(second) > positions.get(first)) {
+                second = idoms.get(second);
+            }
+        }
+        return first;
+    }
+
+    // Blocchi raggiungibili in reverse postorder: ogni blocco viene dopo il suo dominatore immediato
+    public List<BasicBlock> getBlocks() { return order; }
+
+    public BasicBlock getRoot() { return order.get(0); }
+
+    // Dominatore immediato, null per l'ingresso
+    public BasicBlock getImmediateDominator(BasicBlock block) {
+        return idoms.get(block);
+    }
+
+    public List<BasicBlock> getChildren(BasicBlock block) {
+        return children.getOrDefault(block, List.of());
+    }
+
+    // Anche un blocco domina se stesso
+    public boolean dominates(BasicBlock dominator, BasicBlock block) {
+        if (!positions.containsKey(block)) {
+            return false;
+        }
+        for (BasicBlock current = block; current != null; current = idoms.get(current)) {
+            if (current == dominator) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
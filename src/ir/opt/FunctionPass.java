@@ -0,0 +1,21 @@
+package ir.opt;
+
+import ir.IrFunction;
+
+/**
+ * Trasformazione applicata a ogni funzione separatamente.
+ */
+public abstract class FunctionPass extends Pass {
+
+    protected FunctionPass(String name, String description) {
+        super(name, description);
+    }
+
+    // Restituisce true se ha modificato la funzione
+    public abstract boolean run(IrFunction function, PassManager manager);
+
+    // Il passo modifica solo le istruzioni: blocchi e archi restano gli stessi
+    public boolean preservesCfg() {
+        return false;
+    }
+}
@@ -0,0 +1,170 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.Instruction;
+import ir.IrFunction;
+import ir.IrProgram;
+import ir.Opcode;
+import ir.Parameter;
+import ir.Value;
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sostituisce le chiamate alle funzioni piccole con una copia del loro corpo. Vengono espanse solo le
+ * funzioni che non chiamano altre funzioni e che comunicano con il chiamante solo con i parametri per valore
+ * e al più un valore di ritorno non stringa: variabili locali, parametri out e stringhe restituite
+ * richiederebbero di spostare nel chiamante la gestione della memoria.
+ */
+public class InliningPass extends ProgramPass {
+    public static final String NAME = "inline";
+    // Numero massimo di istruzioni della funzione chiamata
+    private static final int MAX_INSTRUCTIONS = 40;
+
+    public InliningPass() {
+        super(NAME, "Espansione delle chiamate a funzioni piccole");
+    }
+
+    @Override
+    public boolean run(IrProgram program, PassManager manager) {
+        boolean changed = false;
+        for (IrFunction caller : program.getFunctions()) {
+            List<Instruction> calls = new ArrayList<>();
+            for (BasicBlock block : caller.getBlocks()) {
+                for (Instruction instruction : block.getInstructions()) {
+                    if (instruction.getOpcode() == Opcode.CALL && canInline(instruction.getCallee())) {
+                        calls.add(instruction);
+                    }
+                }
+            }
+            for (Instruction call : calls) {
+                inline(call);
+            }
+            if (!calls.isEmpty()) {
+                caller.sortBlocks();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static boolean canInline(IrFunction callee) {
+        if (callee.isMain() || !callee.getLocals().isEmpty() || !callee.getResults().isEmpty()
+                || callee.getReturnTypes().contains(Type.STRING)
+                || callee.getParameters().stream().anyMatch(Parameter::isOut)
+                || !callee.getEntry().getPredecessors().isEmpty()) {
+            return false;
+        }
+        int size = 0;
+        for (BasicBlock block : callee.getBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                if (instruction.getOpcode() == Opcode.CALL) {
+                    return false;
+                }
+                size++;
+            }
+        }
+        return size <= MAX_INSTRUCTIONS;
+    }
+
+    /*
+     * Divide il blocco della chiamata, copia i blocchi della funzione tra le due parti (i parametri diventano
+     * i valori passati, RETURN un salto al resto del blocco) e sostituisce il risultato della chiamata con
+     * il valore restituito, attraverso una PHI se i RETURN sono più di uno.
+     */
+    private static void inline(Instruction call) {
+        BasicBlock block = call.getBlock();
+        IrFunction caller = block.getFunction();
+        IrFunction callee = call.getCallee();
+        BasicBlock continuation = block.splitAfter(call);
+
+        Map<Value, Value> values = new HashMap<>();
+        for (int i = 0; i < callee.getParameters().size(); i++) {
+            values.put(callee.getParameters().get(i), call.getOperand(call.getArguments().get(i).getOperand()));
+        }
+        Map<BasicBlock, BasicBlock> blocks = new HashMap<>();
+        for (BasicBlock original : callee.getBlocks()) {
+            blocks.put(original, caller.newBlock());
+        }
+        List<Instruction> copies = new ArrayList<>();
+        List<Value> returned = new ArrayList<>();
+        for (BasicBlock original : callee.getBlocks()) {
+            BasicBlock copy = blocks.get(original);
+            for (Instruction instruction : original.getInstructions()) {
+                if (instruction.getOpcode() == Opcode.RETURN) {
+                    instruction.getOperands().forEach(returned::add);
+                    copy.append(Instruction.jump(continuation));
+                    continue;
+                }
+                Instruction cloned = instruction.copy(values, blocks);
+                values.put(instruction, cloned);
+                copies.add(cloned);
+                if (instruction.getOpcode() == Opcode.PHI) {
+                    copy.addPhi(cloned);
+                } else {
+                    copy.append(cloned);
+                }
+            }
+        }
+
+        // Operandi definiti dopo l'istruzione che li usa, e operandi delle PHI nell'ordine dei nuovi predecessori
+        for (Instruction cloned : copies) {
+            if (cloned.getOpcode() != Opcode.PHI) {
+                for (int i = 0; i < cloned.getOperands().size(); i++) {
+                    Value mapped = values.get(cloned.getOperand(i));
+                    if (mapped != null) {
+                        cloned.setOperand(i, mapped);
+                    }
+                }
+            }
+        }
+        for (BasicBlock original : callee.getBlocks()) {
+            List<BasicBlock> predecessors = blocks.get(original).getPredecessors();
+            for (Instruction phi : original.getPhis()) {
+                Instruction cloned = (Instruction) values.get(phi);
+                for (int i = 0; i < predecessors.size(); i++) {
+                    Value operand = phi.getOperand(originalEdge(original, predecessors, i, blocks));
+                    cloned.addOperand(values.getOrDefault(operand, operand));
+                }
+            }
+        }
+
+        Value result = null;
+        if (returned.size() == 1) {
+            result = values.getOrDefault(returned.get(0), returned.get(0));
+        } else if (returned.size() > 1) {
+            Instruction phi = new Instruction(Opcode.PHI, call.getType());
+            for (Value value : returned) {
+                phi.addOperand(values.getOrDefault(value, value));
+            }
+            continuation.addPhi(phi);
+            result = phi;
+        }
+        if (result != null) {
+            call.replaceAllUsesWith(result);
+        }
+        call.remove();
+        block.append(Instruction.jump(blocks.get(callee.getEntry())));
+    }
+
+    // Posizione tra i predecessori di original dell'arco copiato nella posizione edge della copia
+    private static int originalEdge(BasicBlock original, List<BasicBlock> predecessors, int edge,
+                                    Map<BasicBlock, BasicBlock> blocks) {
+        int occurrence = 0;
+        for (int i = 0; i < edge; i++) {
+            if (predecessors.get(i) == predecessors.get(edge)) {
+                occurrence++;
+            }
+        }
+        for (int i = 0; i < original.getPredecessors().size(); i++) {
+            if (blocks.get(original.getPredecessors().get(i)) == predecessors.get(edge) && occurrence-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Arco non trovato verso " + original.getName());
+    }
+}
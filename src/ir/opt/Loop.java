@@ -0,0 +1,49 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.Opcode;
+
+import java.util.Set;
+
+/**
+ * Ciclo naturale: l'intestazione, che domina tutti i blocchi del ciclo, e i blocchi da cui si torna
+ * all'intestazione senza uscire dal ciclo.
+ */
+public class Loop {
+    private final BasicBlock header;
+    private final Set<BasicBlock> blocks;
+
+    public Loop(BasicBlock header, Set<BasicBlock> blocks) {
+        this.header = header;
+        this.blocks = blocks;
+    }
+
+    public BasicBlock getHeader() { return header; }
+
+    public Set<BasicBlock> getBlocks() { return blocks; }
+
+    public boolean contains(BasicBlock block) {
+        return blocks.contains(block);
+    }
+
+    /*
+     * Unico predecessore dell'intestazione esterno al ciclo, se termina con un JUMP all'intestazione:
+     * le istruzioni spostate in fondo al preheader vengono eseguite una volta prima di entrare nel ciclo.
+     * Null se il ciclo non ha un preheader.
+     */
+    public BasicBlock getPreheader() {
+        BasicBlock preheader = null;
+        for (BasicBlock predecessor : header.getPredecessors()) {
+            if (!blocks.contains(predecessor)) {
+                if (preheader != null && preheader != predecessor) {
+                    return null;
+                }
+                preheader = predecessor;
+            }
+        }
+        if (preheader == null || preheader.getTerminator().getOpcode() != Opcode.JUMP) {
+            return null;
+        }
+        return preheader;
+    }
+}
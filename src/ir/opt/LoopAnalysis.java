@@ -0,0 +1,64 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.IrFunction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cicli naturali della funzione, uno per intestazione, dai più interni ai più esterni. Un arco
+ * all'indietro va da un blocco a uno che lo domina; i cicli con la stessa intestazione vengono uniti.
+ */
+public class LoopAnalysis extends AnalysisPass<List<Loop>> {
+    public static final String NAME = "loops";
+
+    public LoopAnalysis() {
+        super(NAME, "Cicli naturali");
+    }
+
+    @Override
+    public List<String> getRequiredAnalyses() {
+        return List.of(DominatorAnalysis.NAME);
+    }
+
+    @Override
+    public List<Loop> analyze(IrFunction function, PassManager manager) {
+        DominatorTree dominators = manager.getAnalysis(DominatorAnalysis.NAME, function);
+        Map<BasicBlock, Set<BasicBlock>> bodies = new LinkedHashMap<>();
+        for (BasicBlock block : dominators.getBlocks()) {
+            for (BasicBlock successor : block.getSuccessors()) {
+                if (dominators.dominates(successor, block)) {
+                    collect(successor, block, bodies.computeIfAbsent(successor, header -> new HashSet<>(Set.of(header))));
+                }
+            }
+        }
+        List<Loop> loops = new ArrayList<>();
+        bodies.forEach((header, blocks) -> loops.add(new Loop(header, blocks)));
+        // Un ciclo interno ha meno blocchi di quelli che lo contengono
+        loops.sort(Comparator.comparingInt(loop -> loop.getBlocks().size()));
+        return loops;
+    }
+
+    // Blocchi da cui si raggiunge latch risalendo i predecessori senza passare dall'intestazione
+    private static void collect(BasicBlock header, BasicBlock latch, Set<BasicBlock> blocks) {
+        Deque<BasicBlock> stack = new ArrayDeque<>();
+        if (blocks.add(latch)) {
+            stack.push(latch);
+        }
+        while (!stack.isEmpty()) {
+            for (BasicBlock predecessor : stack.pop().getPredecessors()) {
+                if (predecessor != header && blocks.add(predecessor)) {
+                    stack.push(predecessor);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.CallResult;
+import ir.Constant;
+import ir.Instruction;
+import ir.IrFunction;
+import ir.Opcode;
+import ir.Value;
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sposta nel preheader le istruzioni pure dei cicli i cui operandi sono definiti fuori dal ciclo, così che
+ * vengano eseguite una volta sola, partendo dai cicli più interni. Le istruzioni spostate vengono eseguite
+ * anche se il ciclo non esegue il blocco che le conteneva, per cui restano nel ciclo la divisione intera
+ * (che può terminare il programma) e CONCAT (che alloca una stringa).
+ */
+public class LoopInvariantCodeMotionPass extends FunctionPass {
+    public static final String NAME = "licm";
+
+    public LoopInvariantCodeMotionPass() {
+        super(NAME, "Spostamento del codice invariante fuori dai cicli");
+    }
+
+    @Override
+    public List<String> getRequiredAnalyses() {
+        return List.of(LoopAnalysis.NAME);
+    }
+
+    @Override
+    public boolean preservesCfg() {
+        return true;
+    }
+
+    @Override
+    public boolean run(IrFunction function, PassManager manager) {
+        List<Loop> loops = manager.getAnalysis(LoopAnalysis.NAME, function);
+        List<BasicBlock> order = function.getBlocks();
+        boolean changed = false;
+        for (Loop loop : loops) {
+            BasicBlock preheader = loop.getPreheader();
+            if (preheader == null) {
+                continue;
+            }
+            // Nell'ordine dei blocchi gli operandi invarianti vengono spostati prima delle istruzioni che li usano
+            for (BasicBlock block : order) {
+                if (!loop.contains(block)) {
+                    continue;
+                }
+                for (Instruction instruction : new ArrayList<>(block.getInstructions())) {
+                    if (canHoist(instruction) && isInvariant(instruction, loop)) {
+                        BasicBlock.move(instruction, preheader.getTerminator());
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean canHoist(Instruction instruction) {
+        Opcode opcode = instruction.getOpcode();
+        if (!opcode.isPure() || opcode == Opcode.PHI || opcode == Opcode.CONCAT) {
+            return false;
+        }
+        return opcode != Opcode.DIV || instruction.getType() != Type.INTEGER
+                || instruction.getOperand(1) instanceof Constant divisor
+                && divisor.intValue() != 0 && divisor.intValue() != -1;
+    }
+
+    private static boolean isInvariant(Instruction instruction, Loop loop) {
+        for (Value operand : instruction.getOperands()) {
+            if (operand instanceof Instruction definition && loop.contains(definition.getBlock())) {
+                return false;
+            }
+            if (operand instanceof CallResult result && loop.contains(result.getCall().getBlock())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
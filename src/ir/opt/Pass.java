@@ -0,0 +1,33 @@
+package ir.opt;
+
+import java.util.List;
+
+/**
+ * Passo eseguito dal PassManager: un'analisi, che calcola informazioni su una funzione senza modificarla,
+ * oppure una trasformazione di una funzione o dell'intero programma. Ogni passo dichiara le analisi di cui ha
+ * bisogno, che il PassManager calcola prima di eseguirlo e che solo così può leggere con getAnalysis.
+ */
+public abstract class Pass {
+    private final String name;
+    private final String description;
+
+    protected Pass(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    // Nome usato da --passes e --dump-after
+    public String getName() { return name; }
+
+    public String getDescription() { return description; }
+
+    // Nomi delle analisi usate dal passo
+    public List<String> getRequiredAnalyses() {
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
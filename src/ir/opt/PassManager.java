@@ -0,0 +1,151 @@
+package ir.opt;
+
+import ir.IrFunction;
+import ir.IrProgram;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Esegue una sequenza di passi sul programma. Prima di ogni passo calcola le analisi che dichiara
+ * (e quelle da cui queste dipendono) per le funzioni che non le hanno ancora, come passi separati,
+ * così che il listener ne misuri il tempo. I risultati restano validi finché una trasformazione non
+ * modifica la funzione; se il passo preserva il grafo di controllo restano valide le analisi che dipendono
+ * solo da questo.
+ */
+public class PassManager {
+
+    // Notificato all'inizio e alla fine di ogni passo, analisi comprese
+    public interface Listener {
+        void beforePass(Pass pass);
+
+        void afterPass(Pass pass, IrProgram program, boolean changed);
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+        @Override
+        public void beforePass(Pass pass) {
+        }
+
+        @Override
+        public void afterPass(Pass pass, IrProgram program, boolean changed) {
+        }
+    };
+
+    private final List<Pass> pipeline;
+    private final Listener listener;
+    private final Map<String, AnalysisPass<?>> analyses = new HashMap<>();
+    private final Map<IrFunction, Map<String, Object>> results = new IdentityHashMap<>();
+    // Analisi leggibili dal passo in esecuzione
+    private Set<String> available = Set.of();
+
+    public PassManager(List<Pass> pipeline) {
+        this(pipeline, NO_LISTENER);
+    }
+
+    public PassManager(List<Pass> pipeline, Listener listener) {
+        this.pipeline = List.copyOf(pipeline);
+        this.listener = listener;
+        for (Pass pass : pipeline) {
+            register(pass);
+        }
+    }
+
+    // Registra le analisi usate dal passo, creandole dal registro se non sono nella sequenza
+    private void register(Pass pass) {
+        if (pass instanceof AnalysisPass<?> analysis) {
+            analyses.putIfAbsent(analysis.getName(), analysis);
+        }
+        for (String name : pass.getRequiredAnalyses()) {
+            if (!analyses.containsKey(name)) {
+                Pass required = Passes.create(name);
+                if (!(required instanceof AnalysisPass<?>)) {
+                    throw new IllegalArgumentException("Il passo " + pass.getName() + " richiede " + name
+                            + ", che non è un'analisi");
+                }
+                register(required);
+            }
+        }
+    }
+
+    public List<Pass> getPipeline() { return pipeline; }
+
+    // Restituisce true se almeno un passo ha modificato il programma
+    public boolean run(IrProgram program) {
+        boolean changed = false;
+        for (Pass pass : pipeline) {
+            for (String name : pass.getRequiredAnalyses()) {
+                compute(analyses.get(name), program, false);
+            }
+            if (pass instanceof AnalysisPass<?> analysis) {
+                compute(analysis, program, true);
+                continue;
+            }
+            available = new HashSet<>(pass.getRequiredAnalyses());
+            listener.beforePass(pass);
+            boolean modified = false;
+            if (pass instanceof ProgramPass programPass) {
+                modified = programPass.run(program, this);
+                if (modified) {
+                    results.clear();
+                }
+            } else if (pass instanceof FunctionPass functionPass) {
+                for (IrFunction function : program.getFunctions()) {
+                    if (functionPass.run(function, this)) {
+                        modified = true;
+                        invalidate(function, functionPass.preservesCfg());
+                    }
+                }
+            }
+            available = Set.of();
+            listener.afterPass(pass, program, modified);
+            changed |= modified;
+        }
+        return changed;
+    }
+
+    // Calcola l'analisi per le funzioni che non ne hanno il risultato; always la ricalcola anche per le altre
+    private void compute(AnalysisPass<?> analysis, IrProgram program, boolean always) {
+        for (String name : analysis.getRequiredAnalyses()) {
+            compute(analyses.get(name), program, false);
+        }
+        List<IrFunction> missing = new ArrayList<>();
+        for (IrFunction function : program.getFunctions()) {
+            if (always || !results.computeIfAbsent(function, key -> new HashMap<>()).containsKey(analysis.getName())) {
+                missing.add(function);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        available = new HashSet<>(analysis.getRequiredAnalyses());
+        listener.beforePass(analysis);
+        for (IrFunction function : missing) {
+            Object result = analysis.analyze(function, this);
+            results.computeIfAbsent(function, key -> new HashMap<>()).put(analysis.getName(), result);
+        }
+        available = Set.of();
+        listener.afterPass(analysis, program, false);
+    }
+
+    private void invalidate(IrFunction function, boolean cfgPreserved) {
+        Map<String, Object> cached = results.get(function);
+        if (cached != null) {
+            cached.keySet().removeIf(name -> !cfgPreserved || !analyses.get(name).dependsOnlyOnCfg());
+        }
+    }
+
+    // Risultato di un'analisi dichiarata dal passo in esecuzione
+    @SuppressWarnings("unchecked")
+    public <T> T getAnalysis(String name, IrFunction function) {
+        if (!available.contains(name)) {
+            throw new IllegalStateException("Analisi " + name + " non dichiarata dal passo in esecuzione");
+        }
+        return (T) results.get(function).get(name);
+    }
+}
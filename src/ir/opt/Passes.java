@@ -0,0 +1,66 @@
+package ir.opt;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registro dei passi disponibili, per nome, e sequenze predefinite dei livelli di ottimizzazione:
+ * -O0 genera il codice dall'IR così com'è, -O1 aggiunge i passi locali ed economici, -O2 l'inlining,
+ * l'eliminazione delle espressioni ripetute e lo spostamento del codice invariante fuori dai cicli.
+ */
+public final class Passes {
+    public static final int MAX_LEVEL = 2;
+
+    private static final Map<String, Supplier<Pass>> REGISTRY = new LinkedHashMap<>();
+
+    static {
+        REGISTRY.put(DominatorAnalysis.NAME, DominatorAnalysis::new);
+        REGISTRY.put(LoopAnalysis.NAME, LoopAnalysis::new);
+        REGISTRY.put(ConstantFoldingPass.NAME, ConstantFoldingPass::new);
+        REGISTRY.put(DeadCodeEliminationPass.NAME, DeadCodeEliminationPass::new);
+        REGISTRY.put(SimplifyCfgPass.NAME, SimplifyCfgPass::new);
+        REGISTRY.put(CommonSubexpressionPass.NAME, CommonSubexpressionPass::new);
+        REGISTRY.put(LoopInvariantCodeMotionPass.NAME, LoopInvariantCodeMotionPass::new);
+        REGISTRY.put(InliningPass.NAME, InliningPass::new);
+    }
+
+    private Passes() {
+    }
+
+    // Nuova istanza del passo; IllegalArgumentException se il nome non è registrato
+    public static Pass create(String name) {
+        Supplier<Pass> factory = REGISTRY.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Passo sconosciuto: " + name + " (disponibili: "
+                    + String.join(", ", names()) + ")");
+        }
+        return factory.get();
+    }
+
+    public static List<Pass> create(List<String> names) {
+        List<Pass> passes = new ArrayList<>();
+        for (String name : names) {
+            passes.add(create(name));
+        }
+        return passes;
+    }
+
+    public static List<String> names() {
+        return List.copyOf(REGISTRY.keySet());
+    }
+
+    // Nomi dei passi del livello -O<level>
+    public static List<String> level(int level) {
+        return switch (level) {
+            case 0 -> List.of();
+            case 1 -> List.of(ConstantFoldingPass.NAME, SimplifyCfgPass.NAME, DeadCodeEliminationPass.NAME);
+            case 2 -> List.of(InliningPass.NAME, ConstantFoldingPass.NAME, SimplifyCfgPass.NAME,
+                    CommonSubexpressionPass.NAME, LoopInvariantCodeMotionPass.NAME, ConstantFoldingPass.NAME,
+                    DeadCodeEliminationPass.NAME, SimplifyCfgPass.NAME);
+            default -> throw new IllegalArgumentException("Livello di ottimizzazione non valido: " + level);
+        };
+    }
+}
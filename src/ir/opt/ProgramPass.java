@@ -0,0 +1,16 @@
+package ir.opt;
+
+import ir.IrProgram;
+
+/**
+ * Trasformazione che agisce su più funzioni insieme, come l'inlining.
+ */
+public abstract class ProgramPass extends Pass {
+
+    protected ProgramPass(String name, String description) {
+        super(name, description);
+    }
+
+    // Restituisce true se ha modificato il programma
+    public abstract boolean run(IrProgram program, PassManager manager);
+}
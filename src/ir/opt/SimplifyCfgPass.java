@@ -0,0 +1,73 @@
+package ir.opt;
+
+import ir.BasicBlock;
+import ir.Instruction;
+import ir.IrFunction;
+import ir.Opcode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Semplifica il grafo di controllo: elimina i blocchi non raggiungibili, unisce un blocco al successore
+ * che ha solo lui come predecessore, salta i blocchi che contengono solo un JUMP e trasforma in salto
+ * un BRANCH i cui rami portano allo stesso blocco. Alla fine i blocchi vengono riordinati.
+ */
+public class SimplifyCfgPass extends FunctionPass {
+    public static final String NAME = "simplify-cfg";
+
+    public SimplifyCfgPass() {
+        super(NAME, "Semplificazione del grafo di controllo");
+    }
+
+    @Override
+    public boolean run(IrFunction function, PassManager manager) {
+        boolean changed = function.removeUnreachableBlocks();
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (BasicBlock block : new ArrayList<>(function.getBlocks())) {
+                // I blocchi già eliminati non hanno più istruzioni
+                Instruction terminator = block.getTerminator();
+                if (terminator == null) {
+                    continue;
+                }
+                BasicBlock target = terminator.getTargets().isEmpty() ? null : terminator.getTargets().get(0);
+                if (terminator.getOpcode() == Opcode.BRANCH && target == terminator.getTargets().get(1)
+                        && target.getPhis().isEmpty()) {
+                    block.foldBranch(0);
+                    progress = true;
+                } else if (terminator.getOpcode() == Opcode.JUMP && target != block) {
+                    if (target != function.getEntry() && target.getPredecessors().size() == 1) {
+                        block.mergeSuccessor();
+                        progress = true;
+                    } else if (isEmpty(block) && block != function.getEntry() && canBypass(block, target)) {
+                        block.bypass();
+                        progress = true;
+                    }
+                }
+            }
+            changed |= progress;
+        }
+        if (changed) {
+            function.sortBlocks();
+        }
+        return changed;
+    }
+
+    private static boolean isEmpty(BasicBlock block) {
+        return block.getInstructions().size() == 1;
+    }
+
+    /*
+     * Le PHI della destinazione hanno un operando per l'arco che parte dal blocco: resta valido solo se
+     * l'arco diventa uno e uno solo, e se il predecessore non arriva già alla destinazione per un'altra strada.
+     */
+    private static boolean canBypass(BasicBlock block, BasicBlock target) {
+        if (target.getPhis().isEmpty()) {
+            return true;
+        }
+        return block.getPredecessors().size() == 1
+                && Collections.disjoint(block.getPredecessors(), target.getPredecessors());
+    }
+}
@@ -0,0 +1,80 @@
+package jvm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+
+/**
+ * Programma tradotto in una classe JVM: ogni funzione e procedura è un metodo statico, le variabili globali
+ * sono campi statici e il metodo run(InputStream, PrintStream) inizializza le globali ed esegue la procedura
+ * main. La classe appartiene al package jvm e usa a runtime CFormat e ScanfReader (package visitor.utils).
+ * Può essere salvata come file .class, eseguibile con java tramite il suo metodo main(String[]), oppure
+ * definita nella JVM corrente come classe nascosta ed eseguita senza avviare altri processi.
+ */
+public class JvmProgram {
+    public static final String PACKAGE = "jvm";
+
+    private final String className;
+    private final byte[] classFile;
+
+    public JvmProgram(String className, byte[] classFile) {
+        this.className = className;
+        this.classFile = classFile;
+    }
+
+    // Nome qualificato della classe, per esempio jvm.fibonacci
+    public String getClassName() { return className; }
+
+    public byte[] getClassFile() { return classFile; }
+
+    // Nome interno (con /) della classe generata per il file <nome>.txt: i caratteri non ammessi
+    // in un identificatore Java vengono sostituiti da _
+    public static String internalName(String baseName) {
+        StringBuilder name = new StringBuilder(PACKAGE).append('/');
+        if (baseName.isEmpty() || !Character.isJavaIdentifierStart(baseName.charAt(0))) {
+            name.append('_');
+        }
+        for (char c : baseName.toCharArray()) {
+            name.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return name.toString();
+    }
+
+    // Scrive il file .class nella cartella del package sotto directory; restituisce il file scritto
+    public File writeTo(File directory) throws IOException {
+        File packageDir = new File(directory, PACKAGE);
+        Files.createDirectories(packageDir.toPath());
+        File file = new File(packageDir, className.substring(className.lastIndexOf('.') + 1) + ".class");
+        Files.write(file.toPath(), classFile);
+        return file;
+    }
+
+    /*
+     * Definisce la classe come classe nascosta ed esegue il programma. Ogni esecuzione definisce una nuova
+     * classe, con i propri campi statici: esecuzioni concorrenti non condividono le variabili globali
+     * e la classe può essere scaricata al termine.
+     */
+    public void run(InputStream input, PrintStream output) {
+        MethodHandle run;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+            run = lookup.findStatic(lookup.lookupClass(), "run",
+                    MethodType.methodType(void.class, InputStream.class, PrintStream.class));
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException("Classe generata non valida: " + e.getMessage(), e);
+        }
+        try {
+            run.invokeExact(input, output);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // I metodi generati non dichiarano eccezioni controllate
+            throw new IllegalStateException(e);
+        }
+    }
+}
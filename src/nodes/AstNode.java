@@ -0,0 +1,40 @@
+package nodes;
+
+import visitor.Visitable;
+
+/**
+ * Base dei nodi dell'AST: conserva la porzione di sorgente da cui il parser ha costruito il nodo.
+ * Offset del primo carattere e lunghezza sono impaccati in un unico long, senza oggetti aggiuntivi;
+ * linea e colonna si ricavano dalla LineMap del lexer.
+ */
+public abstract class AstNode implements Visitable {
+    private static final long NO_SPAN = -1L;
+
+    private long span = NO_SPAN;
+
+    // start e end sono gli offset del primo carattere e di quello successivo all'ultimo
+    public void setSpan(int start, int end) {
+        span = ((long) start << 32) | ((end - start) & 0xFFFFFFFFL);
+    }
+
+    // Stessa posizione di un altro nodo, per i nodi che lo sostituiscono nell'AST
+    public void copySpan(AstNode node) {
+        span = node.span;
+    }
+
+    public boolean hasSpan() {
+        return span != NO_SPAN;
+    }
+
+    public int getStart() {
+        return (int) (span >>> 32);
+    }
+
+    public int getLength() {
+        return (int) span;
+    }
+
+    public int getEnd() {
+        return getStart() + getLength();
+    }
+}
@@ -5,7 +5,7 @@ import visitor.Visitor;
 import visitor.exception.SemanticException;
 import java.util.List;
 
-public class BodyNode implements Visitable {
+public class BodyNode extends AstNode {
     private List<Visitable> statements;
 
     public BodyNode(List<Visitable> statements) {
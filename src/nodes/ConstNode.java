@@ -1,11 +1,10 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class ConstNode implements Visitable {
+public class ConstNode extends AstNode {
     private Object value;
     private Type type;
 
@@ -1,18 +1,19 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
 import visitor.utils.Type;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class DeclNode implements Visitable {
+public class DeclNode extends AstNode {
     private List<String> ids;
     private Type type;
     private List<Type> constsType;
     private List<ConstNode> consts;
+    private List<Symbol> symbols;
 
     public DeclNode(List<String> ids, Type type, List<ConstNode> consts) {
         this.ids = ids;
@@ -30,6 +31,15 @@ public class DeclNode implements Visitable {
         return ids;
     }
 
+    // Simboli delle variabili dichiarate, nello stesso ordine di ids
+    public List<Symbol> getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(List<Symbol> symbols) {
+        this.symbols = symbols;
+    }
+
     public Type getType() {
         return type;
     }
@@ -5,7 +5,7 @@ import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class DollarExprNode implements IOArgNode {
+public class DollarExprNode extends AstNode implements IOArgNode {
     private ExprNode expr;
     private Type type;
 
@@ -17,6 +17,10 @@ public class DollarExprNode implements IOArgNode {
         return expr;
     }
 
+    public void setExpr(ExprNode expr) {
+        this.expr = expr;
+    }
+
     public Type getType() {
         return type;
     }
@@ -1,13 +1,15 @@
 package nodes;
 
 import nodes.expr.ExprNode;
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
+import visitor.symbolTable.SymbolTable;
 
-public class ElifNode implements Visitable {
+public class ElifNode extends AstNode implements ScopeOwner {
     private ExprNode condition;
     private BodyNode body;
+    private SymbolTable scope;  // Scope aperto dal nodo, assegnato dallo scope checking
 
     public ElifNode(ExprNode condition, BodyNode body) {
         this.condition = condition;
@@ -18,10 +20,24 @@ public class ElifNode implements Visitable {
         return condition;
     }
 
+    public void setCondition(ExprNode condition) {
+        this.condition = condition;
+    }
+
     public BodyNode getBody() {
         return body;
     }
 
+    @Override
+    public SymbolTable getScope() {
+        return scope;
+    }
+
+    @Override
+    public void setScope(SymbolTable scope) {
+        this.scope = scope;
+    }
+
     @Override
     public <T> T accept(Visitor<T> visitor) throws SemanticException {
         return visitor.visit(this);
@@ -1,11 +1,13 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
+import visitor.symbolTable.SymbolTable;
 
-public class ElseNode implements Visitable {
+public class ElseNode extends AstNode implements ScopeOwner {
     private BodyNode body;
+    private SymbolTable scope;  // Scope aperto dal nodo, assegnato dallo scope checking
 
     public ElseNode(BodyNode body) {
         this.body = body;
@@ -15,6 +17,16 @@ public class ElseNode implements Visitable {
         return body;
     }
 
+    @Override
+    public SymbolTable getScope() {
+        return scope;
+    }
+
+    @Override
+    public void setScope(SymbolTable scope) {
+        this.scope = scope;
+    }
+
     @Override
     public <T> T accept(Visitor<T> visitor) throws SemanticException {
         return visitor.visit(this);
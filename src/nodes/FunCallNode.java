@@ -1,18 +1,19 @@
 package nodes;
 
 import nodes.expr.ExprNode;
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
 import visitor.utils.Type;
 
 import java.util.List;
 
-public class FunCallNode implements ExprNode {
+public class FunCallNode extends AstNode implements ExprNode {
     private String functionName;
     private List<ExprNode> arguments;
     private Type type;
     private List<Type> returnTypes;
+    private Symbol symbol;
 
     public FunCallNode(String functionName, List<ExprNode> arguments) {
         this.functionName = functionName;
@@ -23,6 +24,15 @@ public class FunCallNode implements ExprNode {
         return functionName;
     }
 
+    // Simbolo a cui si riferisce il nome, risolto durante l'analisi semantica
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
     public List<ExprNode> getArguments() {
         return arguments;
     }
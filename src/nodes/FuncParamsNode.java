@@ -1,11 +1,10 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import java.util.List;
 
-public class FuncParamsNode implements Visitable {
+public class FuncParamsNode extends AstNode {
     private List<ParamNode> params;
 
     public FuncParamsNode(List<ParamNode> params) {
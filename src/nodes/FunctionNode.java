@@ -1,17 +1,19 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
+import visitor.symbolTable.SymbolTable;
 import visitor.utils.Type;
 
 import java.util.List;
 
-public class FunctionNode implements Visitable {
+public class FunctionNode extends AstNode implements ScopeOwner {
     private String name;
     private FuncParamsNode params;
     private List<Type> returnTypes;
     private BodyNode body;
+    private SymbolTable scope;  // Scope aperto dal nodo, assegnato dallo scope checking
 
     public FunctionNode(String name, FuncParamsNode params, List<Type> returnTypes, BodyNode body) {
         this.name = name;
@@ -37,6 +39,16 @@ public class FunctionNode implements Visitable {
         return body;
     }
 
+    @Override
+    public SymbolTable getScope() {
+        return scope;
+    }
+
+    @Override
+    public void setScope(SymbolTable scope) {
+        this.scope = scope;
+    }
+
     @Override
     public <T> T accept(Visitor<T> visitor) throws SemanticException {
         return visitor.visit(this);
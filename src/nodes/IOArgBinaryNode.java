@@ -4,7 +4,7 @@ import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class IOArgBinaryNode implements IOArgNode {
+public class IOArgBinaryNode extends AstNode implements IOArgNode {
     private IOArgNode left;
     private IOArgNode right;
     private String operator;  // In questo caso, sarà sempre "+"
@@ -2,11 +2,13 @@ package nodes;
 
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
 import visitor.utils.Type;
 
-public class IOArgIdentifierNode implements IOArgNode {
+public class IOArgIdentifierNode extends AstNode implements IOArgNode {
     private String identifier;
     private Type type;
+    private Symbol symbol;
 
     public IOArgIdentifierNode(String identifier) {
         this.identifier = identifier;
@@ -16,6 +18,15 @@ public class IOArgIdentifierNode implements IOArgNode {
         return identifier;
     }
 
+    // Simbolo a cui si riferisce il nome, risolto durante l'analisi semantica
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
     public void setType(Type type) {
         this.type = type;
     }
@@ -3,7 +3,7 @@ package nodes;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 
-public class IOArgStringLiteralNode implements IOArgNode {
+public class IOArgStringLiteralNode extends AstNode implements IOArgNode {
     private String value;
 
     public IOArgStringLiteralNode(String value) {
@@ -3,13 +3,16 @@ package nodes;
 import nodes.expr.ExprNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
+import visitor.symbolTable.SymbolTable;
 import java.util.List;
 
-public class IfStatNode extends StatNode {
+public class IfStatNode extends StatNode implements ScopeOwner {
     private ExprNode condition;
     private BodyNode thenBody;
     private List<ElifNode> elifBlocks;
     private ElseNode elseBlock;
+    private SymbolTable scope;  // Scope del ramo then, assegnato dallo scope checking
 
     public IfStatNode(ExprNode condition, BodyNode thenBody, List<ElifNode> elifBlocks, ElseNode elseBlock) {
         this.condition = condition;
@@ -22,6 +25,10 @@ public class IfStatNode extends StatNode {
         return condition;
     }
 
+    public void setCondition(ExprNode condition) {
+        this.condition = condition;
+    }
+
     public BodyNode getThenBody() {
         return thenBody;
     }
@@ -34,6 +41,16 @@ public class IfStatNode extends StatNode {
         return elseBlock;
     }
 
+    @Override
+    public SymbolTable getScope() {
+        return scope;
+    }
+
+    @Override
+    public void setScope(SymbolTable scope) {
+        this.scope = scope;
+    }
+
     @Override
     public <T> T accept(Visitor<T> visitor) throws SemanticException {
         return visitor.visit(this);
@@ -4,7 +4,7 @@ import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 
-public class IterNode implements Visitable {
+public class IterNode extends AstNode {
     private Visitable declaration; // Può essere VarDeclNode, FunctionNode o ProcedureNode
 
     public IterNode(Visitable declaration) {
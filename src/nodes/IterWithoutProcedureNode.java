@@ -4,7 +4,7 @@ import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 
-public class IterWithoutProcedureNode implements Visitable {
+public class IterWithoutProcedureNode extends AstNode {
     private Visitable declaration; // Può essere VarDeclNode o FunctionNode
 
     public IterWithoutProcedureNode(Visitable declaration) {
@@ -1,11 +1,10 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import java.util.List;
 
-public class ItersNode implements Visitable {
+public class ItersNode extends AstNode {
     private List<IterNode> iterList;
 
     public ItersNode(List<IterNode> iterList) {
@@ -1,11 +1,10 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import java.util.List;
 
-public class ItersWithoutProcedureNode implements Visitable {
+public class ItersWithoutProcedureNode extends AstNode {
     private List<IterWithoutProcedureNode> iterList;
 
     public ItersWithoutProcedureNode(List<IterWithoutProcedureNode> iterList) {
@@ -1,11 +1,10 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class ParamNode implements Visitable {
+public class ParamNode extends AstNode {
     private String name;
     private Type type;
 
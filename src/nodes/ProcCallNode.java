@@ -1,14 +1,15 @@
 package nodes;
 
 import nodes.expr.ExprNode;
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
 import java.util.List;
 
-public class ProcCallNode implements Visitable {
+public class ProcCallNode extends AstNode {
     private String procedureName;
     private List<ProcExprNode> arguments;
+    private Symbol symbol;
 
     public ProcCallNode(String procedureName, List<ProcExprNode> arguments) {
         this.procedureName = procedureName;
@@ -19,6 +20,15 @@ public class ProcCallNode implements Visitable {
         return procedureName;
     }
 
+    // Simbolo a cui si riferisce il nome, risolto durante l'analisi semantica
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
     public List<ProcExprNode> getArguments() {
         return arguments;
     }
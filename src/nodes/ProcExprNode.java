@@ -1,12 +1,11 @@
 package nodes;
 
 import nodes.expr.ExprNode;
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class ProcExprNode implements ExprNode {
+public class ProcExprNode extends AstNode implements ExprNode {
     private ExprNode expr;
     private boolean isRef;
     private Type type;
@@ -20,6 +19,10 @@ public class ProcExprNode implements ExprNode {
         return expr;
     }
 
+    public void setExpr(ExprNode expr) {
+        this.expr = expr;
+    }
+
     public boolean isRef() {
         return isRef;
     }
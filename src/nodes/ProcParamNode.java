@@ -1,11 +1,10 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class ProcParamNode implements Visitable {
+public class ProcParamNode extends AstNode {
     private String name;
     private Type type;
     private boolean isOut;
@@ -1,11 +1,10 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import java.util.List;
 
-public class ProcParamsNode implements Visitable {
+public class ProcParamsNode extends AstNode {
     private List<ProcParamNode> params;
 
     public ProcParamsNode(List<ProcParamNode> params) {
@@ -1,13 +1,15 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
+import visitor.symbolTable.SymbolTable;
 
-public class ProcedureNode implements Visitable {
+public class ProcedureNode extends AstNode implements ScopeOwner {
     private String name;
     private ProcParamsNode params;
     private BodyNode body;
+    private SymbolTable scope;  // Scope aperto dal nodo, assegnato dallo scope checking
 
     public ProcedureNode(String name, ProcParamsNode params, BodyNode body) {
         this.name = name;
@@ -28,6 +30,16 @@ public class ProcedureNode implements Visitable {
         return body;
     }
 
+    @Override
+    public SymbolTable getScope() {
+        return scope;
+    }
+
+    @Override
+    public void setScope(SymbolTable scope) {
+        this.scope = scope;
+    }
+
     @Override
     public <T> T accept(Visitor<T> visitor) throws SemanticException {
         return visitor.visit(this);
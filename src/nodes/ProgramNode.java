@@ -1,13 +1,15 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
+import visitor.symbolTable.SymbolTable;
 
-public class ProgramNode implements Visitable {
+public class ProgramNode extends AstNode implements ScopeOwner {
     private ItersWithoutProcedureNode itersWithoutProcedure;
     private ProcedureNode procedure;
     private ItersNode iters;
+    private SymbolTable scope;  // Scope aperto dal nodo, assegnato dallo scope checking
 
     public ProgramNode(ItersWithoutProcedureNode itersWithoutProcedure, ProcedureNode procedure, ItersNode iters) {
         this.itersWithoutProcedure = itersWithoutProcedure;
@@ -27,6 +29,16 @@ public class ProgramNode implements Visitable {
         return iters;
     }
 
+    @Override
+    public SymbolTable getScope() {
+        return scope;
+    }
+
+    @Override
+    public void setScope(SymbolTable scope) {
+        this.scope = scope;
+    }
+
     @Override
     public <T> T accept(Visitor<T> visitor) throws SemanticException {
         return visitor.visit(this);
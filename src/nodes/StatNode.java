@@ -1,8 +1,6 @@
 package nodes;
 
-import visitor.Visitable;
-
-public abstract class StatNode implements Visitable {
+public abstract class StatNode extends AstNode {
     // Classe astratta per le istruzioni
 }
 
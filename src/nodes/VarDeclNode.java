@@ -1,11 +1,10 @@
 package nodes;
 
-import visitor.Visitable;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import java.util.List;
 
-public class VarDeclNode implements Visitable {
+public class VarDeclNode extends AstNode {
     private List<DeclNode> decls;
 
     public VarDeclNode(List<DeclNode> decls) {
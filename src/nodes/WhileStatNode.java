@@ -3,10 +3,13 @@ package nodes;
 import nodes.expr.ExprNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
+import visitor.symbolTable.SymbolTable;
 
-public class WhileStatNode extends StatNode {
+public class WhileStatNode extends StatNode implements ScopeOwner {
     private ExprNode condition;
     private BodyNode body;
+    private SymbolTable scope;  // Scope aperto dal nodo, assegnato dallo scope checking
 
     public WhileStatNode(ExprNode condition, BodyNode body) {
         this.condition = condition;
@@ -17,10 +20,24 @@ public class WhileStatNode extends StatNode {
         return condition;
     }
 
+    public void setCondition(ExprNode condition) {
+        this.condition = condition;
+    }
+
     public BodyNode getBody() {
         return body;
     }
 
+    @Override
+    public SymbolTable getScope() {
+        return scope;
+    }
+
+    @Override
+    public void setScope(SymbolTable scope) {
+        this.scope = scope;
+    }
+
     @Override
     public <T> T accept(Visitor<T> visitor) throws SemanticException {
         return visitor.visit(this);
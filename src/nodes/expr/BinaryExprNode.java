@@ -1,10 +1,11 @@
 package nodes.expr;
 
+import nodes.AstNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class BinaryExprNode implements ExprNode {
+public class BinaryExprNode extends AstNode implements ExprNode {
     private ExprNode left;
     private ExprNode right;
     private String operator;
@@ -20,10 +21,18 @@ public class BinaryExprNode implements ExprNode {
         return left;
     }
 
+    public void setLeft(ExprNode left) {
+        this.left = left;
+    }
+
     public ExprNode getRight() {
         return right;
     }
 
+    public void setRight(ExprNode right) {
+        this.right = right;
+    }
+
     public String getOperator() {
         return operator;
     }
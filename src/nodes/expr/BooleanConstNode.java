@@ -1,10 +1,11 @@
 package nodes.expr;
 
+import nodes.AstNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class BooleanConstNode implements ExprNode {
+public class BooleanConstNode extends AstNode implements ExprNode {
     private boolean value;
     private Type type;
 
@@ -1,14 +1,17 @@
 package nodes.expr;
 
+import nodes.AstNode;
 import nodes.expr.ExprNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
 import visitor.utils.Type;
 
-public class IdentifierNode implements ExprNode {
+public class IdentifierNode extends AstNode implements ExprNode {
     private String name;
     private Type type;
     private boolean isOutInProcedure = false;
+    private Symbol symbol;
 
     public IdentifierNode(String name) {
         this.name = name;
@@ -23,6 +26,15 @@ public class IdentifierNode implements ExprNode {
         return name;
     }
 
+    // Simbolo a cui si riferisce il nome, risolto durante l'analisi semantica
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
     @Override
     public Type getType() {
         return type;
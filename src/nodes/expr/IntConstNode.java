@@ -1,10 +1,11 @@
 package nodes.expr;
 
+import nodes.AstNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class IntConstNode implements ExprNode {
+public class IntConstNode extends AstNode implements ExprNode {
     private int value;
     private Type type;
 
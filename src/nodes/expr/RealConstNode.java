@@ -1,11 +1,12 @@
 package nodes.expr;
 
+import nodes.AstNode;
 import nodes.expr.ExprNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class RealConstNode implements ExprNode {
+public class RealConstNode extends AstNode implements ExprNode {
     private double value;
     private Type type;
 
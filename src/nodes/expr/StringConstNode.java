@@ -1,10 +1,11 @@
 package nodes.expr;
 
+import nodes.AstNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class StringConstNode implements ExprNode {
+public class StringConstNode extends AstNode implements ExprNode {
     private String value;
     private Type type;
 
@@ -1,10 +1,11 @@
 package nodes.expr;
 
+import nodes.AstNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-public class UnaryExprNode implements ExprNode {
+public class UnaryExprNode extends AstNode implements ExprNode {
     private ExprNode expr;
     private String operator;
     private Type type;
@@ -18,6 +19,10 @@ public class UnaryExprNode implements ExprNode {
         return expr;
     }
 
+    public void setExpr(ExprNode expr) {
+        this.expr = expr;
+    }
+
     public String getOperator() {
         return operator;
     }
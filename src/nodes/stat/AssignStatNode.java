@@ -4,6 +4,7 @@ import nodes.expr.ExprNode;
 import nodes.StatNode;
 import visitor.Visitor;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,6 +13,7 @@ public class AssignStatNode extends StatNode {
     private List<String> ids;
     private List<Boolean> isOutIds;
     private List<ExprNode> exprs;
+    private List<Symbol> symbols;
 
     public AssignStatNode(List<String> ids, List<ExprNode> exprs) {
         this.ids = ids;
@@ -23,6 +25,15 @@ public class AssignStatNode extends StatNode {
         return ids;
     }
 
+    // Simboli delle variabili assegnate, nello stesso ordine di ids
+    public List<Symbol> getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(List<Symbol> symbols) {
+        this.symbols = symbols;
+    }
+
     public List<ExprNode> getExprs() {
         return exprs;
     }
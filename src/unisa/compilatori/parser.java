@@ -0,0 +1,2343 @@
+
+//----------------------------------------------------
+// The following code was generated by CUP v0.11b 20160615 (GIT 4ac7450)
+//----------------------------------------------------
+
+package unisa.compilatori;
+
+import nodes.*;
+import visitor.utils.*;
+import nodes.stat.*;
+import nodes.expr.*;
+import visitor.Visitable;
+import visitor.exception.Diagnostics;
+import java.util.*;
+import java_cup.runtime.DefaultSymbolFactory;
+import java_cup.runtime.Symbol;
+import java_cup.runtime.SymbolFactory;
+import unisa.compilatori.Toy2Lexer;
+import java_cup.runtime.XMLElement;
+
+/** CUP v0.11b 20160615 (GIT 4ac7450) generated parser.
+  */
+@SuppressWarnings({"rawtypes"})
+public class parser extends java_cup.runtime.lr_parser {
+
+ public final Class getSymbolContainer() {
+    return sym.class;
+}
+
+  /** Default constructor. */
+  @Deprecated
+  public parser() {super();}
+
+  /** Constructor which sets the default scanner. */
+  @Deprecated
+  public parser(java_cup.runtime.Scanner s) {super(s);}
+
+  /** Constructor which sets the default scanner. */
+  public parser(java_cup.runtime.Scanner s, java_cup.runtime.SymbolFactory sf) {super(s,sf);}
+
+  /** Production table. */
+  protected static final short _production_table[][] = 
+    unpackFromStrings(new String[] {
+    "\000\151\000\002\002\005\000\002\002\004\000\002\005" +
+    "\002\000\002\005\004\000\002\006\003\000\002\006\003" +
+    "\000\002\006\004\000\002\004\002\000\002\004\004\000" +
+    "\002\003\003\000\002\003\003\000\002\003\003\000\002" +
+    "\003\004\000\002\003\004\000\002\007\005\000\002\010" +
+    "\004\000\002\010\003\000\002\010\005\000\002\010\004" +
+    "\000\002\011\006\000\002\011\006\000\002\012\005\000" +
+    "\002\012\003\000\002\013\005\000\002\013\003\000\002" +
+    "\014\003\000\002\014\003\000\002\014\003\000\002\014" +
+    "\003\000\002\014\003\000\002\015\003\000\002\015\003" +
+    "\000\002\015\003\000\002\015\003\000\002\016\014\000" +
+    "\002\017\003\000\002\017\002\000\002\020\007\000\002" +
+    "\020\005\000\002\021\005\000\002\021\003\000\002\022" +
+    "\012\000\002\023\003\000\002\023\002\000\002\024\007" +
+    "\000\002\024\005\000\002\025\003\000\002\025\004\000" +
+    "\002\026\004\000\002\026\004\000\002\026\005\000\002" +
+    "\026\002\000\002\027\006\000\002\027\004\000\002\027" +
+    "\005\000\002\027\005\000\002\027\005\000\002\027\005" +
+    "\000\002\027\004\000\002\027\004\000\002\030\006\000" +
+    "\002\030\005\000\002\031\006\000\002\031\005\000\002" +
+    "\032\011\000\002\033\004\000\002\033\002\000\002\034" +
+    "\006\000\002\035\004\000\002\035\002\000\002\036\007" +
+    "\000\002\040\004\000\002\040\007\000\002\040\002\000" +
+    "\002\037\005\000\002\037\003\000\002\037\003\000\002" +
+    "\041\005\000\002\041\006\000\002\041\003\000\002\041" +
+    "\004\000\002\042\005\000\002\042\003\000\002\043\003" +
+    "\000\002\043\003\000\002\043\003\000\002\043\003\000" +
+    "\002\043\003\000\002\043\003\000\002\043\003\000\002" +
+    "\043\005\000\002\043\005\000\002\043\005\000\002\043" +
+    "\005\000\002\043\005\000\002\043\005\000\002\043\005" +
+    "\000\002\043\005\000\002\043\005\000\002\043\005\000" +
+    "\002\043\005\000\002\043\005\000\002\043\005\000\002" +
+    "\043\004\000\002\043\004" });
+
+  /** Access to production table. */
+  public short[][] production_table() {return _production_table;}
+
+  /** Parse-action table. */
+  protected static final short[][] _action_table = 
+    unpackFromStrings(new String[] {
+    "\000\310\000\012\003\uffff\004\uffff\005\uffff\006\uffff\001" +
+    "\002\000\004\002\312\001\002\000\012\003\011\004\006" +
+    "\005\014\006\007\001\002\000\006\003\263\065\264\001" +
+    "\002\000\004\065\236\001\002\000\012\003\ufffc\004\ufffc" +
+    "\005\ufffc\006\ufffc\001\002\000\004\011\235\001\002\000" +
+    "\012\003\ufffd\004\ufffd\005\ufffd\006\ufffd\001\002\000\014" +
+    "\002\ufffa\003\ufffa\004\ufffa\005\ufffa\006\ufffa\001\002\000" +
+    "\004\065\016\001\002\000\012\003\ufffe\004\ufffe\005\ufffe" +
+    "\006\ufffe\001\002\000\004\034\017\001\002\000\010\035" +
+    "\uffd6\065\024\067\020\001\002\000\004\065\224\001\002" +
+    "\000\004\035\037\001\002\000\006\035\uffd7\037\033\001" +
+    "\002\000\004\040\025\001\002\000\004\040\uffd3\001\002" +
+    "\000\012\030\031\031\026\032\030\033\032\001\002\000" +
+    "\012\035\uffe2\036\uffe2\037\uffe2\040\uffe2\001\002\000\006" +
+    "\035\uffd4\037\uffd4\001\002\000\012\035\uffe1\036\uffe1\037" +
+    "\uffe1\040\uffe1\001\002\000\012\035\uffe3\036\uffe3\037\uffe3" +
+    "\040\uffe3\001\002\000\012\035\uffe0\036\uffe0\037\uffe0\040" +
+    "\uffe0\001\002\000\006\065\024\067\020\001\002\000\004" +
+    "\040\035\001\002\000\012\030\031\031\026\032\030\033" +
+    "\032\001\002\000\006\035\uffd5\037\uffd5\001\002\000\004" +
+    "\040\040\001\002\000\026\003\uffce\004\uffce\010\uffce\012" +
+    "\uffce\013\uffce\020\uffce\023\uffce\024\uffce\025\uffce\065\uffce" +
+    "\001\002\000\026\003\053\004\006\010\060\012\057\013" +
+    "\051\020\043\023\052\024\054\025\042\065\056\001\002" +
+    "\000\012\036\uffb8\043\uffb8\064\uffb8\065\uffb8\001\002\000" +
+    "\024\026\064\027\070\034\066\046\063\061\074\062\061" +
+    "\063\072\064\067\065\073\001\002\000\006\037\211\041" +
+    "\212\001\002\000\004\036\210\001\002\000\004\036\207" +
+    "\001\002\000\004\036\206\001\002\000\040\003\uffd1\004" +
+    "\uffd1\010\uffd1\011\uffd1\012\uffd1\013\uffd1\015\uffd1\016\uffd1" +
+    "\017\uffd1\020\uffd1\022\uffd1\023\uffd1\024\uffd1\025\uffd1\065" +
+    "\uffd1\001\002\000\024\026\064\027\070\034\066\046\063" +
+    "\061\074\062\061\063\072\064\067\065\073\001\002\000" +
+    "\012\036\uffb8\043\uffb8\064\uffb8\065\uffb8\001\002\000\004" +
+    "\036\166\001\002\000\012\036\uffb8\043\uffb8\064\uffb8\065" +
+    "\uffb8\001\002\000\040\003\uffd0\004\uffd0\010\uffd0\011\uffd0" +
+    "\012\uffd0\013\uffd0\015\uffd0\016\uffd0\017\uffd0\020\uffd0\022" +
+    "\uffd0\023\uffd0\024\uffd0\025\uffd0\065\uffd0\001\002\000\010" +
+    "\034\140\037\uffeb\041\uffeb\001\002\000\024\026\064\027" +
+    "\070\034\066\046\063\061\074\062\061\063\072\064\067" +
+    "\065\073\001\002\000\014\002\uffd8\003\uffd8\004\uffd8\005" +
+    "\uffd8\006\uffd8\001\002\000\044\014\uffad\021\uffad\035\uffad" +
+    "\036\uffad\037\uffad\044\uffad\045\uffad\047\uffad\050\uffad\051" +
+    "\uffad\052\uffad\053\uffad\054\uffad\055\uffad\056\uffad\057\uffad" +
+    "\060\uffad\001\002\000\040\035\uffaf\036\uffaf\037\uffaf\044" +
+    "\101\045\076\047\106\050\104\051\102\052\107\053\110" +
+    "\054\103\055\105\056\100\057\077\060\111\001\002\000" +
+    "\024\026\064\027\070\034\066\046\063\061\074\062\061" +
+    "\063\072\064\067\065\073\001\002\000\044\014\uffa9\021" +
+    "\uffa9\035\uffa9\036\uffa9\037\uffa9\044\uffa9\045\uffa9\047\uffa9" +
+    "\050\uffa9\051\uffa9\052\uffa9\053\uffa9\054\uffa9\055\uffa9\056" +
+    "\uffa9\057\uffa9\060\uffa9\001\002\000\006\036\136\037\131" +
+    "\001\002\000\024\026\064\027\070\034\066\046\063\061" +
+    "\074\062\061\063\072\064\067\065\073\001\002\000\044" +
+    "\014\uffab\021\uffab\035\uffab\036\uffab\037\uffab\044\uffab\045" +
+    "\uffab\047\uffab\050\uffab\051\uffab\052\uffab\053\uffab\054\uffab" +
+    "\055\uffab\056\uffab\057\uffab\060\uffab\001\002\000\044\014" +
+    "\uffa8\021\uffa8\035\uffa8\036\uffa8\037\uffa8\044\uffa8\045\uffa8" +
+    "\047\uffa8\050\uffa8\051\uffa8\052\uffa8\053\uffa8\054\uffa8\055" +
+    "\uffa8\056\uffa8\057\uffa8\060\uffa8\001\002\000\044\014\uffae" +
+    "\021\uffae\035\uffae\036\uffae\037\uffae\044\uffae\045\uffae\047" +
+    "\uffae\050\uffae\051\uffae\052\uffae\053\uffae\054\uffae\055\uffae" +
+    "\056\uffae\057\uffae\060\uffae\001\002\000\044\014\uffac\021" +
+    "\uffac\035\uffac\036\uffac\037\uffac\044\uffac\045\uffac\047\uffac" +
+    "\050\uffac\051\uffac\052\uffac\053\uffac\054\uffac\055\uffac\056" +
+    "\uffac\057\uffac\060\uffac\001\002\000\046\014\uffaa\021\uffaa" +
+    "\034\126\035\uffaa\036\uffaa\037\uffaa\044\uffaa\045\uffaa\047" +
+    "\uffaa\050\uffaa\051\uffaa\052\uffaa\053\uffaa\054\uffaa\055\uffaa" +
+    "\056\uffaa\057\uffaa\060\uffaa\001\002\000\024\026\064\027" +
+    "\070\034\066\046\063\061\074\062\061\063\072\064\067" +
+    "\065\073\001\002\000\044\014\uff99\021\uff99\035\uff99\036" +
+    "\uff99\037\uff99\044\101\045\076\047\106\050\104\051\102" +
+    "\052\107\053\110\054\103\055\105\056\100\057\uff99\060" +
+    "\uff99\001\002\000\024\026\064\027\070\034\066\046\063" +
+    "\061\074\062\061\063\072\064\067\065\073\001\002\000" +
+    "\024\026\064\027\070\034\066\046\063\061\074\062\061" +
+    "\063\072\064\067\065\073\001\002\000\024\026\064\027" +
+    "\070\034\066\046\063\061\074\062\061\063\072\064\067" +
+    "\065\073\001\002\000\024\026\064\027\070\034\066\046" +
+    "\063\061\074\062\061\063\072\064\067\065\073\001\002" +
+    "\000\024\026\064\027\070\034\066\046\063\061\074\062" +
+    "\061\063\072\064\067\065\073\001\002\000\024\026\064" +
+    "\027\070\034\066\046\063\061\074\062\061\063\072\064" +
+    "\067\065\073\001\002\000\024\026\064\027\070\034\066" +
+    "\046\063\061\074\062\061\063\072\064\067\065\073\001" +
+    "\002\000\024\026\064\027\070\034\066\046\063\061\074" +
+    "\062\061\063\072\064\067\065\073\001\002\000\024\026" +
+    "\064\027\070\034\066\046\063\061\074\062\061\063\072" +
+    "\064\067\065\073\001\002\000\024\026\064\027\070\034" +
+    "\066\046\063\061\074\062\061\063\072\064\067\065\073" +
+    "\001\002\000\024\026\064\027\070\034\066\046\063\061" +
+    "\074\062\061\063\072\064\067\065\073\001\002\000\024" +
+    "\026\064\027\070\034\066\046\063\061\074\062\061\063" +
+    "\072\064\067\065\073\001\002\000\044\014\uffa2\021\uffa2" +
+    "\035\uffa2\036\uffa2\037\uffa2\044\101\045\076\047\106\050" +
+    "\104\051\102\052\107\053\110\054\103\055\105\056\100" +
+    "\057\077\060\uffa2\001\002\000\030\014\uff9f\021\uff9f\035" +
+    "\uff9f\036\uff9f\037\uff9f\044\101\045\076\047\106\050\104" +
+    "\057\uff9f\060\uff9f\001\002\000\030\014\uff9c\021\uff9c\035" +
+    "\uff9c\036\uff9c\037\uff9c\044\101\045\076\047\106\050\104" +
+    "\057\uff9c\060\uff9c\001\002\000\044\014\uffa5\021\uffa5\035" +
+    "\uffa5\036\uffa5\037\uffa5\044\uffa5\045\uffa5\047\uffa5\050\uffa5" +
+    "\051\uffa5\052\uffa5\053\uffa5\054\uffa5\055\uffa5\056\uffa5\057" +
+    "\uffa5\060\uffa5\001\002\000\030\014\uffa1\021\uffa1\035\uffa1" +
+    "\036\uffa1\037\uffa1\044\101\045\076\047\106\050\104\057" +
+    "\uffa1\060\uffa1\001\002\000\044\014\uffa4\021\uffa4\035\uffa4" +
+    "\036\uffa4\037\uffa4\044\uffa4\045\uffa4\047\uffa4\050\uffa4\051" +
+    "\uffa4\052\uffa4\053\uffa4\054\uffa4\055\uffa4\056\uffa4\057\uffa4" +
+    "\060\uffa4\001\002\000\030\014\uff9e\021\uff9e\035\uff9e\036" +
+    "\uff9e\037\uff9e\044\101\045\076\047\106\050\104\057\uff9e" +
+    "\060\uff9e\001\002\000\030\014\uff9d\021\uff9d\035\uff9d\036" +
+    "\uff9d\037\uff9d\044\101\045\076\047\106\050\104\057\uff9d" +
+    "\060\uff9d\001\002\000\044\014\uffa7\021\uffa7\035\uffa7\036" +
+    "\uffa7\037\uffa7\044\uffa7\045\uffa7\047\106\050\104\051\uffa7" +
+    "\052\uffa7\053\uffa7\054\uffa7\055\uffa7\056\uffa7\057\uffa7\060" +
+    "\uffa7\001\002\000\030\014\uffa0\021\uffa0\035\uffa0\036\uffa0" +
+    "\037\uffa0\044\101\045\076\047\106\050\104\057\uffa0\060" +
+    "\uffa0\001\002\000\044\014\uffa3\021\uffa3\035\uffa3\036\uffa3" +
+    "\037\uffa3\044\101\045\076\047\106\050\104\051\102\052" +
+    "\107\053\110\054\103\055\105\056\100\057\uffa3\060\uffa3" +
+    "\001\002\000\044\014\uffa6\021\uffa6\035\uffa6\036\uffa6\037" +
+    "\uffa6\044\uffa6\045\uffa6\047\106\050\104\051\uffa6\052\uffa6" +
+    "\053\uffa6\054\uffa6\055\uffa6\056\uffa6\057\uffa6\060\uffa6\001" +
+    "\002\000\026\026\064\027\070\034\066\035\130\046\063" +
+    "\061\074\062\061\063\072\064\067\065\073\001\002\000" +
+    "\006\035\132\037\131\001\002\000\044\014\uffc4\021\uffc4" +
+    "\035\uffc4\036\uffc4\037\uffc4\044\uffc4\045\uffc4\047\uffc4\050" +
+    "\uffc4\051\uffc4\052\uffc4\053\uffc4\054\uffc4\055\uffc4\056\uffc4" +
+    "\057\uffc4\060\uffc4\001\002\000\024\026\064\027\070\034" +
+    "\066\046\063\061\074\062\061\063\072\064\067\065\073" +
+    "\001\002\000\044\014\uffc5\021\uffc5\035\uffc5\036\uffc5\037" +
+    "\uffc5\044\uffc5\045\uffc5\047\uffc5\050\uffc5\051\uffc5\052\uffc5" +
+    "\053\uffc5\054\uffc5\055\uffc5\056\uffc5\057\uffc5\060\uffc5\001" +
+    "\002\000\040\035\uffb0\036\uffb0\037\uffb0\044\101\045\076" +
+    "\047\106\050\104\051\102\052\107\053\110\054\103\055" +
+    "\105\056\100\057\077\060\111\001\002\000\034\035\135" +
+    "\044\101\045\076\047\106\050\104\051\102\052\107\053" +
+    "\110\054\103\055\105\056\100\057\077\060\111\001\002" +
+    "\000\044\014\uff9b\021\uff9b\035\uff9b\036\uff9b\037\uff9b\044" +
+    "\uff9b\045\uff9b\047\uff9b\050\uff9b\051\uff9b\052\uff9b\053\uff9b" +
+    "\054\uff9b\055\uff9b\056\uff9b\057\uff9b\060\uff9b\001\002\000" +
+    "\040\003\uffcb\004\uffcb\010\uffcb\011\uffcb\012\uffcb\013\uffcb" +
+    "\015\uffcb\016\uffcb\017\uffcb\020\uffcb\022\uffcb\023\uffcb\024" +
+    "\uffcb\025\uffcb\065\uffcb\001\002\000\044\014\uff9a\021\uff9a" +
+    "\035\uff9a\036\uff9a\037\uff9a\044\101\045\076\047\106\050" +
+    "\104\051\uff9a\052\uff9a\053\uff9a\054\uff9a\055\uff9a\056\uff9a" +
+    "\057\uff9a\060\uff9a\001\002\000\030\026\064\027\070\034" +
+    "\066\035\144\042\143\046\063\061\074\062\061\063\072" +
+    "\064\067\065\073\001\002\000\006\035\147\037\146\001" +
+    "\002\000\036\035\uffb2\037\uffb2\044\101\045\076\047\106" +
+    "\050\104\051\102\052\107\053\110\054\103\055\105\056" +
+    "\100\057\077\060\111\001\002\000\004\065\145\001\002" +
+    "\000\004\036\uffc2\001\002\000\006\035\uffb1\037\uffb1\001" +
+    "\002\000\026\026\064\027\070\034\066\042\151\046\063" +
+    "\061\074\062\061\063\072\064\067\065\073\001\002\000" +
+    "\004\036\uffc3\001\002\000\036\035\uffb4\037\uffb4\044\101" +
+    "\045\076\047\106\050\104\051\102\052\107\053\110\054" +
+    "\103\055\105\056\100\057\077\060\111\001\002\000\004" +
+    "\065\152\001\002\000\006\035\uffb3\037\uffb3\001\002\000" +
+    "\012\036\155\043\157\064\156\065\154\001\002\000\014" +
+    "\036\uffb6\043\uffb6\044\uffb6\064\uffb6\065\uffb6\001\002\000" +
+    "\040\003\uffc9\004\uffc9\010\uffc9\011\uffc9\012\uffc9\013\uffc9" +
+    "\015\uffc9\016\uffc9\017\uffc9\020\uffc9\022\uffc9\023\uffc9\024" +
+    "\uffc9\025\uffc9\065\uffc9\001\002\000\014\036\uffb5\043\uffb5" +
+    "\044\uffb5\064\uffb5\065\uffb5\001\002\000\004\034\163\001" +
+    "\002\000\014\036\uffba\043\uffba\044\161\064\uffba\065\uffba" +
+    "\001\002\000\006\064\156\065\154\001\002\000\014\036" +
+    "\uffb7\043\uffb7\044\uffb7\064\uffb7\065\uffb7\001\002\000\024" +
+    "\026\064\027\070\034\066\046\063\061\074\062\061\063" +
+    "\072\064\067\065\073\001\002\000\034\035\165\044\101" +
+    "\045\076\047\106\050\104\051\102\052\107\053\110\054" +
+    "\103\055\105\056\100\057\077\060\111\001\002\000\012" +
+    "\036\uffb9\043\uffb9\064\uffb9\065\uffb9\001\002\000\040\003" +
+    "\uffcf\004\uffcf\010\uffcf\011\uffcf\012\uffcf\013\uffcf\015\uffcf" +
+    "\016\uffcf\017\uffcf\020\uffcf\022\uffcf\023\uffcf\024\uffcf\025" +
+    "\uffcf\065\uffcf\001\002\000\012\036\170\043\157\064\156" +
+    "\065\154\001\002\000\040\003\uffca\004\uffca\010\uffca\011" +
+    "\uffca\012\uffca\013\uffca\015\uffca\016\uffca\017\uffca\020\uffca" +
+    "\022\uffca\023\uffca\024\uffca\025\uffca\065\uffca\001\002\000" +
+    "\034\014\172\044\101\045\076\047\106\050\104\051\102" +
+    "\052\107\053\110\054\103\055\105\056\100\057\077\060" +
+    "\111\001\002\000\032\003\uffce\004\uffce\012\uffce\013\uffce" +
+    "\015\uffce\016\uffce\017\uffce\020\uffce\023\uffce\024\uffce\025" +
+    "\uffce\065\uffce\001\002\000\032\003\053\004\006\012\057" +
+    "\013\051\015\uffbf\016\uffbf\017\uffbf\020\043\023\052\024" +
+    "\054\025\042\065\056\001\002\000\010\015\175\016\176" +
+    "\017\uffbc\001\002\000\026\003\uffce\004\uffce\012\uffce\013" +
+    "\uffce\017\uffce\020\uffce\023\uffce\024\uffce\025\uffce\065\uffce" +
+    "\001\002\000\024\026\064\027\070\034\066\046\063\061" +
+    "\074\062\061\063\072\064\067\065\073\001\002\000\004" +
+    "\017\201\001\002\000\010\015\uffc0\016\uffc0\017\uffc0\001" +
+    "\002\000\004\036\uffc1\001\002\000\034\014\203\044\101" +
+    "\045\076\047\106\050\104\051\102\052\107\053\110\054" +
+    "\103\055\105\056\100\057\077\060\111\001\002\000\032" +
+    "\003\uffce\004\uffce\012\uffce\013\uffce\015\uffce\016\uffce\017" +
+    "\uffce\020\uffce\023\uffce\024\uffce\025\uffce\065\uffce\001\002" +
+    "\000\032\003\053\004\006\012\057\013\051\015\uffbe\016" +
+    "\uffbe\017\uffbe\020\043\023\052\024\054\025\042\065\056" +
+    "\001\002\000\026\003\053\004\006\012\057\013\051\017" +
+    "\uffbd\020\043\023\052\024\054\025\042\065\056\001\002" +
+    "\000\040\003\uffc7\004\uffc7\010\uffc7\011\uffc7\012\uffc7\013" +
+    "\uffc7\015\uffc7\016\uffc7\017\uffc7\020\uffc7\022\uffc7\023\uffc7" +
+    "\024\uffc7\025\uffc7\065\uffc7\001\002\000\040\003\uffcc\004" +
+    "\uffcc\010\uffcc\011\uffcc\012\uffcc\013\uffcc\015\uffcc\016\uffcc" +
+    "\017\uffcc\020\uffcc\022\uffcc\023\uffcc\024\uffcc\025\uffcc\065" +
+    "\uffcc\001\002\000\040\003\uffc6\004\uffc6\010\uffc6\011\uffc6" +
+    "\012\uffc6\013\uffc6\015\uffc6\016\uffc6\017\uffc6\020\uffc6\022" +
+    "\uffc6\023\uffc6\024\uffc6\025\uffc6\065\uffc6\001\002\000\004" +
+    "\065\215\001\002\000\024\026\064\027\070\034\066\046" +
+    "\063\061\074\062\061\063\072\064\067\065\073\001\002" +
+    "\000\006\036\214\037\131\001\002\000\040\003\uffcd\004" +
+    "\uffcd\010\uffcd\011\uffcd\012\uffcd\013\uffcd\015\uffcd\016\uffcd" +
+    "\017\uffcd\020\uffcd\022\uffcd\023\uffcd\024\uffcd\025\uffcd\065" +
+    "\uffcd\001\002\000\010\037\uffec\040\uffec\041\uffec\001\002" +
+    "\000\034\021\217\044\101\045\076\047\106\050\104\051" +
+    "\102\052\107\053\110\054\103\055\105\056\100\057\077" +
+    "\060\111\001\002\000\026\003\uffce\004\uffce\012\uffce\013" +
+    "\uffce\020\uffce\022\uffce\023\uffce\024\uffce\025\uffce\065\uffce" +
+    "\001\002\000\026\003\053\004\006\012\057\013\051\020" +
+    "\043\022\221\023\052\024\054\025\042\065\056\001\002" +
+    "\000\004\036\uffbb\001\002\000\012\036\223\043\157\064" +
+    "\156\065\154\001\002\000\040\003\uffc8\004\uffc8\010\uffc8" +
+    "\011\uffc8\012\uffc8\013\uffc8\015\uffc8\016\uffc8\017\uffc8\020" +
+    "\uffc8\022\uffc8\023\uffc8\024\uffc8\025\uffc8\065\uffc8\001\002" +
+    "\000\004\040\uffd2\001\002\000\014\002\001\003\227\004" +
+    "\006\005\014\006\007\001\002\000\014\002\ufff7\003\ufff7" +
+    "\004\ufff7\005\ufff7\006\ufff7\001\002\000\006\010\233\011" +
+    "\234\001\002\000\014\002\ufff8\003\ufff8\004\ufff8\005\ufff8" +
+    "\006\ufff8\001\002\000\014\002\ufff6\003\ufff6\004\ufff6\005" +
+    "\ufff6\006\ufff6\001\002\000\014\002\ufff9\003\ufff9\004\ufff9" +
+    "\005\ufff9\006\ufff9\001\002\000\014\002\ufff4\003\ufff4\004" +
+    "\ufff4\005\ufff4\006\ufff4\001\002\000\014\002\ufff5\003\ufff5" +
+    "\004\ufff5\005\ufff5\006\ufff5\001\002\000\012\003\ufffb\004" +
+    "\ufffb\005\ufffb\006\ufffb\001\002\000\004\034\237\001\002" +
+    "\000\006\035\uffdd\065\242\001\002\000\006\035\uffde\037" +
+    "\256\001\002\000\004\035\245\001\002\000\004\040\243" +
+    "\001\002\000\012\030\031\031\026\032\030\033\032\001" +
+    "\002\000\006\035\uffdb\037\uffdb\001\002\000\004\066\246" +
+    "\001\002\000\012\030\031\031\026\032\030\033\032\001" +
+    "\002\000\006\037\uffd9\040\uffd9\001\002\000\006\037\251" +
+    "\040\252\001\002\000\012\030\031\031\026\032\030\033" +
+    "\032\001\002\000\026\003\uffce\004\uffce\011\uffce\012\uffce" +
+    "\013\uffce\020\uffce\023\uffce\024\uffce\025\uffce\065\uffce\001" +
+    "\002\000\026\003\053\004\006\011\254\012\057\013\051" +
+    "\020\043\023\052\024\054\025\042\065\056\001\002\000" +
+    "\014\002\uffdf\003\uffdf\004\uffdf\005\uffdf\006\uffdf\001\002" +
+    "\000\006\037\uffda\040\uffda\001\002\000\004\065\257\001" +
+    "\002\000\004\040\260\001\002\000\012\030\031\031\026" +
+    "\032\030\033\032\001\002\000\006\035\uffdc\037\uffdc\001" +
+    "\002\000\010\037\211\040\274\041\275\001\002\000\004" +
+    "\036\273\001\002\000\010\037\uffeb\040\uffeb\041\uffeb\001" +
+    "\002\000\010\003\267\007\270\065\264\001\002\000\010" +
+    "\003\ufff1\007\ufff1\065\ufff1\001\002\000\004\036\272\001" +
+    "\002\000\046\002\ufff3\003\ufff3\004\ufff3\005\ufff3\006\ufff3" +
+    "\010\ufff3\011\ufff3\012\ufff3\013\ufff3\015\ufff3\016\ufff3\017" +
+    "\ufff3\020\ufff3\022\ufff3\023\ufff3\024\ufff3\025\ufff3\065\ufff3" +
+    "\001\002\000\010\003\ufff2\007\ufff2\065\ufff2\001\002\000" +
+    "\010\003\ufff0\007\ufff0\065\ufff0\001\002\000\010\003\uffef" +
+    "\007\uffef\065\uffef\001\002\000\012\030\031\031\026\032" +
+    "\030\033\032\001\002\000\014\026\300\027\302\062\301" +
+    "\063\277\064\304\001\002\000\006\036\306\037\305\001" +
+    "\002\000\006\036\uffe7\037\uffe7\001\002\000\006\036\uffe5" +
+    "\037\uffe5\001\002\000\006\036\uffe8\037\uffe8\001\002\000" +
+    "\006\036\uffe4\037\uffe4\001\002\000\006\036\uffe9\037\uffe9" +
+    "\001\002\000\006\036\uffe6\037\uffe6\001\002\000\014\026" +
+    "\300\027\302\062\301\063\277\064\304\001\002\000\010" +
+    "\003\uffed\007\uffed\065\uffed\001\002\000\006\036\uffea\037" +
+    "\uffea\001\002\000\004\036\311\001\002\000\010\003\uffee" +
+    "\007\uffee\065\uffee\001\002\000\004\002\000\001\002" });
+
+  /** Access to parse-action table. */
+  public short[][] action_table() {return _action_table;}
+
+  /** <code>reduce_goto</code> table. */
+  protected static final short[][] _reduce_table = 
+    unpackFromStrings(new String[] {
+    "\000\310\000\006\002\003\005\004\001\001\000\002\001" +
+    "\001\000\012\006\014\007\011\016\007\022\012\001\001" +
+    "\000\010\010\264\011\265\012\261\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\004\004\224\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\010\023\020\024\021\025\022" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\015\026" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\025\033" +
+    "\001\001\000\002\001\001\000\004\015\035\001\001\000" +
+    "\002\001\001\000\002\001\001\000\004\026\040\001\001" +
+    "\000\016\007\047\012\043\027\054\031\045\032\046\036" +
+    "\044\001\001\000\004\040\221\001\001\000\006\030\070" +
+    "\043\215\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\006" +
+    "\030\070\043\170\001\001\000\004\040\166\001\001\000" +
+    "\002\001\001\000\004\040\152\001\001\000\002\001\001" +
+    "\000\002\001\001\000\010\030\070\042\064\043\061\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\006\030\070\043\136\001\001\000\002\001\001\000" +
+    "\002\001\001\000\006\030\070\043\133\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\006\030\070\043\074\001\001" +
+    "\000\002\001\001\000\006\030\070\043\124\001\001\000" +
+    "\006\030\070\043\123\001\001\000\006\030\070\043\122" +
+    "\001\001\000\006\030\070\043\121\001\001\000\006\030" +
+    "\070\043\120\001\001\000\006\030\070\043\117\001\001" +
+    "\000\006\030\070\043\116\001\001\000\006\030\070\043" +
+    "\115\001\001\000\006\030\070\043\114\001\001\000\006" +
+    "\030\070\043\113\001\001\000\006\030\070\043\112\001" +
+    "\001\000\006\030\070\043\111\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\010\030\070\042\126\043\061" +
+    "\001\001\000\002\001\001\000\002\001\001\000\006\030" +
+    "\070\043\132\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\010\030\070\041\140\043\141\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\006\030\070\043\147" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\004\037\157\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\004\037\161\001\001\000\002" +
+    "\001\001\000\006\030\070\043\163\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\037\157" +
+    "\001\001\000\002\001\001\000\002\001\001\000\004\026" +
+    "\172\001\001\000\020\007\047\012\043\027\054\031\045" +
+    "\032\046\033\173\036\044\001\001\000\006\034\177\035" +
+    "\176\001\001\000\004\026\204\001\001\000\006\030\070" +
+    "\043\201\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\004\026\203\001\001" +
+    "\000\016\007\047\012\043\027\054\031\045\032\046\036" +
+    "\044\001\001\000\016\007\047\012\043\027\054\031\045" +
+    "\032\046\036\044\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\010\030\070" +
+    "\042\212\043\061\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\026\217" +
+    "\001\001\000\016\007\047\012\043\027\054\031\045\032" +
+    "\046\036\044\001\001\000\002\001\001\000\004\037\157" +
+    "\001\001\000\002\001\001\000\002\001\001\000\012\003" +
+    "\231\007\227\016\225\022\230\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\006\017\240\020\237\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\004\015\243\001\001\000\002\001\001\000\002\001" +
+    "\001\000\006\015\246\021\247\001\001\000\002\001\001" +
+    "\000\002\001\001\000\004\015\254\001\001\000\004\026" +
+    "\252\001\001\000\016\007\047\012\043\027\054\031\045" +
+    "\032\046\036\044\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\015\260" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\006\011\270\012\261\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
+    "\015\307\001\001\000\006\013\275\014\302\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\004\014\306\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001" });
+
+  /** Access to <code>reduce_goto</code> table. */
+  public short[][] reduce_table() {return _reduce_table;}
+
+  /** Instance of action encapsulation class. */
+  protected CUP$parser$actions action_obj;
+
+  /** Action encapsulation object initializer. */
+  protected void init_actions()
+    {
+      action_obj = new CUP$parser$actions(this);
+    }
+
+  /** Invoke a user supplied parse action. */
+  public java_cup.runtime.Symbol do_action(
+    int                        act_num,
+    java_cup.runtime.lr_parser parser,
+    java.util.Stack            stack,
+    int                        top)
+    throws java.lang.Exception
+  {
+    /* call code in generated class */
+    return action_obj.CUP$parser$do_action(act_num, parser, stack, top);
+  }
+
+  /** Indicates start state. */
+  public int start_state() {return 0;}
+  /** Indicates start production. */
+  public int start_production() {return 1;}
+
+  /** <code>EOF</code> Symbol index. */
+  public int EOF_sym() {return 0;}
+
+  /** <code>error</code> Symbol index. */
+  public int error_sym() {return 1;}
+
+
+
+    // Errori di sintassi raccolti durante il parsing: dopo un errore il parser riprende
+    // dall'istruzione o dalla dichiarazione successiva grazie alle produzioni con error
+    private Diagnostics diagnostics;
+
+    public void setDiagnostics(Diagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    public Diagnostics getDiagnostics() {
+        if (diagnostics == null) {
+            LineMap lineMap = getScanner() instanceof Toy2Lexer lexer ? lexer.getLineMap() : new LineMap();
+            diagnostics = new Diagnostics(Diagnostics.DEFAULT_MAX_ERRORS, lineMap);
+        }
+        return diagnostics;
+    }
+
+    // Ogni nodo prodotto da una riduzione riceve la porzione di sorgente coperta dalla produzione:
+    // dal primo carattere del primo simbolo a destra all'ultimo carattere dell'ultimo
+    private final SymbolFactory symbolFactory = new DefaultSymbolFactory() {
+        public Symbol newSymbol(String name, int id, Symbol left, Symbol right, Object value) {
+            return withSpan(super.newSymbol(name, id, left, right, value));
+        }
+
+        public Symbol newSymbol(String name, int id, Symbol left, Object value) {
+            return withSpan(super.newSymbol(name, id, left, value));
+        }
+    };
+
+    public SymbolFactory getSymbolFactory() {
+        return symbolFactory;
+    }
+
+    private Symbol withSpan(Symbol symbol) {
+        if (symbol.value instanceof AstNode node && symbol.left >= 0) {
+            if (!node.hasSpan()) {
+                nodeCount++;
+            }
+            node.setSpan(symbol.left, symbol.right);
+        }
+        return symbol;
+    }
+
+    // Nodi dell'AST costruiti dal parser, contati quando ricevono la prima posizione
+    private int nodeCount = 0;
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    void countNode() {
+        nodeCount++;
+    }
+
+    // Registra l'errore con la posizione del token che lo ha causato
+    public void syntax_error(Symbol cur_token) {
+        String message;
+        if (cur_token.sym == sym.EOF && cur_token.value instanceof String) {
+            // Simbolo prodotto dal lexer per una sequenza di caratteri non valida
+            message = (String) cur_token.value;
+        } else if (cur_token.sym == sym.EOF) {
+            message = "fine del file non attesa";
+        } else if (cur_token.value != null) {
+            message = "token non atteso '" + cur_token.value + "'";
+        } else {
+            message = "token non atteso " + sym.terminalNames[cur_token.sym];
+        }
+        getDiagnostics().syntaxError(message, cur_token.left);
+    }
+
+    // Errore da cui non ?? possibile riprendersi: ?? gi?? stato registrato da syntax_error
+    public void report_error(String message, Object info) {
+    }
+
+
+/** Cup generated class to encapsulate user supplied action code.*/
+@SuppressWarnings({"rawtypes", "unchecked", "unused"})
+class CUP$parser$actions {
+
+
+    // Posizione dei nodi creati all'interno di una lista, che non sono il risultato della produzione
+    private <T extends AstNode> T span(T node, int start, int end) {
+        node.setSpan(start, end);
+        parser.countNode();
+        return node;
+    }
+
+  private final parser parser;
+
+  /** Constructor */
+  CUP$parser$actions(parser parser) {
+    this.parser = parser;
+  }
+
+  /** Method 0 with the actual generated action code for actions 0 to 300. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000000(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 0: // Program ::= ItersWithoutProcedure Procedure Iters 
+            {
+              Object RESULT =null;
+		int itersWithoutProcedureleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int itersWithoutProcedureright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object itersWithoutProcedure = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int procleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int procright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object proc = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int itersleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int itersright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object iters = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Esegui il cast ai rispettivi tipi di nodo per evitare errori di tipo
+    ProgramNode programNode = new ProgramNode(
+        (ItersWithoutProcedureNode) itersWithoutProcedure,
+        (ProcedureNode) proc,
+        (ItersNode) iters
+    );
+    RESULT = programNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Program",0, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 1: // $START ::= Program EOF 
+            {
+              Object RESULT =null;
+		int start_valleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int start_valright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object start_val = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		RESULT = start_val;
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("$START",0, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          /* ACCEPT */
+          CUP$parser$parser.done_parsing();
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 2: // ItersWithoutProcedure ::= 
+            {
+              Object RESULT =null;
+		
+    // Crea una nuova lista vuota di IterWithoutProcedureNode
+    List<IterWithoutProcedureNode> iterList = new ArrayList<>();
+    ItersWithoutProcedureNode itersWithoutProcedureNode = new ItersWithoutProcedureNode(iterList);
+    RESULT = itersWithoutProcedureNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ItersWithoutProcedure",3, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 3: // ItersWithoutProcedure ::= ItersWithoutProcedure IterWithoutProcedure 
+            {
+              Object RESULT =null;
+		int itersWithoutProcedureleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int itersWithoutProcedureright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object itersWithoutProcedure = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int iterWithoutProcedureleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int iterWithoutProcedureright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object iterWithoutProcedure = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi l'iterWithoutProcedure alla lista
+    ItersWithoutProcedureNode itersWithoutProcedureNode = (ItersWithoutProcedureNode) itersWithoutProcedure;
+    itersWithoutProcedureNode.addIter((IterWithoutProcedureNode) iterWithoutProcedure);
+    RESULT = itersWithoutProcedureNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ItersWithoutProcedure",3, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 4: // IterWithoutProcedure ::= VarDecl 
+            {
+              Object RESULT =null;
+		int varDeclleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int varDeclright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object varDecl = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IterWithoutProcedureNode iterWithoutProcedureNode = new IterWithoutProcedureNode((VarDeclNode) varDecl);
+    RESULT = iterWithoutProcedureNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IterWithoutProcedure",4, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 5: // IterWithoutProcedure ::= Function 
+            {
+              Object RESULT =null;
+		int functionleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int functionright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object function = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IterWithoutProcedureNode iterWithoutProcedureNode = new IterWithoutProcedureNode((FunctionNode) function);
+    RESULT = iterWithoutProcedureNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IterWithoutProcedure",4, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 6: // IterWithoutProcedure ::= error ENDFUNC 
+            {
+              Object RESULT =null;
+		
+    // Funzione non valida: il parsing riprende dalla dichiarazione successiva
+    RESULT = null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IterWithoutProcedure",4, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 7: // Iters ::= 
+            {
+              Object RESULT =null;
+		
+    // Crea una nuova lista vuota di IterNode
+    List<IterNode> iterList = new ArrayList<>();
+    ItersNode itersNode = new ItersNode(iterList);
+    RESULT = itersNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Iters",2, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 8: // Iters ::= Iters Iter 
+            {
+              Object RESULT =null;
+		int itersleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int itersright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object iters = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int iterleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int iterright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object iter = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi l'iter alla lista
+    ItersNode itersNode = (ItersNode) iters;
+    itersNode.addIter((IterNode) iter);
+    RESULT = itersNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Iters",2, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 9: // Iter ::= VarDecl 
+            {
+              Object RESULT =null;
+		int varDeclleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int varDeclright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object varDecl = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IterNode iterNode = new IterNode((VarDeclNode) varDecl);
+    RESULT = iterNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Iter",1, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 10: // Iter ::= Function 
+            {
+              Object RESULT =null;
+		int functionleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int functionright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object function = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IterNode iterNode = new IterNode((FunctionNode) function);
+    RESULT = iterNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Iter",1, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 11: // Iter ::= Procedure 
+            {
+              Object RESULT =null;
+		int procedureleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int procedureright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object procedure = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IterNode iterNode = new IterNode((ProcedureNode) procedure);
+    RESULT = iterNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Iter",1, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 12: // Iter ::= error ENDFUNC 
+            {
+              Object RESULT =null;
+		
+    // Funzione non valida: il parsing riprende dalla dichiarazione successiva
+    RESULT = null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Iter",1, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 13: // Iter ::= error ENDPROC 
+            {
+              Object RESULT =null;
+		
+    // Procedura non valida: il parsing riprende dalla dichiarazione successiva
+    RESULT = null;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Iter",1, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 14: // VarDecl ::= VAR Decls ENDVAR 
+            {
+              Object RESULT =null;
+		int declsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int declsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object decls = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    // Crea un VarDeclNode con la lista di dichiarazioni
+    VarDeclNode varDeclNode = new VarDeclNode((List<DeclNode>) decls);
+    RESULT = varDeclNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("VarDecl",5, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 15: // Decls ::= Decls Decl 
+            {
+              Object RESULT =null;
+		int declsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int declsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object decls = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int declleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int declright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object decl = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi questa dichiarazione in coda alla lista
+    ((List<DeclNode>) decls).add((DeclNode) decl);
+    RESULT = decls;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Decls",6, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 16: // Decls ::= Decl 
+            {
+              Object RESULT =null;
+		int declleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int declright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object decl = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Crea una lista con questa dichiarazione
+    List<DeclNode> decls = new ArrayList<>();
+    decls.add((DeclNode) decl);
+    RESULT = decls;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Decls",6, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 17: // Decls ::= Decls error SEMI 
+            {
+              Object RESULT =null;
+		int declsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int declsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object decls = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		
+    // Dichiarazione non valida: il parsing riprende dalla successiva
+    RESULT = decls;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Decls",6, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 18: // Decls ::= error SEMI 
+            {
+              Object RESULT =null;
+		
+    RESULT = new ArrayList<DeclNode>();
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Decls",6, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 19: // Decl ::= Ids COLON Type SEMI 
+            {
+              Object RESULT =null;
+		int idsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int idsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object ids = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object type = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    // Crea un DeclNode per questa dichiarazione
+    DeclNode declNode = new DeclNode(
+        (List<String>) ids,
+        (Type) type,
+        null // Nessuna costante
+    );
+    RESULT = declNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Decl",7, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 20: // Decl ::= Ids ASSIGN Consts SEMI 
+            {
+              Object RESULT =null;
+		int idsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int idsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object ids = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int constsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int constsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object consts = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    // Crea un DeclNode per questa dichiarazione con costanti
+    DeclNode declNode = new DeclNode(
+        (List<String>) ids,
+        null, // Nessun tipo specificato
+        (List<ConstNode>) consts
+    );
+    RESULT = declNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Decl",7, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 21: // Ids ::= Ids COMMA IDENTIFIER 
+            {
+              Object RESULT =null;
+		int idsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int idsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object ids = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi l'identificatore in coda alla lista
+    ((List<String>) ids).add((String) id);
+    RESULT = ids;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Ids",8, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 22: // Ids ::= IDENTIFIER 
+            {
+              Object RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Crea una lista con questo identificatore
+    List<String> ids = new ArrayList<>();
+    ids.add((String) id);
+    RESULT = ids;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Ids",8, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 23: // Consts ::= Consts COMMA Const 
+            {
+              Object RESULT =null;
+		int constsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int constsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object consts = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int constantleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int constantright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object constant = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi la costante in coda alla lista
+    ((List<ConstNode>) consts).add((ConstNode) constant);
+    RESULT = consts;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Consts",9, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 24: // Consts ::= Const 
+            {
+              Object RESULT =null;
+		int constantleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int constantright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object constant = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Crea una lista con questa costante
+    List<ConstNode> consts = new ArrayList<>();
+    consts.add((ConstNode) constant);
+    RESULT = consts;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Consts",9, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 25: // Const ::= REAL_CONST 
+            {
+              Object RESULT =null;
+		int realConstleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int realConstright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object realConst = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    ConstNode constNode = new ConstNode(Double.parseDouble((String) realConst), Type.REAL);
+    RESULT = constNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Const",10, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 26: // Const ::= NUMBER_LITERAL 
+            {
+              Object RESULT =null;
+		int numberleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int numberright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object number = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    ConstNode constNode = new ConstNode(Integer.parseInt((String) number), Type.INTEGER);
+    RESULT = constNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Const",10, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 27: // Const ::= STRING_LITERAL 
+            {
+              Object RESULT =null;
+		int stringLiteralleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int stringLiteralright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object stringLiteral = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    ConstNode constNode = new ConstNode((String) stringLiteral, Type.STRING);
+    RESULT = constNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Const",10, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 28: // Const ::= TRUE 
+            {
+              Object RESULT =null;
+		
+    ConstNode constNode = new ConstNode(true, Type.BOOLEAN);
+    RESULT = constNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Const",10, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 29: // Const ::= FALSE 
+            {
+              Object RESULT =null;
+		
+    ConstNode constNode = new ConstNode(false, Type.BOOLEAN);
+    RESULT = constNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Const",10, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 30: // Type ::= REAL 
+            {
+              Object RESULT =null;
+		
+    RESULT = Type.REAL;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Type",11, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 31: // Type ::= INTEGER 
+            {
+              Object RESULT =null;
+		
+    RESULT = Type.INTEGER;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Type",11, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 32: // Type ::= STRING 
+            {
+              Object RESULT =null;
+		
+    RESULT = Type.STRING;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Type",11, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 33: // Type ::= BOOLEAN 
+            {
+              Object RESULT =null;
+		
+    RESULT = Type.BOOLEAN;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Type",11, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 34: // Function ::= FUNC IDENTIFIER LPAR FuncParams RPAR TYPERETURN Types COLON Body ENDFUNC 
+            {
+              Object RESULT =null;
+		int funcNameleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).left;
+		int funcNameright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).right;
+		Object funcName = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-8)).value;
+		int paramsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
+		int paramsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).right;
+		Object params = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
+		int returnTypeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int returnTyperight = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object returnType = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object body = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    // Crea un FunctionNode con i componenti analizzati
+    FunctionNode functionNode = new FunctionNode(
+        (String) funcName,
+        (FuncParamsNode) params,
+        (List<Type>) returnType,
+        (BodyNode) body
+    );
+    RESULT = functionNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Function",12, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 35: // FuncParams ::= FuncParamsList 
+            {
+              Object RESULT =null;
+		int paramsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int paramsright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object params = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    FuncParamsNode funcParamsNode = new FuncParamsNode((List<ParamNode>) params);
+    RESULT = funcParamsNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("FuncParams",13, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 36: // FuncParams ::= 
+            {
+              Object RESULT =null;
+		
+    // Nessun parametro
+    FuncParamsNode funcParamsNode = new FuncParamsNode(new ArrayList<>());
+    RESULT = funcParamsNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("FuncParams",13, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 37: // FuncParamsList ::= FuncParamsList COMMA IDENTIFIER COLON Type 
+            {
+              Object RESULT =null;
+		int paramsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
+		int paramsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
+		Object params = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object type = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi il parametro in coda alla lista
+    ((List<ParamNode>) params).add(span(new ParamNode((String) id, (Type) type), idleft, typeright));
+    RESULT = params;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("FuncParamsList",14, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 38: // FuncParamsList ::= IDENTIFIER COLON Type 
+            {
+              Object RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object type = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Crea una lista di parametri iniziando con questo
+    List<ParamNode> params = new ArrayList<>();
+    params.add(span(new ParamNode((String) id, (Type) type), idleft, typeright));
+    RESULT = params;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("FuncParamsList",14, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 39: // Types ::= Types COMMA Type 
+            {
+              Object RESULT =null;
+		int typesleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int typesright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object types = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object type = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi il tipo di ritorno in coda alla lista
+    ((List<Type>) types).add((Type) type);
+    RESULT = types;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Types",15, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 40: // Types ::= Type 
+            {
+              Object RESULT =null;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object type = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Crea una lista con un singolo tipo di ritorno
+    List<Type> types = new ArrayList<>();
+    types.add((Type) type);
+    RESULT = types;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Types",15, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 41: // Procedure ::= PROC IDENTIFIER LPAR ProcParams RPAR COLON Body ENDPROC 
+            {
+              Object RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
+		int paramsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
+		int paramsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
+		Object params = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object body = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    // Crea un ProcedureNode con i componenti analizzati
+    ProcedureNode procedureNode = new ProcedureNode(
+        (String) id,
+        (ProcParamsNode) params,
+        (BodyNode) body
+    );
+    RESULT = procedureNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Procedure",16, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 42: // ProcParams ::= ProcParamsList 
+            {
+              Object RESULT =null;
+		int paramsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int paramsright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object params = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    ProcParamsNode procParamsNode = new ProcParamsNode((List<ProcParamNode>) params);
+    RESULT = procParamsNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcParams",17, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 43: // ProcParams ::= 
+            {
+              Object RESULT =null;
+		
+    // Nessun parametro
+    ProcParamsNode procParamsNode = new ProcParamsNode(new ArrayList<>());
+    RESULT = procParamsNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcParams",17, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 44: // ProcParamsList ::= ProcParamsList COMMA ProcParamId COLON Type 
+            {
+              Object RESULT =null;
+		int paramsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
+		int paramsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
+		Object params = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+		int paramIdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int paramIdright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object paramId = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object type = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi il parametro in coda alla lista
+    ProcParamIdNode procParamIdNode = (ProcParamIdNode) paramId;
+    ProcParamNode paramNode = new ProcParamNode(
+        (String) procParamIdNode.name,
+        (Type) type,
+        procParamIdNode.isOut
+    );
+    ((List<ProcParamNode>) params).add(span(paramNode, paramIdleft, typeright));
+    RESULT = params;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcParamsList",18, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 45: // ProcParamsList ::= ProcParamId COLON Type 
+            {
+              Object RESULT =null;
+		int paramIdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int paramIdright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object paramId = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object type = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Crea una lista di parametri iniziando con questo
+    List<ProcParamNode> params = new ArrayList<>();
+    ProcParamIdNode procParamIdNode = (ProcParamIdNode) paramId;
+    ProcParamNode paramNode = new ProcParamNode(
+        (String) procParamIdNode.name,
+        (Type) type,
+        procParamIdNode.isOut
+    );
+    params.add(span(paramNode, paramIdleft, typeright));
+    RESULT = params;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcParamsList",18, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 46: // ProcParamId ::= IDENTIFIER 
+            {
+              Object RESULT =null;
+		int identifierleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int identifierright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object identifier = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Parametro normale
+    ProcParamIdNode paramIdNode = new ProcParamIdNode((String) identifier, false);
+    RESULT = paramIdNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcParamId",19, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 47: // ProcParamId ::= OUT IDENTIFIER 
+            {
+              Object RESULT =null;
+		int identifierleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int identifierright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object identifier = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Parametro OUT
+    ProcParamIdNode paramIdNode = new ProcParamIdNode((String) identifier, true);
+    RESULT = paramIdNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcParamId",19, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 48: // Body ::= Body VarDecl 
+            {
+              Object RESULT =null;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object body = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int varDeclleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int varDeclright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object varDecl = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    BodyNode bodyNode = (BodyNode) body;
+    bodyNode.getStatements().add((VarDeclNode) varDecl);
+    RESULT = bodyNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Body",20, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 49: // Body ::= Body Stat 
+            {
+              Object RESULT =null;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object body = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int statleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int statright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object stat = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    BodyNode bodyNode = (BodyNode) body;
+    bodyNode.getStatements().add((StatNode) stat);
+    RESULT = bodyNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Body",20, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 50: // Body ::= Body error SEMI 
+            {
+              Object RESULT =null;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object body = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		
+    // Istruzione non valida: il parsing riprende dall'istruzione successiva
+    RESULT = body;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Body",20, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 51: // Body ::= 
+            {
+              Object RESULT =null;
+		
+    RESULT = new BodyNode(new ArrayList<>());
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Body",20, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 52: // Stat ::= Ids ASSIGN Exprs SEMI 
+            {
+              Object RESULT =null;
+		int idsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int idsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object ids = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int exprsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int exprsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object exprs = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    StatNode statNode = new AssignStatNode((List<String>) ids, (List<ExprNode>) exprs);
+    RESULT = statNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Stat",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 53: // Stat ::= ProcCall SEMI 
+            {
+              Object RESULT =null;
+		int procCallleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int procCallright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object procCall = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    StatNode statNode = new ProcCallStatNode((ProcCallNode) procCall);
+    RESULT = statNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Stat",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 54: // Stat ::= RETURN Exprs SEMI 
+            {
+              Object RESULT =null;
+		int exprsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int exprsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object exprs = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    StatNode statNode = new ReturnStatNode((List<ExprNode>) exprs);
+    RESULT = statNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Stat",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 55: // Stat ::= WRITE IOArgsList SEMI 
+            {
+              Object RESULT =null;
+		int ioArgsListleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ioArgsListright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object ioArgsList = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    StatNode statNode = new WriteStatNode((List<IOArgNode>) ioArgsList);
+    RESULT = statNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Stat",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 56: // Stat ::= WRITERETURN IOArgsList SEMI 
+            {
+              Object RESULT =null;
+		int ioArgsListleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ioArgsListright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object ioArgsList = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    StatNode statNode = new WriteReturnStatNode((List<IOArgNode>) ioArgsList);
+    RESULT = statNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Stat",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 57: // Stat ::= READ IOArgsList SEMI 
+            {
+              Object RESULT =null;
+		int ioArgsListleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ioArgsListright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object ioArgsList = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    StatNode statNode = new ReadStatNode((List<IOArgNode>) ioArgsList);
+    RESULT = statNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Stat",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 58: // Stat ::= IfStat SEMI 
+            {
+              Object RESULT =null;
+		int ifStatleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int ifStatright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object ifStat = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    StatNode statNode = (IfStatNode) ifStat;
+    RESULT = statNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Stat",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 59: // Stat ::= WhileStat SEMI 
+            {
+              Object RESULT =null;
+		int whileStatleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int whileStatright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object whileStat = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    StatNode statNode = (WhileStatNode) whileStat;
+    RESULT = statNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Stat",21, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 60: // FunCall ::= IDENTIFIER LPAR Exprs RPAR 
+            {
+              Object RESULT =null;
+		int funcNameleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int funcNameright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object funcName = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int argsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int argsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object args = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    FunCallNode funCallNode = new FunCallNode((String) funcName, (List<ExprNode>) args);
+    RESULT = funCallNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("FunCall",22, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 61: // FunCall ::= IDENTIFIER LPAR RPAR 
+            {
+              Object RESULT =null;
+		int funcNameleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int funcNameright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object funcName = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		
+    FunCallNode funCallNode = new FunCallNode((String) funcName, new ArrayList<>());
+    RESULT = funCallNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("FunCall",22, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 62: // ProcCall ::= IDENTIFIER LPAR ProcExprs RPAR 
+            {
+              Object RESULT =null;
+		int procNameleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int procNameright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object procName = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int argsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int argsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object args = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    ProcCallNode procCallNode = new ProcCallNode((String) procName, (List<ProcExprNode>) args);
+    RESULT = procCallNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcCall",23, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 63: // ProcCall ::= IDENTIFIER LPAR RPAR 
+            {
+              Object RESULT =null;
+		int procNameleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int procNameright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object procName = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		
+    ProcCallNode procCallNode = new ProcCallNode((String) procName, new ArrayList<>());
+    RESULT = procCallNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcCall",23, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 64: // IfStat ::= IF Expr THEN Body Elifs Else ENDIF 
+            {
+              Object RESULT =null;
+		int conditionleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
+		int conditionright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).right;
+		Object condition = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
+		int thenBodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int thenBodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object thenBody = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int elifBlocksleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int elifBlocksright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object elifBlocks = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int elseBlockleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int elseBlockright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object elseBlock = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    IfStatNode ifStatNode = new IfStatNode(
+        (ExprNode) condition,
+        (BodyNode) thenBody,
+        (List<ElifNode>) elifBlocks,
+        (ElseNode) elseBlock
+    );
+    RESULT = ifStatNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IfStat",24, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 65: // Elifs ::= Elifs Elif 
+            {
+              Object RESULT =null;
+		int elifsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int elifsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object elifs = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int elifBlockleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int elifBlockright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object elifBlock = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    ((List<ElifNode>) elifs).add((ElifNode) elifBlock);
+    RESULT = elifs;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Elifs",25, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 66: // Elifs ::= 
+            {
+              Object RESULT =null;
+		
+    RESULT = new ArrayList<ElifNode>();
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Elifs",25, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 67: // Elif ::= ELIF Expr THEN Body 
+            {
+              Object RESULT =null;
+		int conditionleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int conditionright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object condition = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object body = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    ElifNode elifNode = new ElifNode((ExprNode) condition, (BodyNode) body);
+    RESULT = elifNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Elif",26, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 68: // Else ::= ELSE Body 
+            {
+              Object RESULT =null;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object body = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    ElseNode elseNode = new ElseNode((BodyNode) body);
+    RESULT = elseNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Else",27, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 69: // Else ::= 
+            {
+              Object RESULT =null;
+		
+    RESULT = null;  // Nessun blocco else
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Else",27, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 70: // WhileStat ::= WHILE Expr DO Body ENDWHILE 
+            {
+              Object RESULT =null;
+		int conditionleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int conditionright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object condition = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object body = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    WhileStatNode whileStatNode = new WhileStatNode((ExprNode) condition, (BodyNode) body);
+    RESULT = whileStatNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("WhileStat",28, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 71: // IOArgsList ::= IOArgsList IOArg 
+            {
+              Object RESULT =null;
+		int argsListleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int argsListright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object argsList = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int argleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int argright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object arg = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    ((List<IOArgNode>) argsList).add((IOArgNode) arg);
+    RESULT = argsList;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IOArgsList",30, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 72: // IOArgsList ::= IOArgsList DOLLAR LPAR Expr RPAR 
+            {
+              Object RESULT =null;
+		int argsListleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
+		int argsListright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
+		Object argsList = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+		int dollarleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int dollarright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object dollar = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object expr = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int rparleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rparright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object rpar = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IOArgNode argNode = span(new DollarExprNode((ExprNode) expr), dollarleft, rparright);
+    ((List<IOArgNode>) argsList).add(argNode);
+    RESULT = argsList;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IOArgsList",30, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 73: // IOArgsList ::= 
+            {
+              Object RESULT =null;
+		
+    RESULT = new ArrayList<IOArgNode>();
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IOArgsList",30, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 74: // IOArg ::= IOArg PLUS IOArg 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IOArgNode ioArgNode = new IOArgBinaryNode((IOArgNode) l, (IOArgNode) r, "+");
+    RESULT = ioArgNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IOArg",29, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 75: // IOArg ::= IDENTIFIER 
+            {
+              Object RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IOArgNode ioArgNode = new IOArgIdentifierNode((String) id);
+    RESULT = ioArgNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IOArg",29, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 76: // IOArg ::= STRING_LITERAL 
+            {
+              Object RESULT =null;
+		int literalleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int literalright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object literal = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    IOArgNode ioArgNode = new IOArgStringLiteralNode((String) literal);
+    RESULT = ioArgNode;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("IOArg",29, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 77: // ProcExprs ::= ProcExprs COMMA Expr 
+            {
+              Object RESULT =null;
+		int exprsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int exprsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object exprs = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object expr = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi il parametro di espressione in coda alla lista
+    ((List<ProcExprNode>) exprs).add(span(new ProcExprNode((ExprNode) expr, false), exprleft, exprright));
+    RESULT = exprs;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcExprs",31, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 78: // ProcExprs ::= ProcExprs COMMA REF IDENTIFIER 
+            {
+              Object RESULT =null;
+		int exprsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int exprsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		Object exprs = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int refleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int refright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object ref = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi il parametro di riferimento in coda alla lista
+    IdentifierNode identifierNode = span(new IdentifierNode((String) id), idleft, idright);
+    ((List<ProcExprNode>) exprs).add(span(new ProcExprNode(identifierNode, true), refleft, idright));
+    RESULT = exprs;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcExprs",31, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 79: // ProcExprs ::= Expr 
+            {
+              Object RESULT =null;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object expr = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    List<ProcExprNode> exprs = new ArrayList<>();
+    exprs.add(span(new ProcExprNode((ExprNode) expr, false), exprleft, exprright));
+    RESULT = exprs;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcExprs",31, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 80: // ProcExprs ::= REF IDENTIFIER 
+            {
+              Object RESULT =null;
+		int refleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int refright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object ref = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    List<ProcExprNode> exprs = new ArrayList<>();
+    IdentifierNode identifierNode = span(new IdentifierNode((String) id), idleft, idright);
+    exprs.add(span(new ProcExprNode(identifierNode, true), refleft, idright));
+    RESULT = exprs;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("ProcExprs",31, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 81: // Exprs ::= Exprs COMMA Expr 
+            {
+              Object RESULT =null;
+		int exprsleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int exprsright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object exprs = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object expr = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    // Aggiungi l'espressione in coda alla lista
+    ((List<ExprNode>) exprs).add((ExprNode) expr);
+    RESULT = exprs;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Exprs",32, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 82: // Exprs ::= Expr 
+            {
+              Object RESULT =null;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object expr = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    List<ExprNode> exprs = new ArrayList<>();
+    exprs.add((ExprNode) expr);
+    RESULT = exprs;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Exprs",32, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 83: // Expr ::= FunCall 
+            {
+              Object RESULT =null;
+		int funCallleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int funCallright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object funCall = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = funCall;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 84: // Expr ::= REAL_CONST 
+            {
+              Object RESULT =null;
+		int realConstleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int realConstright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object realConst = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new RealConstNode(Double.parseDouble((String) realConst), Type.REAL);
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 85: // Expr ::= NUMBER_LITERAL 
+            {
+              Object RESULT =null;
+		int numberleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int numberright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object number = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new IntConstNode(Integer.parseInt((String) number), Type.INTEGER);
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 86: // Expr ::= STRING_LITERAL 
+            {
+              Object RESULT =null;
+		int stringLiteralleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int stringLiteralright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object stringLiteral = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new StringConstNode((String) stringLiteral, Type.STRING);
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 87: // Expr ::= IDENTIFIER 
+            {
+              Object RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object id = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new IdentifierNode((String) id);
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 88: // Expr ::= TRUE 
+            {
+              Object RESULT =null;
+		
+    RESULT = new BooleanConstNode(true, Type.BOOLEAN);
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 89: // Expr ::= FALSE 
+            {
+              Object RESULT =null;
+		
+    RESULT = new BooleanConstNode(false, Type.BOOLEAN);
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 90: // Expr ::= Expr PLUS Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "+");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 91: // Expr ::= Expr MINUS Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "-");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 92: // Expr ::= Expr TIMES Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "*");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 93: // Expr ::= Expr DIV Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "/");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 94: // Expr ::= Expr AND Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "and");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 95: // Expr ::= Expr OR Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "or");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 96: // Expr ::= Expr GT Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, ">");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 97: // Expr ::= Expr GE Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, ">=");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 98: // Expr ::= Expr LT Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "<");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 99: // Expr ::= Expr LE Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "<=");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 100: // Expr ::= Expr EQ Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "=");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 101: // Expr ::= Expr NE Expr 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new BinaryExprNode((ExprNode) l, (ExprNode) r, "!=");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 102: // Expr ::= LPAR Expr RPAR 
+            {
+              Object RESULT =null;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object expr = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		
+    RESULT = expr;
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 103: // Expr ::= UMINUS Expr 
+            {
+              Object RESULT =null;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object expr = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new UnaryExprNode((ExprNode) expr, "uminus");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 104: // Expr ::= NOT Expr 
+            {
+              Object RESULT =null;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		Object expr = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		
+    RESULT = new UnaryExprNode((ExprNode) expr, "not");
+
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Expr",33, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method splitting the generated action code into several parts. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+              return CUP$parser$do_action_part00000000(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+    }
+}
+
+}
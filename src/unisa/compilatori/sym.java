@@ -0,0 +1,122 @@
+
+//----------------------------------------------------
+// The following code was generated by CUP v0.11b 20160615 (GIT 4ac7450)
+//----------------------------------------------------
+
+package unisa.compilatori;
+
+/** CUP generated interface containing symbol constants. */
+public interface sym {
+  /* terminals */
+  public static final int STRING_LITERAL = 50;
+  public static final int GE = 44;
+  public static final int UMINUS = 36;
+  public static final int ENDVAR = 5;
+  public static final int NUMBER_LITERAL = 49;
+  public static final int INTEGER = 23;
+  public static final int SEMI = 28;
+  public static final int OUT = 53;
+  public static final int MINUS = 35;
+  public static final int REF = 32;
+  public static final int WRITE = 17;
+  public static final int TYPERETURN = 52;
+  public static final int NOT = 47;
+  public static final int AND = 45;
+  public static final int LT = 41;
+  public static final int RPAR = 27;
+  public static final int OR = 46;
+  public static final int COMMA = 29;
+  public static final int WRITERETURN = 18;
+  public static final int DIV = 38;
+  public static final int PLUS = 34;
+  public static final int ASSIGN = 31;
+  public static final int IF = 9;
+  public static final int ENDWHILE = 16;
+  public static final int LE = 42;
+  public static final int EOF = 0;
+  public static final int BOOLEAN = 25;
+  public static final int RETURN = 8;
+  public static final int TRUE = 20;
+  public static final int error = 1;
+  public static final int ENDFUNC = 7;
+  public static final int EQ = 39;
+  public static final int REAL = 22;
+  public static final int TIMES = 37;
+  public static final int ENDPROC = 6;
+  public static final int COLON = 30;
+  public static final int ENDIF = 13;
+  public static final int ELSE = 11;
+  public static final int FUNC = 4;
+  public static final int READ = 19;
+  public static final int WHILE = 14;
+  public static final int DOLLAR = 33;
+  public static final int REAL_CONST = 48;
+  public static final int THEN = 10;
+  public static final int NE = 40;
+  public static final int LPAR = 26;
+  public static final int PROC = 3;
+  public static final int STRING = 24;
+  public static final int FALSE = 21;
+  public static final int GT = 43;
+  public static final int VAR = 2;
+  public static final int ELIF = 12;
+  public static final int DO = 15;
+  public static final int IDENTIFIER = 51;
+  public static final String[] terminalNames = new String[] {
+  "EOF",
+  "error",
+  "VAR",
+  "PROC",
+  "FUNC",
+  "ENDVAR",
+  "ENDPROC",
+  "ENDFUNC",
+  "RETURN",
+  "IF",
+  "THEN",
+  "ELSE",
+  "ELIF",
+  "ENDIF",
+  "WHILE",
+  "DO",
+  "ENDWHILE",
+  "WRITE",
+  "WRITERETURN",
+  "READ",
+  "TRUE",
+  "FALSE",
+  "REAL",
+  "INTEGER",
+  "STRING",
+  "BOOLEAN",
+  "LPAR",
+  "RPAR",
+  "SEMI",
+  "COMMA",
+  "COLON",
+  "ASSIGN",
+  "REF",
+  "DOLLAR",
+  "PLUS",
+  "MINUS",
+  "UMINUS",
+  "TIMES",
+  "DIV",
+  "EQ",
+  "NE",
+  "LT",
+  "LE",
+  "GT",
+  "GE",
+  "AND",
+  "OR",
+  "NOT",
+  "REAL_CONST",
+  "NUMBER_LITERAL",
+  "STRING_LITERAL",
+  "IDENTIFIER",
+  "TYPERETURN",
+  "OUT"
+  };
+}
+
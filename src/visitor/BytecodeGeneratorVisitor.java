@@ -0,0 +1,1071 @@
+package visitor;
+
+import nodes.*;
+import nodes.expr.*;
+import nodes.stat.*;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
+import visitor.utils.CFormat;
+import visitor.utils.Type;
+import vm.BytecodeFunction;
+import vm.BytecodeProgram;
+import vm.Opcode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Traduce un programma che ha superato type checking e constant folding nel bytecode della macchina virtuale
+ * (package vm). Come nell'interprete, ogni variabile riceve un indice (Symbol.setSlot): per le variabili locali
+ * è il registro del tipo corrispondente, per le globali la posizione nel frame globale, per i parametri out
+ * il riferimento. Le espressioni vengono tradotte in registri temporanei, che seguono le variabili e vengono
+ * riutilizzati da un'istruzione all'altra; la visita di un'espressione restituisce il registro che contiene
+ * il valore e ne lascia il tipo in kind. La semantica è quella di InterpreterVisitor e del codice C generato.
+ */
+public class BytecodeGeneratorVisitor implements Visitor<Integer> {
+    private static final Set<String> COMPARISONS = Set.of("=", "!=", "<", "<=", ">", ">=");
+
+    // Funzioni e procedure, nell'ordine degli indici usati da CALL, e il simbolo a cui si riferiscono le chiamate
+    private final List<Routine> routineList = new ArrayList<>();
+    private final Map<Symbol, Routine> routines = new IdentityHashMap<>();
+    private final List<DeclNode> globalDeclarations = new ArrayList<>();
+    private int globalInts, globalReals, globalStrings;
+
+    private final List<Double> realConstants = new ArrayList<>();
+    private final Map<Long, Integer> realConstantIndexes = new HashMap<>();
+    private final List<String> stringConstants = new ArrayList<>();
+    private final Map<String, Integer> stringConstantIndexes = new HashMap<>();
+
+    // Funzione in traduzione: codice prodotto finora, temporanei in uso e numero massimo di temporanei
+    private Routine routine;
+    private int[] code;
+    private int size;
+    private int intTemps, realTemps, stringTemps;
+    private int maxIntTemps, maxRealTemps, maxStringTemps;
+    // Primo registro temporaneo di ogni tipo: segue le variabili e le costanti della funzione
+    private int intBase, realBase, stringBase;
+    // Costanti usate dalla funzione (Integer per interi e booleani, Long con i bit dei reali, String), ciascuna
+    // con un registro caricato una sola volta all'ingresso; in raccolta durante il primo passaggio sul corpo
+    private final Map<Object, Integer> constantRegisters = new LinkedHashMap<>();
+    private boolean collectingConstants;
+    // Posizione del registro di destinazione dell'ultima istruzione, se è l'ultima emessa e nessun salto
+    // vi arriva: un assegnamento a una variabile locale può scrivere lì direttamente invece di copiare
+    private int lastResult = -1;
+    private int lastEnd = -1;
+    // Inizio dell'ultima istruzione emessa
+    private int lastInstruction = -1;
+
+    // Tipo del valore dell'ultima espressione tradotta
+    private Type kind;
+
+    // Funzione o procedura con la disposizione del suo frame
+    private static class Routine {
+        final int index;
+        final BytecodeFunction function;
+        final BodyNode body;
+        final List<Symbol> params = new ArrayList<>();
+        final List<Type> returnTypes;
+        int ints, reals, strings, refs;
+        // Primo riferimento usato per i valori di ritorno, se sono più di uno
+        int returnRefs;
+
+        Routine(int index, String name, BodyNode body, List<Type> returnTypes) {
+            this.index = index;
+            this.function = new BytecodeFunction(name);
+            this.body = body;
+            this.returnTypes = returnTypes;
+        }
+
+        // Assegna alla variabile un registro del suo tipo, o un riferimento se è un parametro out
+        void allocate(Symbol symbol) {
+            symbol.setGlobal(false);
+            if (symbol.isOut()) {
+                symbol.setSlot(refs++);
+                return;
+            }
+            switch (symbol.getType()) {
+                case REAL -> symbol.setSlot(reals++);
+                case STRING -> symbol.setSlot(strings++);
+                default -> symbol.setSlot(ints++);
+            }
+        }
+
+        // Variabili dichiarate nel corpo e nei blocchi annidati, ciascuna con un proprio registro
+        void allocateLocals(BodyNode body) {
+            for (Visitable statement : body.getStatements()) {
+                if (statement instanceof VarDeclNode varDecl) {
+                    for (DeclNode decl : varDecl.getDecls()) {
+                        decl.getSymbols().forEach(this::allocate);
+                    }
+                } else if (statement instanceof IfStatNode ifStat) {
+                    allocateLocals(ifStat.getThenBody());
+                    for (ElifNode elif : ifStat.getElifBlocks()) {
+                        allocateLocals(elif.getBody());
+                    }
+                    if (ifStat.getElseBlock() != null) {
+                        allocateLocals(ifStat.getElseBlock().getBody());
+                    }
+                } else if (statement instanceof WhileStatNode whileStat) {
+                    allocateLocals(whileStat.getBody());
+                }
+            }
+        }
+    }
+
+    public BytecodeProgram generate(ProgramNode program) throws SemanticException {
+        program.accept(this);
+
+        // Le variabili globali vengono inizializzate da una funzione senza variabili proprie
+        Routine initializer = new Routine(-1, "<globali>", null, List.of());
+        constantRegisters.clear();
+        begin(initializer);
+        for (DeclNode decl : globalDeclarations) {
+            decl.accept(this);
+            resetTemps();
+        }
+        end();
+
+        Routine main = routineList.stream()
+                .filter(candidate -> candidate.function.getName().equals("main") && candidate.returnTypes.isEmpty())
+                .findFirst()
+                .orElseThrow(() -> new SemanticException("Non è stata dichiarata una procedura 'main'."));
+        for (Routine function : routineList) {
+            translate(function);
+        }
+
+        double[] reals = realConstants.stream().mapToDouble(Double::doubleValue).toArray();
+        return new BytecodeProgram(routineList.stream().map(function -> function.function).toList(), main.index,
+                initializer.function, reals, stringConstants.toArray(new String[0]),
+                globalInts, globalReals, globalStrings);
+    }
+
+    /*
+     * Il corpo viene tradotto due volte: la prima solo per raccogliere le costanti, a cui la seconda assegna
+     * registri propri dopo le variabili. Le costanti vengono caricate da un prologo in fondo al codice,
+     * da cui parte l'esecuzione, così i cicli non le ricaricano a ogni iterazione.
+     */
+    private void translate(Routine function) throws SemanticException {
+        constantRegisters.clear();
+        collectingConstants = true;
+        begin(function);
+        function.body.accept(this);
+        collectingConstants = false;
+
+        int ints = function.ints, reals = function.reals, strings = function.strings;
+        for (Map.Entry<Object, Integer> constant : constantRegisters.entrySet()) {
+            Object key = constant.getKey();
+            constant.setValue(key instanceof Integer ? ints++ : key instanceof Long ? reals++ : strings++);
+        }
+        begin(function);
+        intBase = ints;
+        realBase = reals;
+        stringBase = strings;
+        function.body.accept(this);
+        end();
+    }
+
+    private void begin(Routine function) {
+        routine = function;
+        code = new int[64];
+        size = 0;
+        lastResult = -1;
+        lastInstruction = -1;
+        resetTemps();
+        maxIntTemps = maxRealTemps = maxStringTemps = 0;
+        intBase = function.ints;
+        realBase = function.reals;
+        stringBase = function.strings;
+    }
+
+    // Chiude la funzione (le procedure possono terminare senza return), aggiunge il prologo che carica
+    // le costanti e fissa il numero di registri
+    private void end() {
+        emit(Opcode.RET);
+        int entry = 0;
+        if (!constantRegisters.isEmpty()) {
+            entry = size;
+            for (Map.Entry<Object, Integer> constant : constantRegisters.entrySet()) {
+                Object key = constant.getKey();
+                if (key instanceof Integer value) {
+                    emit(Opcode.ICONST, constant.getValue(), value);
+                } else if (key instanceof Long bits) {
+                    emit(Opcode.RCONST, constant.getValue(), realConstant(Double.longBitsToDouble(bits)));
+                } else {
+                    emit(Opcode.SCONST, constant.getValue(), stringConstant((String) key));
+                }
+            }
+            emit(Opcode.JUMP, 0);
+        }
+        BytecodeFunction function = routine.function;
+        function.setCode(Arrays.copyOf(code, size));
+        function.setEntry(entry);
+        function.setRegisters(intBase + maxIntTemps, realBase + maxRealTemps, stringBase + maxStringTemps, routine.refs);
+    }
+
+    @Override
+    public Integer visit(ProgramNode node) throws SemanticException {
+        // Disposizione dei frame: variabili globali, poi parametri e variabili locali di ogni funzione e procedura
+        if (node.getItersWithoutProcedure() != null) {
+            node.getItersWithoutProcedure().accept(this);
+        }
+        node.getProcedure().accept(this);
+        if (node.getIters() != null) {
+            node.getIters().accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Integer visit(ItersWithoutProcedureNode node) throws SemanticException {
+        for (IterWithoutProcedureNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Integer visit(IterWithoutProcedureNode node) throws SemanticException {
+        declare(node.getDeclaration());
+        return null;
+    }
+
+    @Override
+    public Integer visit(ItersNode node) throws SemanticException {
+        for (IterNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Integer visit(IterNode node) throws SemanticException {
+        declare(node.getDeclaration());
+        return null;
+    }
+
+    // Dichiarazione globale: le variabili vanno nel frame globale, funzioni e procedure tra le routine
+    private void declare(Visitable declaration) throws SemanticException {
+        if (declaration instanceof VarDeclNode varDecl) {
+            for (DeclNode decl : varDecl.getDecls()) {
+                for (Symbol symbol : decl.getSymbols()) {
+                    symbol.setGlobal(true);
+                    switch (symbol.getType()) {
+                        case REAL -> symbol.setSlot(globalReals++);
+                        case STRING -> symbol.setSlot(globalStrings++);
+                        default -> symbol.setSlot(globalInts++);
+                    }
+                }
+                globalDeclarations.add(decl);
+            }
+        } else {
+            declaration.accept(this);
+        }
+    }
+
+    @Override
+    public Integer visit(VarDeclNode node) throws SemanticException {
+        for (DeclNode decl : node.getDecls()) {
+            decl.accept(this);
+        }
+        return null;
+    }
+
+    // Inizializza le variabili dichiarate: con la costante, se presente, altrimenti a zero o alla stringa vuota
+    @Override
+    public Integer visit(DeclNode node) throws SemanticException {
+        List<Symbol> symbols = node.getSymbols();
+        for (int i = 0; i < symbols.size(); i++) {
+            Symbol symbol = symbols.get(i);
+            Object value = node.getConsts() != null ? node.getConsts().get(i).getValue() : null;
+            Type type = symbol.getType();
+            int register = newRegister(type);
+            switch (type) {
+                case REAL -> emitResult(Opcode.RCONST, register,
+                        realConstant(value instanceof Number number ? number.doubleValue() : 0));
+                case STRING -> emitResult(Opcode.SCONST, register,
+                        stringConstant(value instanceof String string ? CFormat.unescape(string) : ""));
+                case BOOLEAN -> emitResult(Opcode.ICONST, register, Boolean.TRUE.equals(value) ? 1 : 0);
+                default -> emitResult(Opcode.ICONST, register, value instanceof Number number ? number.intValue() : 0);
+            }
+            store(symbol, register, type);
+        }
+        return null;
+    }
+
+    @Override
+    public Integer visit(ConstNode node) throws SemanticException {
+        // Le costanti vengono lette direttamente dalla dichiarazione
+        return null;
+    }
+
+    @Override
+    public Integer visit(FunctionNode node) throws SemanticException {
+        Routine function = new Routine(routineList.size(), node.getName(), node.getBody(), node.getReturnTypes());
+        if (node.getParams() != null) {
+            for (ParamNode param : node.getParams().getParams()) {
+                Symbol symbol = node.getScope().lookup(param.getName());
+                function.allocate(symbol);
+                function.params.add(symbol);
+            }
+        }
+        function.returnRefs = function.refs;
+        if (node.getReturnTypes().size() > 1) {
+            function.refs += node.getReturnTypes().size();
+        }
+        function.allocateLocals(node.getBody());
+        routineList.add(function);
+        routines.put(node.getScope().getParent().lookup(node.getName()), function);
+        return null;
+    }
+
+    @Override
+    public Integer visit(FuncParamsNode node) throws SemanticException {
+        // Parametri già disposti nel frame dalla visita della funzione
+        return null;
+    }
+
+    @Override
+    public Integer visit(ParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Integer visit(ProcedureNode node) throws SemanticException {
+        Routine procedure = new Routine(routineList.size(), node.getName(), node.getBody(), List.of());
+        if (node.getParams() != null) {
+            for (ProcParamNode param : node.getParams().getParams()) {
+                Symbol symbol = node.getScope().lookup(param.getName());
+                procedure.allocate(symbol);
+                procedure.params.add(symbol);
+            }
+        }
+        procedure.returnRefs = procedure.refs;
+        procedure.allocateLocals(node.getBody());
+        routineList.add(procedure);
+        routines.put(node.getScope().getParent().lookup(node.getName()), procedure);
+        return null;
+    }
+
+    @Override
+    public Integer visit(ProcParamsNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Integer visit(ProcParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Integer visit(BodyNode node) throws SemanticException {
+        // Come nel codice C, le variabili del blocco vengono inizializzate prima delle istruzioni
+        List<Visitable> statements = node.getStatements();
+        for (Visitable statement : statements) {
+            if (statement instanceof VarDeclNode) {
+                statement.accept(this);
+                resetTemps();
+            }
+        }
+        for (Visitable statement : statements) {
+            if (statement instanceof VarDeclNode) {
+                continue;
+            }
+            statement.accept(this);
+            // I temporanei non sopravvivono all'istruzione che li usa
+            resetTemps();
+        }
+        return null;
+    }
+
+    @Override
+    public Integer visit(AssignStatNode node) throws SemanticException {
+        List<Symbol> symbols = node.getSymbols();
+        int idIndex = 0;
+        for (ExprNode expr : node.getExprs()) {
+            if (expr instanceof FunCallNode funCall && funCall.getReturnTypes().size() > 1) {
+                // I valori di ritorno vengono scritti direttamente nelle variabili assegnate
+                call(funCall, symbols, idIndex);
+                idIndex += funCall.getReturnTypes().size();
+            } else {
+                int register = expr.accept(this);
+                store(symbols.get(idIndex++), register, kind);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Integer visit(ProcCallStatNode node) throws SemanticException {
+        node.getProcCall().accept(this);
+        return null;
+    }
+
+    @Override
+    public Integer visit(ReturnStatNode node) throws SemanticException {
+        List<ExprNode> exprs = node.getExprs();
+        if (exprs.size() == 1 && routine.returnTypes.size() == 1) {
+            Type type = routine.returnTypes.get(0);
+            int register = convert(exprs.get(0).accept(this), kind, type);
+            emit(select(type, Opcode.IRET, Opcode.RRET, Opcode.SRET), register);
+            return null;
+        }
+        for (int i = 0; i < exprs.size(); i++) {
+            Type type = routine.returnTypes.get(i);
+            int register = convert(exprs.get(i).accept(this), kind, type);
+            emit(select(type, Opcode.IRSTORE, Opcode.RRSTORE, Opcode.SRSTORE), routine.returnRefs + i, register);
+        }
+        emit(Opcode.RET);
+        return null;
+    }
+
+    @Override
+    public Integer visit(WriteStatNode node) throws SemanticException {
+        write(node.getArgs());
+        return null;
+    }
+
+    @Override
+    public Integer visit(WriteReturnStatNode node) throws SemanticException {
+        write(node.getArgs());
+        emit(Opcode.NEWLINE);
+        return null;
+    }
+
+    // Come la printf del codice C, tutti gli argomenti vengono valutati nei registri prima di stampare il primo
+    private void write(List<IOArgNode> args) throws SemanticException {
+        int[] registers = new int[args.size()];
+        Type[] kinds = new Type[args.size()];
+        for (int i = 0; i < args.size(); i++) {
+            IOArgNode arg = args.get(i);
+            if (!(arg instanceof IOArgStringLiteralNode)) {
+                registers[i] = convert(arg.accept(this), kind, declaredType(arg));
+                kinds[i] = kind;
+            }
+        }
+        for (int i = 0; i < args.size(); i++) {
+            if (args.get(i) instanceof IOArgStringLiteralNode literal) {
+                emit(Opcode.PRINTK, stringConstant(CFormat.printfLiteral(literal.getValue())));
+            } else {
+                emit(select(kinds[i], Opcode.PRINTI, Opcode.PRINTR, Opcode.PRINTS), registers[i]);
+            }
+        }
+    }
+
+    // Tipo con cui il codice C stampa l'argomento (il formato di printf)
+    private Type declaredType(IOArgNode arg) {
+        Type type = null;
+        if (arg instanceof DollarExprNode dollar) {
+            type = dollar.getExpr() instanceof FunCallNode funCall ? funCall.getReturnTypes().get(0) : dollar.getExpr().getType();
+        } else if (arg instanceof IOArgIdentifierNode identifier) {
+            type = identifier.getSymbol().getType();
+        } else if (arg instanceof IOArgBinaryNode binary) {
+            type = binary.getType();
+        }
+        return type != null ? type : kind;
+    }
+
+    @Override
+    public Integer visit(ReadStatNode node) throws SemanticException {
+        for (IOArgNode arg : node.getArgs()) {
+            if (arg instanceof IOArgStringLiteralNode literal) {
+                emit(Opcode.PRINTK, stringConstant(CFormat.printfLiteral(literal.getValue())));
+            } else if (arg instanceof DollarExprNode dollar && dollar.getExpr() instanceof IdentifierNode identifier) {
+                // La lettura parte dal valore attuale, che resta se l'input non contiene un valore valido
+                Symbol symbol = identifier.getSymbol();
+                Type type = symbol.getType();
+                int register = load(symbol);
+                emit(select(type, Opcode.READI, Opcode.READR, Opcode.READS), register);
+                store(symbol, register, type);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Integer visit(IfStatNode node) throws SemanticException {
+        List<Integer> exits = new ArrayList<>();
+        List<Integer> next = jumpIf(node.getCondition(), false);
+        node.getThenBody().accept(this);
+        for (ElifNode elif : node.getElifBlocks()) {
+            exitUnlessReturned(exits);
+            bind(next);
+            next = jumpIf(elif.getCondition(), false);
+            elif.getBody().accept(this);
+        }
+        if (node.getElseBlock() != null) {
+            exitUnlessReturned(exits);
+            bind(next);
+            node.getElseBlock().getBody().accept(this);
+        } else {
+            bind(next);
+        }
+        bind(exits);
+        return null;
+    }
+
+    // Salto all'uscita dell'if alla fine di un ramo, superfluo se il ramo termina con un return
+    private void exitUnlessReturned(List<Integer> exits) {
+        int opcode = lastInstruction >= 0 ? code[lastInstruction] : -1;
+        if (opcode != Opcode.RET && opcode != Opcode.IRET && opcode != Opcode.RRET && opcode != Opcode.SRET) {
+            exits.add(jump());
+        }
+    }
+
+    // Il test è ripetuto in fondo al ciclo, così ogni iterazione esegue un solo salto
+    @Override
+    public Integer visit(WhileStatNode node) throws SemanticException {
+        List<Integer> exit = jumpIf(node.getCondition(), false);
+        int top = size;
+        lastResult = -1;
+        node.getBody().accept(this);
+        resetTemps();
+        for (int target : jumpIf(node.getCondition(), true)) {
+            code[target] = top;
+        }
+        bind(exit);
+        return null;
+    }
+
+    @Override
+    public Integer visit(FunCallNode node) throws SemanticException {
+        call(node, null, 0);
+        kind = node.getReturnTypes().get(0);
+        int register = newRegister(kind);
+        emitResult(select(kind, Opcode.IRESULT, Opcode.RRESULT, Opcode.SRESULT), register);
+        return register;
+    }
+
+    // Chiama la funzione; con più valori di ritorno questi vengono scritti nelle variabili targets[first...]
+    private void call(FunCallNode node, List<Symbol> targets, int first) throws SemanticException {
+        Routine callee = routines.get(node.getSymbol());
+        List<ExprNode> args = node.getArguments();
+        List<Integer> operands = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            Symbol param = callee.params.get(i);
+            int register = convert(args.get(i).accept(this), kind, param.getType());
+            addOperand(operands, select(param.getType(), Opcode.INT, Opcode.REAL, Opcode.STRING), register, param.getSlot());
+        }
+        if (targets != null) {
+            for (int i = 0; i < callee.returnTypes.size(); i++) {
+                addReference(operands, targets.get(first + i), callee.returnRefs + i);
+            }
+        }
+        emitCall(callee, operands);
+    }
+
+    @Override
+    public Integer visit(ProcCallNode node) throws SemanticException {
+        Routine callee = routines.get(node.getSymbol());
+        List<ProcExprNode> args = node.getArguments();
+        List<Integer> operands = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            ProcExprNode arg = args.get(i);
+            Symbol param = callee.params.get(i);
+            if (param.isOut()) {
+                // Passaggio per riferimento: il parametro punta alla variabile del chiamante
+                addReference(operands, ((IdentifierNode) arg.getExpr()).getSymbol(), param.getSlot());
+            } else {
+                int register = convert(arg.getExpr().accept(this), kind, param.getType());
+                addOperand(operands, select(param.getType(), Opcode.INT, Opcode.REAL, Opcode.STRING), register, param.getSlot());
+            }
+        }
+        emitCall(callee, operands);
+        return null;
+    }
+
+    // Argomento che lega il riferimento ref della funzione chiamata alla variabile del chiamante
+    private void addReference(List<Integer> operands, Symbol variable, int ref) {
+        int mode;
+        if (variable.isOut()) {
+            mode = Opcode.FORWARD;
+        } else if (variable.isGlobal()) {
+            mode = select(variable.getType(), Opcode.GLOBAL_INT, Opcode.GLOBAL_REAL, Opcode.GLOBAL_STRING);
+        } else {
+            mode = select(variable.getType(), Opcode.REF_INT, Opcode.REF_REAL, Opcode.REF_STRING);
+        }
+        addOperand(operands, mode, variable.getSlot(), ref);
+    }
+
+    private static void addOperand(List<Integer> operands, int mode, int source, int target) {
+        operands.add(mode);
+        operands.add(source);
+        operands.add(target);
+    }
+
+    private void emitCall(Routine callee, List<Integer> operands) {
+        int[] instruction = new int[3 + operands.size()];
+        instruction[0] = Opcode.CALL;
+        instruction[1] = callee.index;
+        instruction[2] = operands.size() / 3;
+        for (int i = 0; i < operands.size(); i++) {
+            instruction[3 + i] = operands.get(i);
+        }
+        emit(instruction);
+    }
+
+    @Override
+    public Integer visit(ElifNode node) throws SemanticException {
+        // Gestito da IfStatNode
+        return null;
+    }
+
+    @Override
+    public Integer visit(ElseNode node) throws SemanticException {
+        // Gestito da IfStatNode
+        return null;
+    }
+
+    @Override
+    public Integer visit(IOArgIdentifierNode node) throws SemanticException {
+        return load(node.getSymbol());
+    }
+
+    @Override
+    public Integer visit(IOArgStringLiteralNode node) throws SemanticException {
+        return constant(Type.STRING, CFormat.unescape(node.getValue()));
+    }
+
+    @Override
+    public Integer visit(IOArgBinaryNode node) throws SemanticException {
+        int left = node.getLeft().accept(this);
+        if (kind == Type.STRING) {
+            int right = node.getRight().accept(this);
+            int result = newRegister(Type.STRING);
+            emitResult(Opcode.CONCAT, result, 2, Opcode.STRING, left, Opcode.STRING, right);
+            kind = Type.STRING;
+            return result;
+        }
+        int right = node.getRight().accept(this);
+        int result = newRegister(Type.INTEGER);
+        emitResult(Opcode.IADD, result, left, right);
+        kind = Type.INTEGER;
+        return result;
+    }
+
+    @Override
+    public Integer visit(DollarExprNode node) throws SemanticException {
+        return node.getExpr().accept(this);
+    }
+
+    @Override
+    public Integer visit(ProcExprNode node) throws SemanticException {
+        return node.getExpr().accept(this);
+    }
+
+    @Override
+    public Integer visit(RealConstNode node) throws SemanticException {
+        return constant(Type.REAL, node.getValue());
+    }
+
+    @Override
+    public Integer visit(IntConstNode node) throws SemanticException {
+        return constant(Type.INTEGER, node.getValue());
+    }
+
+    @Override
+    public Integer visit(StringConstNode node) throws SemanticException {
+        return constant(Type.STRING, CFormat.unescape(node.getValue()));
+    }
+
+    @Override
+    public Integer visit(IdentifierNode node) throws SemanticException {
+        return load(node.getSymbol());
+    }
+
+    @Override
+    public Integer visit(BooleanConstNode node) throws SemanticException {
+        return constant(Type.BOOLEAN, node.getValue());
+    }
+
+    @Override
+    public Integer visit(BinaryExprNode node) throws SemanticException {
+        String operator = node.getOperator();
+        if (operator.equals("and") || operator.equals("or")) {
+            // Valutazione cortocircuitata, come una condizione che sceglie tra 1 e 0
+            int result = newRegister(Type.BOOLEAN);
+            List<Integer> isFalse = jumpIf(node, false);
+            emit(Opcode.ICONST, result, 1);
+            int exit = jump();
+            bind(isFalse);
+            emit(Opcode.ICONST, result, 0);
+            bind(List.of(exit));
+            kind = Type.BOOLEAN;
+            return result;
+        }
+        if (isConcatenation(node)) {
+            List<Integer> operands = new ArrayList<>();
+            appendOperands(node, operands);
+            int[] instruction = new int[3 + operands.size()];
+            int result = newRegister(Type.STRING);
+            instruction[0] = Opcode.CONCAT;
+            instruction[1] = result;
+            instruction[2] = operands.size() / 2;
+            for (int i = 0; i < operands.size(); i++) {
+                instruction[3 + i] = operands.get(i);
+            }
+            emitResult(instruction);
+            kind = Type.STRING;
+            return result;
+        }
+
+        int left = node.getLeft().accept(this);
+        Type leftKind = kind;
+        if (isInteger(leftKind) && node.getRight() instanceof IntConstNode constant
+                && (operator.equals("+") || operator.equals("-"))) {
+            // Somma con una costante intera in un'unica istruzione, come i contatori dei cicli
+            int result = newRegister(Type.INTEGER);
+            emitResult(Opcode.IADDI, result, left, operator.equals("+") ? constant.getValue() : -constant.getValue());
+            kind = Type.INTEGER;
+            return result;
+        }
+        int right = node.getRight().accept(this);
+        int result = binary(operator, left, leftKind, right, kind);
+        // La divisione tra interi tronca come in C, ma il risultato ha tipo REAL
+        return operator.equals("/") ? convert(result, kind, node.getType()) : result;
+    }
+
+    // Operazione tra due valori già nei registri, con l'aritmetica del tipo più ampio tra i due
+    private int binary(String operator, int left, Type leftKind, int right, Type rightKind) throws SemanticException {
+        if (leftKind == Type.STRING || rightKind == Type.STRING) {
+            if (leftKind != rightKind) {
+                throw new SemanticException("Operatore non supportato tra stringhe e numeri: " + operator);
+            }
+            int result = newRegister(Type.BOOLEAN);
+            emitResult(comparison(operator, Opcode.SEQ), result, left, right);
+            kind = Type.BOOLEAN;
+            return result;
+        }
+        if (leftKind == Type.REAL || rightKind == Type.REAL) {
+            left = convert(left, leftKind, Type.REAL);
+            right = convert(right, rightKind, Type.REAL);
+            int opcode = switch (operator) {
+                case "+" -> Opcode.RADD;
+                case "-" -> Opcode.RSUB;
+                case "*" -> Opcode.RMUL;
+                case "/" -> Opcode.RDIV;
+                default -> -1;
+            };
+            if (opcode >= 0) {
+                int result = newRegister(Type.REAL);
+                emitResult(opcode, result, left, right);
+                kind = Type.REAL;
+                return result;
+            }
+            int result = newRegister(Type.BOOLEAN);
+            emitResult(comparison(operator, Opcode.REQ), result, left, right);
+            kind = Type.BOOLEAN;
+            return result;
+        }
+        // Interi e booleani, con l'aritmetica degli int del C
+        int opcode = switch (operator) {
+            case "+" -> Opcode.IADD;
+            case "-" -> Opcode.ISUB;
+            case "*" -> Opcode.IMUL;
+            case "/" -> Opcode.IDIV;
+            default -> -1;
+        };
+        if (opcode >= 0) {
+            int result = newRegister(Type.INTEGER);
+            emitResult(opcode, result, left, right);
+            kind = Type.INTEGER;
+            return result;
+        }
+        int result = newRegister(Type.BOOLEAN);
+        emitResult(comparison(operator, Opcode.IEQ), result, left, right);
+        kind = Type.BOOLEAN;
+        return result;
+    }
+
+    // Opcode del confronto a partire dal primo della serie EQ, NE, LT, LE, GT, GE del tipo
+    private static int comparison(String operator, int first) throws SemanticException {
+        return first + switch (operator) {
+            case "=" -> 0;
+            case "!=" -> 1;
+            case "<" -> 2;
+            case "<=" -> 3;
+            case ">" -> 4;
+            case ">=" -> 5;
+            default -> throw new SemanticException("Operatore non supportato: " + operator);
+        };
+    }
+
+    // Come in CodeGeneratorVisitor: "+" con almeno un operando di tipo stringa
+    private boolean isConcatenation(ExprNode expr) {
+        return expr instanceof BinaryExprNode binary && binary.getOperator().equals("+")
+                && (operandType(binary.getLeft()) == Type.STRING || operandType(binary.getRight()) == Type.STRING);
+    }
+
+    private Type operandType(ExprNode expr) {
+        if (expr instanceof FunCallNode funCall && funCall.getReturnTypes() != null && funCall.getReturnTypes().size() == 1) {
+            return funCall.getReturnTypes().get(0);
+        }
+        return expr.getType();
+    }
+
+    // Operandi (tipo, registro) della catena di concatenazioni, formattati come in toy_str_format
+    private void appendOperands(ExprNode expr, List<Integer> operands) throws SemanticException {
+        if (isConcatenation(expr)) {
+            BinaryExprNode binary = (BinaryExprNode) expr;
+            appendOperands(binary.getLeft(), operands);
+            appendOperands(binary.getRight(), operands);
+            return;
+        }
+        Type type = operandType(expr);
+        if (type != Type.STRING && type != Type.INTEGER && type != Type.REAL) {
+            throw new SemanticException("Unsupported type for conversion to string: " + type);
+        }
+        int register = convert(expr.accept(this), kind, type);
+        operands.add(select(kind, Opcode.INT, Opcode.REAL, Opcode.STRING));
+        operands.add(register);
+    }
+
+    @Override
+    public Integer visit(UnaryExprNode node) throws SemanticException {
+        switch (node.getOperator()) {
+            case "uminus" -> {
+                int operand = node.getExpr().accept(this);
+                if (kind == Type.REAL) {
+                    int result = newRegister(Type.REAL);
+                    emitResult(Opcode.RNEG, result, operand);
+                    return result;
+                }
+                int result = newRegister(Type.INTEGER);
+                emitResult(Opcode.INEG, result, operand);
+                kind = Type.INTEGER;
+                return result;
+            }
+            case "not" -> {
+                int operand = truth(node.getExpr());
+                int result = newRegister(Type.BOOLEAN);
+                emitResult(Opcode.NOT, result, operand);
+                kind = Type.BOOLEAN;
+                return result;
+            }
+            default -> throw new SemanticException("Unrecognized unary operator: " + node.getOperator());
+        }
+    }
+
+    /*
+     * Traduce la condizione in salti eseguiti quando vale when; restituisce le posizioni degli indirizzi
+     * da completare con la destinazione. and e or vengono cortocircuitati e i confronti tra interi
+     * diventano un'unica istruzione di confronto e salto.
+     */
+    private List<Integer> jumpIf(ExprNode condition, boolean when) throws SemanticException {
+        if (condition instanceof BinaryExprNode binary) {
+            String operator = binary.getOperator();
+            if (operator.equals("and") || operator.equals("or")) {
+                // Con "and" basta un operando falso per saltare se la condizione è falsa, con "or" uno vero
+                boolean decisive = operator.equals("or");
+                if (when == decisive) {
+                    List<Integer> jumps = jumpIf(binary.getLeft(), when);
+                    jumps.addAll(jumpIf(binary.getRight(), when));
+                    return jumps;
+                }
+                List<Integer> skip = jumpIf(binary.getLeft(), decisive);
+                List<Integer> jumps = jumpIf(binary.getRight(), when);
+                bind(skip);
+                return jumps;
+            }
+            if (COMPARISONS.contains(operator)) {
+                int left = binary.getLeft().accept(this);
+                Type leftKind = kind;
+                int right = binary.getRight().accept(this);
+                if (isInteger(leftKind) && isInteger(kind)) {
+                    int opcode = comparison(operator, Opcode.IJEQ);
+                    if (!when) {
+                        // Tra interi la negazione di un confronto è il confronto opposto
+                        opcode = Opcode.IJEQ + new int[]{1, 0, 5, 4, 3, 2}[opcode - Opcode.IJEQ];
+                    }
+                    emit(opcode, left, right, -1);
+                } else {
+                    emit(when ? Opcode.JNZ : Opcode.JZ, binary(operator, left, leftKind, right, kind), -1);
+                }
+                return new ArrayList<>(List.of(size - 1));
+            }
+        }
+        int register = truth(condition);
+        emit(when ? Opcode.JNZ : Opcode.JZ, register, -1);
+        return new ArrayList<>(List.of(size - 1));
+    }
+
+    // Registro intero diverso da zero se la condizione è vera
+    private int truth(ExprNode condition) throws SemanticException {
+        int register = condition.accept(this);
+        if (kind != Type.REAL) {
+            return register;
+        }
+        int zero = constant(Type.REAL, 0.0);
+        int result = newRegister(Type.BOOLEAN);
+        emitResult(Opcode.RNE, result, register, zero);
+        kind = Type.BOOLEAN;
+        return result;
+    }
+
+    // Converte il valore nel tipo indicato, come l'assegnamento in C; kind diventa il tipo del risultato
+    private int convert(int register, Type from, Type to) {
+        kind = from;
+        if (to == Type.REAL && from != Type.REAL) {
+            int result = newRegister(Type.REAL);
+            emitResult(Opcode.I2R, result, register);
+            kind = Type.REAL;
+            return result;
+        }
+        if ((to == Type.INTEGER || to == Type.BOOLEAN) && from == Type.REAL) {
+            int result = newRegister(Type.INTEGER);
+            emitResult(Opcode.R2I, result, register);
+            kind = Type.INTEGER;
+            return result;
+        }
+        return register;
+    }
+
+    private int constant(Type type, Object value) {
+        Object key = switch (type) {
+            case REAL -> Double.doubleToRawLongBits(((Number) value).doubleValue());
+            case STRING -> value;
+            case BOOLEAN -> Boolean.TRUE.equals(value) ? 1 : 0;
+            default -> ((Number) value).intValue();
+        };
+        kind = type;
+        if (!collectingConstants && constantRegisters.containsKey(key)) {
+            return constantRegisters.get(key);
+        }
+        if (collectingConstants) {
+            constantRegisters.put(key, -1);
+        }
+        int register = newRegister(type);
+        switch (type) {
+            case REAL -> emitResult(Opcode.RCONST, register, realConstant(((Number) value).doubleValue()));
+            case STRING -> emitResult(Opcode.SCONST, register, stringConstant((String) value));
+            default -> emitResult(Opcode.ICONST, register, (Integer) key);
+        }
+        return register;
+    }
+
+    // Registro che contiene la variabile: le variabili locali vengono usate direttamente, le altre caricate
+    private int load(Symbol symbol) {
+        Type type = symbol.getType();
+        kind = type;
+        if (!symbol.isOut() && !symbol.isGlobal()) {
+            return symbol.getSlot();
+        }
+        int register = newRegister(type);
+        if (symbol.isOut()) {
+            emitResult(select(type, Opcode.IRLOAD, Opcode.RRLOAD, Opcode.SRLOAD), register, symbol.getSlot());
+        } else {
+            emitResult(select(type, Opcode.IGLOAD, Opcode.RGLOAD, Opcode.SGLOAD), register, symbol.getSlot());
+        }
+        kind = type;
+        return register;
+    }
+
+    // Scrive il valore, convertito nel tipo della variabile
+    private void store(Symbol symbol, int register, Type from) {
+        Type type = symbol.getType();
+        register = convert(register, from, type);
+        if (symbol.isOut()) {
+            emit(select(type, Opcode.IRSTORE, Opcode.RRSTORE, Opcode.SRSTORE), symbol.getSlot(), register);
+        } else if (symbol.isGlobal()) {
+            emit(select(type, Opcode.IGSTORE, Opcode.RGSTORE, Opcode.SGSTORE), symbol.getSlot(), register);
+        } else if (register != symbol.getSlot()) {
+            if (lastResult >= 0 && lastEnd == size && code[lastResult] == register && isTemp(register, type)) {
+                // L'istruzione che ha calcolato il valore scrive direttamente nella variabile
+                code[lastResult] = symbol.getSlot();
+            } else {
+                emit(select(type, Opcode.IMOVE, Opcode.RMOVE, Opcode.SMOVE), symbol.getSlot(), register);
+            }
+        }
+    }
+
+    private static boolean isInteger(Type type) {
+        return type == Type.INTEGER || type == Type.BOOLEAN;
+    }
+
+    // Opcode (o modo di passaggio) per interi e booleani, reali o stringhe
+    private static int select(Type type, int forInt, int forReal, int forString) {
+        return switch (type) {
+            case REAL -> forReal;
+            case STRING -> forString;
+            default -> forInt;
+        };
+    }
+
+    private int newRegister(Type type) {
+        switch (type) {
+            case REAL -> {
+                maxRealTemps = Math.max(maxRealTemps, realTemps + 1);
+                return realBase + realTemps++;
+            }
+            case STRING -> {
+                maxStringTemps = Math.max(maxStringTemps, stringTemps + 1);
+                return stringBase + stringTemps++;
+            }
+            default -> {
+                maxIntTemps = Math.max(maxIntTemps, intTemps + 1);
+                return intBase + intTemps++;
+            }
+        }
+    }
+
+    private boolean isTemp(int register, Type type) {
+        return register >= select(type, intBase, realBase, stringBase);
+    }
+
+    private void resetTemps() {
+        intTemps = realTemps = stringTemps = 0;
+    }
+
+    private void emit(int... instruction) {
+        if (size + instruction.length > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length * 2, size + instruction.length));
+        }
+        System.arraycopy(instruction, 0, code, size, instruction.length);
+        lastInstruction = size;
+        size += instruction.length;
+    }
+
+    // Istruzione il cui primo operando è il registro di destinazione
+    private void emitResult(int... instruction) {
+        emit(instruction);
+        lastResult = size - instruction.length + 1;
+        lastEnd = size;
+    }
+
+    // Salto incondizionato; restituisce la posizione dell'indirizzo da completare
+    private int jump() {
+        emit(Opcode.JUMP, -1);
+        return size - 1;
+    }
+
+    // Completa i salti con l'indirizzo della prossima istruzione
+    private void bind(List<Integer> jumps) {
+        for (int target : jumps) {
+            code[target] = size;
+        }
+        lastResult = -1;
+        if (!jumps.isEmpty()) {
+            // La prossima istruzione è raggiungibile anche con un salto
+            lastInstruction = -1;
+        }
+    }
+
+    private int realConstant(double value) {
+        return realConstantIndexes.computeIfAbsent(Double.doubleToRawLongBits(value), bits -> {
+            realConstants.add(value);
+            return realConstants.size() - 1;
+        });
+    }
+
+    private int stringConstant(String value) {
+        return stringConstantIndexes.computeIfAbsent(value, key -> {
+            stringConstants.add(value);
+            return stringConstants.size() - 1;
+        });
+    }
+}
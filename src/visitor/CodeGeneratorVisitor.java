@@ -4,12 +4,17 @@ import nodes.*;
 import nodes.stat.*;
 import nodes.expr.*;
 import visitor.exception.SemanticException;
+import visitor.utils.CRuntime;
+import visitor.utils.CodeSink;
+import visitor.utils.LineMap;
+import visitor.utils.SourceMapSink;
 import visitor.utils.Type;
 
 import java.util.*;
 
 public class CodeGeneratorVisitor implements Visitor<Object> {
-    private StringBuilder code;
+    private CodeSink code;
+    private final StringBuilder buffer;
     private int indentLevel;
     private int tempVarCounter = 0;
     private List<String> functionPrototypes = new ArrayList<>();
@@ -18,9 +23,42 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
     private List<String> globalInitializations = new ArrayList<>();
     private List<String> globalDeallocations = new ArrayList<>();
     private boolean isGlobalScope = true;
-
+    // Stringhe temporanee allocate dalle concatenazioni dell'istruzione corrente e non ancora liberate
+    private final List<String> liveTemps = new ArrayList<>();
+    // Stringhe possedute dai blocchi aperti della funzione corrente, da liberare all'uscita dal blocco
+    private final Deque<List<String>> ownedStrings = new ArrayDeque<>();
+    // Sink che riporta il codice al sorgente Toy2 con le direttive #line, se richiesto
+    private final SourceMapSink sourceMap;
+    private final LineMap lineMap;
+    // Offset nel sorgente del costrutto che si sta generando (-1 se nessuno) e di quelli che lo contengono
+    private int sourceOffset = -1;
+    private final Deque<Integer> enclosingOffsets = new ArrayDeque<>();
+
+    // Il codice viene accumulato in memoria e restituito da getCode()
     public CodeGeneratorVisitor() {
-        this.code = new StringBuilder();
+        this.buffer = new StringBuilder();
+        this.code = new CodeSink(buffer);
+        this.sourceMap = null;
+        this.lineMap = null;
+        this.indentLevel = 0;
+    }
+
+    // Il codice viene scritto direttamente sul sink, senza essere mantenuto in memoria
+    public CodeGeneratorVisitor(CodeSink sink) {
+        this.buffer = null;
+        this.code = sink;
+        this.sourceMap = null;
+        this.lineMap = null;
+        this.indentLevel = 0;
+    }
+
+    // Come sopra, con le direttive #line e la source map che riportano ogni riga al sorgente Toy2;
+    // lineMap converte le posizioni dei nodi in linea e colonna
+    public CodeGeneratorVisitor(SourceMapSink sink, LineMap lineMap) {
+        this.buffer = null;
+        this.code = sink;
+        this.sourceMap = sink;
+        this.lineMap = lineMap;
         this.indentLevel = 0;
     }
 
@@ -39,44 +77,87 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         }
     }
 
-    // Getter for the generated code
+    // Getter for the generated code (solo se il codice è accumulato in memoria)
     public String getCode() {
-        return code.toString();
+        if (buffer == null) {
+            throw new IllegalStateException("Il codice generato è stato scritto sul sink e non è disponibile in memoria");
+        }
+        return buffer.toString();
+    }
+
+    // Il codice generato fino al corrispondente exitSource proviene dal nodo (solo con la source map)
+    private void enterSource(Visitable node) {
+        if (sourceMap == null) {
+            return;
+        }
+        enclosingOffsets.push(sourceOffset);
+        if (node instanceof AstNode astNode && astNode.hasSpan()) {
+            moveTo(astNode.getStart());
+        }
+    }
+
+    private void exitSource() {
+        if (sourceMap != null) {
+            moveTo(enclosingOffsets.pop());
+        }
+    }
+
+    private void moveTo(int offset) {
+        sourceOffset = offset;
+        if (offset < 0) {
+            sourceMap.setPosition(0, 0);
+        } else {
+            sourceMap.setPosition(lineMap.line(offset), lineMap.column(offset));
+        }
     }
 
     private String getNextTempVar() {
         return "tmp_" + (tempVarCounter++);
     }
 
-    private void addGlobalInitialization(String id, String constantValue, boolean hasValue) {
-        StringBuilder initCode = new StringBuilder();
+    // Libera le stringhe temporanee dell'istruzione corrente
+    private void freeTemps() {
+        for (String temp : liveTemps) {
+            indent();
+            code.append("toy_str_free(").append(temp).append(");\n");
+        }
+        liveTemps.clear();
+    }
+
+    // Se la condizione ha allocato stringhe temporanee, ne salva il valore e le libera prima di usarla
+    private String materializeCondition(String condition) {
+        if (liveTemps.isEmpty()) {
+            return condition;
+        }
+        String conditionVar = getNextTempVar();
+        indent();
+        code.append("bool ").append(conditionVar).append(" = ").append(condition).append(";\n");
+        freeTemps();
+        return conditionVar;
+    }
+
+    // Genera l'espressione raccogliendo a parte il codice che la precede (allocazione delle temporanee)
+    private String acceptCapturing(ExprNode expr, StringBuilder captured) throws SemanticException {
+        CodeSink sink = code;
+        code = new CodeSink(captured);
+        try {
+            return (String) expr.accept(this);
+        } finally {
+            code = sink;
+        }
+    }
 
+    private void addGlobalInitialization(String id, String constantValue, boolean hasValue) {
         if (hasValue) {
             // Inizializzazione con valore
-            initCode.append(id).append(" = malloc(strlen(").append(constantValue).append(") + 1);\n");
-            initCode.append("    if (!").append(id).append(") {\n");
-            initCode.append("        fprintf(stderr, \"Errore: allocazione fallita\\n\");\n");
-            initCode.append("        exit(1);\n");
-            initCode.append("    }\n");
-            initCode.append("    strcpy(").append(id).append(", ").append(constantValue).append(");");
+            globalInitializations.add(id + " = toy_str_from_literal(" + constantValue + ");");
         } else {
-            // Inizializzazione senza valore (allocazione standard)
-            initCode.append(id).append(" = malloc(sizeof(char) * 256);\n");
-            initCode.append("    if (!").append(id).append(") {\n");
-            initCode.append("        fprintf(stderr, \"Errore: allocazione fallita\\n\");\n");
-            initCode.append("        exit(1);\n");
-            initCode.append("    }\n");
-            initCode.append("    strcpy(").append(id).append(", \"\");");
+            // Inizializzazione senza valore: stringa vuota
+            globalInitializations.add(id + " = toy_str_new(\"\", 0);");
         }
 
-        globalInitializations.add(initCode.toString());
-
         // Aggiungi il codice per la deallocazione
-        String deallocCode = "if (" + id + ") {\n";
-        deallocCode += "        free(" + id + ");\n";
-        deallocCode += "        " + id + " = NULL;\n";
-        deallocCode += "    }";
-        globalDeallocations.add(deallocCode);
+        globalDeallocations.add("toy_str_free(" + id + ");\n    " + id + " = NULL;");
     }
 
     @Override
@@ -86,7 +167,10 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         code.append("#include <stdlib.h>\n");
         code.append("#include <stdbool.h>\n");
         code.append("#include <string.h>\n");
+        code.append("#include <stdarg.h>\n");
+        code.append("#include <ctype.h>\n");
         code.append("\n");
+        code.append(CRuntime.STRINGS);
 
         // Rileva e raccogli tutte le dichiarazioni globali
         if (node.getItersWithoutProcedure() != null) {
@@ -99,7 +183,9 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
 
         // Genera il codice per le dichiarazioni globali
         for (DeclNode globalDecl : globalDeclarations) {
+            enterSource(globalDecl);
             globalDecl.accept(this); // Genera il codice per ogni dichiarazione globale
+            exitSource();
         }
         isGlobalScope = false;
 
@@ -134,7 +220,8 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
             node.getIters().accept(this);
         }
 
-        return code.toString();
+        code.flush();
+        return null;
     }
 
     private void generateGlobalInitializationFunction() {
@@ -316,10 +403,10 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
                         // Aggiungi codice per l'inizializzazione globale
                         addGlobalInitialization(id, null, false);
                     } else {
-                        // Dichiarazione locale: alloca immediatamente
+                        // Dichiarazione locale: stringa vuota posseduta dal blocco
                         indent();
-                        code.append("char* ").append(id).append(" = malloc(256 * sizeof(char));\n");
-                        checkAllocation(id);
+                        code.append("char* ").append(id).append(" = toy_str_new(\"\", 0);\n");
+                        ownedStrings.peek().add(id);
                     }
                 } else {
                     if (isGlobalScope) {
@@ -350,10 +437,8 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
                     } else {
                         // Dichiarazione locale con inizializzazione
                         indent();
-                        code.append("char* ").append(id).append(" = malloc(strlen(").append(constantValue).append(") + 1);\n");
-                        checkAllocation(id);
-                        indent();
-                        code.append("strcpy(").append(id).append(", ").append(constantValue).append(");\n");
+                        code.append("char* ").append(id).append(" = toy_str_from_literal(").append(constantValue).append(");\n");
+                        ownedStrings.peek().add(id);
                     }
                 } else {
                     if (isGlobalScope) {
@@ -374,19 +459,6 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         return null;
     }
 
-    private void checkAllocation(String id) {
-        indent();
-        code.append("if (!").append(id).append(") {\n");
-        increaseIndent();
-        indent();
-        code.append("fprintf(stderr, \"Errore: allocazione fallita\\n\");\n");
-        indent();
-        code.append("exit(1);\n");
-        decreaseIndent();
-        indent();
-        code.append("}\n");
-    }
-
     @Override
     public Object visit(ConstNode node) throws SemanticException {
         Object value = node.getValue();
@@ -411,6 +483,7 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
     @Override
     public Object visit(FunctionNode node) throws SemanticException {
         // Function signature
+        enterSource(node);
         functionStack.push(node);
         String returnType = node.getReturnTypes().size() == 1 ? mapType(node.getReturnTypes().get(0)) : "void";
         StringBuilder paramsCode = new StringBuilder();
@@ -429,19 +502,98 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         code.append(returnType).append(" ").append(node.getName()).append("(")
                 .append(paramsCode).append(") {\n");
         increaseIndent();
+        List<String> stringParams = new ArrayList<>();
+        if (node.getParams() != null) {
+            for (ParamNode param : node.getParams().getParams()) {
+                if (param.getType() == Type.STRING) {
+                    stringParams.add(param.getName());
+                }
+            }
+        }
+        copyModifiedParams(stringParams, node.getBody());
 
         // Function body
         if (node.getBody() != null) {
             node.getBody().accept(this);
         }
 
+        releaseOwnedStrings(node.getBody());
         decreaseIndent();
         indent();
         code.append("}\n\n");
         functionStack.pop();
+        exitSource();
         return null; // FunctionNode does not return a value
     }
 
+    // I parametri stringa sono presi in prestito dal chiamante: quelli modificati nel corpo vengono copiati
+    private void copyModifiedParams(List<String> stringParams, BodyNode body) {
+        List<String> copies = new ArrayList<>();
+        Set<String> modified = new HashSet<>();
+        if (body != null) {
+            collectModifiedNames(body, modified);
+        }
+        for (String param : stringParams) {
+            if (modified.contains(param)) {
+                indent();
+                code.append(param).append(" = toy_str_dup(").append(param).append(");\n");
+                copies.add(param);
+            }
+        }
+        ownedStrings.push(copies);
+    }
+
+    // Nomi assegnati, letti da input o passati per riferimento nel corpo e nei blocchi annidati
+    private void collectModifiedNames(BodyNode body, Set<String> names) {
+        for (Visitable statement : body.getStatements()) {
+            if (statement instanceof AssignStatNode assign) {
+                names.addAll(assign.getIds());
+            } else if (statement instanceof ReadStatNode read) {
+                for (IOArgNode arg : read.getArgs()) {
+                    if (arg instanceof DollarExprNode dollar && dollar.getExpr() instanceof IdentifierNode id) {
+                        names.add(id.getName());
+                    }
+                }
+            } else if (statement instanceof ProcCallStatNode call) {
+                for (ProcExprNode arg : call.getProcCall().getArguments()) {
+                    if (arg.isRef() && arg.getExpr() instanceof IdentifierNode id) {
+                        names.add(id.getName());
+                    }
+                }
+            } else if (statement instanceof IfStatNode ifStat) {
+                collectModifiedNames(ifStat.getThenBody(), names);
+                for (ElifNode elif : ifStat.getElifBlocks()) {
+                    collectModifiedNames(elif.getBody(), names);
+                }
+                if (ifStat.getElseBlock() != null) {
+                    collectModifiedNames(ifStat.getElseBlock().getBody(), names);
+                }
+            } else if (statement instanceof WhileStatNode whileStat) {
+                collectModifiedNames(whileStat.getBody(), names);
+            }
+        }
+    }
+
+    // Chiude il blocco corrente liberandone le stringhe, a meno che il corpo non termini con un return
+    private void releaseOwnedStrings(BodyNode body) {
+        List<String> owned = ownedStrings.pop();
+        if (!endsWithReturn(body)) {
+            freeStrings(owned);
+        }
+    }
+
+    private void freeStrings(List<String> strings) {
+        for (String string : strings) {
+            indent();
+            code.append("toy_str_free(").append(string).append(");\n");
+        }
+    }
+
+    private boolean endsWithReturn(BodyNode body) {
+        return body != null && !body.getStatements().isEmpty()
+                && body.getStatements().get(body.getStatements().size() - 1) instanceof ReturnStatNode;
+    }
+
     @Override
     public Object visit(FuncParamsNode node) throws SemanticException {
         // Already handled in getParamsCode
@@ -457,6 +609,7 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
     @Override
     public Object visit(ProcedureNode node) throws SemanticException {
         // Procedure signature (void return type)
+        enterSource(node);
         String paramsCode = "";
         if (node.getParams() != null) {
             paramsCode = getProcParamsCode(node.getParams());
@@ -475,11 +628,21 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
             indent();
             code.append("initialize_globals();\n\n");
         }
+        List<String> stringParams = new ArrayList<>();
+        if (node.getParams() != null) {
+            for (ProcParamNode param : node.getParams().getParams()) {
+                if (param.getType() == Type.STRING && !param.isOut()) {
+                    stringParams.add(param.getName());
+                }
+            }
+        }
+        copyModifiedParams(stringParams, node.getBody());
 
         // Procedure body
         if (node.getBody() != null) {
             node.getBody().accept(this);
         }
+        releaseOwnedStrings(node.getBody());
 
         if (node.getName().equals("main") && !globalInitializations.isEmpty()) {
             // Chiama free_globals prima di uscire
@@ -494,6 +657,7 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         decreaseIndent();
         indent();
         code.append("}\n\n");
+        exitSource();
         return null; // ProcedureNode does not return a value
     }
 
@@ -525,16 +689,26 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
             }
         }
 
+        ownedStrings.push(new ArrayList<>());
+
         // Output variable declarations first
         for (DeclNode decl : varDeclarations) {
+            enterSource(decl);
             decl.accept(this);
+            exitSource();
         }
 
         // Now output other statements
         for (Visitable statement : otherStatements) {
+            enterSource(statement);
             statement.accept(this);
+            // Le temporanee non assegnate a una variabile vengono liberate alla fine dell'istruzione
+            freeTemps();
+            exitSource();
         }
 
+        releaseOwnedStrings(node);
+
         return null; // BodyNode does not return a value
     }
 
@@ -565,11 +739,18 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
                 List<Type> returnTypes = funcCall.getReturnTypes(); // Assume che questo metodo esista
                 int numReturns = returnTypes.size();
 
-                if (numReturns == 1) {
+                if (numReturns == 1 && returnTypes.get(0) == Type.STRING) {
+                    // La stringa restituita è nuova: la variabile ne diventa proprietaria
+                    String resultVar = getNextTempVar();
+                    indent();
+                    code.append("char* ").append(resultVar).append(" = ").append(functionName).append("(")
+                            .append(argsBuilder.toString()).append(");\n");
+                    assignOwnedString(assignTarget(ids, isOutIds, idIndex), resultVar);
+                    idIndex++;
+                } else if (numReturns == 1) {
                     // Funzione con un solo valore di ritorno
-                    String id = ids.get(idIndex);
                     indent();
-                    code.append(id).append(" = ").append(functionName).append("(")
+                    code.append(assignTarget(ids, isOutIds, idIndex)).append(" = ").append(functionName).append("(")
                             .append(argsBuilder.toString()).append(");\n");
                     idIndex++;
                 } else {
@@ -577,15 +758,31 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
                     // Aggiungiamo i parametri out
                     StringBuilder funcCallCode = new StringBuilder();
                     funcCallCode.append(functionName).append("(").append(argsBuilder.toString());
+                    // Un parametro out è già un puntatore e viene passato così com'è
                     for (int i = 0; i < numReturns; i++) {
                         String id = ids.get(idIndex + i);
-                        funcCallCode.append(", &").append(id);
+                        boolean isOutId = isOutIds.size() > idIndex + i && isOutIds.get(idIndex + i);
+                        funcCallCode.append(", ").append(isOutId ? id : "&" + id);
                     }
                     funcCallCode.append(");\n");
                     indent();
                     code.append(funcCallCode.toString());
                     idIndex += numReturns;
                 }
+            } else if (operandType(expr) == Type.STRING) {
+                // Assegnamento di stringa: il contenuto viene copiato nella variabile
+                String target = assignTarget(ids, isOutIds, idIndex);
+                if (!generateInPlaceAppend(target, ids.get(idIndex), expr)) {
+                    String exprCode = (String) expr.accept(this);
+                    if (liveTemps.remove(exprCode)) {
+                        assignOwnedString(target, exprCode);
+                    } else {
+                        indent();
+                        code.append(target).append(" = toy_str_set(").append(target).append(", ")
+                                .append(exprCode).append(");\n");
+                    }
+                }
+                idIndex++;
             } else {
                 // Assegnamento normale
                 String id = ids.get(idIndex);
@@ -609,6 +806,45 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         return null;
     }
 
+    private String assignTarget(List<String> ids, List<Boolean> isOutIds, int index) {
+        boolean isOutId = isOutIds.size() > index && isOutIds.get(index);
+        return isOutId ? "*" + ids.get(index) : ids.get(index);
+    }
+
+    // La variabile prende possesso di una stringa appena allocata, liberando il valore precedente
+    private void assignOwnedString(String target, String owned) {
+        indent();
+        code.append("toy_str_free(").append(target).append(");\n");
+        indent();
+        code.append(target).append(" = ").append(owned).append(";\n");
+    }
+
+    // x ^= x + ...: i nuovi operandi vengono accodati nel buffer di x invece di crearne uno nuovo
+    private boolean generateInPlaceAppend(String target, String id, ExprNode expr) throws SemanticException {
+        if (!isConcatenation(expr)) {
+            return false;
+        }
+        List<ExprNode> operands = new ArrayList<>();
+        collectConcatenationOperands(expr, operands);
+        if (!(operands.get(0) instanceof IdentifierNode first && first.getName().equals(id)
+                && target.equals(visit(first)))) {
+            return false;
+        }
+        // Il buffer può essere riallocato: x non deve comparire tra gli operandi accodati
+        for (ExprNode operand : operands.subList(1, operands.size())) {
+            if (operand instanceof IdentifierNode other && other.getName().equals(id)) {
+                return false;
+            }
+        }
+
+        List<String> args = new ArrayList<>();
+        String format = generateFormat(operands.subList(1, operands.size()), args);
+        indent();
+        code.append(target).append(" = toy_str_catfmt(").append(target).append(", ")
+                .append(formatArguments(format, args)).append(");\n");
+        return true;
+    }
+
     @Override
     public Object visit(ProcCallStatNode node) throws SemanticException {
         String procName = node.getProcCall().getProcedureName();
@@ -634,6 +870,7 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
     @Override
     public Object visit(ReturnStatNode node) throws SemanticException {
         if (node.getExprs().isEmpty()) {
+            freeAllOwnedStrings();
             indent();
             code.append("return;\n");
         } else {
@@ -642,15 +879,48 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
             if (currentFunction.getReturnTypes().size() > 1) {
                 // Assegniamo le espressioni ai parametri out
                 for (int i = 0; i < node.getExprs().size(); i++) {
-                    String exprCode = (String) node.getExprs().get(i).accept(this);
-                    indent();
-                    code.append("*out_param").append(i).append(" = ").append(exprCode).append(";\n");
+                    ExprNode expr = node.getExprs().get(i);
+                    String exprCode = (String) expr.accept(this);
+                    String target = "*out_param" + i;
+                    if (operandType(expr) == Type.STRING) {
+                        // Il chiamante possiede la variabile di destinazione
+                        if (liveTemps.remove(exprCode)) {
+                            assignOwnedString(target, exprCode);
+                        } else {
+                            indent();
+                            code.append(target).append(" = toy_str_set(").append(target).append(", ")
+                                    .append(exprCode).append(");\n");
+                        }
+                    } else {
+                        indent();
+                        code.append(target).append(" = ").append(exprCode).append(";\n");
+                    }
                 }
+                freeTemps();
+                freeAllOwnedStrings();
                 indent();
                 code.append("return;\n");
             } else if (currentFunction.getReturnTypes().size() == 1) {
                 // Funzione con un solo valore di ritorno
+                Type returnType = currentFunction.getReturnTypes().get(0);
                 String exprCode = (String) node.getExprs().get(0).accept(this);
+                boolean ownedResult = returnType == Type.STRING && liveTemps.remove(exprCode);
+                if (returnType == Type.STRING && !ownedResult) {
+                    // Il chiamante riceve sempre una stringa nuova, di cui diventa proprietario
+                    exprCode = "toy_str_dup(" + exprCode + ")";
+                }
+                if (!liveTemps.isEmpty() || hasOwnedStrings()) {
+                    // Il valore viene calcolato prima di liberare le stringhe usate per ottenerlo
+                    if (!ownedResult) {
+                        String resultVar = getNextTempVar();
+                        indent();
+                        code.append(mapType(returnType)).append(" ").append(resultVar)
+                                .append(" = ").append(exprCode).append(";\n");
+                        exprCode = resultVar;
+                    }
+                    freeTemps();
+                    freeAllOwnedStrings();
+                }
                 indent();
                 code.append("return ").append(exprCode).append(";\n");
             }
@@ -658,6 +928,17 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         return null;
     }
 
+    // Prima di un return vengono liberate le stringhe di tutti i blocchi aperti della funzione
+    private void freeAllOwnedStrings() {
+        for (List<String> owned : ownedStrings) {
+            freeStrings(owned);
+        }
+    }
+
+    private boolean hasOwnedStrings() {
+        return ownedStrings.stream().anyMatch(owned -> !owned.isEmpty());
+    }
+
     private FunctionNode getCurrentFunction() {
         return functionStack.peek();
     }
@@ -739,8 +1020,8 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
 
                 indent();
                 if (argType == Type.STRING) {
-                    // Per le stringhe, non serve &
-                    code.append("scanf(\"").append(formatSpecifier).append("\", ").append(argName).append(");\n");
+                    // Le stringhe vengono lette senza limiti di lunghezza
+                    code.append(argName).append(" = toy_str_read(").append(argName).append(");\n");
                 } else {
                     // Per altri tipi, usa &
                     code.append("scanf(\"").append(formatSpecifier).append("\", &").append(argName).append(");\n");
@@ -788,7 +1069,7 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
     @Override
     public Object visit(IfStatNode node) throws SemanticException {
         // Generate C 'if' statement
-        String condition = (String) node.getCondition().accept(this);
+        String condition = materializeCondition((String) node.getCondition().accept(this));
         indent();
         code.append("if (").append(condition).append(") {\n");
         increaseIndent();
@@ -797,9 +1078,37 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         indent();
         code.append("}\n");
 
-        // Handle elif blocks
-        for (ElifNode elif : node.getElifBlocks()) {
-            String elifCondition = (String) elif.getCondition().accept(this);
+        // Handle elif and else blocks
+        generateElifChain(node.getElifBlocks(), 0, node.getElseBlock());
+
+        return null; // IfStatNode does not return a value
+    }
+
+    private void generateElifChain(List<ElifNode> elifBlocks, int index, ElseNode elseBlock) throws SemanticException {
+        if (index == elifBlocks.size()) {
+            // Handle else block
+            if (elseBlock != null) {
+                enterSource(elseBlock);
+                indent();
+                code.append("else {\n");
+                increaseIndent();
+                elseBlock.getBody().accept(this);
+                decreaseIndent();
+                indent();
+                code.append("}\n");
+                exitSource();
+            }
+            return;
+        }
+
+        ElifNode elif = elifBlocks.get(index);
+        enterSource(elif);
+        StringBuilder conditionCode = new StringBuilder();
+        increaseIndent();
+        String elifCondition = acceptCapturing(elif.getCondition(), conditionCode);
+        decreaseIndent();
+
+        if (conditionCode.length() == 0) {
             indent();
             code.append("else if (").append(elifCondition).append(") {\n");
             increaseIndent();
@@ -807,29 +1116,57 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
             decreaseIndent();
             indent();
             code.append("}\n");
-        }
-
-        // Handle else block
-        if (node.getElseBlock() != null) {
+            exitSource();
+            generateElifChain(elifBlocks, index + 1, elseBlock);
+        } else {
+            // La condizione richiede istruzioni preliminari: l'elif diventa un if annidato nel ramo else
             indent();
             code.append("else {\n");
             increaseIndent();
-            node.getElseBlock().getBody().accept(this);
+            code.append(conditionCode);
+            elifCondition = materializeCondition(elifCondition);
+            indent();
+            code.append("if (").append(elifCondition).append(") {\n");
+            increaseIndent();
+            elif.getBody().accept(this);
             decreaseIndent();
             indent();
             code.append("}\n");
+            generateElifChain(elifBlocks, index + 1, elseBlock);
+            decreaseIndent();
+            indent();
+            code.append("}\n");
+            exitSource();
         }
-
-        return null; // IfStatNode does not return a value
     }
 
     @Override
     public Object visit(WhileStatNode node) throws SemanticException {
         // Generate C 'while' loop
-        String condition = (String) node.getCondition().accept(this);
-        indent();
-        code.append("while (").append(condition).append(") {\n");
+        StringBuilder conditionCode = new StringBuilder();
         increaseIndent();
+        String condition = acceptCapturing(node.getCondition(), conditionCode);
+        decreaseIndent();
+
+        indent();
+        if (conditionCode.length() == 0) {
+            code.append("while (").append(condition).append(") {\n");
+            increaseIndent();
+        } else {
+            // Le temporanee della condizione vanno ricalcolate e liberate a ogni iterazione
+            code.append("while (1) {\n");
+            increaseIndent();
+            code.append(conditionCode);
+            condition = materializeCondition(condition);
+            indent();
+            code.append("if (!").append(condition).append(") {\n");
+            increaseIndent();
+            indent();
+            code.append("break;\n");
+            decreaseIndent();
+            indent();
+            code.append("}\n");
+        }
         node.getBody().accept(this);
         decreaseIndent();
         indent();
@@ -855,7 +1192,15 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
         List<Type> returnTypes = node.getReturnTypes();
         int numReturns = returnTypes.size();
 
-        if (numReturns == 1) {
+        if (numReturns == 1 && returnTypes.get(0) == Type.STRING) {
+            // La stringa restituita è nuova: viene liberata alla fine dell'istruzione
+            String resultVar = getNextTempVar();
+            indent();
+            code.append("char* ").append(resultVar).append(" = ").append(functionName).append("(")
+                    .append(argsBuilder.toString()).append(");\n");
+            liveTemps.add(resultVar);
+            return resultVar;
+        } else if (numReturns == 1) {
             // Funzione con un solo valore di ritorno
             // Restituiamo l'espressione della chiamata alla funzione
             return functionName + "(" + argsBuilder.toString() + ")";
@@ -945,7 +1290,12 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
 
     @Override
     public Object visit(StringConstNode node) throws SemanticException {
-        return "\"" + node.getValue().replace("\"", "\\\"") + "\"";
+        // Costante statica con l'intestazione del runtime, utilizzabile ovunque sia attesa una stringa
+        String literalVar = getNextTempVar();
+        indent();
+        code.append("TOY_STR_LITERAL(").append(literalVar).append(", \"")
+                .append(node.getValue().replace("\"", "\\\"")).append("\");\n");
+        return literalVar + ".data";
     }
 
     @Override
@@ -961,19 +1311,20 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
     @Override
     public Object visit(BinaryExprNode node) throws SemanticException {
         String operator = node.getOperator();
+        if (isConcatenation(node)) {
+            // Concatenazione di stringhe: l'intera catena viene generata in un solo passo
+            return generateConcatenationCode(node);
+        }
+
         String leftCode = (String) node.getLeft().accept(this);
         String rightCode = (String) node.getRight().accept(this);
-        Type leftType = node.getLeft().getType();
-        Type rightType = node.getRight().getType();
+        Type leftType = operandType(node.getLeft());
+        Type rightType = operandType(node.getRight());
 
+        // Le parentesi mantengono il raggruppamento dell'AST, che non sempre coincide con le precedenze del C
         if (operator.equals("+")) {
-            if (leftType == Type.STRING || rightType == Type.STRING) {
-                // Concatenazione di stringhe
-                return generateConcatenationCode(leftCode, leftType, rightCode, rightType);
-            } else {
-                // Somma normale
-                return leftCode + " + " + rightCode;
-            }
+            // Somma normale
+            return "(" + leftCode + " + " + rightCode + ")";
         } else if (isComparisonOperator(operator)) {
             if (leftType == Type.STRING && rightType == Type.STRING) {
                 // Confronto tra stringhe
@@ -981,12 +1332,15 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
             } else {
                 // Confronto tra altri tipi
                 String cOperator = mapOperatorToC(operator);
-                return leftCode + " " + cOperator + " " + rightCode;
+                return "(" + leftCode + " " + cOperator + " " + rightCode + ")";
             }
+        } else if (node.getType() == Type.REAL && leftType == Type.INTEGER && rightType == Type.INTEGER) {
+            // Divisione tra interi: troncata come in C, ma il risultato ha tipo REAL (per esempio in printf("%f"))
+            return "(double) (" + leftCode + " / " + rightCode + ")";
         } else {
             // Altri operatori
             String cOperator = mapOperatorToC(operator);
-            return leftCode + " " + cOperator + " " + rightCode;
+            return "(" + leftCode + " " + cOperator + " " + rightCode + ")";
         }
     }
 
@@ -998,72 +1352,93 @@ public class CodeGeneratorVisitor implements Visitor<Object> {
 
     private String generateStringComparisonCode(String leftCode, String rightCode, String operator) throws SemanticException {
         return switch (operator) {
-            case "=" -> "(strcmp(" + leftCode + ", " + rightCode + ") == 0)";
-            case "!=" -> "(strcmp(" + leftCode + ", " + rightCode + ") != 0)";
-            case "<" -> "(strcmp(" + leftCode + ", " + rightCode + ") < 0)";
-            case ">" -> "(strcmp(" + leftCode + ", " + rightCode + ") > 0)";
-            case "<=" -> "(strcmp(" + leftCode + ", " + rightCode + ") <= 0)";
-            case ">=" -> "(strcmp(" + leftCode + ", " + rightCode + ") >= 0)";
+            case "=" -> "toy_str_eq(" + leftCode + ", " + rightCode + ")";
+            case "!=" -> "(!toy_str_eq(" + leftCode + ", " + rightCode + "))";
+            case "<" -> "(toy_str_cmp(" + leftCode + ", " + rightCode + ") < 0)";
+            case ">" -> "(toy_str_cmp(" + leftCode + ", " + rightCode + ") > 0)";
+            case "<=" -> "(toy_str_cmp(" + leftCode + ", " + rightCode + ") <= 0)";
+            case ">=" -> "(toy_str_cmp(" + leftCode + ", " + rightCode + ") >= 0)";
             default ->
                     throw new SemanticException("Operatore di confronto non supportato per le stringhe: " + operator);
         };
     }
 
-    private String generateConcatenationCode(String leftCode, Type leftType, String rightCode, Type rightType) throws SemanticException {
-        // Nome della variabile risultato
-        String resultVar = getNextTempVar();
+    private boolean isConcatenation(ExprNode expr) {
+        return expr instanceof BinaryExprNode binary && binary.getOperator().equals("+")
+                && (operandType(binary.getLeft()) == Type.STRING || operandType(binary.getRight()) == Type.STRING);
+    }
 
-        // Stima dimensione buffer
-        int bufferSize = estimateBufferSize(leftType) + estimateBufferSize(rightType) + 1;
-        indent();
-        code.append("char* ").append(resultVar).append(" = malloc(").append(bufferSize).append(");\n");
-        checkAllocation(resultVar);
+    // Il tipo di una chiamata a funzione è il suo unico tipo di ritorno
+    private Type operandType(ExprNode expr) {
+        if (expr instanceof FunCallNode funCall && funCall.getReturnTypes() != null && funCall.getReturnTypes().size() == 1) {
+            return funCall.getReturnTypes().get(0);
+        }
+        return expr.getType();
+    }
 
-        // Conversione degli operandi in stringa, se necessario
-        String leftStrVar = generateStringConversion(leftCode, leftType);
-        String rightStrVar = generateStringConversion(rightCode, rightType);
+    // Raccoglie gli operandi di una catena di concatenazioni, da sinistra a destra
+    private void collectConcatenationOperands(ExprNode expr, List<ExprNode> operands) {
+        if (isConcatenation(expr)) {
+            BinaryExprNode binary = (BinaryExprNode) expr;
+            collectConcatenationOperands(binary.getLeft(), operands);
+            collectConcatenationOperands(binary.getRight(), operands);
+        } else {
+            operands.add(expr);
+        }
+    }
 
-        // Concatenazione delle stringhe
-        generateStringConcatenation(resultVar, leftStrVar, rightStrVar);
+    // Genera la catena con un'unica formattazione in una stringa della dimensione esatta del risultato
+    private String generateConcatenationCode(BinaryExprNode node) throws SemanticException {
+        List<ExprNode> operands = new ArrayList<>();
+        collectConcatenationOperands(node, operands);
 
+        List<String> args = new ArrayList<>();
+        String format = generateFormat(operands, args);
+        String resultVar = getNextTempVar();
+        indent();
+        code.append("char* ").append(resultVar).append(" = toy_str_format(").append(formatArguments(format, args))
+                .append(");\n");
+
+        liveTemps.add(resultVar);
         return resultVar;
     }
 
-    private int estimateBufferSize(Type type) {
-        return switch (type) {
-            case STRING -> 512; // Presupponendo una lunghezza massima di 512 per le stringhe
-            case INTEGER -> 11; // Interi rappresentabili in base 10 con segno (max 10 cifre + terminatore)
-            case REAL -> 32; // Per numeri in formato scientifico o decimale
-            default -> 0;
-        };
+    // Formato printf degli operandi; gli argomenti corrispondenti vengono aggiunti ad args
+    private String generateFormat(List<ExprNode> operands, List<String> args) throws SemanticException {
+        StringBuilder format = new StringBuilder();
+        for (ExprNode operand : operands) {
+            if (operand instanceof StringConstNode stringConst) {
+                // Le costanti vengono copiate nel formato
+                format.append(stringConst.getValue().replace("\"", "\\\"").replace("%", "%%"));
+                continue;
+            }
+
+            Type operandType = operandType(operand);
+            String formatSpecifier = switch (operandType == null ? Type.NOTYPE : operandType) {
+                case STRING -> "%s";
+                case INTEGER -> "%d";
+                case REAL -> "%f";
+                default -> throw new SemanticException("Unsupported type for conversion to string: " + operandType);
+            };
+            format.append(formatSpecifier);
+
+            String operandCode = (String) operand.accept(this);
+            if (!(operand instanceof IdentifierNode || operand instanceof IntConstNode || operand instanceof RealConstNode
+                    || liveTemps.contains(operandCode))) {
+                // Il formato viene valutato due volte (lunghezza e scrittura): le chiamate vanno eseguite una volta sola
+                String operandVar = getNextTempVar();
+                indent();
+                code.append(mapType(operandType)).append(" ").append(operandVar)
+                        .append(" = ").append(operandCode).append(";\n");
+                operandCode = operandVar;
+            }
+            args.add(operandCode);
+        }
+        return format.toString();
     }
 
-    private String generateStringConversion(String source, Type type) throws SemanticException {
-        String tempVar = getNextTempVar();
-        indent();
-        code.append("char ").append(tempVar).append("[512];\n");
-        indent();
-        switch (type) {
-            case STRING:
-                code.append("strcpy(").append(tempVar).append(", ").append(source).append(");\n");
-                break;
-            case INTEGER:
-                code.append("sprintf(").append(tempVar).append(", \"%d\", ").append(source).append(");\n");
-                break;
-            case REAL:
-                code.append("sprintf(").append(tempVar).append(", \"%f\", ").append(source).append(");\n");
-                break;
-            default:
-                throw new SemanticException("Unsupported type for conversion to string: " + type);
-        }
-        return tempVar;
-    }
-
-    private void generateStringConcatenation(String dest, String left, String right) {
-        indent();
-        code.append("strcpy(").append(dest).append(", ").append(left).append(");\n");
-        indent();
-        code.append("strcat(").append(dest).append(", ").append(right).append(");\n");
+    private String formatArguments(String format, List<String> args) {
+        return "\"" + format + "\"" + (args.isEmpty() ? "" : ", " + String.join(", ", args));
     }
 
     @Override
@@ -0,0 +1,517 @@
+package visitor;
+
+import nodes.*;
+import nodes.expr.*;
+import nodes.stat.*;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
+import visitor.utils.Type;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Valuta a tempo di compilazione le espressioni costanti, dopo il type checking.
+ * Le variabili inizializzate con una costante nella dichiarazione e mai modificate
+ * (assegnamento, lettura o passaggio per riferimento) vengono sostituite dal loro valore.
+ * Il risultato di ogni valutazione è quello che avrebbe il codice C generato:
+ * la divisione tra interi resta intera e i reali concatenati a una stringa sono formattati come "%f".
+ * Le espressioni il cui valore non è rappresentabile (overflow, divisione per zero,
+ * stringhe con sequenze di escape) restano invariate.
+ * Le visite delle espressioni restituiscono il nodo che deve prendere il loro posto.
+ */
+public class ConstantFoldingVisitor implements Visitor<Object> {
+    private final Map<Symbol, ConstNode> constants = new HashMap<>();
+    private final Set<Symbol> modified = new HashSet<>();
+    // Prima passata: raccoglie costanti e variabili modificate senza trasformare l'albero
+    private boolean collecting;
+
+    @Override
+    public Object visit(ProgramNode node) throws SemanticException {
+        collecting = true;
+        visitProgram(node);
+        collecting = false;
+        visitProgram(node);
+        return null;
+    }
+
+    private void visitProgram(ProgramNode node) throws SemanticException {
+        if (node.getItersWithoutProcedure() != null) {
+            node.getItersWithoutProcedure().accept(this);
+        }
+        node.getProcedure().accept(this);
+        if (node.getIters() != null) {
+            node.getIters().accept(this);
+        }
+    }
+
+    @Override
+    public Object visit(ItersWithoutProcedureNode node) throws SemanticException {
+        for (IterWithoutProcedureNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(IterWithoutProcedureNode node) throws SemanticException {
+        return node.getDeclaration().accept(this);
+    }
+
+    @Override
+    public Object visit(ItersNode node) throws SemanticException {
+        for (IterNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(IterNode node) throws SemanticException {
+        return node.getDeclaration().accept(this);
+    }
+
+    @Override
+    public Object visit(VarDeclNode node) throws SemanticException {
+        for (DeclNode decl : node.getDecls()) {
+            decl.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(DeclNode node) throws SemanticException {
+        if (collecting && node.getConsts() != null) {
+            for (int i = 0; i < node.getIds().size(); i++) {
+                constants.put(node.getSymbols().get(i), node.getConsts().get(i));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(ConstNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Object visit(FunctionNode node) throws SemanticException {
+        node.getBody().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(FuncParamsNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Object visit(ParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Object visit(ProcedureNode node) throws SemanticException {
+        node.getBody().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(ProcParamsNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Object visit(ProcParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Object visit(BodyNode node) throws SemanticException {
+        for (Visitable statement : node.getStatements()) {
+            statement.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(AssignStatNode node) throws SemanticException {
+        if (collecting) {
+            for (Symbol symbol : node.getSymbols()) {
+                markModified(symbol);
+            }
+        }
+        foldAll(node.getExprs());
+        return null;
+    }
+
+    @Override
+    public Object visit(ProcCallStatNode node) throws SemanticException {
+        return node.getProcCall().accept(this);
+    }
+
+    @Override
+    public Object visit(ReturnStatNode node) throws SemanticException {
+        foldAll(node.getExprs());
+        return null;
+    }
+
+    @Override
+    public Object visit(WriteStatNode node) throws SemanticException {
+        for (IOArgNode arg : node.getArgs()) {
+            arg.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(WriteReturnStatNode node) throws SemanticException {
+        for (IOArgNode arg : node.getArgs()) {
+            arg.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(ReadStatNode node) throws SemanticException {
+        // Gli argomenti della lettura sono destinazioni: non vengono valutati
+        if (collecting) {
+            for (IOArgNode arg : node.getArgs()) {
+                if (arg instanceof DollarExprNode dollarExpr && dollarExpr.getExpr() instanceof IdentifierNode identifier) {
+                    markModified(identifier.getSymbol());
+                } else if (arg instanceof IOArgIdentifierNode identifier) {
+                    markModified(identifier.getSymbol());
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(IfStatNode node) throws SemanticException {
+        node.setCondition(fold(node.getCondition()));
+
+        node.getThenBody().accept(this);
+
+        for (ElifNode elif : node.getElifBlocks()) {
+            elif.accept(this);
+        }
+        if (node.getElseBlock() != null) {
+            node.getElseBlock().accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(WhileStatNode node) throws SemanticException {
+        node.setCondition(fold(node.getCondition()));
+
+        node.getBody().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(FunCallNode node) throws SemanticException {
+        foldAll(node.getArguments());
+        return node;
+    }
+
+    @Override
+    public Object visit(ProcCallNode node) throws SemanticException {
+        for (ProcExprNode arg : node.getArguments()) {
+            arg.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Object visit(ElifNode node) throws SemanticException {
+        node.setCondition(fold(node.getCondition()));
+
+        node.getBody().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(ElseNode node) throws SemanticException {
+        node.getBody().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(IOArgIdentifierNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Object visit(IOArgStringLiteralNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Object visit(IOArgBinaryNode node) throws SemanticException {
+        node.getLeft().accept(this);
+        node.getRight().accept(this);
+        return null;
+    }
+
+    @Override
+    public Object visit(DollarExprNode node) throws SemanticException {
+        node.setExpr(fold(node.getExpr()));
+        return null;
+    }
+
+    @Override
+    public Object visit(ProcExprNode node) throws SemanticException {
+        if (node.isRef()) {
+            // Il parametro per riferimento può essere modificato dalla procedura
+            if (collecting && node.getExpr() instanceof IdentifierNode identifier) {
+                markModified(identifier.getSymbol());
+            }
+        } else {
+            node.setExpr(fold(node.getExpr()));
+        }
+        return node;
+    }
+
+    @Override
+    public Object visit(RealConstNode node) throws SemanticException {
+        return node;
+    }
+
+    @Override
+    public Object visit(IntConstNode node) throws SemanticException {
+        return node;
+    }
+
+    @Override
+    public Object visit(StringConstNode node) throws SemanticException {
+        return node;
+    }
+
+    @Override
+    public Object visit(IdentifierNode node) throws SemanticException {
+        if (collecting || node.getIsOutInProcedure()) {
+            return node;
+        }
+        Symbol symbol = node.getSymbol();
+        ConstNode constant = constants.get(symbol);
+        if (constant == null || modified.contains(symbol)) {
+            return node;
+        }
+
+        // Variabile mai modificata: viene sostituita dal valore con cui è stata inizializzata
+        Object value = constant.getValue();
+        if (value instanceof Integer intValue) {
+            return new IntConstNode(intValue, Type.INTEGER);
+        } else if (value instanceof Double doubleValue) {
+            return new RealConstNode(doubleValue, Type.REAL);
+        } else if (value instanceof String stringValue) {
+            return new StringConstNode(stringValue, Type.STRING);
+        } else if (value instanceof Boolean booleanValue) {
+            return new BooleanConstNode(booleanValue, Type.BOOLEAN);
+        }
+        return node;
+    }
+
+    @Override
+    public Object visit(BooleanConstNode node) throws SemanticException {
+        return node;
+    }
+
+    @Override
+    public Object visit(BinaryExprNode node) throws SemanticException {
+        node.setLeft(fold(node.getLeft()));
+        node.setRight(fold(node.getRight()));
+        if (collecting) {
+            return node;
+        }
+
+        ExprNode left = node.getLeft();
+        ExprNode right = node.getRight();
+        String operator = node.getOperator();
+        ExprNode folded = switch (operator) {
+            case "and", "or" -> foldLogical(operator, left, right);
+            case "=", "!=", "<", "<=", ">", ">=" -> foldComparison(operator, left, right);
+            default -> node.getType() == Type.STRING
+                    ? foldConcatenation(left, right)
+                    : foldArithmetic(operator, left, right, node.getType());
+        };
+        return folded != null ? folded : node;
+    }
+
+    @Override
+    public Object visit(UnaryExprNode node) throws SemanticException {
+        node.setExpr(fold(node.getExpr()));
+        if (collecting) {
+            return node;
+        }
+
+        ExprNode expr = node.getExpr();
+        if (node.getOperator().equals("not") && expr instanceof BooleanConstNode booleanConst) {
+            return new BooleanConstNode(!booleanConst.getValue(), node.getType());
+        } else if (node.getOperator().equals("uminus")) {
+            if (expr instanceof IntConstNode intConst && intConst.getValue() != Integer.MIN_VALUE) {
+                return new IntConstNode(-intConst.getValue(), node.getType());
+            } else if (expr instanceof RealConstNode realConst) {
+                return new RealConstNode(-realConst.getValue(), node.getType());
+            }
+        }
+        return node;
+    }
+
+    private ExprNode fold(ExprNode expr) throws SemanticException {
+        ExprNode folded = (ExprNode) expr.accept(this);
+        // Il nodo prodotto dal folding conserva la posizione dell'espressione che sostituisce
+        if (folded instanceof AstNode result && !result.hasSpan() && expr instanceof AstNode original) {
+            result.copySpan(original);
+        }
+        return folded;
+    }
+
+    private void foldAll(List<ExprNode> exprs) throws SemanticException {
+        for (int i = 0; i < exprs.size(); i++) {
+            exprs.set(i, fold(exprs.get(i)));
+        }
+    }
+
+    // Operatori logici: basta che sia costante l'operando sinistro, come per la valutazione in corto circuito del C
+    private ExprNode foldLogical(String operator, ExprNode left, ExprNode right) {
+        if (!(left instanceof BooleanConstNode leftConst)) {
+            return null;
+        }
+        boolean absorbing = operator.equals("or");
+        return leftConst.getValue() == absorbing ? leftConst : right;
+    }
+
+    private ExprNode foldComparison(String operator, ExprNode left, ExprNode right) {
+        double a;
+        double b;
+        if (isNumericConstant(left) && isNumericConstant(right)) {
+            // Tra un intero e un reale il C confronta i valori convertiti in double
+            a = numericValue(left);
+            b = numericValue(right);
+        } else if (left instanceof BooleanConstNode l && right instanceof BooleanConstNode r) {
+            a = l.getValue() ? 1 : 0;
+            b = r.getValue() ? 1 : 0;
+        } else if (left instanceof StringConstNode l && right instanceof StringConstNode r
+                && isPlainText(l.getValue()) && isPlainText(r.getValue())
+                && (operator.equals("=") || operator.equals("!="))) {
+            boolean equal = l.getValue().equals(r.getValue());
+            return new BooleanConstNode(operator.equals("=") == equal, Type.BOOLEAN);
+        } else {
+            return null;
+        }
+
+        boolean result = switch (operator) {
+            case "=" -> a == b;
+            case "!=" -> a != b;
+            case "<" -> a < b;
+            case "<=" -> a <= b;
+            case ">" -> a > b;
+            default -> a >= b;
+        };
+        return new BooleanConstNode(result, Type.BOOLEAN);
+    }
+
+    private ExprNode foldConcatenation(ExprNode left, ExprNode right) {
+        String leftText = constantText(left);
+        String rightText = constantText(right);
+        if (leftText == null || rightText == null) {
+            return null;
+        }
+        return new StringConstNode(leftText + rightText, Type.STRING);
+    }
+
+    private ExprNode foldArithmetic(String operator, ExprNode left, ExprNode right, Type type) {
+        if (!isNumericConstant(left) || !isNumericConstant(right)) {
+            return null;
+        }
+
+        if (left instanceof IntConstNode l && right instanceof IntConstNode r) {
+            // Aritmetica intera del C: anche la divisione tra interi tronca
+            long a = l.getValue();
+            long b = r.getValue();
+            long result;
+            switch (operator) {
+                case "+" -> result = a + b;
+                case "-" -> result = a - b;
+                case "*" -> result = a * b;
+                case "/" -> {
+                    if (b == 0) {
+                        return null;
+                    }
+                    result = a / b;
+                }
+                default -> {
+                    return null;
+                }
+            }
+            // Il valore minimo non è scrivibile come letterale int in C
+            if (result <= Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+                return null;
+            }
+            // La divisione tra interi ha tipo REAL: il letterale deve essere reale, come il tipo del nodo
+            return type == Type.REAL ? new RealConstNode(result, type) : new IntConstNode((int) result, type);
+        }
+
+        double a = numericValue(left);
+        double b = numericValue(right);
+        double result = switch (operator) {
+            case "+" -> a + b;
+            case "-" -> a - b;
+            case "*" -> a * b;
+            case "/" -> a / b;
+            default -> Double.NaN;
+        };
+        if (!Double.isFinite(result)) {
+            return null;
+        }
+        return new RealConstNode(result, type);
+    }
+
+    private boolean isNumericConstant(ExprNode expr) {
+        return expr instanceof IntConstNode || expr instanceof RealConstNode;
+    }
+
+    private double numericValue(ExprNode expr) {
+        return expr instanceof IntConstNode intConst ? intConst.getValue() : ((RealConstNode) expr).getValue();
+    }
+
+    // Testo di un operando di concatenazione, come lo produrrebbe la formattazione del codice generato
+    private String constantText(ExprNode expr) {
+        if (expr instanceof StringConstNode stringConst) {
+            return isPlainText(stringConst.getValue()) ? stringConst.getValue() : null;
+        } else if (expr instanceof IntConstNode intConst && intConst.getType() == Type.INTEGER) {
+            return Integer.toString(intConst.getValue());
+        } else if (expr instanceof RealConstNode realConst && realConst.getType() == Type.REAL) {
+            return formatReal(realConst.getValue());
+        }
+        return null;
+    }
+
+    // Equivalente di printf("%f"): sei decimali, arrotondando il valore binario esatto
+    private String formatReal(double value) {
+        String text = new BigDecimal(value).setScale(6, RoundingMode.HALF_EVEN).toPlainString();
+        if (Math.copySign(1.0, value) < 0 && !text.startsWith("-")) {
+            text = "-" + text;
+        }
+        return text;
+    }
+
+    // Le sequenze di escape vengono interpretate dal compilatore C: il loro valore non è noto qui
+    private boolean isPlainText(String text) {
+        return text.indexOf('\\') < 0;
+    }
+
+    private void markModified(Symbol symbol) {
+        if (symbol != null) {
+            modified.add(symbol);
+        }
+    }
+}
@@ -0,0 +1,786 @@
+package visitor;
+
+import nodes.*;
+import nodes.expr.*;
+import nodes.stat.*;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
+import visitor.utils.CFormat;
+import visitor.utils.Frame;
+import visitor.utils.ScanfReader;
+import visitor.utils.Type;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Esegue direttamente un programma che ha superato type checking e constant folding, senza passare dal C.
+ * Prima dell'esecuzione ogni variabile riceve un indice (Symbol.setSlot) nel Frame della funzione o procedura
+ * che la dichiara, o nel frame globale: durante l'esecuzione le variabili vengono lette e scritte negli array
+ * tipati del frame, senza mappe né boxing. Allo stesso modo le espressioni non restituiscono il loro valore
+ * dalla visita ma lo lasciano nei registri intValue, realValue e stringValue, con il tipo in kind.
+ * La semantica è quella del codice C generato da CodeGeneratorVisitor: parametri out e valori di ritorno
+ * multipli sono riferimenti alle variabili del chiamante, la divisione tra interi resta intera,
+ * i reali vengono stampati e concatenati come con "%f" e l'input viene letto come da scanf.
+ */
+public class InterpreterVisitor implements Visitor<Void> {
+    private final ScanfReader input;
+    private final PrintStream output;
+
+    // Funzioni e procedure, indicizzate dal simbolo a cui si riferiscono le chiamate
+    private final Map<Symbol, Routine> routines = new IdentityHashMap<>();
+    private final List<DeclNode> globalDeclarations = new ArrayList<>();
+    private int globalInts, globalReals, globalStrings;
+    private Frame globals;
+
+    // Frame e funzione in esecuzione; returning è vero dopo un return, fino all'uscita dalla funzione
+    private Frame frame;
+    private Routine routine;
+    private boolean returning;
+
+    // Valore dell'ultima espressione valutata: kind indica quale registro lo contiene
+    // (i booleani stanno in intValue, come 0 e 1)
+    private Type kind;
+    private int intValue;
+    private double realValue;
+    private String stringValue;
+
+    public InterpreterVisitor(InputStream input, PrintStream output) {
+        this.input = new ScanfReader(input);
+        this.output = output;
+    }
+
+    // Funzione o procedura con la disposizione del suo frame
+    private static class Routine {
+        final String name;
+        final BodyNode body;
+        final List<Symbol> params = new ArrayList<>();
+        final List<Type> returnTypes;
+        int ints, reals, strings, refs;
+        // Primo riferimento usato per i valori di ritorno, se sono più di uno
+        int returnRefs;
+
+        Routine(String name, BodyNode body, List<Type> returnTypes) {
+            this.name = name;
+            this.body = body;
+            this.returnTypes = returnTypes;
+        }
+
+        Frame newFrame() {
+            return new Frame(ints, reals, strings, refs);
+        }
+
+        // Assegna alla variabile un indice nel frame, nell'array del suo tipo o tra i riferimenti
+        void allocate(Symbol symbol) {
+            symbol.setGlobal(false);
+            if (symbol.isOut()) {
+                symbol.setSlot(refs++);
+                return;
+            }
+            switch (symbol.getType()) {
+                case REAL -> symbol.setSlot(reals++);
+                case STRING -> symbol.setSlot(strings++);
+                default -> symbol.setSlot(ints++);
+            }
+        }
+
+        // Variabili dichiarate nel corpo e nei blocchi annidati, ciascuna con un proprio indice
+        void allocateLocals(BodyNode body) {
+            for (Visitable statement : body.getStatements()) {
+                if (statement instanceof VarDeclNode varDecl) {
+                    for (DeclNode decl : varDecl.getDecls()) {
+                        decl.getSymbols().forEach(this::allocate);
+                    }
+                } else if (statement instanceof IfStatNode ifStat) {
+                    allocateLocals(ifStat.getThenBody());
+                    for (ElifNode elif : ifStat.getElifBlocks()) {
+                        allocateLocals(elif.getBody());
+                    }
+                    if (ifStat.getElseBlock() != null) {
+                        allocateLocals(ifStat.getElseBlock().getBody());
+                    }
+                } else if (statement instanceof WhileStatNode whileStat) {
+                    allocateLocals(whileStat.getBody());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Void visit(ProgramNode node) throws SemanticException {
+        // Disposizione dei frame: variabili globali, poi parametri e variabili locali di ogni funzione e procedura
+        if (node.getItersWithoutProcedure() != null) {
+            node.getItersWithoutProcedure().accept(this);
+        }
+        node.getProcedure().accept(this);
+        if (node.getIters() != null) {
+            node.getIters().accept(this);
+        }
+
+        globals = new Frame(globalInts, globalReals, globalStrings, 0);
+        frame = globals;
+        for (DeclNode decl : globalDeclarations) {
+            decl.accept(this);
+        }
+
+        Routine main = routines.values().stream()
+                .filter(candidate -> candidate.name.equals("main") && candidate.returnTypes.isEmpty())
+                .findFirst()
+                .orElseThrow(() -> new SemanticException("Non è stata dichiarata una procedura 'main'."));
+        invoke(main, main.newFrame());
+        output.flush();
+        return null;
+    }
+
+    @Override
+    public Void visit(ItersWithoutProcedureNode node) throws SemanticException {
+        for (IterWithoutProcedureNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(IterWithoutProcedureNode node) throws SemanticException {
+        declare(node.getDeclaration());
+        return null;
+    }
+
+    @Override
+    public Void visit(ItersNode node) throws SemanticException {
+        for (IterNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(IterNode node) throws SemanticException {
+        declare(node.getDeclaration());
+        return null;
+    }
+
+    // Dichiarazione globale: le variabili vanno nel frame globale, funzioni e procedure tra le routine
+    private void declare(Visitable declaration) throws SemanticException {
+        if (declaration instanceof VarDeclNode varDecl) {
+            for (DeclNode decl : varDecl.getDecls()) {
+                for (Symbol symbol : decl.getSymbols()) {
+                    symbol.setGlobal(true);
+                    switch (symbol.getType()) {
+                        case REAL -> symbol.setSlot(globalReals++);
+                        case STRING -> symbol.setSlot(globalStrings++);
+                        default -> symbol.setSlot(globalInts++);
+                    }
+                }
+                globalDeclarations.add(decl);
+            }
+        } else {
+            declaration.accept(this);
+        }
+    }
+
+    @Override
+    public Void visit(VarDeclNode node) throws SemanticException {
+        for (DeclNode decl : node.getDecls()) {
+            decl.accept(this);
+        }
+        return null;
+    }
+
+    // Inizializza le variabili dichiarate: con la costante, se presente, altrimenti a zero o alla stringa vuota
+    @Override
+    public Void visit(DeclNode node) throws SemanticException {
+        List<Symbol> symbols = node.getSymbols();
+        for (int i = 0; i < symbols.size(); i++) {
+            Symbol symbol = symbols.get(i);
+            Frame target = symbol.isGlobal() ? globals : frame;
+            Object value = node.getConsts() != null ? node.getConsts().get(i).getValue() : null;
+            switch (symbol.getType()) {
+                case REAL -> target.reals[symbol.getSlot()] = value instanceof Number number ? number.doubleValue() : 0;
+                case STRING -> target.strings[symbol.getSlot()] = value instanceof String string ? CFormat.unescape(string) : "";
+                case BOOLEAN -> target.ints[symbol.getSlot()] = Boolean.TRUE.equals(value) ? 1 : 0;
+                default -> target.ints[symbol.getSlot()] = value instanceof Number number ? number.intValue() : 0;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(ConstNode node) throws SemanticException {
+        // Le costanti vengono lette direttamente dalla dichiarazione
+        return null;
+    }
+
+    @Override
+    public Void visit(FunctionNode node) throws SemanticException {
+        Routine function = new Routine(node.getName(), node.getBody(), node.getReturnTypes());
+        if (node.getParams() != null) {
+            for (ParamNode param : node.getParams().getParams()) {
+                Symbol symbol = node.getScope().lookup(param.getName());
+                function.allocate(symbol);
+                function.params.add(symbol);
+            }
+        }
+        function.returnRefs = function.refs;
+        if (node.getReturnTypes().size() > 1) {
+            function.refs += node.getReturnTypes().size();
+        }
+        function.allocateLocals(node.getBody());
+        routines.put(node.getScope().getParent().lookup(node.getName()), function);
+        return null;
+    }
+
+    @Override
+    public Void visit(FuncParamsNode node) throws SemanticException {
+        // Parametri già disposti nel frame dalla visita della funzione
+        return null;
+    }
+
+    @Override
+    public Void visit(ParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcedureNode node) throws SemanticException {
+        Routine procedure = new Routine(node.getName(), node.getBody(), List.of());
+        if (node.getParams() != null) {
+            for (ProcParamNode param : node.getParams().getParams()) {
+                Symbol symbol = node.getScope().lookup(param.getName());
+                procedure.allocate(symbol);
+                procedure.params.add(symbol);
+            }
+        }
+        procedure.returnRefs = procedure.refs;
+        procedure.allocateLocals(node.getBody());
+        routines.put(node.getScope().getParent().lookup(node.getName()), procedure);
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcParamsNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcParamNode node) throws SemanticException {
+        return null;
+    }
+
+    // Esegue la funzione nel frame già preparato con i parametri
+    private void invoke(Routine callee, Frame calleeFrame) throws SemanticException {
+        Frame callerFrame = frame;
+        Routine caller = routine;
+        frame = calleeFrame;
+        routine = callee;
+        callee.body.accept(this);
+        returning = false;
+        frame = callerFrame;
+        routine = caller;
+    }
+
+    @Override
+    public Void visit(BodyNode node) throws SemanticException {
+        // Come nel codice C, le variabili del blocco vengono inizializzate prima delle istruzioni
+        List<Visitable> statements = node.getStatements();
+        for (Visitable statement : statements) {
+            if (statement instanceof VarDeclNode) {
+                statement.accept(this);
+            }
+        }
+        for (Visitable statement : statements) {
+            if (statement instanceof VarDeclNode) {
+                continue;
+            }
+            statement.accept(this);
+            if (returning) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(AssignStatNode node) throws SemanticException {
+        List<Symbol> symbols = node.getSymbols();
+        int idIndex = 0;
+        for (ExprNode expr : node.getExprs()) {
+            if (expr instanceof FunCallNode funCall && funCall.getReturnTypes().size() > 1) {
+                // I valori di ritorno vengono scritti direttamente nelle variabili assegnate
+                call(funCall, symbols, idIndex);
+                idIndex += funCall.getReturnTypes().size();
+            } else {
+                expr.accept(this);
+                store(symbols.get(idIndex++));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcCallStatNode node) throws SemanticException {
+        node.getProcCall().accept(this);
+        return null;
+    }
+
+    @Override
+    public Void visit(ReturnStatNode node) throws SemanticException {
+        List<ExprNode> exprs = node.getExprs();
+        if (exprs.size() == 1 && routine.returnTypes.size() == 1) {
+            // Il valore resta nei registri, convertito nel tipo di ritorno, per il chiamante
+            exprs.get(0).accept(this);
+            convert(routine.returnTypes.get(0));
+        } else {
+            for (int i = 0; i < exprs.size(); i++) {
+                exprs.get(i).accept(this);
+                int ref = routine.returnRefs + i;
+                storeAt(routine.returnTypes.get(i), frame.refs[ref], frame.refIndexes[ref]);
+            }
+        }
+        returning = true;
+        return null;
+    }
+
+    @Override
+    public Void visit(WriteStatNode node) throws SemanticException {
+        write(node.getArgs());
+        return null;
+    }
+
+    @Override
+    public Void visit(WriteReturnStatNode node) throws SemanticException {
+        write(node.getArgs());
+        output.print('\n');
+        return null;
+    }
+
+    // Come la printf del codice C, tutti gli argomenti vengono valutati prima di stampare il primo:
+    // l'output prodotto da una funzione chiamata in un argomento precede quello dell'istruzione
+    private void write(List<IOArgNode> args) throws SemanticException {
+        String[] texts = new String[args.size()];
+        for (int i = 0; i < args.size(); i++) {
+            IOArgNode arg = args.get(i);
+            if (arg instanceof IOArgStringLiteralNode literal) {
+                texts[i] = CFormat.printfLiteral(literal.getValue());
+            } else {
+                arg.accept(this);
+                texts[i] = format(declaredType(arg));
+            }
+        }
+        for (String text : texts) {
+            output.print(text);
+        }
+    }
+
+    // Tipo con cui il codice C stampa l'argomento (il formato di printf)
+    private Type declaredType(IOArgNode arg) {
+        Type type = null;
+        if (arg instanceof DollarExprNode dollar) {
+            type = dollar.getExpr() instanceof FunCallNode funCall ? funCall.getReturnTypes().get(0) : dollar.getExpr().getType();
+        } else if (arg instanceof IOArgIdentifierNode identifier) {
+            type = identifier.getSymbol().getType();
+        } else if (arg instanceof IOArgBinaryNode binary) {
+            type = binary.getType();
+        }
+        return type != null ? type : kind;
+    }
+
+    @Override
+    public Void visit(ReadStatNode node) throws SemanticException {
+        for (IOArgNode arg : node.getArgs()) {
+            if (arg instanceof IOArgStringLiteralNode literal) {
+                output.print(CFormat.printfLiteral(literal.getValue()));
+            } else if (arg instanceof DollarExprNode dollar && dollar.getExpr() instanceof IdentifierNode identifier) {
+                // Il prompt deve essere visibile prima che la lettura si blocchi
+                output.flush();
+                Symbol symbol = identifier.getSymbol();
+                Object array = arrayOf(symbol);
+                int index = indexOf(symbol);
+                switch (symbol.getType()) {
+                    case REAL -> ((double[]) array)[index] = input.readReal(((double[]) array)[index]);
+                    case STRING -> ((String[]) array)[index] = input.readString(((String[]) array)[index]);
+                    default -> ((int[]) array)[index] = input.readInt(((int[]) array)[index]);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(IfStatNode node) throws SemanticException {
+        if (condition(node.getCondition())) {
+            node.getThenBody().accept(this);
+            return null;
+        }
+        for (ElifNode elif : node.getElifBlocks()) {
+            if (condition(elif.getCondition())) {
+                elif.getBody().accept(this);
+                return null;
+            }
+        }
+        if (node.getElseBlock() != null) {
+            node.getElseBlock().getBody().accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(WhileStatNode node) throws SemanticException {
+        while (condition(node.getCondition())) {
+            node.getBody().accept(this);
+            if (returning) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(FunCallNode node) throws SemanticException {
+        call(node, null, 0);
+        return null;
+    }
+
+    // Chiama la funzione; con più valori di ritorno questi vengono scritti nelle variabili targets[first...]
+    private void call(FunCallNode node, List<Symbol> targets, int first) throws SemanticException {
+        Routine callee = routines.get(node.getSymbol());
+        Frame calleeFrame = callee.newFrame();
+        List<ExprNode> args = node.getArguments();
+        for (int i = 0; i < args.size(); i++) {
+            args.get(i).accept(this);
+            Symbol param = callee.params.get(i);
+            storeAt(param.getType(), arrayIn(calleeFrame, param), param.getSlot());
+        }
+        if (targets != null) {
+            for (int i = 0; i < callee.returnTypes.size(); i++) {
+                Symbol target = targets.get(first + i);
+                calleeFrame.refs[callee.returnRefs + i] = arrayOf(target);
+                calleeFrame.refIndexes[callee.returnRefs + i] = indexOf(target);
+            }
+        }
+        invoke(callee, calleeFrame);
+    }
+
+    @Override
+    public Void visit(ProcCallNode node) throws SemanticException {
+        Routine callee = routines.get(node.getSymbol());
+        Frame calleeFrame = callee.newFrame();
+        List<ProcExprNode> args = node.getArguments();
+        for (int i = 0; i < args.size(); i++) {
+            ProcExprNode arg = args.get(i);
+            Symbol param = callee.params.get(i);
+            if (param.isOut()) {
+                // Passaggio per riferimento: il parametro punta alla variabile del chiamante
+                Symbol variable = ((IdentifierNode) arg.getExpr()).getSymbol();
+                calleeFrame.refs[param.getSlot()] = arrayOf(variable);
+                calleeFrame.refIndexes[param.getSlot()] = indexOf(variable);
+            } else {
+                arg.getExpr().accept(this);
+                storeAt(param.getType(), arrayIn(calleeFrame, param), param.getSlot());
+            }
+        }
+        invoke(callee, calleeFrame);
+        return null;
+    }
+
+    @Override
+    public Void visit(ElifNode node) throws SemanticException {
+        // Gestito da IfStatNode
+        return null;
+    }
+
+    @Override
+    public Void visit(ElseNode node) throws SemanticException {
+        // Gestito da IfStatNode
+        return null;
+    }
+
+    @Override
+    public Void visit(IOArgIdentifierNode node) throws SemanticException {
+        load(node.getSymbol());
+        return null;
+    }
+
+    @Override
+    public Void visit(IOArgStringLiteralNode node) throws SemanticException {
+        setString(CFormat.unescape(node.getValue()));
+        return null;
+    }
+
+    @Override
+    public Void visit(IOArgBinaryNode node) throws SemanticException {
+        node.getLeft().accept(this);
+        if (kind == Type.STRING) {
+            String left = stringValue;
+            node.getRight().accept(this);
+            setString(left + stringValue);
+        } else {
+            int left = intValue;
+            node.getRight().accept(this);
+            setInt(left + intValue);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(DollarExprNode node) throws SemanticException {
+        node.getExpr().accept(this);
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcExprNode node) throws SemanticException {
+        node.getExpr().accept(this);
+        return null;
+    }
+
+    @Override
+    public Void visit(RealConstNode node) throws SemanticException {
+        setReal(node.getValue());
+        return null;
+    }
+
+    @Override
+    public Void visit(IntConstNode node) throws SemanticException {
+        setInt(node.getValue());
+        return null;
+    }
+
+    @Override
+    public Void visit(StringConstNode node) throws SemanticException {
+        setString(CFormat.unescape(node.getValue()));
+        return null;
+    }
+
+    @Override
+    public Void visit(IdentifierNode node) throws SemanticException {
+        load(node.getSymbol());
+        return null;
+    }
+
+    @Override
+    public Void visit(BooleanConstNode node) throws SemanticException {
+        setBoolean(node.getValue());
+        return null;
+    }
+
+    @Override
+    public Void visit(BinaryExprNode node) throws SemanticException {
+        String operator = node.getOperator();
+        switch (operator) {
+            case "and" -> {
+                setBoolean(condition(node.getLeft()) && condition(node.getRight()));
+                return null;
+            }
+            case "or" -> {
+                setBoolean(condition(node.getLeft()) || condition(node.getRight()));
+                return null;
+            }
+            default -> {
+            }
+        }
+        if (isConcatenation(node)) {
+            StringBuilder result = new StringBuilder();
+            appendOperands(node, result);
+            setString(result.toString());
+            return null;
+        }
+
+        node.getLeft().accept(this);
+        Type leftKind = kind;
+        int leftInt = intValue;
+        double leftReal = realValue;
+        String leftString = stringValue;
+        node.getRight().accept(this);
+
+        if (leftKind == Type.STRING && kind == Type.STRING) {
+            compare(operator, leftString.compareTo(stringValue));
+        } else if (leftKind == Type.REAL || kind == Type.REAL) {
+            double left = leftKind == Type.REAL ? leftReal : leftInt;
+            double right = kind == Type.REAL ? realValue : intValue;
+            switch (operator) {
+                case "+" -> setReal(left + right);
+                case "-" -> setReal(left - right);
+                case "*" -> setReal(left * right);
+                case "/" -> setReal(left / right);
+                case "=" -> setBoolean(left == right);
+                case "!=" -> setBoolean(left != right);
+                case "<" -> setBoolean(left < right);
+                case "<=" -> setBoolean(left <= right);
+                case ">" -> setBoolean(left > right);
+                case ">=" -> setBoolean(left >= right);
+                default -> throw new SemanticException("Operatore non supportato: " + operator);
+            }
+        } else {
+            // Interi e booleani, con l'aritmetica degli int del C
+            int right = intValue;
+            switch (operator) {
+                case "+" -> setInt(leftInt + right);
+                case "-" -> setInt(leftInt - right);
+                case "*" -> setInt(leftInt * right);
+                case "/" -> {
+                    if (right == 0) {
+                        throw new ArithmeticException("divisione intera per zero");
+                    }
+                    setInt(leftInt / right);
+                    // La divisione tra interi tronca come in C, ma il risultato ha tipo REAL
+                    convert(node.getType());
+                }
+                default -> compare(operator, Integer.compare(leftInt, right));
+            }
+        }
+        return null;
+    }
+
+    // Confronto tra interi o stringhe, dato il segno del confronto tra gli operandi
+    private void compare(String operator, int comparison) throws SemanticException {
+        switch (operator) {
+            case "=" -> setBoolean(comparison == 0);
+            case "!=" -> setBoolean(comparison != 0);
+            case "<" -> setBoolean(comparison < 0);
+            case "<=" -> setBoolean(comparison <= 0);
+            case ">" -> setBoolean(comparison > 0);
+            case ">=" -> setBoolean(comparison >= 0);
+            default -> throw new SemanticException("Operatore non supportato: " + operator);
+        }
+    }
+
+    // Come in CodeGeneratorVisitor: "+" con almeno un operando di tipo stringa
+    private boolean isConcatenation(ExprNode expr) {
+        return expr instanceof BinaryExprNode binary && binary.getOperator().equals("+")
+                && (operandType(binary.getLeft()) == Type.STRING || operandType(binary.getRight()) == Type.STRING);
+    }
+
+    private Type operandType(ExprNode expr) {
+        if (expr instanceof FunCallNode funCall && funCall.getReturnTypes() != null && funCall.getReturnTypes().size() == 1) {
+            return funCall.getReturnTypes().get(0);
+        }
+        return expr.getType();
+    }
+
+    // Accoda gli operandi della catena di concatenazioni, formattati come in toy_str_format
+    private void appendOperands(ExprNode expr, StringBuilder result) throws SemanticException {
+        if (isConcatenation(expr)) {
+            BinaryExprNode binary = (BinaryExprNode) expr;
+            appendOperands(binary.getLeft(), result);
+            appendOperands(binary.getRight(), result);
+            return;
+        }
+        Type type = operandType(expr);
+        if (type != Type.STRING && type != Type.INTEGER && type != Type.REAL) {
+            throw new SemanticException("Unsupported type for conversion to string: " + type);
+        }
+        expr.accept(this);
+        result.append(format(type));
+    }
+
+    @Override
+    public Void visit(UnaryExprNode node) throws SemanticException {
+        switch (node.getOperator()) {
+            case "uminus" -> {
+                node.getExpr().accept(this);
+                if (kind == Type.REAL) {
+                    setReal(-realValue);
+                } else {
+                    setInt(-intValue);
+                }
+            }
+            case "not" -> setBoolean(!condition(node.getExpr()));
+            default -> throw new SemanticException("Unrecognized unary operator: " + node.getOperator());
+        }
+        return null;
+    }
+
+    private boolean condition(ExprNode expr) throws SemanticException {
+        expr.accept(this);
+        return kind == Type.REAL ? realValue != 0 : intValue != 0;
+    }
+
+    // Converte il valore nei registri nel tipo indicato, come l'assegnamento in C
+    private void convert(Type type) {
+        if (type == Type.REAL && kind != Type.REAL) {
+            setReal(intValue);
+        } else if ((type == Type.INTEGER || type == Type.BOOLEAN) && kind == Type.REAL) {
+            setInt((int) realValue);
+        }
+    }
+
+    // Testo del valore nei registri, stampato come da printf con il formato del tipo indicato
+    private String format(Type type) {
+        convert(type);
+        return switch (kind) {
+            case REAL -> CFormat.formatReal(realValue);
+            case STRING -> stringValue;
+            default -> Integer.toString(intValue);
+        };
+    }
+
+    private void load(Symbol symbol) {
+        Object array = arrayOf(symbol);
+        int index = indexOf(symbol);
+        switch (symbol.getType()) {
+            case REAL -> setReal(((double[]) array)[index]);
+            case STRING -> setString(((String[]) array)[index]);
+            case BOOLEAN -> setBoolean(((int[]) array)[index] != 0);
+            default -> setInt(((int[]) array)[index]);
+        }
+    }
+
+    private void store(Symbol symbol) {
+        storeAt(symbol.getType(), arrayOf(symbol), indexOf(symbol));
+    }
+
+    // Scrive il valore nei registri, convertito nel tipo della variabile, in array[index]
+    private void storeAt(Type type, Object array, int index) {
+        convert(type);
+        switch (type) {
+            case REAL -> ((double[]) array)[index] = realValue;
+            case STRING -> ((String[]) array)[index] = stringValue;
+            default -> ((int[]) array)[index] = intValue;
+        }
+    }
+
+    // Array tipato che contiene la variabile: per un parametro out è quello della variabile del chiamante
+    private Object arrayOf(Symbol symbol) {
+        if (symbol.isOut()) {
+            return frame.refs[symbol.getSlot()];
+        }
+        return arrayIn(symbol.isGlobal() ? globals : frame, symbol);
+    }
+
+    private int indexOf(Symbol symbol) {
+        return symbol.isOut() ? frame.refIndexes[symbol.getSlot()] : symbol.getSlot();
+    }
+
+    private static Object arrayIn(Frame frame, Symbol symbol) {
+        return switch (symbol.getType()) {
+            case REAL -> frame.reals;
+            case STRING -> frame.strings;
+            default -> frame.ints;
+        };
+    }
+
+    private void setInt(int value) {
+        kind = Type.INTEGER;
+        intValue = value;
+    }
+
+    private void setBoolean(boolean value) {
+        kind = Type.BOOLEAN;
+        intValue = value ? 1 : 0;
+    }
+
+    private void setReal(double value) {
+        kind = Type.REAL;
+        realValue = value;
+    }
+
+    private void setString(String value) {
+        kind = Type.STRING;
+        stringValue = value;
+    }
+}
@@ -0,0 +1,1031 @@
+package visitor;
+
+import ir.Argument;
+import ir.BasicBlock;
+import ir.CallResult;
+import ir.Constant;
+import ir.Instruction;
+import ir.IrFunction;
+import ir.IrProgram;
+import ir.Opcode;
+import ir.Parameter;
+import ir.Value;
+import ir.Variable;
+import nodes.*;
+import nodes.expr.*;
+import nodes.stat.*;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Costruisce la rappresentazione intermedia (package ir) di un programma che ha superato type checking
+ * e constant folding. If, elif, else e while diventano blocchi di base collegati da salti, and e or
+ * vengono cortocircuitati come in C. Le variabili locali intere, reali e booleane diventano valori SSA
+ * durante la stessa visita, con l'algoritmo di Braun et al. ("Simple and Efficient Construction of Static
+ * Single Assignment Form", 2013): ogni blocco ricorda l'ultimo valore assegnato a ciascuna variabile e le PHI
+ * vengono create alla lettura, rimandando quelle dei blocchi di cui non si conoscono ancora tutti i predecessori
+ * (le intestazioni dei cicli) finché il blocco non viene sigillato. Le PHI banali vengono eliminate subito.
+ * Restano in memoria le variabili globali e le stringhe; anche i parametri out diventano valori SSA, letti
+ * all'ingresso e scritti prima di ogni return, quando nessun'altra funzione può accedere alla variabile del
+ * chiamante durante l'esecuzione (nessuna chiamata, nessun accesso a globali, un solo parametro out).
+ * La semantica è quella del codice C di CodeGeneratorVisitor e di InterpreterVisitor.
+ */
+public class IrBuilderVisitor implements Visitor<Value> {
+    private final IrProgram program = new IrProgram();
+    private final Map<Symbol, IrFunction> functions = new IdentityHashMap<>();
+    private final List<Routine> routines = new ArrayList<>();
+    // Variabili in memoria; gli altri simboli sono valori SSA
+    private final Map<Symbol, Variable> memory = new IdentityHashMap<>();
+
+    // Funzione in costruzione e blocco corrente, null dopo un return
+    private IrFunction function;
+    private BasicBlock block;
+    // Parametri out trasformati in valori SSA, da scrivere nella variabile del chiamante prima di ogni return
+    private final Map<Symbol, Variable> promotedOuts = new LinkedHashMap<>();
+
+    // Costruzione SSA: ultimo valore di ogni variabile in ogni blocco, blocchi sigillati, PHI in attesa
+    // dei predecessori e PHI banali eliminate, con il valore che le sostituisce
+    private final Map<Symbol, Map<BasicBlock, Value>> definitions = new IdentityHashMap<>();
+    private final Set<BasicBlock> sealed = new HashSet<>();
+    private final Map<BasicBlock, Map<Symbol, Instruction>> incompletePhis = new HashMap<>();
+    private final Map<Value, Value> replacedPhis = new IdentityHashMap<>();
+
+    // Funzione o procedura da tradurre, con i simboli dei parametri nell'ordine della firma
+    private static class Routine {
+        final IrFunction function;
+        final BodyNode body;
+        final List<Symbol> params = new ArrayList<>();
+
+        Routine(IrFunction function, BodyNode body) {
+            this.function = function;
+            this.body = body;
+        }
+    }
+
+    public IrProgram build(ProgramNode node) throws SemanticException {
+        node.accept(this);
+        if (program.getMain() == null) {
+            throw new SemanticException("Non è stata dichiarata una procedura 'main'.");
+        }
+        for (Routine routine : routines) {
+            translate(routine);
+        }
+        return program;
+    }
+
+    private void translate(Routine routine) throws SemanticException {
+        function = routine.function;
+        definitions.clear();
+        sealed.clear();
+        incompletePhis.clear();
+        replacedPhis.clear();
+        promotedOuts.clear();
+        block = function.newBlock();
+        seal(block);
+
+        BodyScan scan = new BodyScan();
+        scan.scan(routine.body);
+        long outs = function.getParameters().stream().filter(Parameter::isOut).count();
+        boolean promote = !scan.calls && !scan.globals && outs == 1;
+        for (int i = 0; i < routine.params.size(); i++) {
+            Symbol symbol = routine.params.get(i);
+            Parameter param = function.getParameters().get(i);
+            if (param.isOut()) {
+                if (promote && param.getType() != Type.STRING) {
+                    write(symbol, append(Instruction.load(param.getReference())));
+                    promotedOuts.put(symbol, param.getReference());
+                } else {
+                    memory.put(symbol, param.getReference());
+                }
+            } else if (param.getType() == Type.STRING && scan.modified.contains(symbol)) {
+                // Il parametro è preso in prestito dal chiamante: se il corpo lo modifica, ne usa una copia
+                Variable copy = new Variable(Variable.Kind.LOCAL, symbol.getName(), Type.STRING);
+                function.getLocals().add(copy);
+                memory.put(symbol, copy);
+                append(Instruction.store(copy, param));
+            } else {
+                write(symbol, param);
+            }
+        }
+
+        routine.body.accept(this);
+        if (block != null) {
+            // Fine del corpo senza return: una funzione restituisce il valore iniziale del suo tipo
+            List<Type> returnTypes = function.getReturnTypes();
+            if (returnTypes.size() == 1) {
+                terminate(new Instruction(Opcode.RETURN, null, Constant.zero(returnTypes.get(0))));
+            } else {
+                storePromotedOuts();
+                terminate(new Instruction(Opcode.RETURN, null));
+            }
+        }
+        function.removeUnreachableBlocks();
+        function.sortBlocks();
+    }
+
+    @Override
+    public Value visit(ProgramNode node) throws SemanticException {
+        if (node.getItersWithoutProcedure() != null) {
+            node.getItersWithoutProcedure().accept(this);
+        }
+        node.getProcedure().accept(this);
+        if (node.getIters() != null) {
+            node.getIters().accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Value visit(ItersWithoutProcedureNode node) throws SemanticException {
+        for (IterWithoutProcedureNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Value visit(IterWithoutProcedureNode node) throws SemanticException {
+        declare(node.getDeclaration());
+        return null;
+    }
+
+    @Override
+    public Value visit(ItersNode node) throws SemanticException {
+        for (IterNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Value visit(IterNode node) throws SemanticException {
+        declare(node.getDeclaration());
+        return null;
+    }
+
+    // Dichiarazione globale: le variabili vanno in memoria con il loro valore iniziale, funzioni e procedure
+    // vengono tradotte dopo averle dichiarate tutte
+    private void declare(Visitable declaration) throws SemanticException {
+        if (declaration instanceof VarDeclNode varDecl) {
+            for (DeclNode decl : varDecl.getDecls()) {
+                List<Symbol> symbols = decl.getSymbols();
+                for (int i = 0; i < symbols.size(); i++) {
+                    Symbol symbol = symbols.get(i);
+                    Object value = decl.getConsts() != null ? decl.getConsts().get(i).getValue() : null;
+                    Variable global = new Variable(Variable.Kind.GLOBAL, symbol.getName(), symbol.getType(), value);
+                    program.getGlobals().add(global);
+                    memory.put(symbol, global);
+                }
+            }
+        } else {
+            declaration.accept(this);
+        }
+    }
+
+    @Override
+    public Value visit(VarDeclNode node) throws SemanticException {
+        for (DeclNode decl : node.getDecls()) {
+            decl.accept(this);
+        }
+        return null;
+    }
+
+    // Inizializza le variabili locali: con la costante, se presente, altrimenti a zero o alla stringa vuota
+    @Override
+    public Value visit(DeclNode node) throws SemanticException {
+        List<Symbol> symbols = node.getSymbols();
+        for (int i = 0; i < symbols.size(); i++) {
+            Symbol symbol = symbols.get(i);
+            Object value = node.getConsts() != null ? node.getConsts().get(i).getValue() : null;
+            Constant initial = constant(symbol.getType(), value);
+            if (symbol.getType() == Type.STRING) {
+                Variable local = memory.get(symbol);
+                if (local == null) {
+                    local = new Variable(Variable.Kind.LOCAL, symbol.getName(), Type.STRING);
+                    function.getLocals().add(local);
+                    memory.put(symbol, local);
+                }
+                append(Instruction.store(local, initial));
+            } else {
+                write(symbol, initial);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Value visit(ConstNode node) throws SemanticException {
+        // Le costanti vengono lette direttamente dalla dichiarazione
+        return null;
+    }
+
+    @Override
+    public Value visit(FunctionNode node) throws SemanticException {
+        IrFunction declared = new IrFunction(node.getName(), node.getReturnTypes());
+        Routine routine = new Routine(declared, node.getBody());
+        if (node.getParams() != null) {
+            for (ParamNode param : node.getParams().getParams()) {
+                routine.params.add(node.getScope().lookup(param.getName()));
+                declared.getParameters().add(new Parameter(param.getName(), param.getType()));
+            }
+        }
+        add(routine, node.getScope().getParent().lookup(node.getName()));
+        return null;
+    }
+
+    @Override
+    public Value visit(FuncParamsNode node) throws SemanticException {
+        // Parametri già dichiarati dalla visita della funzione
+        return null;
+    }
+
+    @Override
+    public Value visit(ParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Value visit(ProcedureNode node) throws SemanticException {
+        IrFunction declared = new IrFunction(node.getName(), List.of());
+        Routine routine = new Routine(declared, node.getBody());
+        if (node.getParams() != null) {
+            for (ProcParamNode param : node.getParams().getParams()) {
+                routine.params.add(node.getScope().lookup(param.getName()));
+                declared.getParameters().add(param.isOut()
+                        ? new Parameter(param.getName(), param.getType(),
+                                new Variable(Variable.Kind.OUT, param.getName(), param.getType()))
+                        : new Parameter(param.getName(), param.getType()));
+            }
+        }
+        add(routine, node.getScope().getParent().lookup(node.getName()));
+        return null;
+    }
+
+    private void add(Routine routine, Symbol symbol) {
+        routines.add(routine);
+        functions.put(symbol, routine.function);
+        program.getFunctions().add(routine.function);
+    }
+
+    @Override
+    public Value visit(ProcParamsNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Value visit(ProcParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Value visit(BodyNode node) throws SemanticException {
+        // Come nel codice C, le variabili del blocco vengono inizializzate prima delle istruzioni
+        List<Visitable> statements = node.getStatements();
+        for (Visitable statement : statements) {
+            if (statement instanceof VarDeclNode) {
+                ensureBlock();
+                statement.accept(this);
+            }
+        }
+        for (Visitable statement : statements) {
+            if (!(statement instanceof VarDeclNode)) {
+                ensureBlock();
+                statement.accept(this);
+            }
+        }
+        return null;
+    }
+
+    // Le istruzioni che seguono un return finiscono in un blocco irraggiungibile, eliminato alla fine
+    private void ensureBlock() {
+        if (block == null) {
+            block = function.newBlock();
+            seal(block);
+        }
+    }
+
+    @Override
+    public Value visit(AssignStatNode node) throws SemanticException {
+        List<Symbol> symbols = node.getSymbols();
+        int idIndex = 0;
+        for (ExprNode expr : node.getExprs()) {
+            if (expr instanceof FunCallNode funCall && funCall.getReturnTypes().size() > 1) {
+                // I valori di ritorno vengono scritti direttamente nelle variabili assegnate
+                int count = funCall.getReturnTypes().size();
+                call(funCall, symbols.subList(idIndex, idIndex + count));
+                idIndex += count;
+            } else {
+                assign(symbols.get(idIndex++), expr.accept(this));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Value visit(ProcCallStatNode node) throws SemanticException {
+        node.getProcCall().accept(this);
+        return null;
+    }
+
+    @Override
+    public Value visit(ReturnStatNode node) throws SemanticException {
+        List<ExprNode> exprs = node.getExprs();
+        List<Type> returnTypes = function.getReturnTypes();
+        if (exprs.size() == 1 && returnTypes.size() == 1) {
+            Value value = convert(exprs.get(0).accept(this), returnTypes.get(0));
+            terminate(new Instruction(Opcode.RETURN, null, value));
+            return null;
+        }
+        for (int i = 0; i < exprs.size(); i++) {
+            Value value = convert(exprs.get(i).accept(this), returnTypes.get(i));
+            append(Instruction.store(function.getResults().get(i), value));
+        }
+        storePromotedOuts();
+        terminate(new Instruction(Opcode.RETURN, null));
+        return null;
+    }
+
+    private void storePromotedOuts() {
+        for (Map.Entry<Symbol, Variable> out : promotedOuts.entrySet()) {
+            append(Instruction.store(out.getValue(), read(out.getKey(), block)));
+        }
+    }
+
+    @Override
+    public Value visit(WriteStatNode node) throws SemanticException {
+        write(node.getArgs(), false);
+        return null;
+    }
+
+    @Override
+    public Value visit(WriteReturnStatNode node) throws SemanticException {
+        write(node.getArgs(), true);
+        return null;
+    }
+
+    // Un'unica PRINT con i letterali nel formato, come la printf del codice C
+    private void write(List<IOArgNode> args, boolean newline) throws SemanticException {
+        List<String> texts = new ArrayList<>(List.of(""));
+        List<Value> values = new ArrayList<>();
+        for (IOArgNode arg : args) {
+            if (arg instanceof IOArgStringLiteralNode literal) {
+                appendText(texts, literal.getValue());
+            } else {
+                Value value = arg.accept(this);
+                values.add(convert(value, declaredType(arg, value.getType())));
+                texts.add("");
+            }
+        }
+        if (newline) {
+            appendText(texts, "\\n");
+        }
+        append(Instruction.format(Opcode.PRINT, texts, values));
+    }
+
+    private static void appendText(List<String> texts, String text) {
+        texts.set(texts.size() - 1, texts.get(texts.size() - 1) + text);
+    }
+
+    // Tipo con cui il codice C stampa l'argomento (il formato di printf)
+    private static Type declaredType(IOArgNode arg, Type kind) {
+        Type type = null;
+        if (arg instanceof DollarExprNode dollar) {
+            type = dollar.getExpr() instanceof FunCallNode funCall ? funCall.getReturnTypes().get(0) : dollar.getExpr().getType();
+        } else if (arg instanceof IOArgIdentifierNode identifier) {
+            type = identifier.getSymbol().getType();
+        } else if (arg instanceof IOArgBinaryNode binary) {
+            type = binary.getType();
+        }
+        return type != null ? type : kind;
+    }
+
+    @Override
+    public Value visit(ReadStatNode node) throws SemanticException {
+        for (IOArgNode arg : node.getArgs()) {
+            if (arg instanceof IOArgStringLiteralNode literal) {
+                append(Instruction.format(Opcode.PRINT, List.of(literal.getValue()), List.of()));
+            } else if (arg instanceof DollarExprNode dollar && dollar.getExpr() instanceof IdentifierNode identifier) {
+                Symbol symbol = identifier.getSymbol();
+                Variable variable = memory.get(symbol);
+                if (variable != null) {
+                    append(Instruction.read(variable));
+                } else {
+                    // La lettura parte dal valore attuale, che resta se l'input non contiene un valore valido
+                    write(symbol, append(Instruction.read(read(symbol, block))));
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Value visit(IfStatNode node) throws SemanticException {
+        BasicBlock exit = function.newBlock();
+        List<ElifNode> elifs = node.getElifBlocks();
+        boolean hasElse = node.getElseBlock() != null;
+
+        BasicBlock next = !elifs.isEmpty() || hasElse ? function.newBlock() : exit;
+        branchTo(node.getCondition(), node.getThenBody(), next, exit);
+        for (int i = 0; i < elifs.size(); i++) {
+            ElifNode elif = elifs.get(i);
+            block = next;
+            next = i < elifs.size() - 1 || hasElse ? function.newBlock() : exit;
+            branchTo(elif.getCondition(), elif.getBody(), next, exit);
+        }
+        if (hasElse) {
+            block = next;
+            node.getElseBlock().getBody().accept(this);
+            jumpTo(exit);
+        }
+        seal(exit);
+        block = exit.getPredecessors().isEmpty() ? null : exit;
+        return null;
+    }
+
+    // Ramo di un if: il corpo viene eseguito se la condizione vale, altrimenti si prosegue da otherwise
+    private void branchTo(ExprNode condition, BodyNode body, BasicBlock otherwise, BasicBlock exit)
+            throws SemanticException {
+        BasicBlock then = function.newBlock();
+        branch(condition, then, otherwise);
+        seal(then);
+        if (otherwise != exit) {
+            seal(otherwise);
+        }
+        block = then;
+        body.accept(this);
+        jumpTo(exit);
+    }
+
+    @Override
+    public Value visit(WhileStatNode node) throws SemanticException {
+        // L'intestazione viene sigillata solo dopo il corpo, quando è noto il salto all'indietro
+        BasicBlock header = function.newBlock();
+        BasicBlock body = function.newBlock();
+        BasicBlock exit = function.newBlock();
+        jumpTo(header);
+        block = header;
+        branch(node.getCondition(), body, exit);
+        seal(body);
+        seal(exit);
+        block = body;
+        node.getBody().accept(this);
+        jumpTo(header);
+        seal(header);
+        block = exit;
+        return null;
+    }
+
+    /*
+     * Salta a then se la condizione vale, altrimenti a otherwise. and e or vengono cortocircuitati con
+     * blocchi intermedi, not scambia le destinazioni. Le destinazioni vanno sigillate dal chiamante.
+     */
+    private void branch(ExprNode condition, BasicBlock then, BasicBlock otherwise) throws SemanticException {
+        if (condition instanceof BinaryExprNode binary
+                && (binary.getOperator().equals("and") || binary.getOperator().equals("or"))) {
+            BasicBlock right = function.newBlock();
+            if (binary.getOperator().equals("and")) {
+                branch(binary.getLeft(), right, otherwise);
+            } else {
+                branch(binary.getLeft(), then, right);
+            }
+            seal(right);
+            block = right;
+            branch(binary.getRight(), then, otherwise);
+            return;
+        }
+        if (condition instanceof UnaryExprNode unary && unary.getOperator().equals("not")) {
+            branch(unary.getExpr(), otherwise, then);
+            return;
+        }
+        terminate(Instruction.branch(truth(condition.accept(this)), then, otherwise));
+    }
+
+    @Override
+    public Value visit(FunCallNode node) throws SemanticException {
+        return call(node, List.of());
+    }
+
+    // Chiama la funzione; con più valori di ritorno questi vengono scritti nelle variabili targets
+    private Instruction call(FunCallNode node, List<Symbol> targets) throws SemanticException {
+        IrFunction callee = functions.get(node.getSymbol());
+        List<Argument> arguments = new ArrayList<>();
+        List<Value> operands = new ArrayList<>();
+        List<ExprNode> args = node.getArguments();
+        for (int i = 0; i < args.size(); i++) {
+            operands.add(convert(args.get(i).accept(this), callee.getParameters().get(i).getType()));
+            arguments.add(Argument.value(operands.size() - 1));
+        }
+        Map<Symbol, Argument> results = new LinkedHashMap<>();
+        for (Symbol target : targets) {
+            arguments.add(reference(target, operands, results));
+        }
+        Type type = callee.getReturnTypes().size() == 1 ? callee.getReturnTypes().get(0) : null;
+        return emitCall(callee, type, arguments, operands, results);
+    }
+
+    @Override
+    public Value visit(ProcCallNode node) throws SemanticException {
+        IrFunction callee = functions.get(node.getSymbol());
+        List<Argument> arguments = new ArrayList<>();
+        List<Value> operands = new ArrayList<>();
+        Map<Symbol, Argument> results = new LinkedHashMap<>();
+        List<ProcExprNode> args = node.getArguments();
+        for (int i = 0; i < args.size(); i++) {
+            Parameter param = callee.getParameters().get(i);
+            if (param.isOut()) {
+                // Passaggio per riferimento: il parametro punta alla variabile del chiamante
+                arguments.add(reference(((IdentifierNode) args.get(i).getExpr()).getSymbol(), operands, results));
+            } else {
+                operands.add(convert(args.get(i).getExpr().accept(this), param.getType()));
+                arguments.add(Argument.value(operands.size() - 1));
+            }
+        }
+        emitCall(callee, null, arguments, operands, results);
+        return null;
+    }
+
+    // Argomento per riferimento: l'indirizzo di una variabile in memoria, oppure una cella inizializzata
+    // con il valore SSA corrente, condivisa se la stessa variabile compare più volte
+    private Argument reference(Symbol symbol, List<Value> operands, Map<Symbol, Argument> results) {
+        Variable variable = memory.get(symbol);
+        if (variable != null) {
+            return Argument.address(variable);
+        }
+        Argument result = results.get(symbol);
+        if (result == null) {
+            operands.add(read(symbol, block));
+            result = Argument.result(new CallResult(symbol.getType()), operands.size() - 1);
+            results.put(symbol, result);
+        }
+        return result;
+    }
+
+    // Dopo la chiamata le variabili passate per riferimento valgono quanto scritto nelle celle
+    private Instruction emitCall(IrFunction callee, Type type, List<Argument> arguments, List<Value> operands,
+                                 Map<Symbol, Argument> results) {
+        Instruction call = append(Instruction.call(callee, type, arguments, operands));
+        for (Map.Entry<Symbol, Argument> result : results.entrySet()) {
+            write(result.getKey(), result.getValue().getResult());
+        }
+        return call;
+    }
+
+    @Override
+    public Value visit(ElifNode node) throws SemanticException {
+        // Gestito da IfStatNode
+        return null;
+    }
+
+    @Override
+    public Value visit(ElseNode node) throws SemanticException {
+        // Gestito da IfStatNode
+        return null;
+    }
+
+    @Override
+    public Value visit(IOArgIdentifierNode node) throws SemanticException {
+        return load(node.getSymbol());
+    }
+
+    @Override
+    public Value visit(IOArgStringLiteralNode node) throws SemanticException {
+        return Constant.ofString(node.getValue());
+    }
+
+    @Override
+    public Value visit(IOArgBinaryNode node) throws SemanticException {
+        Value left = node.getLeft().accept(this);
+        Value right = node.getRight().accept(this);
+        if (left.getType() == Type.STRING) {
+            return concat(List.of(left, right));
+        }
+        return append(new Instruction(Opcode.ADD, Type.INTEGER, left, right));
+    }
+
+    @Override
+    public Value visit(DollarExprNode node) throws SemanticException {
+        return node.getExpr().accept(this);
+    }
+
+    @Override
+    public Value visit(ProcExprNode node) throws SemanticException {
+        return node.getExpr().accept(this);
+    }
+
+    @Override
+    public Value visit(RealConstNode node) throws SemanticException {
+        return Constant.ofReal(node.getValue());
+    }
+
+    @Override
+    public Value visit(IntConstNode node) throws SemanticException {
+        return Constant.ofInt(node.getValue());
+    }
+
+    @Override
+    public Value visit(StringConstNode node) throws SemanticException {
+        return Constant.ofString(node.getValue());
+    }
+
+    @Override
+    public Value visit(IdentifierNode node) throws SemanticException {
+        return load(node.getSymbol());
+    }
+
+    @Override
+    public Value visit(BooleanConstNode node) throws SemanticException {
+        return Constant.ofBoolean(node.getValue());
+    }
+
+    @Override
+    public Value visit(BinaryExprNode node) throws SemanticException {
+        String operator = node.getOperator();
+        if (operator.equals("and") || operator.equals("or")) {
+            // Valutazione cortocircuitata: una PHI sceglie tra vero e falso in base al ramo percorso
+            BasicBlock isTrue = function.newBlock();
+            BasicBlock isFalse = function.newBlock();
+            BasicBlock join = function.newBlock();
+            branch(node, isTrue, isFalse);
+            seal(isTrue);
+            seal(isFalse);
+            block = isTrue;
+            jumpTo(join);
+            block = isFalse;
+            jumpTo(join);
+            seal(join);
+            block = join;
+            Instruction phi = new Instruction(Opcode.PHI, Type.BOOLEAN, Constant.ofBoolean(true), Constant.ofBoolean(false));
+            join.addPhi(phi);
+            return phi;
+        }
+        if (isConcatenation(node)) {
+            List<ExprNode> operands = new ArrayList<>();
+            collectOperands(node, operands);
+            List<Value> values = new ArrayList<>();
+            for (ExprNode operand : operands) {
+                Type type = operandType(operand);
+                if (type != Type.STRING && type != Type.INTEGER && type != Type.REAL) {
+                    throw new SemanticException("Unsupported type for conversion to string: " + type);
+                }
+                values.add(convert(operand.accept(this), type));
+            }
+            return concat(values);
+        }
+        Value left = node.getLeft().accept(this);
+        Value right = node.getRight().accept(this);
+        Value result = binary(operator, left, right);
+        // La divisione tra interi tronca come in C, ma il risultato ha tipo REAL
+        return operator.equals("/") ? convert(result, node.getType()) : result;
+    }
+
+    // Operazione tra due valori, con l'aritmetica del tipo più ampio tra i due
+    private Value binary(String operator, Value left, Value right) throws SemanticException {
+        Opcode opcode = switch (operator) {
+            case "+" -> Opcode.ADD;
+            case "-" -> Opcode.SUB;
+            case "*" -> Opcode.MUL;
+            case "/" -> Opcode.DIV;
+            case "=" -> Opcode.EQ;
+            case "!=" -> Opcode.NE;
+            case "<" -> Opcode.LT;
+            case "<=" -> Opcode.LE;
+            case ">" -> Opcode.GT;
+            case ">=" -> Opcode.GE;
+            default -> throw new SemanticException("Operatore non supportato: " + operator);
+        };
+        if (left.getType() == Type.STRING || right.getType() == Type.STRING) {
+            if (left.getType() != right.getType() || !opcode.isComparison()) {
+                throw new SemanticException("Operatore non supportato tra stringhe e numeri: " + operator);
+            }
+            return append(new Instruction(opcode, Type.BOOLEAN, left, right));
+        }
+        Type type = Type.INTEGER;
+        if (left.getType() == Type.REAL || right.getType() == Type.REAL) {
+            type = Type.REAL;
+            left = convert(left, Type.REAL);
+            right = convert(right, Type.REAL);
+        }
+        return append(new Instruction(opcode, opcode.isComparison() ? Type.BOOLEAN : type, left, right));
+    }
+
+    // Come in CodeGeneratorVisitor: "+" con almeno un operando di tipo stringa
+    private boolean isConcatenation(ExprNode expr) {
+        return expr instanceof BinaryExprNode binary && binary.getOperator().equals("+")
+                && (operandType(binary.getLeft()) == Type.STRING || operandType(binary.getRight()) == Type.STRING);
+    }
+
+    private Type operandType(ExprNode expr) {
+        if (expr instanceof FunCallNode funCall && funCall.getReturnTypes() != null && funCall.getReturnTypes().size() == 1) {
+            return funCall.getReturnTypes().get(0);
+        }
+        return expr.getType();
+    }
+
+    // Operandi della catena di concatenazioni, da sinistra a destra
+    private void collectOperands(ExprNode expr, List<ExprNode> operands) {
+        if (isConcatenation(expr)) {
+            BinaryExprNode binary = (BinaryExprNode) expr;
+            collectOperands(binary.getLeft(), operands);
+            collectOperands(binary.getRight(), operands);
+        } else {
+            operands.add(expr);
+        }
+    }
+
+    // CONCAT con le costanti stringa tra i letterali e gli altri valori come operandi
+    private Value concat(List<Value> values) {
+        List<String> texts = new ArrayList<>(List.of(""));
+        List<Value> operands = new ArrayList<>();
+        for (Value value : values) {
+            if (value instanceof Constant constant && constant.getType() == Type.STRING) {
+                appendText(texts, constant.stringValue());
+            } else {
+                operands.add(value);
+                texts.add("");
+            }
+        }
+        return append(Instruction.format(Opcode.CONCAT, texts, operands));
+    }
+
+    @Override
+    public Value visit(UnaryExprNode node) throws SemanticException {
+        switch (node.getOperator()) {
+            case "uminus" -> {
+                Value operand = node.getExpr().accept(this);
+                Type type = operand.getType() == Type.REAL ? Type.REAL : Type.INTEGER;
+                return append(new Instruction(Opcode.NEG, type, operand));
+            }
+            case "not" -> {
+                return append(new Instruction(Opcode.NOT, Type.BOOLEAN, truth(node.getExpr().accept(this))));
+            }
+            default -> throw new SemanticException("Unrecognized unary operator: " + node.getOperator());
+        }
+    }
+
+    // Valore booleano della condizione: un reale è vero se diverso da zero
+    private Value truth(Value value) {
+        if (value.getType() != Type.REAL) {
+            return value;
+        }
+        return append(new Instruction(Opcode.NE, Type.BOOLEAN, value, Constant.ofReal(0)));
+    }
+
+    // Converte il valore nel tipo indicato, come l'assegnamento in C
+    private Value convert(Value value, Type to) {
+        Type from = value.getType();
+        if (to == Type.REAL && from != Type.REAL) {
+            if (value instanceof Constant constant) {
+                return Constant.ofReal(constant.intValue());
+            }
+            return append(new Instruction(Opcode.I2R, Type.REAL, value));
+        }
+        if ((to == Type.INTEGER || to == Type.BOOLEAN) && from == Type.REAL) {
+            if (value instanceof Constant constant) {
+                return Constant.ofInt((int) constant.realValue());
+            }
+            return append(new Instruction(Opcode.R2I, Type.INTEGER, value));
+        }
+        return value;
+    }
+
+    private static Constant constant(Type type, Object value) {
+        if (value == null) {
+            return Constant.zero(type);
+        }
+        return switch (type) {
+            case REAL -> Constant.ofReal(((Number) value).doubleValue());
+            case STRING -> Constant.ofString((String) value);
+            case BOOLEAN -> Constant.ofBoolean(Boolean.TRUE.equals(value));
+            default -> Constant.ofInt(((Number) value).intValue());
+        };
+    }
+
+    // Valore della variabile: le variabili in memoria vengono lette con LOAD, le altre sono valori SSA
+    private Value load(Symbol symbol) {
+        Variable variable = memory.get(symbol);
+        if (variable != null) {
+            return append(Instruction.load(variable));
+        }
+        return read(symbol, block);
+    }
+
+    // Scrive il valore, convertito nel tipo della variabile
+    private void assign(Symbol symbol, Value value) {
+        value = convert(value, symbol.getType());
+        Variable variable = memory.get(symbol);
+        if (variable != null) {
+            append(Instruction.store(variable, value));
+        } else {
+            write(symbol, value);
+        }
+    }
+
+    private <T extends Instruction> T append(T instruction) {
+        block.append(instruction);
+        return instruction;
+    }
+
+    private void terminate(Instruction terminator) {
+        block.append(terminator);
+        block = null;
+    }
+
+    private void jumpTo(BasicBlock target) {
+        if (block != null) {
+            terminate(Instruction.jump(target));
+        }
+    }
+
+    // Costruzione SSA (Braun et al.)
+
+    private void write(Symbol symbol, Value value) {
+        definitions.computeIfAbsent(symbol, key -> new HashMap<>()).put(block, value);
+    }
+
+    private Value read(Symbol symbol, BasicBlock from) {
+        Map<BasicBlock, Value> blockDefinitions = definitions.get(symbol);
+        Value value = blockDefinitions != null ? blockDefinitions.get(from) : null;
+        if (value != null) {
+            while (replacedPhis.containsKey(value)) {
+                value = replacedPhis.get(value);
+            }
+            return value;
+        }
+        return readRecursive(symbol, from);
+    }
+
+    private Value readRecursive(Symbol symbol, BasicBlock from) {
+        Value value;
+        List<BasicBlock> predecessors = from.getPredecessors();
+        if (!sealed.contains(from)) {
+            // Predecessori non ancora noti: la PHI riceverà gli operandi quando il blocco verrà sigillato
+            Instruction phi = newPhi(from, symbol.getType());
+            incompletePhis.computeIfAbsent(from, key -> new LinkedHashMap<>()).put(symbol, phi);
+            value = phi;
+        } else if (predecessors.isEmpty()) {
+            // Blocco irraggiungibile
+            value = Constant.zero(symbol.getType());
+        } else if (predecessors.size() == 1) {
+            value = read(symbol, predecessors.get(0));
+        } else {
+            // La PHI viene registrata prima di leggere gli operandi, così un ciclo la ritrova
+            Instruction phi = newPhi(from, symbol.getType());
+            definitions.computeIfAbsent(symbol, key -> new HashMap<>()).put(from, phi);
+            value = addPhiOperands(symbol, phi);
+        }
+        definitions.computeIfAbsent(symbol, key -> new HashMap<>()).put(from, value);
+        return value;
+    }
+
+    private static Instruction newPhi(BasicBlock block, Type type) {
+        Instruction phi = new Instruction(Opcode.PHI, type);
+        block.addPhi(phi);
+        return phi;
+    }
+
+    private Value addPhiOperands(Symbol symbol, Instruction phi) {
+        for (BasicBlock predecessor : phi.getBlock().getPredecessors()) {
+            phi.addOperand(read(symbol, predecessor));
+        }
+        return tryRemoveTrivialPhi(phi);
+    }
+
+    // Una PHI i cui operandi sono tutti lo stesso valore (o la PHI stessa) viene sostituita da quel valore
+    private Value tryRemoveTrivialPhi(Instruction phi) {
+        Value same = null;
+        for (Value operand : phi.getOperands()) {
+            if (operand == same || operand == phi) {
+                continue;
+            }
+            if (same != null) {
+                return phi;
+            }
+            same = operand;
+        }
+        if (same == null) {
+            same = Constant.zero(phi.getType());
+        }
+        List<Instruction> users = new ArrayList<>(phi.getUsers());
+        users.removeIf(user -> user == phi);
+        phi.replaceAllUsesWith(same);
+        phi.remove();
+        replacedPhis.put(phi, same);
+        for (Instruction user : users) {
+            if (user.getOpcode() == Opcode.PHI && user.getBlock() != null) {
+                tryRemoveTrivialPhi(user);
+            }
+        }
+        return same;
+    }
+
+    private void seal(BasicBlock target) {
+        Map<Symbol, Instruction> phis = incompletePhis.remove(target);
+        if (phis != null) {
+            for (Map.Entry<Symbol, Instruction> phi : phis.entrySet()) {
+                addPhiOperands(phi.getKey(), phi.getValue());
+            }
+        }
+        sealed.add(target);
+    }
+
+    // Chiamate, accessi alle variabili globali e variabili modificate nel corpo di una funzione
+    private class BodyScan {
+        boolean calls;
+        boolean globals;
+        final Set<Symbol> modified = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        void scan(BodyNode body) {
+            for (Visitable statement : body.getStatements()) {
+                statement(statement);
+            }
+        }
+
+        private void statement(Visitable statement) {
+            if (statement instanceof AssignStatNode assign) {
+                assign.getSymbols().forEach(this::modify);
+                assign.getExprs().forEach(this::expr);
+            } else if (statement instanceof ProcCallStatNode call) {
+                calls = true;
+                for (ProcExprNode arg : call.getProcCall().getArguments()) {
+                    if (arg.isRef() && arg.getExpr() instanceof IdentifierNode id) {
+                        modify(id.getSymbol());
+                    }
+                    expr(arg.getExpr());
+                }
+            } else if (statement instanceof ReturnStatNode returnStat) {
+                returnStat.getExprs().forEach(this::expr);
+            } else if (statement instanceof WriteStatNode write) {
+                write.getArgs().forEach(this::ioArg);
+            } else if (statement instanceof WriteReturnStatNode write) {
+                write.getArgs().forEach(this::ioArg);
+            } else if (statement instanceof ReadStatNode read) {
+                for (IOArgNode arg : read.getArgs()) {
+                    if (arg instanceof DollarExprNode dollar && dollar.getExpr() instanceof IdentifierNode id) {
+                        modify(id.getSymbol());
+                    }
+                }
+            } else if (statement instanceof IfStatNode ifStat) {
+                expr(ifStat.getCondition());
+                scan(ifStat.getThenBody());
+                for (ElifNode elif : ifStat.getElifBlocks()) {
+                    expr(elif.getCondition());
+                    scan(elif.getBody());
+                }
+                if (ifStat.getElseBlock() != null) {
+                    scan(ifStat.getElseBlock().getBody());
+                }
+            } else if (statement instanceof WhileStatNode whileStat) {
+                expr(whileStat.getCondition());
+                scan(whileStat.getBody());
+            }
+        }
+
+        private void expr(ExprNode expr) {
+            if (expr instanceof FunCallNode funCall) {
+                calls = true;
+                funCall.getArguments().forEach(this::expr);
+            } else if (expr instanceof BinaryExprNode binary) {
+                expr(binary.getLeft());
+                expr(binary.getRight());
+            } else if (expr instanceof UnaryExprNode unary) {
+                expr(unary.getExpr());
+            } else if (expr instanceof IdentifierNode id) {
+                use(id.getSymbol());
+            }
+        }
+
+        private void ioArg(IOArgNode arg) {
+            if (arg instanceof DollarExprNode dollar) {
+                expr(dollar.getExpr());
+            } else if (arg instanceof IOArgIdentifierNode id) {
+                use(id.getSymbol());
+            } else if (arg instanceof IOArgBinaryNode binary) {
+                ioArg(binary.getLeft());
+                ioArg(binary.getRight());
+            }
+        }
+
+        private void modify(Symbol symbol) {
+            modified.add(symbol);
+            use(symbol);
+        }
+
+        private void use(Symbol symbol) {
+            Variable variable = memory.get(symbol);
+            if (variable != null && variable.getKind() == Variable.Kind.GLOBAL) {
+                globals = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,1223 @@
+package visitor;
+
+import jvm.JvmProgram;
+import nodes.*;
+import nodes.expr.*;
+import nodes.stat.*;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodTooLargeException;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.Symbol;
+import visitor.utils.CFormat;
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Traduce un programma che ha superato type checking e constant folding in una classe JVM (JvmProgram),
+ * generata con ASM. Ogni funzione e procedura diventa un metodo statico con parametri int (anche per i booleani),
+ * double e String; le variabili globali sono campi statici e le variabili locali occupano gli slot del metodo
+ * (Symbol.setSlot). I parametri out e i valori di ritorno di una funzione che ne restituisce più di uno
+ * sono array di un elemento: il chiamante passa un array che contiene il valore della variabile e, al ritorno,
+ * lo ricopia nella variabile; le variabili globali passate per riferimento sono conservate direttamente
+ * in un array, così il riferimento e la variabile restano la stessa cella come i puntatori del codice C.
+ * Le concatenazioni di stringhe usano invokedynamic con StringConcatFactory. La semantica è quella
+ * di InterpreterVisitor e del codice C generato.
+ */
+public class JvmGeneratorVisitor implements Visitor<Void> {
+    private static final Set<String> COMPARISONS = Set.of("=", "!=", "<", "<=", ">", ">=");
+
+    private static final String STRING = "Ljava/lang/String;";
+    private static final String READER = "visitor/utils/ScanfReader";
+    private static final String PRINT_STREAM = "java/io/PrintStream";
+    private static final String INPUT = "$input";
+    private static final String OUTPUT = "$output";
+    private static final Handle CONCAT = new Handle(Opcodes.H_INVOKESTATIC, "java/lang/invoke/StringConcatFactory",
+            "makeConcatWithConstants", "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;"
+            + "Ljava/lang/invoke/MethodType;Ljava/lang/String;[Ljava/lang/Object;)Ljava/lang/invoke/CallSite;", false);
+    // StringConcatFactory accetta al più 200 argomenti: le catene più lunghe vengono spezzate
+    private static final int MAX_CONCAT_ARGUMENTS = 190;
+
+    private final List<Routine> routineList = new ArrayList<>();
+    private final Map<Symbol, Routine> routines = new IdentityHashMap<>();
+    private final List<DeclNode> globalDeclarations = new ArrayList<>();
+    // Variabili globali passate per riferimento, conservate in un array di un elemento
+    private final Set<Symbol> boxedGlobals = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Classe e metodo in generazione
+    private String owner;
+    private ClassWriter writer;
+    private Routine routine;
+    private MethodVisitor method;
+    // Primo slot libero per i temporanei dell'istruzione corrente
+    private int nextLocal;
+
+    // Tipo del valore lasciato sullo stack dall'ultima espressione tradotta
+    private Type kind;
+
+    // Funzione o procedura con la disposizione degli slot del suo metodo
+    private static class Routine {
+        final String name;
+        final BodyNode body;
+        final List<Symbol> params = new ArrayList<>();
+        final List<Type> returnTypes;
+        int locals;
+        // Slot del primo array che riceve i valori di ritorno, se sono più di uno
+        int returnHolders;
+
+        Routine(String name, BodyNode body, List<Type> returnTypes) {
+            this.name = name;
+            this.body = body;
+            this.returnTypes = returnTypes;
+        }
+
+        // Un double occupa due slot, un parametro out uno solo (il riferimento all'array)
+        void allocate(Symbol symbol) {
+            symbol.setGlobal(false);
+            symbol.setSlot(locals);
+            locals += !symbol.isOut() && symbol.getType() == Type.REAL ? 2 : 1;
+        }
+
+        // Variabili dichiarate nel corpo e nei blocchi annidati, ciascuna con un proprio slot
+        void allocateLocals(BodyNode body) {
+            for (Visitable statement : body.getStatements()) {
+                if (statement instanceof VarDeclNode varDecl) {
+                    for (DeclNode decl : varDecl.getDecls()) {
+                        decl.getSymbols().forEach(this::allocate);
+                    }
+                } else if (statement instanceof IfStatNode ifStat) {
+                    allocateLocals(ifStat.getThenBody());
+                    for (ElifNode elif : ifStat.getElifBlocks()) {
+                        allocateLocals(elif.getBody());
+                    }
+                    if (ifStat.getElseBlock() != null) {
+                        allocateLocals(ifStat.getElseBlock().getBody());
+                    }
+                } else if (statement instanceof WhileStatNode whileStat) {
+                    allocateLocals(whileStat.getBody());
+                }
+            }
+        }
+
+        String descriptor() {
+            StringBuilder descriptor = new StringBuilder("(");
+            for (Symbol param : params) {
+                descriptor.append(param.isOut() ? "[" : "").append(descriptorOf(param.getType()));
+            }
+            if (returnTypes.size() > 1) {
+                for (Type type : returnTypes) {
+                    descriptor.append('[').append(descriptorOf(type));
+                }
+            }
+            return descriptor.append(')').append(returnTypes.size() == 1 ? descriptorOf(returnTypes.get(0)) : "V").toString();
+        }
+    }
+
+    // baseName è il nome del file sorgente senza estensione, da cui deriva il nome della classe
+    public JvmProgram generate(ProgramNode program, String baseName) throws SemanticException {
+        owner = JvmProgram.internalName(baseName);
+        program.accept(this);
+        for (Routine function : routineList) {
+            collectReferences(function.body);
+        }
+        Routine main = routineList.stream()
+                .filter(candidate -> candidate.name.equals("main") && candidate.returnTypes.isEmpty())
+                .findFirst()
+                .orElseThrow(() -> new SemanticException("Non è stata dichiarata una procedura 'main'."));
+
+        writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, owner, null,
+                "java/lang/Object", null);
+        writer.visitSource(baseName + ".txt", null);
+        writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, INPUT, "L" + READER + ";", null, null).visitEnd();
+        writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, OUTPUT, "L" + PRINT_STREAM + ";", null, null).visitEnd();
+        for (DeclNode decl : globalDeclarations) {
+            for (Symbol symbol : decl.getSymbols()) {
+                writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, symbol.getName(), globalDescriptor(symbol),
+                        null, null).visitEnd();
+            }
+        }
+        for (Routine function : routineList) {
+            translate(function);
+        }
+        generateRun(main);
+        generateMain();
+        writer.visitEnd();
+
+        try {
+            return new JvmProgram(owner.replace('/', '.'), writer.toByteArray());
+        } catch (MethodTooLargeException e) {
+            throw new SemanticException("La funzione '" + e.getMethodName() + "' supera la dimensione massima di un metodo JVM.");
+        }
+    }
+
+    private void translate(Routine function) throws SemanticException {
+        routine = function;
+        method = writer.visitMethod(Opcodes.ACC_STATIC, function.name, function.descriptor(), null, null);
+        method.visitCode();
+        resetTemps();
+        function.body.accept(this);
+        // Le procedure possono terminare senza return; una funzione che non lo raggiunge restituisce zero
+        if (function.returnTypes.size() == 1) {
+            Type type = function.returnTypes.get(0);
+            pushDefault(type);
+            method.visitInsn(select(type, Opcodes.IRETURN, Opcodes.DRETURN, Opcodes.ARETURN));
+        } else {
+            method.visitInsn(Opcodes.RETURN);
+        }
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    // run(InputStream, PrintStream): prepara input e output, inizializza le variabili globali ed esegue main
+    private void generateRun(Routine main) throws SemanticException {
+        routine = new Routine("run", null, List.of());
+        routine.locals = 2;
+        method = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "run",
+                "(Ljava/io/InputStream;L" + PRINT_STREAM + ";)V", null, null);
+        method.visitCode();
+        resetTemps();
+        method.visitTypeInsn(Opcodes.NEW, READER);
+        method.visitInsn(Opcodes.DUP);
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitMethodInsn(Opcodes.INVOKESPECIAL, READER, "<init>", "(Ljava/io/InputStream;)V", false);
+        method.visitFieldInsn(Opcodes.PUTSTATIC, owner, INPUT, "L" + READER + ";");
+        method.visitVarInsn(Opcodes.ALOAD, 1);
+        method.visitFieldInsn(Opcodes.PUTSTATIC, owner, OUTPUT, "L" + PRINT_STREAM + ";");
+        for (DeclNode decl : globalDeclarations) {
+            for (Symbol symbol : decl.getSymbols()) {
+                if (boxedGlobals.contains(symbol)) {
+                    newHolder(symbol.getType());
+                    method.visitFieldInsn(Opcodes.PUTSTATIC, owner, symbol.getName(), globalDescriptor(symbol));
+                }
+            }
+        }
+        for (DeclNode decl : globalDeclarations) {
+            decl.accept(this);
+        }
+        for (Symbol param : main.params) {
+            if (param.isOut()) {
+                newHolder(param.getType());
+            } else {
+                pushDefault(param.getType());
+            }
+        }
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, owner, main.name, main.descriptor(), false);
+        method.visitVarInsn(Opcodes.ALOAD, 1);
+        method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, PRINT_STREAM, "flush", "()V", false);
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    // main(String[]) per eseguire il file .class con java, su standard input e standard output
+    private void generateMain() {
+        method = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "main", "([Ljava/lang/String;)V", null, null);
+        method.visitCode();
+        method.visitFieldInsn(Opcodes.GETSTATIC, "java/lang/System", "in", "Ljava/io/InputStream;");
+        method.visitFieldInsn(Opcodes.GETSTATIC, "java/lang/System", "out", "L" + PRINT_STREAM + ";");
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, owner, "run", "(Ljava/io/InputStream;L" + PRINT_STREAM + ";)V", false);
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    // Variabili globali passate come parametro out o assegnate con i valori di ritorno di una funzione
+    private void collectReferences(BodyNode body) {
+        for (Visitable statement : body.getStatements()) {
+            if (statement instanceof AssignStatNode assign) {
+                int idIndex = 0;
+                for (ExprNode expr : assign.getExprs()) {
+                    int values = expr instanceof FunCallNode funCall ? funCall.getReturnTypes().size() : 1;
+                    if (values > 1) {
+                        for (Symbol symbol : assign.getSymbols().subList(idIndex, idIndex + values)) {
+                            if (symbol.isGlobal()) {
+                                boxedGlobals.add(symbol);
+                            }
+                        }
+                    }
+                    idIndex += values;
+                }
+            } else if (statement instanceof ProcCallStatNode procCallStat) {
+                ProcCallNode procCall = procCallStat.getProcCall();
+                Routine callee = routines.get(procCall.getSymbol());
+                for (int i = 0; i < procCall.getArguments().size(); i++) {
+                    if (callee.params.get(i).isOut()) {
+                        Symbol symbol = ((IdentifierNode) procCall.getArguments().get(i).getExpr()).getSymbol();
+                        if (symbol.isGlobal()) {
+                            boxedGlobals.add(symbol);
+                        }
+                    }
+                }
+            } else if (statement instanceof IfStatNode ifStat) {
+                collectReferences(ifStat.getThenBody());
+                for (ElifNode elif : ifStat.getElifBlocks()) {
+                    collectReferences(elif.getBody());
+                }
+                if (ifStat.getElseBlock() != null) {
+                    collectReferences(ifStat.getElseBlock().getBody());
+                }
+            } else if (statement instanceof WhileStatNode whileStat) {
+                collectReferences(whileStat.getBody());
+            }
+        }
+    }
+
+    @Override
+    public Void visit(ProgramNode node) throws SemanticException {
+        // Disposizione degli slot: parametri, array dei valori di ritorno e variabili locali di ogni metodo
+        if (node.getItersWithoutProcedure() != null) {
+            node.getItersWithoutProcedure().accept(this);
+        }
+        node.getProcedure().accept(this);
+        if (node.getIters() != null) {
+            node.getIters().accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(ItersWithoutProcedureNode node) throws SemanticException {
+        for (IterWithoutProcedureNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(IterWithoutProcedureNode node) throws SemanticException {
+        declare(node.getDeclaration());
+        return null;
+    }
+
+    @Override
+    public Void visit(ItersNode node) throws SemanticException {
+        for (IterNode iter : node.getIterList()) {
+            iter.accept(this);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(IterNode node) throws SemanticException {
+        declare(node.getDeclaration());
+        return null;
+    }
+
+    // Dichiarazione globale: le variabili diventano campi statici, funzioni e procedure metodi
+    private void declare(Visitable declaration) throws SemanticException {
+        if (declaration instanceof VarDeclNode varDecl) {
+            for (DeclNode decl : varDecl.getDecls()) {
+                for (Symbol symbol : decl.getSymbols()) {
+                    symbol.setGlobal(true);
+                }
+                globalDeclarations.add(decl);
+            }
+        } else {
+            declaration.accept(this);
+        }
+    }
+
+    @Override
+    public Void visit(VarDeclNode node) throws SemanticException {
+        for (DeclNode decl : node.getDecls()) {
+            decl.accept(this);
+        }
+        return null;
+    }
+
+    // Inizializza le variabili dichiarate: con la costante, se presente, altrimenti a zero o alla stringa vuota
+    @Override
+    public Void visit(DeclNode node) throws SemanticException {
+        List<Symbol> symbols = node.getSymbols();
+        for (int i = 0; i < symbols.size(); i++) {
+            Symbol symbol = symbols.get(i);
+            Object value = node.getConsts() != null ? node.getConsts().get(i).getValue() : null;
+            Type type = symbol.getType();
+            beginStore(symbol);
+            switch (type) {
+                case REAL -> pushReal(value instanceof Number number ? number.doubleValue() : 0);
+                case STRING -> method.visitLdcInsn(value instanceof String string ? CFormat.unescape(string) : "");
+                case BOOLEAN -> pushInt(Boolean.TRUE.equals(value) ? 1 : 0);
+                default -> pushInt(value instanceof Number number ? number.intValue() : 0);
+            }
+            endStore(symbol, type);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(ConstNode node) throws SemanticException {
+        // Le costanti vengono lette direttamente dalla dichiarazione
+        return null;
+    }
+
+    @Override
+    public Void visit(FunctionNode node) throws SemanticException {
+        Routine function = new Routine(node.getName(), node.getBody(), node.getReturnTypes());
+        if (node.getParams() != null) {
+            for (ParamNode param : node.getParams().getParams()) {
+                Symbol symbol = node.getScope().lookup(param.getName());
+                function.allocate(symbol);
+                function.params.add(symbol);
+            }
+        }
+        function.returnHolders = function.locals;
+        if (node.getReturnTypes().size() > 1) {
+            function.locals += node.getReturnTypes().size();
+        }
+        function.allocateLocals(node.getBody());
+        routineList.add(function);
+        routines.put(node.getScope().getParent().lookup(node.getName()), function);
+        return null;
+    }
+
+    @Override
+    public Void visit(FuncParamsNode node) throws SemanticException {
+        // Parametri già disposti negli slot dalla visita della funzione
+        return null;
+    }
+
+    @Override
+    public Void visit(ParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcedureNode node) throws SemanticException {
+        Routine procedure = new Routine(node.getName(), node.getBody(), List.of());
+        if (node.getParams() != null) {
+            for (ProcParamNode param : node.getParams().getParams()) {
+                Symbol symbol = node.getScope().lookup(param.getName());
+                procedure.allocate(symbol);
+                procedure.params.add(symbol);
+            }
+        }
+        procedure.returnHolders = procedure.locals;
+        procedure.allocateLocals(node.getBody());
+        routineList.add(procedure);
+        routines.put(node.getScope().getParent().lookup(node.getName()), procedure);
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcParamsNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcParamNode node) throws SemanticException {
+        return null;
+    }
+
+    @Override
+    public Void visit(BodyNode node) throws SemanticException {
+        // Come nel codice C, le variabili del blocco vengono inizializzate prima delle istruzioni
+        List<Visitable> statements = node.getStatements();
+        for (Visitable statement : statements) {
+            if (statement instanceof VarDeclNode) {
+                statement.accept(this);
+            }
+        }
+        for (Visitable statement : statements) {
+            if (statement instanceof VarDeclNode) {
+                continue;
+            }
+            statement.accept(this);
+            // I temporanei non sopravvivono all'istruzione che li usa
+            resetTemps();
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(AssignStatNode node) throws SemanticException {
+        List<Symbol> symbols = node.getSymbols();
+        int idIndex = 0;
+        for (ExprNode expr : node.getExprs()) {
+            if (expr instanceof FunCallNode funCall && funCall.getReturnTypes().size() > 1) {
+                // I valori di ritorno vengono scritti negli array delle variabili assegnate
+                call(funCall, symbols.subList(idIndex, idIndex + funCall.getReturnTypes().size()));
+                idIndex += funCall.getReturnTypes().size();
+            } else {
+                Symbol symbol = symbols.get(idIndex++);
+                beginStore(symbol);
+                expr.accept(this);
+                endStore(symbol, kind);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(ProcCallStatNode node) throws SemanticException {
+        node.getProcCall().accept(this);
+        return null;
+    }
+
+    @Override
+    public Void visit(ReturnStatNode node) throws SemanticException {
+        List<ExprNode> exprs = node.getExprs();
+        if (exprs.size() == 1 && routine.returnTypes.size() == 1) {
+            Type type = routine.returnTypes.get(0);
+            exprs.get(0).accept(this);
+            convert(kind, type);
+            method.visitInsn(select(type, Opcodes.IRETURN, Opcodes.DRETURN, Opcodes.ARETURN));
+            return null;
+        }
+        for (int i = 0; i < exprs.size(); i++) {
+            Type type = routine.returnTypes.get(i);
+            method.visitVarInsn(Opcodes.ALOAD, routine.returnHolders + i);
+            method.visitInsn(Opcodes.ICONST_0);
+            exprs.get(i).accept(this);
+            convert(kind, type);
+            method.visitInsn(select(type, Opcodes.IASTORE, Opcodes.DASTORE, Opcodes.AASTORE));
+        }
+        method.visitInsn(Opcodes.RETURN);
+        return null;
+    }
+
+    @Override
+    public Void visit(WriteStatNode node) throws SemanticException {
+        write(node.getArgs());
+        return null;
+    }
+
+    @Override
+    public Void visit(WriteReturnStatNode node) throws SemanticException {
+        write(node.getArgs());
+        output();
+        pushInt('\n');
+        method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, PRINT_STREAM, "print", "(C)V", false);
+        return null;
+    }
+
+    /*
+     * Come la printf del codice C, tutti gli argomenti vengono valutati prima di stampare il primo:
+     * una concatenazione, come per le stringhe, produce il testo dell'istruzione, stampato con un'unica print.
+     */
+    private void write(List<IOArgNode> args) throws SemanticException {
+        output();
+        StringBuilder recipe = new StringBuilder();
+        StringBuilder descriptor = new StringBuilder("(");
+        int arguments = 0;
+        for (IOArgNode arg : args) {
+            String literal = arg instanceof IOArgStringLiteralNode node ? CFormat.printfLiteral(node.getValue()) : null;
+            if (literal != null && literal.indexOf('\u0001') < 0 && literal.indexOf('\u0002') < 0) {
+                recipe.append(literal);
+                continue;
+            }
+            arguments = splitConcat(recipe, descriptor, arguments);
+            if (literal != null) {
+                method.visitLdcInsn(literal);
+                kind = Type.STRING;
+            } else {
+                arg.accept(this);
+                convert(kind, declaredType(arg));
+            }
+            descriptor.append(concatDescriptor());
+            recipe.append('\u0001');
+            arguments++;
+        }
+        if (arguments == 0) {
+            method.visitLdcInsn(recipe.toString());
+        } else {
+            emitConcat(recipe, descriptor);
+        }
+        method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, PRINT_STREAM, "print", "(" + STRING + ")V", false);
+    }
+
+    // Tipo con cui il codice C stampa l'argomento (il formato di printf)
+    private Type declaredType(IOArgNode arg) {
+        Type type = null;
+        if (arg instanceof DollarExprNode dollar) {
+            type = dollar.getExpr() instanceof FunCallNode funCall ? funCall.getReturnTypes().get(0) : dollar.getExpr().getType();
+        } else if (arg instanceof IOArgIdentifierNode identifier) {
+            type = identifier.getSymbol().getType();
+        } else if (arg instanceof IOArgBinaryNode binary) {
+            type = binary.getType();
+        }
+        return type != null ? type : kind;
+    }
+
+    @Override
+    public Void visit(ReadStatNode node) throws SemanticException {
+        for (IOArgNode arg : node.getArgs()) {
+            if (arg instanceof IOArgStringLiteralNode literal) {
+                output();
+                method.visitLdcInsn(CFormat.printfLiteral(literal.getValue()));
+                method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, PRINT_STREAM, "print", "(" + STRING + ")V", false);
+            } else if (arg instanceof DollarExprNode dollar && dollar.getExpr() instanceof IdentifierNode identifier) {
+                // Il prompt deve essere visibile prima che la lettura si blocchi
+                output();
+                method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, PRINT_STREAM, "flush", "()V", false);
+                // La lettura parte dal valore attuale, che resta se l'input non contiene un valore valido
+                Symbol symbol = identifier.getSymbol();
+                Type type = symbol.getType();
+                beginStore(symbol);
+                method.visitFieldInsn(Opcodes.GETSTATIC, owner, INPUT, "L" + READER + ";");
+                load(symbol);
+                switch (type) {
+                    case REAL -> method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, READER, "readReal", "(D)D", false);
+                    case STRING -> method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, READER, "readString",
+                            "(" + STRING + ")" + STRING, false);
+                    default -> method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, READER, "readInt", "(I)I", false);
+                }
+                endStore(symbol, type);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(IfStatNode node) throws SemanticException {
+        Label exit = new Label();
+        Label next = new Label();
+        jumpIf(node.getCondition(), false, next);
+        BodyNode branch = node.getThenBody();
+        branch.accept(this);
+        for (ElifNode elif : node.getElifBlocks()) {
+            exitUnlessReturned(branch, exit);
+            method.visitLabel(next);
+            next = new Label();
+            jumpIf(elif.getCondition(), false, next);
+            branch = elif.getBody();
+            branch.accept(this);
+        }
+        if (node.getElseBlock() != null) {
+            exitUnlessReturned(branch, exit);
+            method.visitLabel(next);
+            node.getElseBlock().getBody().accept(this);
+        } else {
+            method.visitLabel(next);
+        }
+        method.visitLabel(exit);
+        return null;
+    }
+
+    // Salto all'uscita dell'if alla fine di un ramo, superfluo se il ramo termina con un return
+    private void exitUnlessReturned(BodyNode branch, Label exit) {
+        List<Visitable> statements = branch.getStatements();
+        if (statements.isEmpty() || !(statements.get(statements.size() - 1) instanceof ReturnStatNode)) {
+            method.visitJumpInsn(Opcodes.GOTO, exit);
+        }
+    }
+
+    // Il test è ripetuto in fondo al ciclo, così ogni iterazione esegue un solo salto
+    @Override
+    public Void visit(WhileStatNode node) throws SemanticException {
+        Label exit = new Label();
+        Label top = new Label();
+        jumpIf(node.getCondition(), false, exit);
+        method.visitLabel(top);
+        node.getBody().accept(this);
+        resetTemps();
+        jumpIf(node.getCondition(), true, top);
+        method.visitLabel(exit);
+        return null;
+    }
+
+    @Override
+    public Void visit(FunCallNode node) throws SemanticException {
+        if (node.getReturnTypes().size() != 1) {
+            throw new SemanticException("La funzione '" + node.getFunctionName() + "' restituisce più valori e non può comparire in un'espressione.");
+        }
+        call(node, null);
+        kind = node.getReturnTypes().get(0);
+        return null;
+    }
+
+    // Chiama la funzione; con più valori di ritorno questi vengono scritti nelle variabili targets
+    private void call(FunCallNode node, List<Symbol> targets) throws SemanticException {
+        Routine callee = routines.get(node.getSymbol());
+        Map<Symbol, Integer> holders = targets != null ? prepareHolders(targets) : Map.of();
+        List<ExprNode> args = node.getArguments();
+        for (int i = 0; i < args.size(); i++) {
+            args.get(i).accept(this);
+            convert(kind, callee.params.get(i).getType());
+        }
+        if (targets != null) {
+            for (Symbol target : targets) {
+                pushReference(target, holders);
+            }
+        }
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, owner, callee.name, callee.descriptor(), false);
+        copyBack(holders);
+    }
+
+    @Override
+    public Void visit(ProcCallNode node) throws SemanticException {
+        Routine callee = routines.get(node.getSymbol());
+        List<ProcExprNode> args = node.getArguments();
+        List<Symbol> references = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            if (callee.params.get(i).isOut()) {
+                references.add(((IdentifierNode) args.get(i).getExpr()).getSymbol());
+            }
+        }
+        Map<Symbol, Integer> holders = prepareHolders(references);
+        for (int i = 0; i < args.size(); i++) {
+            Symbol param = callee.params.get(i);
+            if (param.isOut()) {
+                // Passaggio per riferimento: il parametro è l'array che contiene la variabile del chiamante
+                pushReference(((IdentifierNode) args.get(i).getExpr()).getSymbol(), holders);
+            } else {
+                args.get(i).getExpr().accept(this);
+                convert(kind, param.getType());
+            }
+        }
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, owner, callee.name, callee.descriptor(), false);
+        copyBack(holders);
+        return null;
+    }
+
+    /*
+     * Array temporanei per le variabili locali passate per riferimento, inizializzati con il loro valore.
+     * Gli argomenti non possono modificare le variabili locali del chiamante, quindi gli array possono essere
+     * preparati prima di valutarli; una variabile passata più volte usa lo stesso array, come lo stesso
+     * puntatore nel codice C.
+     */
+    private Map<Symbol, Integer> prepareHolders(List<Symbol> variables) {
+        Map<Symbol, Integer> holders = new LinkedHashMap<>();
+        for (Symbol variable : variables) {
+            if (variable.isOut() || variable.isGlobal() || holders.containsKey(variable)) {
+                continue;
+            }
+            newHolder(variable.getType());
+            method.visitInsn(Opcodes.DUP);
+            method.visitInsn(Opcodes.ICONST_0);
+            load(variable);
+            method.visitInsn(select(variable.getType(), Opcodes.IASTORE, Opcodes.DASTORE, Opcodes.AASTORE));
+            int slot = newLocal(1);
+            method.visitVarInsn(Opcodes.ASTORE, slot);
+            holders.put(variable, slot);
+        }
+        return holders;
+    }
+
+    // Riferimento alla variabile: lo stesso array ricevuto dal chiamante, quello della globale o quello temporaneo
+    private void pushReference(Symbol variable, Map<Symbol, Integer> holders) {
+        if (variable.isOut()) {
+            method.visitVarInsn(Opcodes.ALOAD, variable.getSlot());
+        } else if (variable.isGlobal()) {
+            method.visitFieldInsn(Opcodes.GETSTATIC, owner, variable.getName(), globalDescriptor(variable));
+        } else {
+            method.visitVarInsn(Opcodes.ALOAD, holders.get(variable));
+        }
+    }
+
+    // Al ritorno dalla chiamata i valori degli array temporanei tornano nelle variabili locali
+    private void copyBack(Map<Symbol, Integer> holders) {
+        for (Map.Entry<Symbol, Integer> holder : holders.entrySet()) {
+            Type type = holder.getKey().getType();
+            method.visitVarInsn(Opcodes.ALOAD, holder.getValue());
+            method.visitInsn(Opcodes.ICONST_0);
+            method.visitInsn(select(type, Opcodes.IALOAD, Opcodes.DALOAD, Opcodes.AALOAD));
+            method.visitVarInsn(select(type, Opcodes.ISTORE, Opcodes.DSTORE, Opcodes.ASTORE), holder.getKey().getSlot());
+        }
+    }
+
+    @Override
+    public Void visit(ElifNode node) throws SemanticException {
+        // Gestito da IfStatNode
+        return null;
+    }
+
+    @Override
+    public Void visit(ElseNode node) throws SemanticException {
+        // Gestito da IfStatNode
+        return null;
+    }
+
+    @Override
+    public Void visit(IOArgIdentifierNode node) throws SemanticException {
+        load(node.getSymbol());
+        return null;
+    }
+
+    @Override
+    public Void visit(IOArgStringLiteralNode node) throws SemanticException {
+        method.visitLdcInsn(CFormat.unescape(node.getValue()));
+        kind = Type.STRING;
+        return null;
+    }
+
+    @Override
+    public Void visit(IOArgBinaryNode node) throws SemanticException {
+        node.getLeft().accept(this);
+        if (kind == Type.STRING) {
+            node.getRight().accept(this);
+            String descriptor = "(" + STRING + concatDescriptor() + ")" + STRING;
+            method.visitInvokeDynamicInsn("makeConcatWithConstants", descriptor, CONCAT, "\u0001\u0001");
+            kind = Type.STRING;
+            return null;
+        }
+        convert(kind, Type.INTEGER);
+        node.getRight().accept(this);
+        convert(kind, Type.INTEGER);
+        method.visitInsn(Opcodes.IADD);
+        kind = Type.INTEGER;
+        return null;
+    }
+
+    @Override
+    public Void visit(DollarExprNode node) throws SemanticException {
+        return node.getExpr().accept(this);
+    }
+
+    @Override
+    public Void visit(ProcExprNode node) throws SemanticException {
+        return node.getExpr().accept(this);
+    }
+
+    @Override
+    public Void visit(RealConstNode node) throws SemanticException {
+        pushReal(node.getValue());
+        kind = Type.REAL;
+        return null;
+    }
+
+    @Override
+    public Void visit(IntConstNode node) throws SemanticException {
+        pushInt(node.getValue());
+        kind = Type.INTEGER;
+        return null;
+    }
+
+    @Override
+    public Void visit(StringConstNode node) throws SemanticException {
+        method.visitLdcInsn(CFormat.unescape(node.getValue()));
+        kind = Type.STRING;
+        return null;
+    }
+
+    @Override
+    public Void visit(IdentifierNode node) throws SemanticException {
+        load(node.getSymbol());
+        return null;
+    }
+
+    @Override
+    public Void visit(BooleanConstNode node) throws SemanticException {
+        pushInt(Boolean.TRUE.equals(node.getValue()) ? 1 : 0);
+        kind = Type.BOOLEAN;
+        return null;
+    }
+
+    @Override
+    public Void visit(BinaryExprNode node) throws SemanticException {
+        String operator = node.getOperator();
+        if (operator.equals("and") || operator.equals("or") || COMPARISONS.contains(operator)) {
+            booleanValue(node);
+            return null;
+        }
+        if (isConcatenation(node)) {
+            List<ExprNode> operands = new ArrayList<>();
+            appendOperands(node, operands);
+            concat(operands);
+            return null;
+        }
+
+        node.getLeft().accept(this);
+        Type leftKind = kind;
+        node.getRight().accept(this);
+        Type rightKind = kind;
+        if (leftKind == Type.STRING || rightKind == Type.STRING) {
+            throw new SemanticException("Operatore non supportato tra stringhe: " + operator);
+        }
+        if (leftKind == Type.REAL || rightKind == Type.REAL) {
+            widen(leftKind, rightKind);
+            method.visitInsn(switch (operator) {
+                case "+" -> Opcodes.DADD;
+                case "-" -> Opcodes.DSUB;
+                case "*" -> Opcodes.DMUL;
+                case "/" -> Opcodes.DDIV;
+                default -> throw new SemanticException("Operatore non supportato: " + operator);
+            });
+            kind = Type.REAL;
+            return null;
+        }
+        // Interi e booleani, con l'aritmetica degli int del C
+        switch (operator) {
+            case "+" -> method.visitInsn(Opcodes.IADD);
+            case "-" -> method.visitInsn(Opcodes.ISUB);
+            case "*" -> method.visitInsn(Opcodes.IMUL);
+            case "/" -> {
+                Label divide = new Label();
+                method.visitInsn(Opcodes.DUP);
+                method.visitJumpInsn(Opcodes.IFNE, divide);
+                method.visitTypeInsn(Opcodes.NEW, "java/lang/ArithmeticException");
+                method.visitInsn(Opcodes.DUP);
+                method.visitLdcInsn("divisione intera per zero");
+                method.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/ArithmeticException", "<init>",
+                        "(" + STRING + ")V", false);
+                method.visitInsn(Opcodes.ATHROW);
+                method.visitLabel(divide);
+                method.visitInsn(Opcodes.IDIV);
+                // La divisione tra interi tronca come in C, ma il risultato ha tipo REAL
+                convert(Type.INTEGER, node.getType());
+                return null;
+            }
+            default -> throw new SemanticException("Operatore non supportato: " + operator);
+        }
+        kind = Type.INTEGER;
+        return null;
+    }
+
+    // Come in CodeGeneratorVisitor: "+" con almeno un operando di tipo stringa
+    private boolean isConcatenation(ExprNode expr) {
+        return expr instanceof BinaryExprNode binary && binary.getOperator().equals("+")
+                && (operandType(binary.getLeft()) == Type.STRING || operandType(binary.getRight()) == Type.STRING);
+    }
+
+    private Type operandType(ExprNode expr) {
+        if (expr instanceof FunCallNode funCall && funCall.getReturnTypes() != null && funCall.getReturnTypes().size() == 1) {
+            return funCall.getReturnTypes().get(0);
+        }
+        return expr.getType();
+    }
+
+    // Operandi della catena di concatenazioni, da sinistra a destra
+    private void appendOperands(ExprNode expr, List<ExprNode> operands) {
+        if (isConcatenation(expr)) {
+            BinaryExprNode binary = (BinaryExprNode) expr;
+            appendOperands(binary.getLeft(), operands);
+            appendOperands(binary.getRight(), operands);
+            return;
+        }
+        operands.add(expr);
+    }
+
+    /*
+     * Un'unica invokedynamic per tutta la catena: i letterali stringa entrano nella ricetta di
+     * StringConcatFactory, gli altri operandi sono argomenti. Gli interi vengono convertiti dalla
+     * concatenazione come con %d, i reali prima formattati come con %f.
+     */
+    private void concat(List<ExprNode> operands) throws SemanticException {
+        StringBuilder recipe = new StringBuilder();
+        StringBuilder descriptor = new StringBuilder("(");
+        int arguments = 0;
+        for (ExprNode operand : operands) {
+            if (operand instanceof StringConstNode constant) {
+                String value = CFormat.unescape(constant.getValue());
+                // \1 e \2 hanno un significato nella ricetta: un letterale che li contiene è passato come argomento
+                if (value.indexOf('\u0001') < 0 && value.indexOf('\u0002') < 0) {
+                    recipe.append(value);
+                    continue;
+                }
+            }
+            Type type = operandType(operand);
+            if (type != Type.STRING && type != Type.INTEGER && type != Type.REAL) {
+                throw new SemanticException("Unsupported type for conversion to string: " + type);
+            }
+            arguments = splitConcat(recipe, descriptor, arguments);
+            operand.accept(this);
+            convert(kind, type);
+            descriptor.append(concatDescriptor());
+            recipe.append('\u0001');
+            arguments++;
+        }
+        if (arguments == 0) {
+            method.visitLdcInsn(recipe.toString());
+        } else {
+            emitConcat(recipe, descriptor);
+        }
+        kind = Type.STRING;
+    }
+
+    // Al limite di argomenti il risultato parziale diventa il primo argomento della concatenazione successiva
+    private int splitConcat(StringBuilder recipe, StringBuilder descriptor, int arguments) {
+        if (arguments < MAX_CONCAT_ARGUMENTS) {
+            return arguments;
+        }
+        emitConcat(recipe, descriptor);
+        recipe.setLength(0);
+        recipe.append('\u0001');
+        descriptor.setLength(0);
+        descriptor.append('(').append(STRING);
+        return 1;
+    }
+
+    private void emitConcat(StringBuilder recipe, StringBuilder descriptor) {
+        method.visitInvokeDynamicInsn("makeConcatWithConstants", descriptor + ")" + STRING, CONCAT, recipe.toString());
+    }
+
+    // Tipo dell'argomento di concatenazione sullo stack; un reale viene prima formattato
+    private String concatDescriptor() {
+        if (kind == Type.REAL) {
+            formatReal();
+            kind = Type.STRING;
+        }
+        return kind == Type.STRING ? STRING : "I";
+    }
+
+    @Override
+    public Void visit(UnaryExprNode node) throws SemanticException {
+        switch (node.getOperator()) {
+            case "uminus" -> {
+                node.getExpr().accept(this);
+                if (kind == Type.REAL) {
+                    method.visitInsn(Opcodes.DNEG);
+                    return null;
+                }
+                method.visitInsn(Opcodes.INEG);
+                kind = Type.INTEGER;
+                return null;
+            }
+            case "not" -> {
+                booleanValue(node);
+                return null;
+            }
+            default -> throw new SemanticException("Unrecognized unary operator: " + node.getOperator());
+        }
+    }
+
+    // 1 se la condizione è vera, 0 altrimenti
+    private void booleanValue(ExprNode condition) throws SemanticException {
+        Label isFalse = new Label();
+        Label exit = new Label();
+        jumpIf(condition, false, isFalse);
+        method.visitInsn(Opcodes.ICONST_1);
+        method.visitJumpInsn(Opcodes.GOTO, exit);
+        method.visitLabel(isFalse);
+        method.visitInsn(Opcodes.ICONST_0);
+        method.visitLabel(exit);
+        kind = Type.BOOLEAN;
+    }
+
+    /*
+     * Traduce la condizione in salti a target eseguiti quando vale when. and e or vengono cortocircuitati,
+     * not scambia la condizione del salto e i confronti diventano un'unica istruzione di confronto e salto.
+     */
+    private void jumpIf(ExprNode condition, boolean when, Label target) throws SemanticException {
+        if (condition instanceof UnaryExprNode unary && unary.getOperator().equals("not")) {
+            jumpIf(unary.getExpr(), !when, target);
+            return;
+        }
+        if (condition instanceof BinaryExprNode binary) {
+            String operator = binary.getOperator();
+            if (operator.equals("and") || operator.equals("or")) {
+                // Con "and" basta un operando falso per saltare se la condizione è falsa, con "or" uno vero
+                boolean decisive = operator.equals("or");
+                if (when == decisive) {
+                    jumpIf(binary.getLeft(), when, target);
+                    jumpIf(binary.getRight(), when, target);
+                    return;
+                }
+                Label skip = new Label();
+                jumpIf(binary.getLeft(), decisive, skip);
+                jumpIf(binary.getRight(), when, target);
+                method.visitLabel(skip);
+                return;
+            }
+            if (COMPARISONS.contains(operator)) {
+                compare(binary, when, target);
+                return;
+            }
+        }
+        condition.accept(this);
+        if (kind == Type.REAL) {
+            method.visitInsn(Opcodes.DCONST_0);
+            method.visitInsn(Opcodes.DCMPL);
+        }
+        method.visitJumpInsn(when ? Opcodes.IFNE : Opcodes.IFEQ, target);
+    }
+
+    // Confronto e salto; i salti sono nell'ordine EQ, NE, LT, GE, GT, LE di IFxx e IF_ICMPxx
+    private void compare(BinaryExprNode binary, boolean when, Label target) throws SemanticException {
+        String operator = binary.getOperator();
+        int condition = switch (operator) {
+            case "=" -> 0;
+            case "!=" -> 1;
+            case "<" -> 2;
+            case ">=" -> 3;
+            case ">" -> 4;
+            case "<=" -> 5;
+            default -> throw new SemanticException("Operatore non supportato: " + operator);
+        };
+        if (!when) {
+            // La negazione di un confronto è il confronto opposto (EQ e NE, LT e GE, GT e LE)
+            condition ^= 1;
+        }
+        binary.getLeft().accept(this);
+        Type leftKind = kind;
+        binary.getRight().accept(this);
+        Type rightKind = kind;
+        if (leftKind == Type.STRING || rightKind == Type.STRING) {
+            if (leftKind != rightKind) {
+                throw new SemanticException("Operatore non supportato tra stringhe e numeri: " + operator);
+            }
+            if (operator.equals("=") || operator.equals("!=")) {
+                // equals restituisce 1 se le stringhe sono uguali: EQ e NE si scambiano
+                method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                condition ^= 1;
+            } else {
+                method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "compareTo", "(" + STRING + ")I", false);
+            }
+            method.visitJumpInsn(Opcodes.IFEQ + condition, target);
+        } else if (leftKind == Type.REAL || rightKind == Type.REAL) {
+            widen(leftKind, rightKind);
+            // Con NaN ogni confronto è falso tranne !=: DCMPG dà 1 per i confronti < e <=, DCMPL -1 per gli altri
+            method.visitInsn(operator.equals("<") || operator.equals("<=") ? Opcodes.DCMPG : Opcodes.DCMPL);
+            method.visitJumpInsn(Opcodes.IFEQ + condition, target);
+        } else {
+            method.visitJumpInsn(Opcodes.IF_ICMPEQ + condition, target);
+        }
+    }
+
+    // Porta a double entrambi gli operandi sullo stack
+    private void widen(Type leftKind, Type rightKind) {
+        if (rightKind != Type.REAL) {
+            method.visitInsn(Opcodes.I2D);
+        } else if (leftKind != Type.REAL) {
+            // Il double a destra viene messo da parte per convertire l'intero sotto di esso
+            int slot = newLocal(2);
+            method.visitVarInsn(Opcodes.DSTORE, slot);
+            method.visitInsn(Opcodes.I2D);
+            method.visitVarInsn(Opcodes.DLOAD, slot);
+        }
+    }
+
+    // Converte il valore sullo stack nel tipo indicato, come l'assegnamento in C; kind diventa il tipo del risultato
+    private void convert(Type from, Type to) {
+        kind = from;
+        if (to == Type.REAL && from != Type.REAL) {
+            method.visitInsn(Opcodes.I2D);
+            kind = Type.REAL;
+        } else if ((to == Type.INTEGER || to == Type.BOOLEAN) && from == Type.REAL) {
+            method.visitInsn(Opcodes.D2I);
+            kind = Type.INTEGER;
+        }
+    }
+
+    private void load(Symbol symbol) {
+        Type type = symbol.getType();
+        if (symbol.isOut()) {
+            method.visitVarInsn(Opcodes.ALOAD, symbol.getSlot());
+            method.visitInsn(Opcodes.ICONST_0);
+            method.visitInsn(select(type, Opcodes.IALOAD, Opcodes.DALOAD, Opcodes.AALOAD));
+        } else if (symbol.isGlobal()) {
+            method.visitFieldInsn(Opcodes.GETSTATIC, owner, symbol.getName(), globalDescriptor(symbol));
+            if (boxedGlobals.contains(symbol)) {
+                method.visitInsn(Opcodes.ICONST_0);
+                method.visitInsn(select(type, Opcodes.IALOAD, Opcodes.DALOAD, Opcodes.AALOAD));
+            }
+        } else {
+            method.visitVarInsn(select(type, Opcodes.ILOAD, Opcodes.DLOAD, Opcodes.ALOAD), symbol.getSlot());
+        }
+        kind = type;
+    }
+
+    // Prepara sullo stack l'array e l'indice delle variabili conservate in un array, prima del valore
+    private void beginStore(Symbol symbol) {
+        if (symbol.isOut()) {
+            method.visitVarInsn(Opcodes.ALOAD, symbol.getSlot());
+            method.visitInsn(Opcodes.ICONST_0);
+        } else if (boxedGlobals.contains(symbol)) {
+            method.visitFieldInsn(Opcodes.GETSTATIC, owner, symbol.getName(), globalDescriptor(symbol));
+            method.visitInsn(Opcodes.ICONST_0);
+        }
+    }
+
+    // Scrive il valore sullo stack, convertito nel tipo della variabile
+    private void endStore(Symbol symbol, Type from) {
+        Type type = symbol.getType();
+        convert(from, type);
+        if (symbol.isOut() || boxedGlobals.contains(symbol)) {
+            method.visitInsn(select(type, Opcodes.IASTORE, Opcodes.DASTORE, Opcodes.AASTORE));
+        } else if (symbol.isGlobal()) {
+            method.visitFieldInsn(Opcodes.PUTSTATIC, owner, symbol.getName(), globalDescriptor(symbol));
+        } else {
+            method.visitVarInsn(select(type, Opcodes.ISTORE, Opcodes.DSTORE, Opcodes.ASTORE), symbol.getSlot());
+        }
+    }
+
+    private void output() {
+        method.visitFieldInsn(Opcodes.GETSTATIC, owner, OUTPUT, "L" + PRINT_STREAM + ";");
+    }
+
+    private void formatReal() {
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, "visitor/utils/CFormat", "formatReal", "(D)" + STRING, false);
+    }
+
+    // Array di un elemento per un parametro out o un valore di ritorno
+    private void newHolder(Type type) {
+        method.visitInsn(Opcodes.ICONST_1);
+        if (type == Type.STRING) {
+            method.visitTypeInsn(Opcodes.ANEWARRAY, "java/lang/String");
+        } else {
+            method.visitIntInsn(Opcodes.NEWARRAY, type == Type.REAL ? Opcodes.T_DOUBLE : Opcodes.T_INT);
+        }
+    }
+
+    private void pushDefault(Type type) {
+        switch (type) {
+            case REAL -> method.visitInsn(Opcodes.DCONST_0);
+            case STRING -> method.visitLdcInsn("");
+            default -> method.visitInsn(Opcodes.ICONST_0);
+        }
+    }
+
+    private void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            method.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            method.visitIntInsn(Opcodes.BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            method.visitIntInsn(Opcodes.SIPUSH, value);
+        } else {
+            method.visitLdcInsn(value);
+        }
+    }
+
+    private void pushReal(double value) {
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            method.visitInsn(Opcodes.DCONST_0);
+        } else if (value == 1.0) {
+            method.visitInsn(Opcodes.DCONST_1);
+        } else {
+            method.visitLdcInsn(value);
+        }
+    }
+
+    private static String descriptorOf(Type type) {
+        return switch (type) {
+            case REAL -> "D";
+            case STRING -> STRING;
+            default -> "I";
+        };
+    }
+
+    private String globalDescriptor(Symbol symbol) {
+        return (boxedGlobals.contains(symbol) ? "[" : "") + descriptorOf(symbol.getType());
+    }
+
+    // Opcode per interi e booleani, reali o stringhe
+    private static int select(Type type, int forInt, int forReal, int forString) {
+        return switch (type) {
+            case REAL -> forReal;
+            case STRING -> forString;
+            default -> forInt;
+        };
+    }
+
+    private int newLocal(int size) {
+        int slot = nextLocal;
+        nextLocal += size;
+        return slot;
+    }
+
+    private void resetTemps() {
+        nextLocal = routine.locals;
+    }
+}
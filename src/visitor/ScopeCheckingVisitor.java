@@ -4,6 +4,7 @@ import nodes.*;
 import nodes.ProgramNode;
 import nodes.expr.*;
 import nodes.stat.*;
+import visitor.exception.Diagnostics;
 import visitor.exception.SemanticException;
 import visitor.symbolTable.Symbol;
 import visitor.symbolTable.SymbolKind;
@@ -11,14 +12,22 @@ import visitor.symbolTable.SymbolTableManager;
 import visitor.utils.Type;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ScopeCheckingVisitor implements Visitor<Object> {
     private SymbolTableManager symbolTableManager;
+    // Errori delle dichiarazioni e delle istruzioni scartate; senza diagnostica il primo errore interrompe la visita
+    private final Diagnostics diagnostics;
     private boolean mainProcedureDeclared = false;
 
     public ScopeCheckingVisitor(SymbolTableManager symbolTableManager) {
+        this(symbolTableManager, null);
+    }
+
+    public ScopeCheckingVisitor(SymbolTableManager symbolTableManager, Diagnostics diagnostics) {
         this.symbolTableManager = symbolTableManager;
+        this.diagnostics = diagnostics;
     }
 
     @Override
@@ -32,7 +41,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         }
 
         // Visita la procedura obbligatoria
-        node.getProcedure().accept(this);
+        check(node.getProcedure());
 
         // Visita le dichiarazioni dopo la procedura obbligatoria
         if (node.getIters() != null) {
@@ -42,10 +51,15 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         symbolTableManager.exitScope();
 
         if (!mainProcedureDeclared) {
-            throw new SemanticException("Non è stata dichiarata una procedura 'main'.");
+            report(new SemanticException("Non è stata dichiarata una procedura 'main'."));
+        }
+
+        for (SemanticException e : symbolTableManager.getUnresolvedReferenceErrors()) {
+            report(e);
         }
 
-        symbolTableManager.checkUnresolvedReferencesAtEnd();
+        // Tutte le dichiarazioni sono note: ogni riferimento viene associato al proprio simbolo
+        symbolTableManager.resolveReferences();
 
         return null;
     }
@@ -53,7 +67,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
     @Override
     public Object visit(ItersWithoutProcedureNode node) throws SemanticException {
         for (IterWithoutProcedureNode iter : node.getIterList()) {
-            iter.accept(this);
+            check(iter);
         }
         return null;
     }
@@ -67,7 +81,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
     @Override
     public Object visit(ItersNode node) throws SemanticException {
         for (IterNode iter : node.getIterList()) {
-            iter.accept(this);
+            check(iter);
         }
         return null;
     }
@@ -81,7 +95,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
     @Override
     public Object visit(VarDeclNode node) throws SemanticException {
         for (DeclNode decl : node.getDecls()) {
-            decl.accept(this);
+            check(decl);
         }
         return null;
     }
@@ -95,6 +109,11 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         if (consts != null) {
             // Verifica che il numero di costanti corrisponda al numero di identificatori
             if (consts.size() != ids.size()) {
+                // Le variabili vengono dichiarate comunque, così i loro usi non risultano anche non dichiarati
+                for (int i = 0; i < ids.size(); i++) {
+                    Type type = i < consts.size() ? consts.get(i).getType() : Type.NOTYPE;
+                    symbolTableManager.declare(ids.get(i), type, SymbolKind.VARIABLE);
+                }
                 throw new SemanticException("Il numero di costanti non corrisponde al numero di variabili dichiarate.");
             }
             // Visita le costanti
@@ -104,6 +123,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         }
 
         // Dichiarazione delle variabili
+        List<Symbol> symbols = new ArrayList<>();
         for (int i = 0; i < ids.size(); i++) {
             // Verifica se la variabile è già dichiarata nello scope corrente
             Type type = node.getType();
@@ -114,11 +134,13 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
                     type = consts.get(i).getType();
                 }
             }
-            boolean success = symbolTableManager.addSymbol(id, type != null ? type : Type.NOTYPE, SymbolKind.VARIABLE);
-            if (!success) {
+            Symbol symbol = symbolTableManager.declare(id, type != null ? type : Type.NOTYPE, SymbolKind.VARIABLE);
+            if (symbol == null) {
                 throw new SemanticException("Variabile '" + id + "' già dichiarata nello scope corrente.");
             }
+            symbols.add(symbol);
         }
+        node.setSymbols(symbols);
 
         return null;
     }
@@ -171,7 +193,8 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
     public Object visit(FuncParamsNode node) throws SemanticException {
         List<Type> paramTypes = new ArrayList<>();
         for (ParamNode param : node.getParams()) {
-            paramTypes.add((Type) param.accept(this));
+            check(param);
+            paramTypes.add(param.getType());
         }
         return paramTypes;
     }
@@ -215,7 +238,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         List<Boolean> isOutParams = new ArrayList<>();
         if (node.getParams() != null) {
             for (ProcParamNode param : node.getParams().getParams()) {
-                param.accept(this);
+                check(param);
                 paramTypes.add(param.getType());
                 isOutParams.add(param.isOut());
             }
@@ -241,7 +264,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         List<Boolean> isOutParams = new ArrayList<>();
 
         for (ProcParamNode param : node.getParams()) {
-            param.accept(this);
+            check(param);
 
             // Raccogli i tipi e i flag 'isOut' per la procedura
             paramTypes.add(param.getType());
@@ -272,7 +295,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
     @Override
     public Void visit(BodyNode node) throws SemanticException {
         for (Visitable statement : node.getStatements()) {
-            statement.accept(this);
+            check(statement);
         }
         return null;
     }
@@ -283,13 +306,18 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         List<ExprNode> exprs = node.getExprs();
 
         // Verifica che le variabili siano dichiarate
-        for (String id : ids) {
+        List<Symbol> symbols = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
             Symbol symbol = symbolTableManager.lookup(id);
             if (symbol == null) {
 //                throw new SemanticException("Variabile '" + id + "' non dichiarata.");
-                symbolTableManager.addUnresolvedReference(id);
+                symbolTableManager.addUnresolvedReference(id, node);
             }
+            int index = i;
+            symbolTableManager.addReference(id, resolved -> symbols.set(index, resolved));
         }
+        node.setSymbols(symbols);
 
         // Visita le espressioni
         for (ExprNode expr : exprs) {
@@ -364,7 +392,7 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
                 // Verifica che l'identificatore sia dichiarato
                 Symbol symbol = symbolTableManager.lookup(id);
                 if (symbol == null) {
-                    symbolTableManager.addUnresolvedReference(id);
+                    symbolTableManager.addUnresolvedReference(id, idNode);
                     // throw new SemanticException("Variabile '" + id + "' non dichiarata.");
                 }
             }
@@ -379,11 +407,13 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         String procName = node.getProcedureName();
         Symbol symbol = symbolTableManager.lookup(procName);
         if (symbol == null) {
-            symbolTableManager.addUnresolvedReference(procName);
+            symbolTableManager.addUnresolvedReference(procName, node);
         } else if (symbol.getKind() != SymbolKind.PROCEDURE) {
             throw new SemanticException("Identificatore '" + procName + "' non è una procedura.");
         }
 
+        symbolTableManager.addReference(procName, node::setSymbol);
+
         List<ProcExprNode> args = node.getArguments();
 
         // Visita gli argomenti e verifica i tipi
@@ -454,13 +484,15 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         Symbol symbol = symbolTableManager.lookup(funcName);
         if (symbol == null) {
             // Se la funzione non è dichiarata, aggiungiamo un riferimento non risolto
-            symbolTableManager.addUnresolvedReference(funcName);
+            symbolTableManager.addUnresolvedReference(funcName, node);
         } else if (symbol.getKind() != SymbolKind.FUNCTION) {
             throw new SemanticException("Identificatore '" + funcName + "' non è una funzione.");
         } else {
             node.setReturnTypes(symbol.getReturnTypes());
         }
 
+        symbolTableManager.addReference(funcName, node::setSymbol);
+
         List<ExprNode> args = node.getArguments();
 
         // Visita gli argomenti e verifica i tipi
@@ -479,8 +511,9 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         Symbol symbol = symbolTableManager.lookup(id);
         if (symbol == null) {
             // throw new SemanticException("Variabile '" + id + "' non dichiarata.");
-            symbolTableManager.addUnresolvedReference(id);
+            symbolTableManager.addUnresolvedReference(id, node);
         }
+        symbolTableManager.addReference(id, node::setSymbol);
 
         return null;
     }
@@ -528,8 +561,9 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
             Symbol symbol = symbolTableManager.lookup(id);
             if (symbol == null) {
                 // throw new SemanticException("Variabile '" + id + "' non dichiarata.");
-                symbolTableManager.addUnresolvedReference(id);
+                symbolTableManager.addUnresolvedReference(id, (IdentifierNode) node.getExpr());
             }
+            symbolTableManager.addReference(id, ((IdentifierNode) node.getExpr())::setSymbol);
             // Ulteriori controlli sul tipo possono essere aggiunti qui
         } else {
             // Visita l'espressione
@@ -562,8 +596,9 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         Symbol symbol = symbolTableManager.lookup(id);
         if (symbol == null) {
             // throw new SemanticException("Variabile '" + id + "' non dichiarata.");
-            symbolTableManager.addUnresolvedReference(id);
+            symbolTableManager.addUnresolvedReference(id, node);
         }
+        symbolTableManager.addReference(id, node::setSymbol);
         return null;
     }
 
@@ -592,4 +627,19 @@ public class ScopeCheckingVisitor implements Visitor<Object> {
         return null;
     }
 
-}
\ No newline at end of file
+    // Visita il nodo; un errore viene registrato e la visita prosegue con il nodo successivo
+    private void check(Visitable node) throws SemanticException {
+        try {
+            node.accept(this);
+        } catch (SemanticException e) {
+            report(e.locate(node));
+        }
+    }
+
+    private void report(SemanticException e) throws SemanticException {
+        if (diagnostics == null) {
+            throw e;
+        }
+        diagnostics.report(e);
+    }
+}
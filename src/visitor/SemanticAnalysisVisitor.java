@@ -0,0 +1,312 @@
+package visitor;
+
+import nodes.*;
+import nodes.expr.IdentifierNode;
+import nodes.stat.*;
+import visitor.exception.Diagnostics;
+import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
+import visitor.symbolTable.Symbol;
+import visitor.symbolTable.SymbolKind;
+import visitor.symbolTable.SymbolTableManager;
+import visitor.utils.Type;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Stack;
+
+/**
+ * Analisi semantica in un solo passo: dichiara i simboli, risolve i riferimenti e assegna i tipi
+ * durante la stessa visita, al posto di ScopeCheckingVisitor seguito da TypeCheckingVisitor.
+ * I controlli sui tipi sono quelli di TypeCheckingVisitor; gli scope vengono creati all'ingresso
+ * nei blocchi invece di essere ritrovati nella mappa costruita dallo scope checking.
+ * Per consentire i riferimenti in avanti, all'ingresso in uno scope vengono dichiarati subito
+ * i simboli che ne fanno parte (variabili globali, funzioni e procedure per il programma,
+ * variabili locali per i corpi); i duplicati vengono segnalati nel punto della dichiarazione.
+ * Con una Diagnostics gli errori vengono raccolti come nell'analisi in due passi: gli errori di scope
+ * (dichiarazioni duplicate, 'return' fuori posto, riferimenti non dichiarati, 'main' mancante) e quelli
+ * di tipo vengono tenuti separati e, al termine della visita, vengono segnalati i primi se ce ne sono,
+ * altrimenti i secondi. Ogni riferimento non dichiarato viene segnalato una volta, nella posizione del primo uso,
+ * dopo gli altri errori di scope.
+ * Un'istruzione che contiene un riferimento non dichiarato viene scartata al primo di essi.
+ * Senza Diagnostics la visita si ferma al primo errore.
+ */
+public class SemanticAnalysisVisitor extends TypeCheckingVisitor {
+    private final SymbolTableManager symbolTableManager;
+    // Nomi già dichiarati in ciascuno scope aperto, per segnalare i duplicati nell'ordine del sorgente
+    private final Stack<Set<String>> declaredNames = new Stack<>();
+    // Funzione o procedura di cui si sta visitando il corpo
+    private final Stack<Visitable> routines = new Stack<>();
+    private boolean mainProcedureDeclared = false;
+
+    private final Diagnostics diagnostics;
+    // Errori rilevati durante la visita, segnalati al termine secondo l'ordine dell'analisi in due passi
+    private final List<SemanticException> scopeErrors = new ArrayList<>();
+    private final List<SemanticException> typeErrors = new ArrayList<>();
+    private int errors = 0;
+
+    public SemanticAnalysisVisitor(SymbolTableManager symbolTableManager) {
+        this(symbolTableManager, null);
+    }
+
+    public SemanticAnalysisVisitor(SymbolTableManager symbolTableManager, Diagnostics diagnostics) {
+        super(diagnostics);
+        this.symbolTableManager = symbolTableManager;
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public Type visit(ProgramNode node) throws SemanticException {
+        super.visit(node);
+        if (!mainProcedureDeclared) {
+            report(new ScopeException("Non è stata dichiarata una procedura 'main'."));
+        }
+        if (diagnostics != null) {
+            scopeErrors.addAll(symbolTableManager.getUnresolvedReferenceErrors());
+            for (SemanticException e : scopeErrors.isEmpty() ? typeErrors : scopeErrors) {
+                diagnostics.report(e);
+            }
+        }
+        return Type.NOTYPE;
+    }
+
+    @Override
+    public Type visit(DeclNode node) throws SemanticException {
+        if (node.getConsts() != null && node.getConsts().size() != node.getIds().size()) {
+            throw new ScopeException("Il numero di costanti non corrisponde al numero di variabili dichiarate.");
+        }
+        for (String id : node.getIds()) {
+            if (!declaredNames.peek().add(id)) {
+                throw new ScopeException("Variabile '" + id + "' già dichiarata nello scope corrente.");
+            }
+        }
+        return super.visit(node);
+    }
+
+    @Override
+    public List<Type> visit(AssignStatNode node) throws SemanticException {
+        List<Symbol> symbols = new ArrayList<>();
+        for (String id : node.getIds()) {
+            symbols.add(lookup(id, node));
+        }
+        node.setSymbols(symbols);
+        return super.visit(node);
+    }
+
+    @Override
+    public List<Type> visit(FunCallNode node) throws SemanticException {
+        Symbol symbol = lookup(node.getFunctionName(), node);
+        if (symbol.getKind() != SymbolKind.FUNCTION) {
+            throw new ScopeException("Identificatore '" + node.getFunctionName() + "' non è una funzione.");
+        }
+        node.setSymbol(symbol);
+        return super.visit(node);
+    }
+
+    @Override
+    public Type visit(ProcCallNode node) throws SemanticException {
+        Symbol symbol = lookup(node.getProcedureName(), node);
+        if (symbol.getKind() != SymbolKind.PROCEDURE) {
+            throw new ScopeException("Identificatore '" + node.getProcedureName() + "' non è una procedura.");
+        }
+        node.setSymbol(symbol);
+        return super.visit(node);
+    }
+
+    @Override
+    public Type visit(IOArgIdentifierNode node) throws SemanticException {
+        node.setSymbol(lookup(node.getIdentifier(), node));
+        return super.visit(node);
+    }
+
+    @Override
+    public Type visit(IdentifierNode node) throws SemanticException {
+        node.setSymbol(lookup(node.getName(), node));
+        return super.visit(node);
+    }
+
+    @Override
+    public Type visit(FunctionNode node) throws SemanticException {
+        if (!declaredNames.peek().add(node.getName())) {
+            throw new ScopeException("Funzione '" + node.getName() + "' già dichiarata.");
+        }
+        routines.push(node);
+        Type type = super.visit(node);
+        routines.pop();
+        return type;
+    }
+
+    @Override
+    public Type visit(ParamNode node) throws SemanticException {
+        declareParameter(node.getName(), node.getType());
+        symbolTableManager.lookup(node.getName()).setIsParameter(true);
+        return super.visit(node);
+    }
+
+    @Override
+    public Type visit(ProcedureNode node) throws SemanticException {
+        if (node.getName().equals("main")) {
+            if (mainProcedureDeclared) {
+                throw new ScopeException("La procedura 'main' è già stata dichiarata.");
+            }
+            mainProcedureDeclared = true;
+        }
+        if (!declaredNames.peek().add(node.getName())) {
+            throw new ScopeException("Procedura '" + node.getName() + "' già dichiarata.");
+        }
+        routines.push(node);
+        Type type = super.visit(node);
+        routines.pop();
+        return type;
+    }
+
+    @Override
+    public Type visit(ProcParamNode node) throws SemanticException {
+        declareParameter(node.getName(), node.getType());
+        symbolTableManager.lookup(node.getName()).setIsOut(node.isOut());
+        return super.visit(node);
+    }
+
+    @Override
+    public List<Type> visit(BodyNode node) throws SemanticException {
+        // Le variabili locali sono visibili in tutto il blocco, anche prima della dichiarazione
+        for (Visitable statement : node.getStatements()) {
+            if (statement instanceof VarDeclNode varDecl) {
+                declareVariables(varDecl);
+            }
+        }
+        return super.visit(node);
+    }
+
+    @Override
+    public List<Type> visit(ReturnStatNode node) throws SemanticException {
+        if (routines.isEmpty() || !(routines.peek() instanceof FunctionNode function)) {
+            throw new ScopeException("Istruzione 'return' non permessa al di fuori di una funzione.");
+        }
+        if (node.getExprs().size() != function.getReturnTypes().size()) {
+            throw new ScopeException("Il numero di valori restituiti non corrisponde al numero di tipi di ritorno dichiarati.");
+        }
+        return super.visit(node);
+    }
+
+    @Override
+    protected void enterScope(String scopeName, ScopeOwner node) throws SemanticException {
+        symbolTableManager.enterScope(scopeName, node);
+        declaredNames.push(new HashSet<>());
+        if (node instanceof ProgramNode program) {
+            declareTopLevel(program);
+        }
+    }
+
+    @Override
+    protected void exitScope() throws SemanticException {
+        symbolTableManager.exitScope();
+        declaredNames.pop();
+    }
+
+    @Override
+    protected void report(SemanticException e) throws SemanticException {
+        if (diagnostics == null) {
+            throw e;
+        }
+        errors++;
+        if (e instanceof UnresolvedReferenceException) {
+            // Già registrato nella tabella dei simboli: viene segnalato con gli altri al termine della visita
+            return;
+        }
+        (e instanceof ScopeException ? scopeErrors : typeErrors).add(e);
+    }
+
+    @Override
+    protected int errorCount() {
+        return errors;
+    }
+
+    // Risolve un riferimento nello scope corrente, risalendo la catena degli scope; node è il punto d'uso
+    private Symbol lookup(String name, AstNode node) throws SemanticException {
+        Symbol symbol = symbolTableManager.lookup(name);
+        if (symbol == null) {
+            symbolTableManager.addUnresolvedReference(name, node);
+            throw new UnresolvedReferenceException(name);
+        }
+        return symbol;
+    }
+
+    // Variabili globali, funzioni e procedure sono visibili in tutto il programma
+    private void declareTopLevel(ProgramNode node) {
+        List<Visitable> declarations = new ArrayList<>();
+        if (node.getItersWithoutProcedure() != null) {
+            for (IterWithoutProcedureNode iter : node.getItersWithoutProcedure().getIterList()) {
+                declarations.add(iter.getDeclaration());
+            }
+        }
+        declarations.add(node.getProcedure());
+        if (node.getIters() != null) {
+            for (IterNode iter : node.getIters().getIterList()) {
+                declarations.add(iter.getDeclaration());
+            }
+        }
+
+        for (Visitable declaration : declarations) {
+            if (declaration instanceof VarDeclNode varDecl) {
+                declareVariables(varDecl);
+            } else if (declaration instanceof FunctionNode function) {
+                List<Type> paramTypes = new ArrayList<>();
+                if (function.getParams() != null) {
+                    for (ParamNode param : function.getParams().getParams()) {
+                        paramTypes.add(param.getType());
+                    }
+                }
+                symbolTableManager.addFunctionSymbol(function.getName(), paramTypes, function.getReturnTypes());
+            } else if (declaration instanceof ProcedureNode procedure) {
+                List<Type> paramTypes = new ArrayList<>();
+                List<Boolean> isOutParams = new ArrayList<>();
+                if (procedure.getParams() != null) {
+                    for (ProcParamNode param : procedure.getParams().getParams()) {
+                        paramTypes.add(param.getType());
+                        isOutParams.add(param.isOut());
+                    }
+                }
+                symbolTableManager.addProcedureSymbol(procedure.getName(), paramTypes, isOutParams);
+            }
+        }
+    }
+
+    // I duplicati vengono ignorati qui e segnalati dalla visita della dichiarazione
+    private void declareVariables(VarDeclNode node) {
+        for (DeclNode decl : node.getDecls()) {
+            List<String> ids = decl.getIds();
+            List<Symbol> symbols = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                Type type = decl.getType();
+                if (type == null && decl.getConsts() != null && i < decl.getConsts().size()) {
+                    type = decl.getConsts().get(i).getType();
+                }
+                symbols.add(symbolTableManager.declare(ids.get(i), type != null ? type : Type.NOTYPE, SymbolKind.VARIABLE));
+            }
+            decl.setSymbols(symbols);
+        }
+    }
+
+    private void declareParameter(String name, Type type) throws SemanticException {
+        if (!declaredNames.peek().add(name) || !symbolTableManager.addSymbol(name, type, SymbolKind.VARIABLE)) {
+            throw new ScopeException("Parametro '" + name + "' già dichiarato nello scope corrente.");
+        }
+    }
+
+    // Errore che nell'analisi in due passi viene rilevato dallo scope checking
+    private static class ScopeException extends SemanticException {
+        private ScopeException(String s) {
+            super(s);
+        }
+    }
+
+    // Riferimento a un simbolo non dichiarato: interrompe l'istruzione che lo contiene
+    private static class UnresolvedReferenceException extends ScopeException {
+        private UnresolvedReferenceException(String name) {
+            super("Identificatore '" + name + "' non dichiarato.");
+        }
+    }
+}
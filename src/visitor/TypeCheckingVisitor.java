@@ -3,44 +3,54 @@ package visitor;
 import nodes.*;
 import nodes.expr.*;
 import nodes.stat.*;
+import visitor.exception.Diagnostics;
 import visitor.exception.SemanticException;
+import visitor.symbolTable.ScopeOwner;
 import visitor.symbolTable.Symbol;
 import visitor.symbolTable.SymbolKind;
-import visitor.symbolTable.SymbolTable;
-import visitor.symbolTable.SymbolTableManager;
 import visitor.utils.Type;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Controllo dei tipi. I riferimenti sono già stati risolti dallo scope checking:
+ * ogni identificatore e ogni chiamata porta con sé il proprio simbolo, quindi
+ * qui non si cercano più nomi nelle tabelle dei simboli.
+ * Con una Diagnostics gli errori vengono registrati e la visita prosegue con l'istruzione
+ * o la dichiarazione successiva; senza, il primo errore interrompe la visita.
+ */
 public class TypeCheckingVisitor implements Visitor<Object> {
-    private final SymbolTableManager symbolTableManager;
-    private SymbolTable currentScope;
+    private final Diagnostics diagnostics;
 
-    // Costruttore che accetta il SymbolTableManager esistente
-    public TypeCheckingVisitor(SymbolTableManager symbolTableManager) {
-        this.symbolTableManager = symbolTableManager;
+    public TypeCheckingVisitor() {
+        this(null);
+    }
+
+    public TypeCheckingVisitor(Diagnostics diagnostics) {
+        this.diagnostics = diagnostics;
     }
 
     @Override
     public Type visit(ProgramNode node) throws SemanticException {
         // Effettua il controllo dei tipi dell'intero programma
 
-        currentScope = symbolTableManager.getScope(node);
+        enterScope("PROGRAM_NODE", node);
 
         // Visita le dichiarazioni senza procedure
         for (Visitable decl : node.getItersWithoutProcedure().getIterList()) {
-            decl.accept(this);
+            check(decl);
         }
 
         // Visita la procedura principale
-        node.getProcedure().accept(this);
+        check(node.getProcedure());
 
         // Visita le restanti dichiarazioni
         for (Visitable decl : node.getIters().getIterList()) {
-            decl.accept(this);
+            check(decl);
         }
 
+        exitScope();
         return Type.NOTYPE;
     }
 
@@ -73,7 +83,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
     @Override
     public Type visit(VarDeclNode node) throws SemanticException {
         for (DeclNode decl : node.getDecls()) {
-            decl.accept(this); // Visita ogni dichiarazione contenuta nel nodo VarDeclNode
+            check(decl); // Visita ogni dichiarazione contenuta nel nodo VarDeclNode
         }
         return Type.NOTYPE;
     }
@@ -117,14 +127,21 @@ public class TypeCheckingVisitor implements Visitor<Object> {
         // Ottiene i tipi di ritorno e i tipi dei parametri
         List<Type> returnTypes = node.getReturnTypes();
 
-        currentScope = symbolTableManager.getScope(node);
+        enterScope(node.getName() + "_FUNCTION_NODE", node);
 
         if (node.getParams() != null) {
             node.getParams().accept(this);
         }
 
         // Visita il corpo della funzione e ottiene i tipi di ritorno
+        int errors = errorCount();
         List<Type> bodyReturnTypes = (List<Type>) node.getBody().accept(this);
+        exitScope();
+
+        // Le istruzioni scartate per errore possono contenere dei 'return': i tipi raccolti non sono affidabili
+        if (errorCount() > errors) {
+            return Type.NOTYPE;
+        }
 
         if (bodyReturnTypes.isEmpty()) {
             throw new SemanticException("Nessun 'return' nella funzione '" + node.getName() + "'.");
@@ -164,7 +181,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
             }
         }
 
-        currentScope = symbolTableManager.getScope(node);
+        enterScope(node.getName() + "_PROC_NODE", node);
 
         if (node.getParams() != null) {
             node.getParams().accept(this);
@@ -172,6 +189,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
 
         // Visita il corpo della procedura
         List<Type> bodyReturnTypes = (List<Type>) node.getBody().accept(this);
+        exitScope();
 
         if (!bodyReturnTypes.isEmpty()) {
             throw new SemanticException("La procedura '" + node.getName() + "' non deve contenere istruzioni 'return'.");
@@ -200,7 +218,13 @@ public class TypeCheckingVisitor implements Visitor<Object> {
         boolean hasReturn = false;
 
         for (Visitable statement : node.getStatements()) {
-            Object result = statement.accept(this);
+            Object result;
+            try {
+                result = statement.accept(this);
+            } catch (SemanticException e) {
+                report(e.locate(statement));
+                continue;
+            }
 
             // Se l'istruzione è un 'return' o contiene un 'return', elaboriamo i tipi di ritorno
             if (result instanceof List<?>) {
@@ -214,7 +238,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
                     } else {
                         // Controlliamo la consistenza dei tipi di ritorno
                         if (!returnTypes.equals(stmtReturnTypes)) {
-                            throw new SemanticException("Tipi di ritorno incoerenti nel corpo.");
+                            report(new SemanticException("Tipi di ritorno incoerenti nel corpo.").locate(statement));
                         }
                     }
                 }
@@ -263,7 +287,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
 
                 for (Type returnType : returnTypes) {
                     String id = ids.get(idIndex);
-                    Symbol symbol = currentScope.lookup(id);
+                    Symbol symbol = node.getSymbols().get(idIndex);
                     Type idType = symbol.getType();
 
                     if (idType != returnType) {
@@ -281,7 +305,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
             } else {
                 // Caso standard: espressione singola restituisce un tipo
                 String id = ids.get(idIndex);
-                Symbol symbol = currentScope.lookup(id);
+                Symbol symbol = node.getSymbols().get(idIndex);
                 Type exprType = (Type) expr.accept(this);
                 Type idType = symbol.getType();
 
@@ -354,9 +378,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
 
     @Override
     public List<Type> visit(IfStatNode node) throws SemanticException {
-        // Verifica della condizione
-        currentScope = symbolTableManager.getScope(node);
-
+        // Verifica della condizione, nello scope che contiene l'IF
         if (node.getCondition() instanceof FunCallNode condition) {
             List<Type> returnTypes = (List<Type>) condition.accept(this);
             if (returnTypes.size() != 1) {
@@ -373,7 +395,9 @@ public class TypeCheckingVisitor implements Visitor<Object> {
         }
 
         // Blocchi 'then'
+        enterScope("IF_NODE", node);
         List<Type> thenReturnTypes = (List<Type>) node.getThenBody().accept(this);
+        exitScope();
 
         // Blocchi 'elif'
         List<List<Type>> elifsReturnTypes = new ArrayList<>();
@@ -421,8 +445,6 @@ public class TypeCheckingVisitor implements Visitor<Object> {
 
     @Override
     public List<Type> visit(WhileStatNode node) throws SemanticException {
-        currentScope = symbolTableManager.getScope(node);
-
         if (node.getCondition() instanceof FunCallNode condition) {
             List<Type> returnTypes = (List<Type>) condition.accept(this);
             if (returnTypes.size() != 1) {
@@ -438,13 +460,16 @@ public class TypeCheckingVisitor implements Visitor<Object> {
             }
         }
 
-        return (List<Type>) node.getBody().accept(this);
+        enterScope("WHILE_NODE", node);
+        List<Type> bodyReturnTypes = (List<Type>) node.getBody().accept(this);
+        exitScope();
+        return bodyReturnTypes;
     }
 
     @Override
     public List<Type> visit(FunCallNode node) throws SemanticException {
         String functionName = node.getFunctionName();
-        Symbol functionSymbol = currentScope.lookup(functionName);
+        Symbol functionSymbol = node.getSymbol();
 
         if (functionSymbol.getKind() != SymbolKind.FUNCTION) {
             throw new SemanticException("'" + functionName + "' non è una funzione.");
@@ -471,7 +496,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
     @Override
     public Type visit(ProcCallNode node) throws SemanticException {
         String procedureName = node.getProcedureName();
-        Symbol procedureSymbol = currentScope.lookup(procedureName);
+        Symbol procedureSymbol = node.getSymbol();
         if (procedureSymbol.getKind() != SymbolKind.PROCEDURE) {
             throw new SemanticException("'" + procedureName + "' non è una procedura.");
         }
@@ -503,8 +528,6 @@ public class TypeCheckingVisitor implements Visitor<Object> {
 
     @Override
     public List<Type> visit(ElifNode node) throws SemanticException {
-        currentScope = symbolTableManager.getScope(node);
-
         if (node.getCondition() instanceof FunCallNode condition) {
             List<Type> returnTypes = (List<Type>) condition.accept(this);
             if (returnTypes.size() != 1) {
@@ -521,19 +544,24 @@ public class TypeCheckingVisitor implements Visitor<Object> {
         }
 
         // Visita il corpo dell'ELIF
-        return (List<Type>) node.getBody().accept(this);
+        enterScope("ELIF_NODE", node);
+        List<Type> bodyReturnTypes = (List<Type>) node.getBody().accept(this);
+        exitScope();
+        return bodyReturnTypes;
     }
 
     @Override
     public List<Type> visit(ElseNode node) throws SemanticException {
-        currentScope = symbolTableManager.getScope(node);
-        return (List<Type>) node.getBody().accept(this);
+        enterScope("ELSE_NODE", node);
+        List<Type> bodyReturnTypes = (List<Type>) node.getBody().accept(this);
+        exitScope();
+        return bodyReturnTypes;
     }
 
     @Override
     public Type visit(IOArgIdentifierNode node) throws SemanticException {
-        // Verifica che l'identificatore esista nella SymbolTable e ottieni il suo tipo
-        Symbol symbol = currentScope.lookup(node.getIdentifier());
+        // Tipo del simbolo a cui l'identificatore è stato associato dallo scope checking
+        Symbol symbol = node.getSymbol();
         node.setType(symbol.getType());
         return symbol.getType(); // Ritorna il tipo dell'identificatore
     }
@@ -567,7 +595,7 @@ public class TypeCheckingVisitor implements Visitor<Object> {
         if (exprNode instanceof FunCallNode funCallNode) {
             List<Type> returnTypes = (List<Type>) funCallNode.accept(this);
             if (returnTypes == null || returnTypes.isEmpty()) {
-                Symbol symbol = currentScope.lookup(funCallNode.getFunctionName());
+                Symbol symbol = funCallNode.getSymbol();
                 if (symbol.getReturnTypes() == null || symbol.getReturnTypes().isEmpty()) {
                     throw new SemanticException("La funzione " + funCallNode.getFunctionName() + " non ha tipi di ritorno.");
                 } else {
@@ -619,8 +647,8 @@ public class TypeCheckingVisitor implements Visitor<Object> {
 
     @Override
     public Type visit(IdentifierNode node) throws SemanticException {
-        // Recupera il tipo dell'identificatore dalla SymbolTable
-        Symbol symbol = currentScope.lookup(node.getName());
+        // Tipo del simbolo a cui l'identificatore è stato associato dallo scope checking
+        Symbol symbol = node.getSymbol();
         node.setIsOutInProcedure(symbol.isOut());
         node.setType(symbol.getType());
         return symbol.getType(); // Ritorna il tipo dell'identificatore
@@ -773,4 +801,33 @@ public class TypeCheckingVisitor implements Visitor<Object> {
                 throw new SemanticException("Operatore unario non riconosciuto: " + operator);
         }
     }
-}
\ No newline at end of file
+
+    // Ingresso in un blocco che apre uno scope; i simboli sono già associati ai nodi
+    protected void enterScope(String scopeName, ScopeOwner node) throws SemanticException {
+    }
+
+    // Uscita dal blocco aperto dall'ultimo enterScope
+    protected void exitScope() throws SemanticException {
+    }
+
+    // Visita il nodo; un errore viene registrato e la visita prosegue con il nodo successivo
+    private void check(Visitable node) throws SemanticException {
+        try {
+            node.accept(this);
+        } catch (SemanticException e) {
+            report(e.locate(node));
+        }
+    }
+
+    // Registra un errore nella diagnostica; senza diagnostica l'analisi si ferma al primo errore
+    protected void report(SemanticException e) throws SemanticException {
+        if (diagnostics == null) {
+            throw e;
+        }
+        diagnostics.report(e);
+    }
+
+    protected int errorCount() {
+        return diagnostics != null ? diagnostics.getErrorCount() : 0;
+    }
+}
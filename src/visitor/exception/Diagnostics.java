@@ -0,0 +1,82 @@
+package visitor.exception;
+
+import nodes.AstNode;
+import visitor.utils.LineMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Raccoglie gli errori di una compilazione, così che un'unica esecuzione ne possa segnalare più di uno.
+ * Il parser vi registra gli errori di sintassi da cui riesce a riprendersi, gli scope checker e i type checker
+ * gli errori semantici delle istruzioni e delle dichiarazioni che scartano.
+ * Oltre il limite di maxErrors gli errori vengono solo contati.
+ * Le posizioni sono offset nel sorgente, convertiti in linea e colonna con la LineMap del lexer.
+ */
+public class Diagnostics {
+    public static final int DEFAULT_MAX_ERRORS = 20;
+
+    private final int maxErrors;
+    private final LineMap lineMap;
+    private final List<String> messages = new ArrayList<>();
+    private int errorCount = 0;
+
+    public Diagnostics(LineMap lineMap) {
+        this(DEFAULT_MAX_ERRORS, lineMap);
+    }
+
+    public Diagnostics(int maxErrors, LineMap lineMap) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("Il numero massimo di errori deve essere positivo: " + maxErrors);
+        }
+        this.maxErrors = maxErrors;
+        this.lineMap = lineMap;
+    }
+
+    // Errore di sintassi nella posizione del token indicato dal parser
+    public void syntaxError(String message, int offset) {
+        add("Errore di sintassi alla " + lineMap.describe(offset) + ": " + message);
+    }
+
+    // Errore semantico: l'analisi prosegue con l'istruzione o la dichiarazione successiva.
+    // La posizione è quella del nodo associato all'errore, se presente
+    public void report(SemanticException e) {
+        AstNode node = e.getNode();
+        if (node != null) {
+            add("Errore semantico alla " + lineMap.describe(node.getStart()) + ": " + e.getMessage());
+        } else {
+            add("Errore semantico: " + e.getMessage());
+        }
+    }
+
+    private void add(String message) {
+        errorCount++;
+        if (messages.size() < maxErrors) {
+            messages.add(message);
+        }
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public List<String> getMessages() {
+        return Collections.unmodifiableList(messages);
+    }
+
+    // Diagnostica completa, un errore per riga nell'ordine in cui sono stati trovati
+    public String format() {
+        StringBuilder text = new StringBuilder(String.join(System.lineSeparator(), messages));
+        if (errorCount > messages.size()) {
+            text.append(System.lineSeparator())
+                    .append("Raggiunto il limite di ").append(maxErrors).append(" errori: ")
+                    .append(errorCount - messages.size()).append(" errori non mostrati.");
+        }
+        return text.toString();
+    }
+}
@@ -1,7 +1,29 @@
 package visitor.exception;
 
+import nodes.AstNode;
+import visitor.Visitable;
+
 public class SemanticException extends Throwable {
+    private AstNode node;  // Nodo in cui è stato rilevato l'errore, se noto
+
     public SemanticException(String s) {
         super(s);
     }
+
+    public SemanticException(String s, AstNode node) {
+        super(s);
+        this.node = node;
+    }
+
+    public AstNode getNode() {
+        return node;
+    }
+
+    // Associa l'errore al nodo visitato, se non è già associato a un nodo più interno
+    public SemanticException locate(Visitable node) {
+        if (this.node == null && node instanceof AstNode astNode && astNode.hasSpan()) {
+            this.node = astNode;
+        }
+        return this;
+    }
 }
@@ -0,0 +1,10 @@
+package visitor.symbolTable;
+
+import visitor.Visitable;
+
+// Nodo dell'AST che apre uno scope: conserva la SymbolTable creata per lui dallo scope checking
+public interface ScopeOwner extends Visitable {
+    SymbolTable getScope();
+
+    void setScope(SymbolTable scope);
+}
@@ -13,6 +13,10 @@ public class Symbol {
     private List<Type> paramTypes;  // Tipi dei parametri (per funzioni e procedure)
     private List<Boolean> isOutParams;  // Flag per i parametri OUT (per procedure)
     private List<Type> returnTypes;   // Tipi di ritorno (per funzioni)
+    // Posizione della variabile nel frame dell'interprete: indice nell'array del suo tipo,
+    // o tra i riferimenti se è un parametro out; le variabili globali stanno nel frame globale
+    private int slot = -1;
+    private boolean global = false;
 
     // Costruttore per variabili
     public Symbol(String name, Type type, SymbolKind kind) {
@@ -76,6 +80,11 @@ public class Symbol {
     public void setIsOut(boolean out) {
         isOut = out;
     }
+
+    public int getSlot() { return slot; }
+    public void setSlot(int slot) { this.slot = slot; }
+    public boolean isGlobal() { return global; }
+    public void setGlobal(boolean global) { this.global = global; }
     @Override
     public String toString() {
         return "Symbol{" +
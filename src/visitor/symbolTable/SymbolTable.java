@@ -1,19 +1,19 @@
 package visitor.symbolTable;
 
+import nodes.AstNode;
+
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 public class SymbolTable {
     private String symbolTableName;
     private Map<String, Symbol> symbols;
-    private Set<String> unresolvedReferences; // Nuovo set per riferimenti non risolti
+    private Map<String, AstNode> unresolvedReferences; // Riferimenti non risolti, con il nodo del primo uso
     private SymbolTable parent;
 
     public SymbolTable(SymbolTable parent, String symbolTableName) {
         this.symbols = new HashMap<>();
-        this.unresolvedReferences = new HashSet<>();
+        this.unresolvedReferences = new HashMap<>();
         this.parent = parent;  // Riferimento alla tabella padre per risalire nella catena
         this.symbolTableName = symbolTableName;
     }
@@ -47,13 +47,14 @@ public class SymbolTable {
         return parent;
     }
 
-    public Set<String> getUnresolvedReferences() {
+    public Map<String, AstNode> getUnresolvedReferences() {
         return unresolvedReferences;
     }
 
-    // Aggiunge un riferimento non risolto
-    public void addUnresolvedReference(String name) {
-        unresolvedReferences.add(name);
+    // Aggiunge un riferimento non risolto; per ogni nome resta il nodo che compare prima nel sorgente
+    public void addUnresolvedReference(String name, AstNode node) {
+        unresolvedReferences.merge(name, node, (first, other) ->
+                !first.hasSpan() || (other.hasSpan() && other.getStart() < first.getStart()) ? other : first);
     }
 
     // Rimuove un riferimento non risolto
@@ -1,30 +1,32 @@
 package visitor.symbolTable;
 
-import visitor.Visitable;
+import nodes.AstNode;
 import visitor.exception.SemanticException;
 import visitor.utils.Type;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Stack;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class SymbolTableManager {
     private Stack<SymbolTable> scopeStack;
     private Symbol currentProcedureOrFunctionSymbol;
-    private Map<Visitable, SymbolTable> scopeMap;  // Mappa ogni nodo AST con la sua SymbolTable
+    private List<PendingReference> pendingReferences = new ArrayList<>();  // Riferimenti da associare al simbolo
+    private int symbolCount = 0;  // Simboli dichiarati in tutti gli scope
 
     public SymbolTableManager() {
         scopeStack = new Stack<>();
-        scopeMap = new HashMap<>();
         scopeStack.push(new SymbolTable(null, "GLOBAL"));  // Tabella globale (senza genitore)
     }
 
     // Entra in un nuovo scope
-    public void enterScope(String scopeName, Visitable node) {
+    public void enterScope(String scopeName, ScopeOwner node) {
         SymbolTable newScope = new SymbolTable(scopeStack.peek(), scopeName);
         scopeStack.push(newScope);
-        scopeMap.put(node, newScope);  // Associa il nodo AST alla nuova SymbolTable
+        node.setScope(newScope);  // Il nodo AST conserva direttamente la sua SymbolTable
     }
 
     // Esci dallo scope corrente
@@ -37,8 +39,8 @@ public class SymbolTableManager {
             SymbolTable currentTable = scopeStack.pop();
             // Verifica se ci sono riferimenti non risolti in questo scope
             if (!currentTable.getUnresolvedReferences().isEmpty()) {
-                for (String s : currentTable.getUnresolvedReferences()) {
-                    scopeStack.peek().addUnresolvedReference(s);
+                for (Map.Entry<String, AstNode> reference : currentTable.getUnresolvedReferences().entrySet()) {
+                    scopeStack.peek().addUnresolvedReference(reference.getKey(), reference.getValue());
                 }
             }
             // Se stiamo uscendo dallo scope di una funzione o procedura, aggiorniamo il simbolo corrente
@@ -52,19 +54,38 @@ public class SymbolTableManager {
         }
     }
 
-    public SymbolTable getScope(Visitable node) {
-        return scopeMap.get(node);  // Ottiene la SymbolTable associata al nodo
-    }
-
     // Aggiungi un simbolo allo scope corrente (variabile)
     public boolean addSymbol(String name, Type type, SymbolKind kind) {
+        return declare(name, type, kind) != null;
+    }
+
+    // Come addSymbol, ma restituisce il simbolo creato (null se il nome è già dichiarato nello scope corrente)
+    public Symbol declare(String name, Type type, SymbolKind kind) {
         Symbol symbol = new Symbol(name, type, kind);
-        return scopeStack.peek().addSymbol(name, symbol);
+        if (!scopeStack.peek().addSymbol(name, symbol)) {
+            return null;
+        }
+        symbolCount++;
+        return symbol;
+    }
+
+    // Registra un riferimento dallo scope corrente: il simbolo viene passato a binding da resolveReferences,
+    // quando tutte le dichiarazioni sono note (anche quelle successive al riferimento)
+    public void addReference(String name, Consumer<Symbol> binding) {
+        pendingReferences.add(new PendingReference(scopeStack.peek(), name, binding));
+    }
+
+    // Associa ogni riferimento registrato al simbolo che risolve, visto dallo scope del riferimento
+    public void resolveReferences() {
+        for (PendingReference reference : pendingReferences) {
+            reference.binding.accept(reference.scope.lookup(reference.name));
+        }
+        pendingReferences.clear();
     }
 
-    // Aggiunge un riferimento non risolto allo scope corrente
-    public void addUnresolvedReference(String name) {
-        scopeStack.peek().addUnresolvedReference(name);
+    // Aggiunge un riferimento non risolto allo scope corrente, usato nel nodo indicato
+    public void addUnresolvedReference(String name, AstNode node) {
+        scopeStack.peek().addUnresolvedReference(name, node);
     }
 
     // Aggiungi un simbolo per una funzione
@@ -73,6 +94,7 @@ public class SymbolTableManager {
         boolean added = scopeStack.peek().addSymbol(name, symbol);
         if (added) {
             currentProcedureOrFunctionSymbol = symbol;
+            symbolCount++;
         }
         return added;
     }
@@ -83,10 +105,15 @@ public class SymbolTableManager {
         boolean added = scopeStack.peek().addSymbol(name, symbol);
         if (added) {
             currentProcedureOrFunctionSymbol = symbol;
+            symbolCount++;
         }
         return added;
     }
 
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
     // Cerca un simbolo risalendo nella catena degli scope
     public Symbol lookup(String name) {
         return scopeStack.peek().lookup(name);
@@ -114,11 +141,29 @@ public class SymbolTableManager {
         }
     }
 
-    // Verifica i riferimenti non risolti alla fine del programma
-    public void checkUnresolvedReferencesAtEnd() throws SemanticException {
-        SymbolTable globalScope = scopeStack.firstElement();
-        if (!globalScope.getUnresolvedReferences().isEmpty()) {
-            throw new SemanticException("Riferimenti a simboli non dichiarati: " + globalScope.getUnresolvedReferences());
+    // Riferimenti rimasti non risolti alla fine del programma: un errore per nome, nella posizione del primo uso
+    public List<SemanticException> getUnresolvedReferenceErrors() {
+        List<Map.Entry<String, AstNode>> sorted =
+                new ArrayList<>(scopeStack.firstElement().getUnresolvedReferences().entrySet());
+        sorted.sort(Comparator.comparingInt((Map.Entry<String, AstNode> reference) -> reference.getValue().getStart())
+                .thenComparing(Map.Entry::getKey));
+        List<SemanticException> errors = new ArrayList<>();
+        for (Map.Entry<String, AstNode> reference : sorted) {
+            errors.add(new SemanticException("Identificatore '" + reference.getKey() + "' non dichiarato.")
+                    .locate(reference.getValue()));
+        }
+        return errors;
+    }
+
+    private static class PendingReference {
+        private final SymbolTable scope;
+        private final String name;
+        private final Consumer<Symbol> binding;
+
+        private PendingReference(SymbolTable scope, String name, Consumer<Symbol> binding) {
+            this.scope = scope;
+            this.name = name;
+            this.binding = binding;
         }
     }
 }
@@ -0,0 +1,85 @@
+package visitor.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversioni che il codice C generato delega al compilatore C e a printf, riprodotte per i backend
+ * che eseguono il programma senza passare dal C: sequenze di escape dei letterali stringa,
+ * formato %f dei reali e "%%" nei letterali usati come formato da printf.
+ */
+public final class CFormat {
+
+    private CFormat() {
+    }
+
+    // Valore del letterale Toy2 una volta compilato come letterale C: le sequenze di escape vengono interpretate
+    public static String unescape(String literal) {
+        if (literal.indexOf('\\') < 0) {
+            return literal;
+        }
+        StringBuilder result = new StringBuilder(literal.length());
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c != '\\' || i + 1 == literal.length()) {
+                result.append(c);
+                continue;
+            }
+            char escape = literal.charAt(++i);
+            switch (escape) {
+                case 'n' -> result.append('\n');
+                case 't' -> result.append('\t');
+                case 'r' -> result.append('\r');
+                case 'a' -> result.append('\u0007');
+                case 'b' -> result.append('\b');
+                case 'f' -> result.append('\f');
+                case 'v' -> result.append('\u000B');
+                case 'x' -> {
+                    int value = 0;
+                    while (i + 1 < literal.length() && Character.digit(literal.charAt(i + 1), 16) >= 0) {
+                        value = value * 16 + Character.digit(literal.charAt(++i), 16);
+                    }
+                    result.append((char) (value & 0xFF));
+                }
+                default -> {
+                    if (escape >= '0' && escape <= '7') {
+                        // Escape ottale: fino a tre cifre
+                        int value = escape - '0';
+                        for (int digits = 1; digits < 3 && i + 1 < literal.length()
+                                && literal.charAt(i + 1) >= '0' && literal.charAt(i + 1) <= '7'; digits++) {
+                            value = value * 8 + (literal.charAt(++i) - '0');
+                        }
+                        result.append((char) (value & 0xFF));
+                    } else {
+                        // \\, \", \', \? e gli escape non riconosciuti valgono il carattere stesso
+                        result.append(escape);
+                    }
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    // Testo stampato da printf per un letterale usato come formato (scritture e prompt di lettura)
+    public static String printfLiteral(String literal) {
+        String text = unescape(literal);
+        return text.indexOf('%') < 0 ? text : text.replace("%%", "%");
+    }
+
+    // Reale formattato come da printf("%f"): sei decimali, arrotondamento sul valore binario esatto
+    public static String formatReal(double value) {
+        if (Double.isNaN(value)) {
+            // Come glibc, il segno del NaN viene stampato
+            return Double.doubleToRawLongBits(value) < 0 ? "-nan" : "nan";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "inf" : "-inf";
+        }
+        String digits = new BigDecimal(value).setScale(6, RoundingMode.HALF_EVEN).toPlainString();
+        // Anche -0.0 e i negativi arrotondati a zero mantengono il segno
+        if ((value < 0 || 1 / value < 0) && digits.charAt(0) != '-') {
+            return "-" + digits;
+        }
+        return digits;
+    }
+}
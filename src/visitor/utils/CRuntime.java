@@ -0,0 +1,167 @@
+package visitor.utils;
+
+/**
+ * Runtime C incluso in ogni programma generato.
+ * Le stringhe sono char* terminati da '\0' preceduti da un'intestazione con lunghezza e capacità:
+ * restano utilizzabili con printf e con le funzioni della libreria standard,
+ * ma lunghezza, confronto e concatenazione non devono scandire i caratteri.
+ * Le costanti stringa sono oggetti statici con capacità 0, che non vengono mai modificati né liberati.
+ */
+public final class CRuntime {
+
+    public static final String STRINGS = """
+            /* Runtime stringhe Toy2: lunghezza e capacità sono memorizzate prima dei caratteri */
+            typedef struct {
+                size_t len;
+                size_t cap; /* 0 per le costanti statiche */
+            } toy_str_header;
+
+            #define TOY_STR_HEADER(s) ((toy_str_header*) ((char*) (s) - sizeof(toy_str_header)))
+            #define TOY_STR_LITERAL(name, text) static struct { toy_str_header header; char data[sizeof(text)]; } name = { { sizeof(text) - 1, 0 }, text }
+            #define toy_str_from_literal(text) toy_str_new(text, sizeof(text) - 1)
+
+            static char* toy_str_alloc(size_t cap) {
+                toy_str_header* header = malloc(sizeof(toy_str_header) + cap + 1);
+                if (!header) {
+                    fprintf(stderr, "Errore: allocazione fallita\\n");
+                    exit(1);
+                }
+                header->len = 0;
+                header->cap = cap;
+                char* s = (char*) (header + 1);
+                s[0] = '\\0';
+                return s;
+            }
+
+            static size_t toy_str_len(const char* s) {
+                return TOY_STR_HEADER(s)->len;
+            }
+
+            static char* toy_str_new(const char* text, size_t len) {
+                char* s = toy_str_alloc(len < 15 ? 15 : len);
+                memcpy(s, text, len);
+                s[len] = '\\0';
+                TOY_STR_HEADER(s)->len = len;
+                return s;
+            }
+
+            static char* toy_str_dup(const char* s) {
+                return toy_str_new(s, toy_str_len(s));
+            }
+
+            static void toy_str_free(char* s) {
+                if (s && TOY_STR_HEADER(s)->cap > 0) {
+                    free(TOY_STR_HEADER(s));
+                }
+            }
+
+            /* Garantisce spazio per len caratteri; la capacità cresce almeno del doppio */
+            static char* toy_str_reserve(char* s, size_t len) {
+                toy_str_header* header = TOY_STR_HEADER(s);
+                if (header->cap > 0 && header->cap >= len) {
+                    return s;
+                }
+                size_t cap = header->cap * 2;
+                if (cap < len) {
+                    cap = len;
+                }
+                if (cap < 15) {
+                    cap = 15;
+                }
+                if (header->cap == 0) {
+                    /* Una costante statica non viene mai modificata: se ne crea una copia */
+                    char* copy = toy_str_alloc(cap);
+                    memcpy(copy, s, header->len + 1);
+                    TOY_STR_HEADER(copy)->len = header->len;
+                    return copy;
+                }
+                header = realloc(header, sizeof(toy_str_header) + cap + 1);
+                if (!header) {
+                    fprintf(stderr, "Errore: allocazione fallita\\n");
+                    exit(1);
+                }
+                header->cap = cap;
+                return (char*) (header + 1);
+            }
+
+            /* Copia src in dst riutilizzandone la memoria; restituisce dst, eventualmente spostata */
+            static char* toy_str_set(char* dst, const char* src) {
+                if (dst == src) {
+                    return dst;
+                }
+                size_t len = toy_str_len(src);
+                dst = toy_str_reserve(dst, len);
+                memcpy(dst, src, len + 1);
+                TOY_STR_HEADER(dst)->len = len;
+                return dst;
+            }
+
+            /* Nuova stringa della dimensione esatta del risultato formattato */
+            static char* toy_str_format(const char* format, ...) {
+                va_list args;
+                va_start(args, format);
+                int len = vsnprintf(NULL, 0, format, args);
+                va_end(args);
+                char* s = toy_str_alloc(len);
+                va_start(args, format);
+                vsnprintf(s, len + 1, format, args);
+                va_end(args);
+                TOY_STR_HEADER(s)->len = len;
+                return s;
+            }
+
+            /* Accoda il risultato formattato a s (costo ammortizzato costante per carattere) */
+            static char* toy_str_catfmt(char* s, const char* format, ...) {
+                va_list args;
+                va_start(args, format);
+                int added = vsnprintf(NULL, 0, format, args);
+                va_end(args);
+                size_t len = toy_str_len(s);
+                s = toy_str_reserve(s, len + added);
+                va_start(args, format);
+                vsnprintf(s + len, added + 1, format, args);
+                va_end(args);
+                TOY_STR_HEADER(s)->len = len + added;
+                return s;
+            }
+
+            static bool toy_str_eq(const char* a, const char* b) {
+                size_t len = toy_str_len(a);
+                return len == toy_str_len(b) && memcmp(a, b, len) == 0;
+            }
+
+            static int toy_str_cmp(const char* a, const char* b) {
+                size_t lenA = toy_str_len(a);
+                size_t lenB = toy_str_len(b);
+                int result = memcmp(a, b, lenA < lenB ? lenA : lenB);
+                return result != 0 ? result : (lenA > lenB) - (lenA < lenB);
+            }
+
+            /* Legge una parola come scanf("%s"), senza limiti di lunghezza */
+            static char* toy_str_read(char* s) {
+                int c = getchar();
+                while (c != EOF && isspace(c)) {
+                    c = getchar();
+                }
+                if (c == EOF) {
+                    return s;
+                }
+                size_t len = 0;
+                while (c != EOF && !isspace(c)) {
+                    s = toy_str_reserve(s, len + 1);
+                    s[len++] = (char) c;
+                    c = getchar();
+                }
+                if (c != EOF) {
+                    ungetc(c, stdin);
+                }
+                s[len] = '\\0';
+                TOY_STR_HEADER(s)->len = len;
+                return s;
+            }
+
+            """;
+
+    private CRuntime() {
+    }
+}
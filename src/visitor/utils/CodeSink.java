@@ -0,0 +1,63 @@
+package visitor.utils;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Destinazione del codice C prodotto da CodeGeneratorVisitor.
+ * Il codice viene scritto man mano che viene generato, per cui con un Writer bufferizzato
+ * o un canale NIO la memoria usata non dipende dalla dimensione del programma.
+ * Gli errori di I/O vengono propagati come UncheckedIOException.
+ */
+public class CodeSink {
+    private final Appendable out;
+
+    public CodeSink(Appendable out) {
+        this.out = out;
+    }
+
+    // Sink su un canale NIO (ad esempio un FileChannel), codificato con il charset indicato;
+    // i caratteri non rappresentabili vengono sostituiti come fa FileWriter
+    public static CodeSink of(WritableByteChannel channel, Charset charset) {
+        return new CodeSink(Channels.newWriter(channel, charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), 8192));
+    }
+
+    public CodeSink append(CharSequence text) {
+        try {
+            out.append(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    public CodeSink append(char c) {
+        try {
+            out.append(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    public CodeSink append(Object value) {
+        return append(String.valueOf(value));
+    }
+
+    public void flush() {
+        if (out instanceof Flushable flushable) {
+            try {
+                flushable.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package visitor.utils;
+
+/**
+ * Record di attivazione dell'interprete: le variabili di una funzione o procedura (o quelle globali)
+ * sono conservate in array tipati, senza boxing, all'indice assegnato al loro Symbol.
+ * Interi e booleani stanno in ints, i reali in reals e le stringhe in strings.
+ * Un parametro out (o un valore di ritorno di una funzione con più valori di ritorno) è un riferimento
+ * alla variabile del chiamante: refs contiene l'array tipato che la conserva e refIndexes il suo indice.
+ */
+public final class Frame {
+    public final int[] ints;
+    public final double[] reals;
+    public final String[] strings;
+    public final Object[] refs;
+    public final int[] refIndexes;
+
+    public Frame(int ints, int reals, int strings, int refs) {
+        this.ints = new int[ints];
+        this.reals = new double[reals];
+        this.strings = new String[strings];
+        this.refs = new Object[refs];
+        this.refIndexes = new int[refs];
+    }
+}
@@ -0,0 +1,49 @@
+package visitor.utils;
+
+import java.util.Arrays;
+
+/**
+ * Inizio delle righe del sorgente, registrato dal lexer: converte gli offset delle posizioni
+ * dei simboli e dei nodi dell'AST in linea e colonna (entrambe a partire da 1).
+ * Vengono registrate solo le righe che contengono token, le uniche a cui una posizione può riferirsi.
+ */
+public class LineMap {
+    private int[] lines = new int[64];
+    private int[] starts = new int[64];
+    private int count = 0;
+
+    // Registra l'offset del primo carattere della riga; le righe arrivano in ordine crescente
+    public void addLine(int line, int start) {
+        if (count > 0 && lines[count - 1] == line) {
+            return;
+        }
+        if (count == lines.length) {
+            lines = Arrays.copyOf(lines, count * 2);
+            starts = Arrays.copyOf(starts, count * 2);
+        }
+        lines[count] = line;
+        starts[count] = start;
+        count++;
+    }
+
+    public int line(int offset) {
+        int index = indexOf(offset);
+        return index >= 0 ? lines[index] : 1;
+    }
+
+    public int column(int offset) {
+        int index = indexOf(offset);
+        return index >= 0 ? offset - starts[index] + 1 : offset + 1;
+    }
+
+    // Descrizione della posizione usata nei messaggi di errore
+    public String describe(int offset) {
+        return "linea " + line(offset) + ", colonna " + column(offset);
+    }
+
+    // Ultima riga registrata che inizia prima dell'offset
+    private int indexOf(int offset) {
+        int index = Arrays.binarySearch(starts, 0, count, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+}
@@ -0,0 +1,145 @@
+package visitor.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Lettura dell'input con le stesse regole del codice C generato: scanf("%d") e scanf("%lf") per interi e reali,
+ * toy_str_read per le stringhe (una parola delimitata da spazi). Gli spazi iniziali vengono saltati;
+ * se l'input non contiene un valore del tipo richiesto, o è terminato, la variabile mantiene il valore precedente.
+ * Gli errori di I/O vengono propagati come UncheckedIOException.
+ */
+public class ScanfReader {
+    private static final int EOF = -1;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[8192];
+    private int position = 0;
+    private int limit = 0;
+    private final StringBuilder token = new StringBuilder();
+
+    public ScanfReader(InputStream in) {
+        this.in = in;
+    }
+
+    public int readInt(int current) {
+        skipSpaces();
+        token.setLength(0);
+        readSign();
+        readDigits();
+        if (!hasDigits()) {
+            return current;
+        }
+        try {
+            return (int) Long.parseLong(token.toString());
+        } catch (NumberFormatException e) {
+            // Fuori dall'intervallo di long: come strtol, il valore viene saturato
+            return token.charAt(0) == '-' ? (int) Long.MIN_VALUE : (int) Long.MAX_VALUE;
+        }
+    }
+
+    public double readReal(double current) {
+        skipSpaces();
+        token.setLength(0);
+        readSign();
+        readDigits();
+        if (peek() == '.') {
+            token.append((char) next());
+            readDigits();
+        }
+        if (!hasDigits()) {
+            return current;
+        }
+        if (peek() == 'e' || peek() == 'E') {
+            int mark = token.length();
+            token.append((char) next());
+            readSign();
+            readDigits();
+            if (!Character.isDigit(token.charAt(token.length() - 1))) {
+                // Esponente senza cifre: il numero termina prima della 'e'
+                token.setLength(mark);
+            }
+        }
+        return Double.parseDouble(token.toString());
+    }
+
+    public String readString(String current) {
+        skipSpaces();
+        if (peek() == EOF) {
+            return current;
+        }
+        byte[] word = new byte[16];
+        int length = 0;
+        while (peek() != EOF && !isSpace(peek())) {
+            if (length == word.length) {
+                word = Arrays.copyOf(word, length * 2);
+            }
+            word[length++] = (byte) next();
+        }
+        return new String(word, 0, length, Charset.defaultCharset());
+    }
+
+    private void readSign() {
+        if (peek() == '+' || peek() == '-') {
+            token.append((char) next());
+        }
+    }
+
+    private void readDigits() {
+        while (peek() >= '0' && peek() <= '9') {
+            token.append((char) next());
+        }
+    }
+
+    private boolean hasDigits() {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipSpaces() {
+        while (isSpace(peek())) {
+            next();
+        }
+    }
+
+    // Spazi secondo isspace() del C
+    private static boolean isSpace(int c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private int peek() {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int next() {
+        int c = peek();
+        if (c != EOF) {
+            position++;
+        }
+        return c;
+    }
+
+    private boolean fill() {
+        try {
+            int read = in.read(buffer);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package visitor.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sink del codice C che riporta ogni riga generata alla posizione del sorgente Toy2 da cui proviene.
+ * CodeGeneratorVisitor indica con setPosition la linea e la colonna dell'istruzione che sta generando;
+ * all'inizio di ogni riga, se il compilatore C le attribuirebbe una linea diversa, viene emessa una
+ * direttiva #line, così debugger e profiler nativi (gdb, perf, gprof) mostrano le linee del sorgente Toy2.
+ * Le righe senza posizione (runtime, prototipi, inizializzazione dei globali) tornano a riferirsi al file C.
+ * Gli intervalli di righe C con la stessa posizione formano la source map restituita da toJson.
+ */
+public class SourceMapSink extends CodeSink {
+    private final String sourceName;
+    private final String outputName;
+    // Intervalli {prima riga C, ultima riga C, linea Toy2, colonna Toy2}, nell'ordine del file C
+    private final List<int[]> mappings = new ArrayList<>();
+    private int[] currentMapping;
+
+    private int outputLine = 1;          // Riga del file C in scrittura
+    private boolean atLineStart = true;
+    private boolean inSource = false;    // Il compilatore C attribuisce la riga corrente al sorgente Toy2
+    private int presumedLine = 1;        // Linea che il compilatore C attribuisce alla riga corrente
+    private int line = 0;                // Posizione del codice generato; 0 se non ha posizione
+    private int column = 0;
+
+    public SourceMapSink(Appendable out, String sourceName, String outputName) {
+        super(out);
+        this.sourceName = sourceName;
+        this.outputName = outputName;
+    }
+
+    // Posizione nel sorgente Toy2 delle righe scritte da qui in avanti; linea 0 per il codice senza posizione
+    public void setPosition(int line, int column) {
+        this.line = line;
+        this.column = column;
+    }
+
+    @Override
+    public CodeSink append(CharSequence text) {
+        int start = 0;
+        while (start < text.length()) {
+            if (atLineStart) {
+                beginLine();
+            }
+            int end = indexOfNewline(text, start);
+            if (end < 0) {
+                super.append(text.subSequence(start, text.length()));
+                break;
+            }
+            super.append(text.subSequence(start, end + 1));
+            endLine();
+            start = end + 1;
+        }
+        return this;
+    }
+
+    @Override
+    public CodeSink append(char c) {
+        if (atLineStart) {
+            beginLine();
+        }
+        super.append(c);
+        if (c == '\n') {
+            endLine();
+        }
+        return this;
+    }
+
+    private void beginLine() {
+        atLineStart = false;
+        if (line > 0) {
+            if (!inSource || presumedLine != line) {
+                directive(line, sourceName);
+                inSource = true;
+            }
+            if (currentMapping != null && currentMapping[2] == line && currentMapping[3] == column) {
+                currentMapping[1] = outputLine;
+            } else {
+                currentMapping = new int[]{outputLine, outputLine, line, column};
+                mappings.add(currentMapping);
+            }
+        } else {
+            if (inSource) {
+                // La riga successiva alla direttiva è di nuovo la riga corrispondente del file C
+                directive(outputLine + 1, outputName);
+                inSource = false;
+            }
+            currentMapping = null;
+        }
+    }
+
+    private void endLine() {
+        outputLine++;
+        presumedLine++;
+        atLineStart = true;
+    }
+
+    private void directive(int presumed, String file) {
+        super.append("#line " + presumed + " \"" + escape(file, false) + "\"\n");
+        outputLine++;
+        presumedLine = presumed;
+    }
+
+    private static int indexOfNewline(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Source map: per ogni intervallo di righe del file C (estremi inclusi) linea e colonna del sorgente Toy2
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"version\": 1,\n");
+        json.append("  \"file\": \"").append(escape(outputName, true)).append("\",\n");
+        json.append("  \"source\": \"").append(escape(sourceName, true)).append("\",\n");
+        json.append("  \"mappings\": [");
+        for (int i = 0; i < mappings.size(); i++) {
+            int[] mapping = mappings.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"generatedStart\": ").append(mapping[0])
+                    .append(", \"generatedEnd\": ").append(mapping[1])
+                    .append(", \"line\": ").append(mapping[2])
+                    .append(", \"column\": ").append(mapping[3]).append('}');
+        }
+        json.append(mappings.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    // Nome di file come stringa C (direttive #line) o JSON (source map)
+    private static String escape(String text, boolean json) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (json && c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
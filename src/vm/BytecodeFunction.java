@@ -0,0 +1,55 @@
+package vm;
+
+/**
+ * Funzione o procedura tradotta in bytecode, con il numero di registri di ogni tipo del suo frame.
+ * I parametri occupano i primi registri, nell'ordine di dichiarazione; i parametri out e, per le funzioni
+ * con più valori di ritorno, le variabili a cui assegnarli sono riferimenti.
+ */
+public class BytecodeFunction {
+    private final String name;
+    private int[] code;
+    // Indirizzo da cui parte l'esecuzione: il prologo che carica le costanti, se presente
+    private int entry;
+    private int ints, reals, strings, refs;
+
+    public BytecodeFunction(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    public int[] getCode() { return code; }
+
+    public void setCode(int[] code) { this.code = code; }
+
+    public int getEntry() { return entry; }
+
+    public void setEntry(int entry) { this.entry = entry; }
+
+    public void setRegisters(int ints, int reals, int strings, int refs) {
+        this.ints = ints;
+        this.reals = reals;
+        this.strings = strings;
+        this.refs = refs;
+    }
+
+    Registers newRegisters() {
+        return new Registers(ints, reals, strings, refs);
+    }
+
+    // Elenco leggibile delle istruzioni, una per riga con il suo indirizzo
+    public String disassemble() {
+        StringBuilder text = new StringBuilder();
+        text.append(name).append(": registri ").append(ints).append(" int, ").append(reals).append(" real, ")
+                .append(strings).append(" string, ").append(refs).append(" ref, ingresso ").append(entry).append('\n');
+        for (int pc = 0; pc < code.length; pc += Opcode.length(code, pc)) {
+            text.append(String.format("%6d  %-8s", pc, Opcode.NAMES[code[pc]]));
+            int length = Opcode.length(code, pc);
+            for (int i = 1; i < length; i++) {
+                text.append(i == 1 ? " " : ", ").append(code[pc + i]);
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package vm;
+
+import java.util.List;
+
+/**
+ * Programma tradotto in bytecode: le funzioni e le procedure (CALL le indica con la posizione nella lista),
+ * le tabelle delle costanti reali e stringa, il numero di variabili globali di ogni tipo e il codice che
+ * le inizializza, eseguito prima della procedura main.
+ */
+public class BytecodeProgram {
+    private final List<BytecodeFunction> functions;
+    private final int main;
+    private final BytecodeFunction initializer;
+    private final double[] realConstants;
+    private final String[] stringConstants;
+    private final int globalInts, globalReals, globalStrings;
+
+    public BytecodeProgram(List<BytecodeFunction> functions, int main, BytecodeFunction initializer,
+                           double[] realConstants, String[] stringConstants,
+                           int globalInts, int globalReals, int globalStrings) {
+        this.functions = functions;
+        this.main = main;
+        this.initializer = initializer;
+        this.realConstants = realConstants;
+        this.stringConstants = stringConstants;
+        this.globalInts = globalInts;
+        this.globalReals = globalReals;
+        this.globalStrings = globalStrings;
+    }
+
+    public List<BytecodeFunction> getFunctions() { return functions; }
+
+    public int getMain() { return main; }
+
+    public BytecodeFunction getInitializer() { return initializer; }
+
+    public double[] getRealConstants() { return realConstants; }
+
+    public String[] getStringConstants() { return stringConstants; }
+
+    public int getGlobalInts() { return globalInts; }
+
+    public int getGlobalReals() { return globalReals; }
+
+    public int getGlobalStrings() { return globalStrings; }
+
+    public String disassemble() {
+        StringBuilder text = new StringBuilder();
+        text.append("globali: ").append(globalInts).append(" int, ").append(globalReals).append(" real, ")
+                .append(globalStrings).append(" string\n");
+        for (int i = 0; i < realConstants.length; i++) {
+            text.append("real #").append(i).append(" = ").append(realConstants[i]).append('\n');
+        }
+        for (int i = 0; i < stringConstants.length; i++) {
+            text.append("string #").append(i).append(" = \"").append(stringConstants[i]
+                    .replace("\\", "\\\\").replace("\n", "\\n").replace("\t", "\\t")).append("\"\n");
+        }
+        text.append('\n').append(initializer.disassemble());
+        for (int i = 0; i < functions.size(); i++) {
+            text.append('\n').append('#').append(i).append(i == main ? " (main) " : " ")
+                    .append(functions.get(i).disassemble());
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,162 @@
+package vm;
+
+/**
+ * Istruzioni della macchina virtuale. Ogni istruzione occupa nel codice un intero per l'opcode seguito dagli
+ * operandi; gli operandi sono registri (indici negli array tipati del frame), variabili globali, riferimenti,
+ * indici nelle tabelle delle costanti, valori immediati o indirizzi di salto. Le istruzioni sono specializzate
+ * per tipo: il prefisso I indica interi e booleani (nel registro long, con l'aritmetica a 32 bit degli int del C),
+ * R i reali e S le stringhe. Gli opcode sono costanti intere perché il ciclo di esecuzione diventi un tableswitch.
+ */
+public final class Opcode {
+
+    // Costanti e copie: ICONST d, imm | RCONST d, k | SCONST d, k | xMOVE d, a
+    public static final int ICONST = 0;
+    public static final int RCONST = 1;
+    public static final int SCONST = 2;
+    public static final int IMOVE = 3;
+    public static final int RMOVE = 4;
+    public static final int SMOVE = 5;
+
+    // Conversioni come nell'assegnamento C: I2R d, a | R2I d, a
+    public static final int I2R = 6;
+    public static final int R2I = 7;
+
+    // Variabili globali: xGLOAD d, g | xGSTORE g, a
+    public static final int IGLOAD = 8;
+    public static final int RGLOAD = 9;
+    public static final int SGLOAD = 10;
+    public static final int IGSTORE = 11;
+    public static final int RGSTORE = 12;
+    public static final int SGSTORE = 13;
+
+    // Parametri out e valori di ritorno multipli, tramite riferimento: xRLOAD d, ref | xRSTORE ref, a
+    public static final int IRLOAD = 14;
+    public static final int RRLOAD = 15;
+    public static final int SRLOAD = 16;
+    public static final int IRSTORE = 17;
+    public static final int RRSTORE = 18;
+    public static final int SRSTORE = 19;
+
+    // Aritmetica: op d, a, b | xNEG d, a | IADDI d, a, imm
+    public static final int IADD = 20;
+    public static final int ISUB = 21;
+    public static final int IMUL = 22;
+    public static final int IDIV = 23;
+    public static final int INEG = 24;
+    public static final int IADDI = 25;
+    public static final int RADD = 26;
+    public static final int RSUB = 27;
+    public static final int RMUL = 28;
+    public static final int RDIV = 29;
+    public static final int RNEG = 30;
+
+    // Confronti, con risultato booleano (0 o 1): op d, a, b | NOT d, a
+    public static final int IEQ = 31;
+    public static final int INE = 32;
+    public static final int ILT = 33;
+    public static final int ILE = 34;
+    public static final int IGT = 35;
+    public static final int IGE = 36;
+    public static final int REQ = 37;
+    public static final int RNE = 38;
+    public static final int RLT = 39;
+    public static final int RLE = 40;
+    public static final int RGT = 41;
+    public static final int RGE = 42;
+    public static final int SEQ = 43;
+    public static final int SNE = 44;
+    public static final int SLT = 45;
+    public static final int SLE = 46;
+    public static final int SGT = 47;
+    public static final int SGE = 48;
+    public static final int NOT = 49;
+
+    // Salti: JUMP t | JZ a, t | JNZ a, t | IJxx a, b, t (confronto tra interi e salto se vale)
+    public static final int JUMP = 50;
+    public static final int JZ = 51;
+    public static final int JNZ = 52;
+    public static final int IJEQ = 53;
+    public static final int IJNE = 54;
+    public static final int IJLT = 55;
+    public static final int IJLE = 56;
+    public static final int IJGT = 57;
+    public static final int IJGE = 58;
+
+    // Concatenazione: CONCAT d, n, seguito da n coppie (tipo, registro) formattate come nel runtime C
+    public static final int CONCAT = 59;
+
+    // Chiamate: CALL f, n, seguito da n terne (modo, sorgente, destinazione) che preparano il frame della funzione
+    // chiamata; xRESULT d legge il valore restituito dall'ultima chiamata
+    public static final int CALL = 60;
+    public static final int IRESULT = 61;
+    public static final int RRESULT = 62;
+    public static final int SRESULT = 63;
+    public static final int RET = 64;
+    public static final int IRET = 65;
+    public static final int RRET = 66;
+    public static final int SRET = 67;
+
+    // Input/output: PRINTK k (letterale) | PRINTx a | NEWLINE | READx a
+    public static final int PRINTK = 68;
+    public static final int PRINTI = 69;
+    public static final int PRINTR = 70;
+    public static final int PRINTS = 71;
+    public static final int NEWLINE = 72;
+    public static final int READI = 73;
+    public static final int READR = 74;
+    public static final int READS = 75;
+
+    // Tipo degli operandi di CONCAT e modo di passaggio degli argomenti di CALL: per valore (INT, REAL, STRING,
+    // dal registro del chiamante al registro del parametro) o per riferimento a un registro del chiamante,
+    // a una variabile globale o allo stesso riferimento ricevuto dal chiamante (FORWARD)
+    public static final int INT = 0;
+    public static final int REAL = 1;
+    public static final int STRING = 2;
+    public static final int REF_INT = 3;
+    public static final int REF_REAL = 4;
+    public static final int REF_STRING = 5;
+    public static final int GLOBAL_INT = 6;
+    public static final int GLOBAL_REAL = 7;
+    public static final int GLOBAL_STRING = 8;
+    public static final int FORWARD = 9;
+
+    static final String[] NAMES = {
+            "ICONST", "RCONST", "SCONST", "IMOVE", "RMOVE", "SMOVE", "I2R", "R2I",
+            "IGLOAD", "RGLOAD", "SGLOAD", "IGSTORE", "RGSTORE", "SGSTORE",
+            "IRLOAD", "RRLOAD", "SRLOAD", "IRSTORE", "RRSTORE", "SRSTORE",
+            "IADD", "ISUB", "IMUL", "IDIV", "INEG", "IADDI", "RADD", "RSUB", "RMUL", "RDIV", "RNEG",
+            "IEQ", "INE", "ILT", "ILE", "IGT", "IGE", "REQ", "RNE", "RLT", "RLE", "RGT", "RGE",
+            "SEQ", "SNE", "SLT", "SLE", "SGT", "SGE", "NOT",
+            "JUMP", "JZ", "JNZ", "IJEQ", "IJNE", "IJLT", "IJLE", "IJGT", "IJGE",
+            "CONCAT", "CALL", "IRESULT", "RRESULT", "SRESULT", "RET", "IRET", "RRET", "SRET",
+            "PRINTK", "PRINTI", "PRINTR", "PRINTS", "NEWLINE", "READI", "READR", "READS",
+    };
+
+    // Numero di operandi fissi di ogni istruzione (CONCAT e CALL hanno poi gli operandi variabili)
+    static final int[] OPERANDS = {
+            2, 2, 2, 2, 2, 2, 2, 2,
+            2, 2, 2, 2, 2, 2,
+            2, 2, 2, 2, 2, 2,
+            3, 3, 3, 3, 2, 3, 3, 3, 3, 3, 2,
+            3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3,
+            3, 3, 3, 3, 3, 3, 2,
+            1, 2, 2, 3, 3, 3, 3, 3, 3,
+            2, 2, 1, 1, 1, 0, 1, 1, 1,
+            1, 1, 1, 1, 0, 1, 1, 1,
+    };
+
+    private Opcode() {
+    }
+
+    // Lunghezza dell'istruzione che inizia in code[pc], operandi variabili compresi
+    static int length(int[] code, int pc) {
+        int opcode = code[pc];
+        int length = 1 + OPERANDS[opcode];
+        if (opcode == CONCAT) {
+            length += 2 * code[pc + 2];
+        } else if (opcode == CALL) {
+            length += 3 * code[pc + 2];
+        }
+        return length;
+    }
+}
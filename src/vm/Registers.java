@@ -0,0 +1,23 @@
+package vm;
+
+/**
+ * Frame di una chiamata nella macchina virtuale: i registri di una funzione, cioè le sue variabili
+ * seguite dai temporanei, in array tipati senza boxing. Interi e booleani stanno in ints, i reali in reals,
+ * le stringhe in strings. Un riferimento (parametro out o valore di ritorno multiplo) è la coppia
+ * refs[i], refIndexes[i]: l'array tipato che contiene la variabile del chiamante e il suo indice.
+ */
+public final class Registers {
+    final long[] ints;
+    final double[] reals;
+    final String[] strings;
+    final Object[] refs;
+    final int[] refIndexes;
+
+    Registers(int ints, int reals, int strings, int refs) {
+        this.ints = new long[ints];
+        this.reals = new double[reals];
+        this.strings = new String[strings];
+        this.refs = new Object[refs];
+        this.refIndexes = new int[refs];
+    }
+}
@@ -0,0 +1,422 @@
+package vm;
+
+import visitor.utils.CFormat;
+import visitor.utils.ScanfReader;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Esegue un BytecodeProgram con un ciclo di dispatch su un array di interi: ogni chiamata Toy2 è una chiamata
+ * Java di execute con un nuovo Registers, le cui variabili vengono copiate in variabili locali perché il JIT
+ * le mantenga nei registri della macchina. Interi e booleani sono long contenuti nell'intervallo degli int:
+ * le operazioni che possono uscirne vengono riportate a 32 bit, come nel codice C generato.
+ * I frame vengono riutilizzati: ogni funzione ne conserva uno per livello di ricorsione, perché una chiamata
+ * non alloca memoria. Il riuso è sicuro perché il bytecode inizializza variabili e temporanei prima di leggerli
+ * e i riferimenti a un frame esistono solo durante le chiamate che partono da lì.
+ */
+public class VirtualMachine {
+    private final BytecodeFunction[] functions;
+    private final BytecodeProgram program;
+    private final double[] realConstants;
+    private final String[] stringConstants;
+    private final ScanfReader input;
+    private final PrintStream output;
+
+    private final Registers globals;
+    // Frame di ogni funzione, indicizzati per profondità di ricorsione, e chiamate in corso di ciascuna
+    private final Registers[][] frames;
+    private final int[] depths;
+
+    // Valore restituito dall'ultima funzione, letto da IRESULT, RRESULT e SRESULT
+    private long intResult;
+    private double realResult;
+    private String stringResult;
+
+    public VirtualMachine(BytecodeProgram program, InputStream input, PrintStream output) {
+        List<BytecodeFunction> functionList = program.getFunctions();
+        this.functions = functionList.toArray(new BytecodeFunction[0]);
+        this.program = program;
+        this.realConstants = program.getRealConstants();
+        this.stringConstants = program.getStringConstants();
+        this.input = new ScanfReader(input);
+        this.output = output;
+        this.globals = new Registers(program.getGlobalInts(), program.getGlobalReals(), program.getGlobalStrings(), 0);
+        this.frames = new Registers[functions.length][1];
+        this.depths = new int[functions.length];
+    }
+
+    // Inizializza le variabili globali ed esegue la procedura main
+    public void run() {
+        try {
+            BytecodeFunction initializer = program.getInitializer();
+            execute(initializer, initializer.newRegisters());
+            BytecodeFunction main = functions[program.getMain()];
+            execute(main, main.newRegisters());
+        } finally {
+            output.flush();
+        }
+    }
+
+    private void execute(BytecodeFunction function, Registers frame) {
+        final int[] code = function.getCode();
+        final long[] ints = frame.ints;
+        final double[] reals = frame.reals;
+        final String[] strings = frame.strings;
+        final Object[] refs = frame.refs;
+        final int[] refIndexes = frame.refIndexes;
+        final long[] globalInts = globals.ints;
+        final double[] globalReals = globals.reals;
+        final String[] globalStrings = globals.strings;
+        int pc = function.getEntry();
+
+        while (true) {
+            switch (code[pc]) {
+                case Opcode.ICONST -> {
+                    ints[code[pc + 1]] = code[pc + 2];
+                    pc += 3;
+                }
+                case Opcode.RCONST -> {
+                    reals[code[pc + 1]] = realConstants[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.SCONST -> {
+                    strings[code[pc + 1]] = stringConstants[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.IMOVE -> {
+                    ints[code[pc + 1]] = ints[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.RMOVE -> {
+                    reals[code[pc + 1]] = reals[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.SMOVE -> {
+                    strings[code[pc + 1]] = strings[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.I2R -> {
+                    reals[code[pc + 1]] = ints[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.R2I -> {
+                    ints[code[pc + 1]] = (int) reals[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.IGLOAD -> {
+                    ints[code[pc + 1]] = globalInts[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.RGLOAD -> {
+                    reals[code[pc + 1]] = globalReals[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.SGLOAD -> {
+                    strings[code[pc + 1]] = globalStrings[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.IGSTORE -> {
+                    globalInts[code[pc + 1]] = ints[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.RGSTORE -> {
+                    globalReals[code[pc + 1]] = reals[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.SGSTORE -> {
+                    globalStrings[code[pc + 1]] = strings[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.IRLOAD -> {
+                    int ref = code[pc + 2];
+                    ints[code[pc + 1]] = ((long[]) refs[ref])[refIndexes[ref]];
+                    pc += 3;
+                }
+                case Opcode.RRLOAD -> {
+                    int ref = code[pc + 2];
+                    reals[code[pc + 1]] = ((double[]) refs[ref])[refIndexes[ref]];
+                    pc += 3;
+                }
+                case Opcode.SRLOAD -> {
+                    int ref = code[pc + 2];
+                    strings[code[pc + 1]] = ((String[]) refs[ref])[refIndexes[ref]];
+                    pc += 3;
+                }
+                case Opcode.IRSTORE -> {
+                    int ref = code[pc + 1];
+                    ((long[]) refs[ref])[refIndexes[ref]] = ints[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.RRSTORE -> {
+                    int ref = code[pc + 1];
+                    ((double[]) refs[ref])[refIndexes[ref]] = reals[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.SRSTORE -> {
+                    int ref = code[pc + 1];
+                    ((String[]) refs[ref])[refIndexes[ref]] = strings[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.IADD -> {
+                    ints[code[pc + 1]] = (int) (ints[code[pc + 2]] + ints[code[pc + 3]]);
+                    pc += 4;
+                }
+                case Opcode.ISUB -> {
+                    ints[code[pc + 1]] = (int) (ints[code[pc + 2]] - ints[code[pc + 3]]);
+                    pc += 4;
+                }
+                case Opcode.IMUL -> {
+                    ints[code[pc + 1]] = (int) (ints[code[pc + 2]] * ints[code[pc + 3]]);
+                    pc += 4;
+                }
+                case Opcode.IDIV -> {
+                    long divisor = ints[code[pc + 3]];
+                    if (divisor == 0) {
+                        throw new ArithmeticException("divisione intera per zero");
+                    }
+                    ints[code[pc + 1]] = (int) (ints[code[pc + 2]] / divisor);
+                    pc += 4;
+                }
+                case Opcode.INEG -> {
+                    ints[code[pc + 1]] = (int) -ints[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.IADDI -> {
+                    ints[code[pc + 1]] = (int) (ints[code[pc + 2]] + code[pc + 3]);
+                    pc += 4;
+                }
+                case Opcode.RADD -> {
+                    reals[code[pc + 1]] = reals[code[pc + 2]] + reals[code[pc + 3]];
+                    pc += 4;
+                }
+                case Opcode.RSUB -> {
+                    reals[code[pc + 1]] = reals[code[pc + 2]] - reals[code[pc + 3]];
+                    pc += 4;
+                }
+                case Opcode.RMUL -> {
+                    reals[code[pc + 1]] = reals[code[pc + 2]] * reals[code[pc + 3]];
+                    pc += 4;
+                }
+                case Opcode.RDIV -> {
+                    reals[code[pc + 1]] = reals[code[pc + 2]] / reals[code[pc + 3]];
+                    pc += 4;
+                }
+                case Opcode.RNEG -> {
+                    reals[code[pc + 1]] = -reals[code[pc + 2]];
+                    pc += 3;
+                }
+                case Opcode.IEQ -> {
+                    ints[code[pc + 1]] = ints[code[pc + 2]] == ints[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.INE -> {
+                    ints[code[pc + 1]] = ints[code[pc + 2]] != ints[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.ILT -> {
+                    ints[code[pc + 1]] = ints[code[pc + 2]] < ints[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.ILE -> {
+                    ints[code[pc + 1]] = ints[code[pc + 2]] <= ints[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.IGT -> {
+                    ints[code[pc + 1]] = ints[code[pc + 2]] > ints[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.IGE -> {
+                    ints[code[pc + 1]] = ints[code[pc + 2]] >= ints[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.REQ -> {
+                    ints[code[pc + 1]] = reals[code[pc + 2]] == reals[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.RNE -> {
+                    ints[code[pc + 1]] = reals[code[pc + 2]] != reals[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.RLT -> {
+                    ints[code[pc + 1]] = reals[code[pc + 2]] < reals[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.RLE -> {
+                    ints[code[pc + 1]] = reals[code[pc + 2]] <= reals[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.RGT -> {
+                    ints[code[pc + 1]] = reals[code[pc + 2]] > reals[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.RGE -> {
+                    ints[code[pc + 1]] = reals[code[pc + 2]] >= reals[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.SEQ -> {
+                    ints[code[pc + 1]] = strings[code[pc + 2]].compareTo(strings[code[pc + 3]]) == 0 ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.SNE -> {
+                    ints[code[pc + 1]] = strings[code[pc + 2]].compareTo(strings[code[pc + 3]]) != 0 ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.SLT -> {
+                    ints[code[pc + 1]] = strings[code[pc + 2]].compareTo(strings[code[pc + 3]]) < 0 ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.SLE -> {
+                    ints[code[pc + 1]] = strings[code[pc + 2]].compareTo(strings[code[pc + 3]]) <= 0 ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.SGT -> {
+                    ints[code[pc + 1]] = strings[code[pc + 2]].compareTo(strings[code[pc + 3]]) > 0 ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.SGE -> {
+                    ints[code[pc + 1]] = strings[code[pc + 2]].compareTo(strings[code[pc + 3]]) >= 0 ? 1 : 0;
+                    pc += 4;
+                }
+                case Opcode.NOT -> {
+                    ints[code[pc + 1]] = ints[code[pc + 2]] == 0 ? 1 : 0;
+                    pc += 3;
+                }
+                case Opcode.JUMP -> pc = code[pc + 1];
+                case Opcode.JZ -> pc = ints[code[pc + 1]] == 0 ? code[pc + 2] : pc + 3;
+                case Opcode.JNZ -> pc = ints[code[pc + 1]] != 0 ? code[pc + 2] : pc + 3;
+                case Opcode.IJEQ -> pc = ints[code[pc + 1]] == ints[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case Opcode.IJNE -> pc = ints[code[pc + 1]] != ints[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case Opcode.IJLT -> pc = ints[code[pc + 1]] < ints[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case Opcode.IJLE -> pc = ints[code[pc + 1]] <= ints[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case Opcode.IJGT -> pc = ints[code[pc + 1]] > ints[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case Opcode.IJGE -> pc = ints[code[pc + 1]] >= ints[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case Opcode.CONCAT -> {
+                    int operands = code[pc + 2];
+                    StringBuilder result = new StringBuilder();
+                    for (int i = 0, operand = pc + 3; i < operands; i++, operand += 2) {
+                        int register = code[operand + 1];
+                        switch (code[operand]) {
+                            case Opcode.INT -> result.append(ints[register]);
+                            case Opcode.REAL -> result.append(CFormat.formatReal(reals[register]));
+                            default -> result.append(strings[register]);
+                        }
+                    }
+                    strings[code[pc + 1]] = result.toString();
+                    pc += 3 + 2 * operands;
+                }
+                case Opcode.CALL -> pc = call(code, pc, frame);
+                case Opcode.IRESULT -> {
+                    ints[code[pc + 1]] = intResult;
+                    pc += 2;
+                }
+                case Opcode.RRESULT -> {
+                    reals[code[pc + 1]] = realResult;
+                    pc += 2;
+                }
+                case Opcode.SRESULT -> {
+                    strings[code[pc + 1]] = stringResult;
+                    pc += 2;
+                }
+                case Opcode.RET -> {
+                    return;
+                }
+                case Opcode.IRET -> {
+                    intResult = ints[code[pc + 1]];
+                    return;
+                }
+                case Opcode.RRET -> {
+                    realResult = reals[code[pc + 1]];
+                    return;
+                }
+                case Opcode.SRET -> {
+                    stringResult = strings[code[pc + 1]];
+                    return;
+                }
+                case Opcode.PRINTK -> {
+                    output.print(stringConstants[code[pc + 1]]);
+                    pc += 2;
+                }
+                case Opcode.PRINTI -> {
+                    output.print(ints[code[pc + 1]]);
+                    pc += 2;
+                }
+                case Opcode.PRINTR -> {
+                    output.print(CFormat.formatReal(reals[code[pc + 1]]));
+                    pc += 2;
+                }
+                case Opcode.PRINTS -> {
+                    output.print(strings[code[pc + 1]]);
+                    pc += 2;
+                }
+                case Opcode.NEWLINE -> {
+                    output.print('\n');
+                    pc += 1;
+                }
+                case Opcode.READI -> {
+                    // Il prompt deve essere visibile prima che la lettura si blocchi
+                    output.flush();
+                    int register = code[pc + 1];
+                    ints[register] = input.readInt((int) ints[register]);
+                    pc += 2;
+                }
+                case Opcode.READR -> {
+                    output.flush();
+                    int register = code[pc + 1];
+                    reals[register] = input.readReal(reals[register]);
+                    pc += 2;
+                }
+                case Opcode.READS -> {
+                    output.flush();
+                    int register = code[pc + 1];
+                    strings[register] = input.readString(strings[register]);
+                    pc += 2;
+                }
+                default -> throw new IllegalStateException("Opcode non valido " + code[pc] + " in "
+                        + function.getName() + " all'indirizzo " + pc);
+            }
+        }
+    }
+
+    // Prepara il frame della funzione chiamata con gli argomenti, la esegue e restituisce l'istruzione successiva
+    private int call(int[] code, int pc, Registers caller) {
+        int index = code[pc + 1];
+        BytecodeFunction callee = functions[index];
+        int depth = depths[index]++;
+        if (depth == frames[index].length) {
+            frames[index] = Arrays.copyOf(frames[index], depth * 2);
+        }
+        Registers frame = frames[index][depth];
+        if (frame == null) {
+            frame = frames[index][depth] = callee.newRegisters();
+        }
+        int args = code[pc + 2];
+        int arg = pc + 3;
+        for (int i = 0; i < args; i++, arg += 3) {
+            int source = code[arg + 1];
+            int target = code[arg + 2];
+            switch (code[arg]) {
+                case Opcode.INT -> frame.ints[target] = caller.ints[source];
+                case Opcode.REAL -> frame.reals[target] = caller.reals[source];
+                case Opcode.STRING -> frame.strings[target] = caller.strings[source];
+                case Opcode.REF_INT -> bind(frame, target, caller.ints, source);
+                case Opcode.REF_REAL -> bind(frame, target, caller.reals, source);
+                case Opcode.REF_STRING -> bind(frame, target, caller.strings, source);
+                case Opcode.GLOBAL_INT -> bind(frame, target, globals.ints, source);
+                case Opcode.GLOBAL_REAL -> bind(frame, target, globals.reals, source);
+                case Opcode.GLOBAL_STRING -> bind(frame, target, globals.strings, source);
+                default -> bind(frame, target, caller.refs[source], caller.refIndexes[source]);
+            }
+        }
+        execute(callee, frame);
+        depths[index]--;
+        return arg;
+    }
+
+    private static void bind(Registers frame, int ref, Object array, int index) {
+        frame.refs[ref] = array;
+        frame.refIndexes[ref] = index;
+    }
+}
@@ -0,0 +1,497 @@
+package compiler;
+
+import generator.ProgramGenerator;
+import ir.opt.Passes;
+import jvm.JvmProgram;
+import nodes.ProgramNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.io.TempDir;
+import visitor.BytecodeGeneratorVisitor;
+import visitor.InterpreterVisitor;
+import visitor.JvmGeneratorVisitor;
+import visitor.exception.SemanticException;
+import vm.BytecodeProgram;
+import vm.VirtualMachine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Test end-to-end sulle directory di tests/, con gli stessi controlli di runtests.sh ma in un'unica JVM:
+ * ogni tests/<nome>/<nome>.txt viene compilato in-process, anche con --single-pass e --source-map;
+ * i test validi vengono poi compilati con gcc ed eseguiti su ogni <nome>_in*, confrontando l'output
+ * con il corrispondente <nome>_out* a meno degli spazi (come diff -w). Tutti i test vengono avviati
+ * in parallelo su un pool di thread quando la factory viene invocata; i test dinamici ne attendono l'esito.
+ * Per i test non validi con un file <nome>_errors.txt, gli errori segnalati devono coincidere riga per riga con il file.
+ * Come in runtests.sh, un output diverso da quello atteso viene solo segnalato, a meno di -Dtoy2.strictOutput=true.
+ * Ogni input viene anche eseguito dall'interprete (--run), dalla macchina virtuale (--run --vm) e dalla classe
+ * JVM generata (--run --jvm), il cui output deve coincidere byte per byte con quello del programma C.
+ * Anche alcuni programmi prodotti dal generatore vengono compilati ed eseguiti così, su un input vuoto e
+ * senza un output atteso: il riferimento per gli altri backend è l'output del programma C.
+ * Al termine viene stampata una tabella con i tempi di ogni test.
+ */
+class EndToEndTest {
+    private static final Path TESTS = Path.of("tests");
+    private static final long RUN_TIMEOUT_SECONDS = 10;
+    private static final boolean STRICT_OUTPUT = Boolean.getBoolean("toy2.strictOutput");
+    private static final boolean GCC = gccAvailable();
+    // Semi dei programmi generati, da 1 in poi: il seme 7 assegna anche risultati di funzioni a parametri out
+    private static final int GENERATED_SEEDS = 10;
+
+    private static final ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    private static final ConcurrentLinkedQueue<TestRun> runs = new ConcurrentLinkedQueue<>();
+    private static long suiteStart;
+
+    @TempDir
+    static Path outputDir;
+
+    @TestFactory
+    Stream<DynamicTest> testDirectories() throws IOException {
+        suiteStart = System.nanoTime();
+        List<Path> testDirs;
+        try (Stream<Path> dirs = Files.list(TESTS)) {
+            testDirs = dirs.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        }
+        Map<String, CompletableFuture<TestRun>> futures = new LinkedHashMap<>();
+        for (Path testDir : testDirs) {
+            String name = testDir.getFileName().toString();
+            futures.put(name, CompletableFuture.supplyAsync(() -> runTest(testDir, name), pool));
+        }
+        return futures.entrySet().stream()
+                .map(entry -> dynamicTest(entry.getKey(), () -> check(entry.getValue().join())));
+    }
+
+    // I programmi prodotti dal generatore devono produrre lo stesso output con tutti i backend
+    @TestFactory
+    Stream<DynamicTest> generatedPrograms() {
+        Map<Integer, CompletableFuture<TestRun>> futures = new LinkedHashMap<>();
+        for (int seed = 1; seed <= GENERATED_SEEDS; seed++) {
+            int programSeed = seed;
+            futures.put(seed, CompletableFuture.supplyAsync(() -> runGenerated(programSeed), pool));
+        }
+        return futures.entrySet().stream()
+                .map(entry -> dynamicTest("generated_" + entry.getKey(), () -> checkGenerated(entry.getValue().join())));
+    }
+
+    @AfterAll
+    static void printTimings() {
+        pool.shutdownNow();
+        List<TestRun> sorted = new ArrayList<>(runs);
+        sorted.sort(Comparator.comparing(run -> run.name));
+        System.out.printf("%n%-32s %12s %10s %12s %10s %10s %10s %10s%n", "Test", "Compilazione", "gcc", "Esecuzione",
+                "Interprete", "VM", "JVM", "Totale");
+        for (TestRun run : sorted) {
+            System.out.printf("%-32s %9d ms %7d ms %9d ms %7d ms %7d ms %7d ms %7d ms%n", run.name, millis(run.compileNanos),
+                    millis(run.gccNanos), millis(run.runNanos), millis(run.interpreterNanos), millis(run.vmNanos),
+                    millis(run.jvmNanos), millis(run.totalNanos));
+        }
+        System.out.printf("%d test in %d ms%n", sorted.size(), millis(System.nanoTime() - suiteStart));
+    }
+
+    private static TestRun runTest(Path testDir, String name) {
+        TestRun run = new TestRun(name);
+        long start = System.nanoTime();
+        try {
+            File source = testDir.resolve(name + ".txt").toFile();
+            run.result = compileTo(new Toy2Compiler(), source, "twopass");
+            run.compileNanos = System.nanoTime() - start;
+
+            // L'analisi semantica in un solo passo deve produrre la stessa diagnostica e lo stesso codice C
+            CompilationResult singlePass = compileTo(Toy2Compiler.builder().singlePass(true).build(), source, "singlepass");
+            run.singlePassMatches = run.result.isSuccess() == singlePass.isSuccess()
+                    && Objects.equals(run.result.getMessage(), singlePass.getMessage())
+                    && (!run.result.isSuccess() || read(run.result.getOutputFile()).equals(read(singlePass.getOutputFile())));
+
+            Path errors = testDir.resolve(name + "_errors.txt");
+            if (Files.exists(errors)) {
+                run.expectedErrors = Files.readString(errors, StandardCharsets.UTF_8);
+            }
+
+            if (run.result.isSuccess()) {
+                // Con --source-map il codice C differisce solo per le direttive #line e va prodotta la source map
+                CompilationResult mapped = compileTo(Toy2Compiler.builder().sourceMap(true).build(), source,
+                        "sourcemap");
+                String withoutLines = read(mapped.getOutputFile()).lines()
+                        .filter(line -> !line.startsWith("#line "))
+                        .map(line -> line + "\n")
+                        .collect(Collectors.joining());
+                File map = new File(mapped.getOutputFile().getPath() + ".map");
+                run.sourceMapMatches = withoutLines.equals(read(run.result.getOutputFile())) && map.length() > 0;
+
+                if (GCC) {
+                    buildAndRun(testDir, source, run);
+                }
+            }
+        } catch (Exception e) {
+            run.error = e;
+        }
+        run.totalNanos = System.nanoTime() - start;
+        runs.add(run);
+        return run;
+    }
+
+    // Con -fwrapv l'overflow degli interi segue il complemento a due, come nell'interprete, nella VM e nella JVM
+    private static void buildAndRun(Path testDir, File source, TestRun run) throws Exception {
+        File cFile = run.result.getOutputFile();
+        File executable = new File(cFile.getParentFile(), run.name + ".out");
+        long start = System.nanoTime();
+        run.gcc = execute(new ProcessBuilder("gcc", cFile.getPath(), "-o", executable.getPath(), "-lm", "-w", "-fwrapv"),
+                null);
+        run.gccNanos = System.nanoTime() - start;
+        if (!executable.exists()) {
+            return;
+        }
+
+        List<Path> inputs;
+        try (Stream<Path> files = Files.list(testDir)) {
+            inputs = files.filter(file -> file.getFileName().toString().startsWith(run.name + "_in"))
+                    .sorted().collect(Collectors.toList());
+        }
+        // Lo stesso programma compilato attraverso la rappresentazione intermedia
+        CompilationResult ir = compileTo(Toy2Compiler.builder().ir(true).build(), source, "ir");
+        if (!ir.isSuccess()) {
+            throw new IllegalStateException("--ir: " + ir.getMessage());
+        }
+        File irExecutable = new File(ir.getOutputFile().getParentFile(), run.name + ".out");
+        run.irGcc = execute(new ProcessBuilder("gcc", ir.getOutputFile().getPath(), "-o", irExecutable.getPath(), "-lm",
+                "-w", "-fwrapv"), null);
+        // E attraverso l'IR ottimizzato con tutti i passi di -O2
+        CompilationResult optimized = compileTo(Toy2Compiler.builder().ir(true)
+                .passes(Passes.level(Passes.MAX_LEVEL)).build(), source, "ir-O" + Passes.MAX_LEVEL);
+        if (!optimized.isSuccess()) {
+            throw new IllegalStateException("-O" + Passes.MAX_LEVEL + ": " + optimized.getMessage());
+        }
+        File optimizedExecutable = new File(optimized.getOutputFile().getParentFile(), run.name + ".out");
+        run.optimizedGcc = execute(new ProcessBuilder("gcc", optimized.getOutputFile().getPath(), "-o",
+                optimizedExecutable.getPath(), "-lm", "-w", "-fwrapv"), null);
+
+        ProgramNode program = parse(source);
+        BytecodeProgram bytecode = translate(program);
+        JvmProgram jvmProgram = generateClass(program, run.name);
+        for (Path input : inputs) {
+            String inputName = input.getFileName().toString();
+            Path expected = testDir.resolve(run.name + "_out" + inputName.substring(run.name.length() + "_in".length()));
+            start = System.nanoTime();
+            String actual = execute(new ProcessBuilder(executable.getPath()), input.toFile()).output;
+            run.runNanos += System.nanoTime() - start;
+            String difference = difference(Files.exists(expected) ? readBytes(expected) : "", actual);
+            if (difference != null) {
+                run.outputDifferences.add(inputName + ": " + difference);
+            }
+
+            if (irExecutable.exists()) {
+                String irOutput = execute(new ProcessBuilder(irExecutable.getPath()), input.toFile()).output;
+                if (!irOutput.equals(actual)) {
+                    run.irDifferences.add(inputName + ": "
+                            + Objects.requireNonNullElse(difference(actual, irOutput), "spazi diversi"));
+                }
+            }
+            if (optimizedExecutable.exists()) {
+                String optimizedOutput = execute(new ProcessBuilder(optimizedExecutable.getPath()), input.toFile()).output;
+                if (!optimizedOutput.equals(actual)) {
+                    run.optimizedDifferences.add(inputName + ": "
+                            + Objects.requireNonNullElse(difference(actual, optimizedOutput), "spazi diversi"));
+                }
+            }
+
+            start = System.nanoTime();
+            String interpreted = interpret(program, input.toFile());
+            run.interpreterNanos += System.nanoTime() - start;
+            if (!interpreted.equals(actual)) {
+                run.interpreterDifferences.add(inputName + ": "
+                        + Objects.requireNonNullElse(difference(actual, interpreted), "spazi diversi"));
+            }
+
+            start = System.nanoTime();
+            String executed = execute(bytecode, input.toFile());
+            run.vmNanos += System.nanoTime() - start;
+            if (!executed.equals(actual)) {
+                run.vmDifferences.add(inputName + ": "
+                        + Objects.requireNonNullElse(difference(actual, executed), "spazi diversi"));
+            }
+
+            start = System.nanoTime();
+            String loaded = execute(jvmProgram, input.toFile());
+            run.jvmNanos += System.nanoTime() - start;
+            if (!loaded.equals(actual)) {
+                run.jvmDifferences.add(inputName + ": "
+                        + Objects.requireNonNullElse(difference(actual, loaded), "spazi diversi"));
+            }
+        }
+    }
+
+    private static ProgramNode parse(File source) throws Exception {
+        try (Reader reader = new InputStreamReader(new FileInputStream(source), Charset.defaultCharset())) {
+            return new Toy2Compiler().parseAndCheck(reader);
+        } catch (SemanticException e) {
+            throw new IllegalStateException(Toy2Compiler.describeError(e), e);
+        }
+    }
+
+    private static BytecodeProgram translate(ProgramNode program) {
+        try {
+            return new BytecodeGeneratorVisitor().generate(program);
+        } catch (SemanticException e) {
+            throw new IllegalStateException(Toy2Compiler.describeError(e), e);
+        }
+    }
+
+    private static JvmProgram generateClass(ProgramNode program, String name) {
+        try {
+            return new JvmGeneratorVisitor().generate(program, name);
+        } catch (SemanticException e) {
+            throw new IllegalStateException(Toy2Compiler.describeError(e), e);
+        }
+    }
+
+    // Esegue il programma con l'interprete, restituendo l'output letto come quello dei processi
+    private static String interpret(ProgramNode program, File input) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = new FileInputStream(input);
+             PrintStream out = new PrintStream(bytes, false, Charset.defaultCharset())) {
+            program.accept(new InterpreterVisitor(in, out));
+        } catch (SemanticException e) {
+            throw new IllegalStateException(Toy2Compiler.describeError(e), e);
+        }
+        return bytes.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    // Esegue il bytecode con la macchina virtuale, restituendo l'output letto come quello dei processi
+    private static String execute(BytecodeProgram bytecode, File input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = new FileInputStream(input);
+             PrintStream out = new PrintStream(bytes, false, Charset.defaultCharset())) {
+            new VirtualMachine(bytecode, in, out).run();
+        }
+        return bytes.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    // Esegue la classe generata, definita nella JVM del test, restituendo l'output letto come quello dei processi
+    private static String execute(JvmProgram jvmProgram, File input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = new FileInputStream(input);
+             PrintStream out = new PrintStream(bytes, false, Charset.defaultCharset())) {
+            jvmProgram.run(in, out);
+        }
+        return bytes.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    // Il programma generato viene scritto come una directory di tests/, con un input vuoto e senza output atteso
+    private static TestRun runGenerated(int seed) {
+        String name = "generated_" + seed;
+        try {
+            ProgramGenerator generator = new ProgramGenerator();
+            generator.setSeed(seed);
+            generator.setNestingDepth(1 + seed % 3);
+            generator.setConcatenationDensity(seed % 4 * 0.3);
+            Path dir = Files.createDirectories(outputDir.resolve("generated").resolve(name));
+            Files.writeString(dir.resolve(name + ".txt"), generator.generate(), Charset.defaultCharset());
+            Files.writeString(dir.resolve(name + "_in.txt"), "");
+            return runTest(dir, name);
+        } catch (IOException e) {
+            TestRun run = new TestRun(name);
+            run.error = e;
+            runs.add(run);
+            return run;
+        }
+    }
+
+    private static void check(TestRun run) {
+        if (run.error != null) {
+            fail(run.error);
+        }
+        assertTrue(run.singlePassMatches, "--single-pass: diagnostica o codice C diversi dall'analisi in due passi");
+        if (run.name.contains("invalid")) {
+            assertFalse(run.result.isSuccess(), "Il test non valido è stato compilato senza errori");
+            if (run.expectedErrors != null) {
+                // Stessi errori, nello stesso ordine e con la stessa posizione di <nome>_errors.txt
+                assertEquals(run.expectedErrors.lines().collect(Collectors.toList()),
+                        run.result.getMessage().lines().collect(Collectors.toList()),
+                        "Diagnostica diversa da " + run.name + "_errors.txt");
+            }
+            return;
+        }
+        checkBackends(run);
+        if (!run.outputDifferences.isEmpty()) {
+            String report = run.name + ": output diverso da quello atteso\n  "
+                    + String.join("\n  ", run.outputDifferences);
+            if (STRICT_OUTPUT) {
+                fail(report);
+            }
+            System.out.println(report);
+        }
+    }
+
+    // Per i programmi generati non c'è un output atteso: conta solo il confronto tra i backend
+    private static void checkGenerated(TestRun run) {
+        if (run.error != null) {
+            fail(run.error);
+        }
+        assertTrue(run.singlePassMatches, "--single-pass: diagnostica o codice C diversi dall'analisi in due passi");
+        checkBackends(run);
+    }
+
+    // Compilazione riuscita e output di --ir, -O2, --run, --run --vm e --run --jvm uguale a quello del programma C
+    private static void checkBackends(TestRun run) {
+        assertTrue(run.result.isSuccess(), run.result.getMessage());
+        assertTrue(run.sourceMapMatches, "--source-map: codice C diverso o source map mancante");
+        assumeTrue(GCC, "gcc non disponibile");
+        assertEquals(0, run.gcc.exitCode, "gcc: " + run.gcc.output);
+        assertEquals(0, run.irGcc.exitCode, "gcc (--ir): " + run.irGcc.output);
+        assertTrue(run.irDifferences.isEmpty(), "--ir: output diverso da quello del programma C\n  "
+                + String.join("\n  ", run.irDifferences));
+        assertEquals(0, run.optimizedGcc.exitCode, "gcc (-O" + Passes.MAX_LEVEL + "): " + run.optimizedGcc.output);
+        assertTrue(run.optimizedDifferences.isEmpty(), "-O" + Passes.MAX_LEVEL + ": output diverso da quello del programma C\n  "
+                + String.join("\n  ", run.optimizedDifferences));
+        assertTrue(run.interpreterDifferences.isEmpty(), "--run: output diverso da quello del programma C\n  "
+                + String.join("\n  ", run.interpreterDifferences));
+        assertTrue(run.vmDifferences.isEmpty(), "--run --vm: output diverso da quello del programma C\n  "
+                + String.join("\n  ", run.vmDifferences));
+        assertTrue(run.jvmDifferences.isEmpty(), "--run --jvm: output diverso da quello del programma C\n  "
+                + String.join("\n  ", run.jvmDifferences));
+    }
+
+    // Compila il sorgente in una sottodirectory di outputDir per variante, così i test paralleli non si sovrappongono
+    private static CompilationResult compileTo(Toy2Compiler compiler, File source, String variant) throws IOException {
+        Path dir = Files.createDirectories(outputDir.resolve(variant).resolve(Toy2Compiler.baseName(source)));
+        return compiler.compile(source, dir.toFile());
+    }
+
+    // Esegue il processo con stdin da input (se presente) e ne restituisce stdout e stderr, come "&>" in runtests.sh
+    private static ProcessOutput execute(ProcessBuilder builder, File input) throws IOException, InterruptedException {
+        builder.redirectErrorStream(true);
+        if (input != null) {
+            builder.redirectInput(input);
+        }
+        Process process = builder.start();
+        CompletableFuture<byte[]> output = CompletableFuture.supplyAsync(() -> {
+            try {
+                return process.getInputStream().readAllBytes();
+            } catch (IOException e) {
+                return new byte[0];
+            }
+        });
+        if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException(String.join(" ", builder.command()) + ": nessuna risposta dopo "
+                    + RUN_TIMEOUT_SECONDS + " secondi");
+        }
+        return new ProcessOutput(process.exitValue(), new String(output.join(), StandardCharsets.ISO_8859_1));
+    }
+
+    // Confronta riga per riga ignorando gli spazi, come diff -w; null se i testi coincidono
+    private static String difference(String expected, String actual) {
+        List<String> expectedLines = expected.lines().collect(Collectors.toList());
+        List<String> actualLines = actual.lines().collect(Collectors.toList());
+        int lines = Math.max(expectedLines.size(), actualLines.size());
+        for (int i = 0; i < lines; i++) {
+            String expectedLine = i < expectedLines.size() ? expectedLines.get(i) : "";
+            String actualLine = i < actualLines.size() ? actualLines.get(i) : "";
+            if (!withoutSpaces(expectedLine).equals(withoutSpaces(actualLine))
+                    || (i >= expectedLines.size()) != (i >= actualLines.size())) {
+                return "riga " + (i + 1) + ": atteso \"" + expectedLine + "\", ottenuto \"" + actualLine + "\"";
+            }
+        }
+        return null;
+    }
+
+    private static String withoutSpaces(String line) {
+        return line.replaceAll("\\s", "");
+    }
+
+    private static String read(File file) throws IOException {
+        return Files.readString(file.toPath(), Charset.defaultCharset());
+    }
+
+    // I file _out vengono confrontati byte per byte con l'output del programma, come fa diff
+    private static String readBytes(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+    }
+
+    private static boolean gccAvailable() {
+        try {
+            return new ProcessBuilder("gcc", "--version").redirectErrorStream(true).start().waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    // Esito e tempi di un test, calcolati sul pool e verificati dal test dinamico corrispondente
+    private static class TestRun {
+        final String name;
+        CompilationResult result;
+        String expectedErrors;
+        boolean singlePassMatches;
+        boolean sourceMapMatches;
+        ProcessOutput gcc;
+        ProcessOutput irGcc;
+        ProcessOutput optimizedGcc;
+        final List<String> outputDifferences = new ArrayList<>();
+        final List<String> irDifferences = new ArrayList<>();
+        final List<String> optimizedDifferences = new ArrayList<>();
+        final List<String> interpreterDifferences = new ArrayList<>();
+        final List<String> vmDifferences = new ArrayList<>();
+        final List<String> jvmDifferences = new ArrayList<>();
+        Exception error;
+        long compileNanos;
+        long gccNanos;
+        long runNanos;
+        long interpreterNanos;
+        long vmNanos;
+        long jvmNanos;
+        long totalNanos;
+
+        TestRun(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class ProcessOutput {
+        final int exitCode;
+        final String output;
+
+        ProcessOutput(int exitCode, String output) {
+            this.exitCode = exitCode;
+            this.output = output;
+        }
+    }
+}
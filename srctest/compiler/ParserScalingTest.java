@@ -0,0 +1,161 @@
+package compiler;
+
+import java_cup.runtime.Scanner;
+import java_cup.runtime.Symbol;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import unisa.compilatori.Toy2Lexer;
+import unisa.compilatori.parser;
+import unisa.compilatori.sym;
+import visitor.exception.Diagnostics;
+import visitor.utils.LineMap;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Crescita del parser su programmi con corpi sempre più lunghi: le liste della grammatica sono ricorsive
+ * a sinistra, per cui la profondità massima della pila del parser non dipende dal numero di istruzioni
+ * e raddoppiando le istruzioni il tempo di parsing al più raddoppia. I token vengono letti una volta sola
+ * e ripresentati al parser, come in ParserBenchmark, così viene misurato solo parser.parse().
+ */
+class ParserScalingTest {
+    private static final int STATEMENTS = 10000;
+    private static final int DOUBLINGS = 3;
+    // Per ogni dimensione conta il parsing più veloce, per ridurre l'effetto del GC e della compilazione JIT
+    private static final int REPETITIONS = 5;
+
+    private static final List<Program> programs = new ArrayList<>();
+
+    @BeforeAll
+    static void lex() throws IOException {
+        for (int step = 0, statements = STATEMENTS; step <= DOUBLINGS; step++, statements *= 2) {
+            programs.add(new Program(statements));
+        }
+    }
+
+    @Test
+    void stackDepthDoesNotGrowWithBodyLength() throws Exception {
+        int depth = programs.get(0).parse().maxDepth();
+        for (Program program : programs) {
+            assertEquals(depth, program.parse().maxDepth(),
+                    "Profondità massima della pila diversa con " + program.statements + " istruzioni");
+        }
+        System.out.printf("Profondità massima della pila del parser: %d%n", depth);
+    }
+
+    @Test
+    void parseTimeGrowsLinearly() throws Exception {
+        // Riscaldamento, perché il primo programma non venga misurato con il parser ancora interpretato
+        for (int i = 0; i < REPETITIONS; i++) {
+            programs.get(programs.size() - 1).parse();
+        }
+        long previous = 0;
+        for (Program program : programs) {
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < REPETITIONS; i++) {
+                long start = System.nanoTime();
+                program.parse();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("%d istruzioni: %.1f ms%n", program.statements, best / 1e6);
+            // Con una crescita quadratica il tempo quadruplicherebbe a ogni raddoppio
+            if (previous > 0) {
+                assertTrue(best <= previous * 3, "Tempo di parsing più che lineare con " + program.statements
+                        + " istruzioni: " + best / 1000000 + " ms contro " + previous / 1000000 + " ms");
+            }
+            previous = best;
+        }
+    }
+
+    // Corpo di main con il numero di istruzioni indicato, scritture con più argomenti e un if con molti elseif
+    private static String source(int statements) {
+        StringBuilder source = new StringBuilder("proc main():\n\tvar x: integer; \\\n\tx ^= 0;\n");
+        for (int i = 0; i < statements; i++) {
+            if (i % 10 == 0) {
+                source.append("\t--> \"x: \" $(x) \", i: \" $(").append(i).append(") \"\\n\";\n");
+            } else {
+                source.append("\tx ^= x + ").append(i % 7).append(";\n");
+            }
+        }
+        source.append("\tif x = 0 then\n\t\tx ^= 1;\n");
+        for (int i = 1; i < statements / 100; i++) {
+            source.append("\telseif x = ").append(i).append(" then\n\t\tx ^= ").append(i + 1).append(";\n");
+        }
+        source.append("\tendif;\n\t-->! x;\nendproc\n");
+        return source.toString();
+    }
+
+    // Token di un programma generato, letti dal lexer una sola volta
+    private static class Program {
+        final int statements;
+        final List<Symbol> tokens = new ArrayList<>();
+        final LineMap lineMap;
+
+        Program(int statements) throws IOException {
+            this.statements = statements;
+            Toy2Lexer lexer = new Toy2Lexer(new StringReader(source(statements)));
+            Symbol token;
+            do {
+                token = lexer.next_token();
+                tokens.add(token);
+            } while (token.sym != sym.EOF);
+            lineMap = lexer.getLineMap();
+        }
+
+        DepthParser parse() throws Exception {
+            Diagnostics diagnostics = new Diagnostics(lineMap);
+            DepthParser parser = new DepthParser(new TokenReplay(tokens));
+            parser.setDiagnostics(diagnostics);
+            parser.parse();
+            assertFalse(diagnostics.hasErrors(), diagnostics.format());
+            return parser;
+        }
+    }
+
+    // Il parser non accetta simboli già usati: ogni token viene ripresentato come una copia
+    private static class TokenReplay implements Scanner {
+        private final List<Symbol> tokens;
+        private int next = 0;
+
+        TokenReplay(List<Symbol> tokens) {
+            this.tokens = tokens;
+        }
+
+        @Override
+        public Symbol next_token() {
+            Symbol token = tokens.get(Math.min(next++, tokens.size() - 1));
+            return new Symbol(token.sym, token.left, token.right, token.value);
+        }
+    }
+
+    // Parser che registra la profondità massima raggiunta dalla pila durante parse()
+    private static class DepthParser extends parser {
+        DepthParser(Scanner scanner) {
+            super(scanner);
+            stack = new DepthStack();
+        }
+
+        int maxDepth() {
+            return ((DepthStack) stack).maxDepth;
+        }
+    }
+
+    private static class DepthStack extends Stack<Object> {
+        int maxDepth;
+
+        @Override
+        public Object push(Object item) {
+            Object pushed = super.push(item);
+            maxDepth = Math.max(maxDepth, size());
+            return pushed;
+        }
+    }
+}
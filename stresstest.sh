@@ -0,0 +1,38 @@
+#!/bin/bash
+# Stress test del compilatore su programmi generati da ProgramGenerator (Main --generate),
+# da 1K a 1M righe: per ogni dimensione stampa le metriche per fase di --stats.
+# Ogni programma generato deve superare l'analisi semantica e il codice C deve essere accettato da gcc.
+# Uso: ./stresstest.sh [righe...]   (default: 1000 10000 100000 1000000)
+# Con programmi molto grandi può servire più memoria: MAVEN_OPTS=-Xmx8g ./stresstest.sh
+
+SIZES=${@:-1000 10000 100000 1000000}
+export MAVEN_OPTS=${MAVEN_OPTS:--Xmx4g}
+
+WORKDIR=$(mktemp -d)
+RESULT=0
+
+for LINES in $SIZES
+do
+	TESTFILE=$WORKDIR/stress_$LINES.txt
+	mvn --batch-mode -q exec:java -Dexec.args="--generate --seed $LINES --lines $LINES $TESTFILE" > /dev/null
+
+	echo "=== $(wc -l < $TESTFILE) righe ==="
+	mvn --batch-mode -q exec:java -Dexec.args="--stats $TESTFILE" > $WORKDIR/output.txt 2>&1
+	STATUS=$?
+	grep -v "^$TESTFILE:$\|^Codice generato" $WORKDIR/output.txt
+	if [ $STATUS -ne 0 ]; then
+		echo "Compilazione fallita"
+		RESULT=1
+		continue
+	fi
+
+	if ! gcc -fsyntax-only -w test_files/c_out/stress_$LINES.c > $WORKDIR/gcc.txt 2>&1; then
+		echo "Codice C non valido:"
+		head -5 $WORKDIR/gcc.txt
+		RESULT=1
+	fi
+done
+
+rm -rf $WORKDIR test_files/c_out/stress_*.c
+rmdir -p test_files/c_out 2>/dev/null
+exit $RESULT
@@ -0,0 +1,49 @@
+#!/bin/bash
+# Client minimale del daemon di compilazione (Main --daemon), senza avviare una JVM.
+# Uso: ./toy2c.sh <nome>.txt [porta]
+# Il codice C viene salvato in test_files/c_out/<nome>.c, come con java -jar.
+
+if [ $# -lt 1 ] || [ $# -gt 2 ]; then
+	echo "Uso: $0 <nome>.txt [porta]" >&2
+	exit 1
+fi
+
+INPUTFILE=$1
+PORT=${2:-${TOY2C_PORT:-7172}}
+
+if [[ "$INPUTFILE" != *.txt ]]; then
+	echo "Errore: il file di input deve avere estensione .txt." >&2
+	exit 1
+fi
+if [ ! -f "$INPUTFILE" ]; then
+	echo "Errore: il file di input specificato non esiste o non è un file." >&2
+	exit 1
+fi
+
+OUTPUTDIR="test_files/c_out"
+mkdir -p $OUTPUTDIR
+OUTPUTFILE=$OUTPUTDIR/$(basename -- "${INPUTFILE%.txt}").c
+
+exec 3<>/dev/tcp/127.0.0.1/$PORT
+if [ $? -ne 0 ]; then
+	echo "Errore: daemon non raggiungibile sulla porta $PORT." >&2
+	exit 1
+fi
+
+# Richiesta: "COMPILE <byte> <nome>\n" seguito dal sorgente
+printf 'COMPILE %d %s\n' "$(wc -c < "$INPUTFILE")" "$(basename -- "$INPUTFILE")" >&3
+cat "$INPUTFILE" >&3
+
+# Risposta: "OK <byte>\n" oppure "ERROR <byte>\n" seguito dal contenuto
+read -r STATUS LENGTH <&3
+if [ "$STATUS" = "OK" ]; then
+	head -c "$LENGTH" <&3 > "$OUTPUTFILE"
+	exec 3<&-
+	echo "Codice generato salvato in: $(cd "$(dirname -- "$OUTPUTFILE")" && pwd)/$(basename -- "$OUTPUTFILE")"
+	exit 0
+fi
+
+head -c "$LENGTH" <&3 >&2
+echo >&2
+exec 3<&-
+exit 1